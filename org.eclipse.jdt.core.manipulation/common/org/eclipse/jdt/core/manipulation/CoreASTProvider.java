@@ -31,12 +31,14 @@ import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
 import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.core.manipulation.dom.SharedASTCache;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 
 /**
  * The {@link CoreASTProvider} provides access to the {@link CompilationUnit AST root} used by
- * the current active Java editor.
+ * the current active Java editor. ASTs created for other Java elements are kept in a bounded
+ * cache of recently used ASTs.
  *
  * The {@link CoreASTProvider} contains all methods/functionality that are
  * not dependent on the UI, from org.eclipse.jdt.internal.ui.javaeditor.ASTProvider
@@ -152,6 +154,16 @@ public final class CoreASTProvider {
 			}
 		}
 
+		if (!isActiveElement && waitFlag == CoreASTProvider.WAIT_YES) {
+			CompilationUnit cachedAST= SharedASTCache.getDefault().get(input);
+			if (cachedAST != null) {
+				if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+					System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning recently used AST:" + toString(cachedAST) + " for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+				return cachedAST;
+			}
+		}
+
 		final boolean canReturnNull= waitFlag == CoreASTProvider.WAIT_NO || (waitFlag == CoreASTProvider.WAIT_ACTIVE_ONLY && (!isActiveElement || fAST != null));
 		boolean isReconciling= false;
 		final ITypeRoot activeElement;
@@ -214,6 +226,8 @@ public final class CoreASTProvider {
 					reconciled(ast, input, null);
 			}
 		}
+		if (!isActiveElement)
+			SharedASTCache.getDefault().put(input, ast);
 		return ast;
 	}
 
@@ -255,6 +269,7 @@ public final class CoreASTProvider {
 			fIsReconciling= true;
 			this.fFinishReconciling = finishReconciling;
 		}
+		SharedASTCache.getDefault().remove(javaElement);
 		cache(null, javaElement);
 	}
 
@@ -0,0 +1,357 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.core.manipulation.internal.javadoc;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+
+/**
+ * A disk-backed cache of the Javadoc that {@link IJavaElement#getAttachedJavadoc(IProgressMonitor)}
+ * extracts from remote Javadoc locations.
+ * <p>
+ * Entries are keyed by the Javadoc URL of the element, including the member anchor, and are stored
+ * as one file per entry in the state location of the plug-in. An entry is used until it expires;
+ * when fetching an expired entry fails, e.g. because the machine is offline, the expired content is
+ * returned instead. Expired entries are therefore kept until they are fetched again, and the least
+ * recently used entries are only deleted when the entries exceed their maximum size. Elements without
+ * Javadoc are recorded as well, so that they are not fetched again on every hover, but expire much
+ * sooner. Only <code>http:</code> and <code>https:</code> locations, also inside <code>jar:</code>
+ * URLs, are cached, local Javadoc is always read directly.
+ * </p>
+ * <p>
+ * The expiry time in hours can be configured with the <code>jdt.attachedJavadocCache.expiryHours</code>
+ * system property, a value of <code>0</code> disables the cache. The expiry time of elements without
+ * Javadoc is configured with <code>jdt.attachedJavadocCache.missingExpiryHours</code> and the maximum
+ * size in megabytes with <code>jdt.attachedJavadocCache.maxSizeMB</code>.
+ * </p>
+ */
+public final class AttachedJavadocCache {
+
+	private static final long EXPIRY_HOURS= Long.getLong("jdt.attachedJavadocCache.expiryHours", 7 * 24).longValue(); //$NON-NLS-1$
+
+	private static final long MISSING_EXPIRY_HOURS= Long.getLong("jdt.attachedJavadocCache.missingExpiryHours", 1).longValue(); //$NON-NLS-1$
+
+	private static final long MAX_SIZE_MB= Long.getLong("jdt.attachedJavadocCache.maxSizeMB", 64).longValue(); //$NON-NLS-1$
+
+	private static final String DIRECTORY_NAME= "attachedJavadoc"; //$NON-NLS-1$
+
+	private static final String FILE_EXTENSION= ".bin"; //$NON-NLS-1$
+
+	private static final int MAGIC= 0x4a414a43;
+
+	private static final int VERSION= 1;
+
+	private static AttachedJavadocCache fgDefault;
+
+	/**
+	 * Fetches the attached Javadoc of an element on a cache miss.
+	 */
+	@FunctionalInterface
+	public interface IFetcher {
+		/**
+		 * @return the attached Javadoc or <code>null</code> if there is none
+		 * @throws JavaModelException if the Javadoc cannot be fetched
+		 */
+		String fetch() throws JavaModelException;
+	}
+
+	private static final class Entry {
+
+		final long fFetchTime;
+		final String fContent;
+
+		Entry(long fetchTime, String content) {
+			fFetchTime= fetchTime;
+			fContent= content;
+		}
+	}
+
+	private final File fDirectory;
+	private final long fExpiryMillis;
+	private final long fMissingExpiryMillis;
+	private final long fMaxSize;
+
+	private long fHits;
+	private long fMisses;
+	private long fStaleHits;
+
+	/**
+	 * Returns the shared cache.
+	 *
+	 * @return the shared cache
+	 */
+	public static synchronized AttachedJavadocCache getDefault() {
+		if (fgDefault == null) {
+			JavaManipulationPlugin plugin= JavaManipulationPlugin.getDefault();
+			File directory= plugin != null && EXPIRY_HOURS > 0 ? plugin.getStateLocation().append(DIRECTORY_NAME).toFile() : null;
+			fgDefault= new AttachedJavadocCache(directory, TimeUnit.HOURS.toMillis(EXPIRY_HOURS), TimeUnit.HOURS.toMillis(MISSING_EXPIRY_HOURS),
+					MAX_SIZE_MB * 1024 * 1024);
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Trims the shared cache to its maximum size if it has been created.
+	 */
+	public static synchronized void disposeDefault() {
+		if (fgDefault != null) {
+			fgDefault.trim();
+			fgDefault= null;
+		}
+	}
+
+	/**
+	 * Creates a cache that stores its entries in the given directory.
+	 *
+	 * @param directory the directory or <code>null</code> to disable the cache
+	 * @param expiryMillis the time in milliseconds after which entries are fetched again
+	 * @param missingExpiryMillis the time in milliseconds after which elements without Javadoc are
+	 *            fetched again
+	 * @param maxSize the size in bytes that {@link #trim()} reduces the entries to
+	 */
+	public AttachedJavadocCache(File directory, long expiryMillis, long missingExpiryMillis, long maxSize) {
+		fDirectory= directory;
+		fExpiryMillis= expiryMillis;
+		fMissingExpiryMillis= Math.min(missingExpiryMillis, expiryMillis);
+		fMaxSize= maxSize;
+	}
+
+	/**
+	 * Returns the attached Javadoc of the given element, from the cache if possible.
+	 *
+	 * @param element the element
+	 * @param monitor the progress monitor, can be <code>null</code>
+	 * @return the attached Javadoc or <code>null</code> if there is none
+	 * @throws JavaModelException if the Javadoc cannot be fetched and is not cached
+	 */
+	public String getAttachedJavadoc(IJavaElement element, IProgressMonitor monitor) throws JavaModelException {
+		URL location= null;
+		if (fDirectory != null) {
+			switch (element.getElementType()) {
+				case IJavaElement.PACKAGE_FRAGMENT:
+				case IJavaElement.TYPE:
+				case IJavaElement.FIELD:
+				case IJavaElement.METHOD:
+				case IJavaElement.JAVA_MODULE:
+					location= CoreJavaDocLocations.getJavadocLocation(element, true);
+					break;
+				default:
+					// other elements share the location of their type
+					break;
+			}
+		}
+		return getAttachedJavadoc(location, () -> element.getAttachedJavadoc(monitor));
+	}
+
+	/**
+	 * Returns the content fetched from the given Javadoc location, from the cache if possible.
+	 *
+	 * @param location the Javadoc URL including the member anchor, can be <code>null</code>
+	 * @param fetcher fetches the content if it is not cached or expired
+	 * @return the content or <code>null</code> if there is none
+	 * @throws JavaModelException if the content cannot be fetched and is not cached
+	 */
+	public String getAttachedJavadoc(URL location, IFetcher fetcher) throws JavaModelException {
+		if (fDirectory == null || location == null || !isRemote(location))
+			return fetcher.fetch();
+
+		String key= location.toExternalForm();
+		File file= getFile(key);
+		Entry entry= read(file, key);
+		long now= System.currentTimeMillis();
+		if (entry != null && now - entry.fFetchTime < (entry.fContent != null ? fExpiryMillis : fMissingExpiryMillis)) {
+			// the modification time of an entry records its last use
+			file.setLastModified(now);
+			synchronized (this) {
+				fHits++;
+			}
+			return entry.fContent;
+		}
+
+		String content;
+		try {
+			content= fetcher.fetch();
+		} catch (JavaModelException e) {
+			if (entry == null)
+				throw e;
+			synchronized (this) {
+				fStaleHits++;
+			}
+			return entry.fContent;
+		}
+		synchronized (this) {
+			fMisses++;
+		}
+		write(file, key, new Entry(now, content));
+		return content;
+	}
+
+	/**
+	 * Deletes all entries.
+	 */
+	public void clear() {
+		File[] files= fDirectory != null ? fDirectory.listFiles() : null;
+		if (files == null)
+			return;
+		for (File file : files) {
+			file.delete();
+		}
+	}
+
+	/**
+	 * Deletes the least recently used entries until the entries take up at most the maximum size.
+	 * Expired entries are not deleted otherwise, since they are returned when fetching them again
+	 * fails.
+	 */
+	public void trim() {
+		File[] files= fDirectory != null ? fDirectory.listFiles() : null;
+		if (files == null)
+			return;
+		long size= 0;
+		Map<File, Long> lastUse= new HashMap<>();
+		for (File file : files) {
+			size+= file.length();
+			lastUse.put(file, Long.valueOf(file.lastModified()));
+		}
+		if (size <= fMaxSize)
+			return;
+
+		Arrays.sort(files, Comparator.comparing(lastUse::get));
+		for (File file : files) {
+			if (size <= fMaxSize)
+				break;
+			long length= file.length();
+			if (file.delete())
+				size-= length;
+		}
+	}
+
+	private static boolean isRemote(URL location) {
+		String protocol= location.getProtocol();
+		if ("jar".equals(protocol)) { //$NON-NLS-1$
+			String path= location.getPath();
+			return path.startsWith("http:") || path.startsWith("https:"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return "http".equals(protocol) || "https".equals(protocol); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private File getFile(String key) {
+		StringBuilder name= new StringBuilder();
+		try {
+			for (byte b : MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8))) { //$NON-NLS-1$
+				name.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+			}
+		} catch (NoSuchAlgorithmException e) {
+			name.append(Integer.toHexString(key.hashCode()));
+		}
+		return new File(fDirectory, name.append(FILE_EXTENSION).toString());
+	}
+
+	private static Entry read(File file, String key) {
+		if (!file.isFile())
+			return null;
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+				return null;
+			long fetchTime= in.readLong();
+			if (!key.equals(readString(in)))
+				return null;
+			return new Entry(fetchTime, in.readBoolean() ? readString(in) : null);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private void write(File file, String key, Entry entry) {
+		File tmpFile= new File(file.getPath() + '.' + Thread.currentThread().getId() + ".tmp"); //$NON-NLS-1$
+		try {
+			fDirectory.mkdirs();
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(entry.fFetchTime);
+				writeString(out, key);
+				out.writeBoolean(entry.fContent != null);
+				if (entry.fContent != null)
+					writeString(out, entry.fContent);
+			}
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			tmpFile.delete();
+			JavaManipulationPlugin.log(e);
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes= new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		byte[] bytes= string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * @return the number of requests that were served from unexpired entries
+	 */
+	public synchronized long getHitCount() {
+		return fHits;
+	}
+
+	/**
+	 * @return the number of requests for which the Javadoc had to be fetched
+	 */
+	public synchronized long getMissCount() {
+		return fMisses;
+	}
+
+	/**
+	 * @return the number of requests that were served from expired entries because fetching failed
+	 */
+	public synchronized long getStaleHitCount() {
+		return fStaleHits;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "AttachedJavadocCache [directory=" + fDirectory + ", hits=" + fHits + ", misses=" + fMisses + ", staleHits=" + fStaleHits + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+}
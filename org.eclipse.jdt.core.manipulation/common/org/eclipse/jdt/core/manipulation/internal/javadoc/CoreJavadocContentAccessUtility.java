@@ -469,7 +469,7 @@ public class CoreJavadocContentAccessUtility {
 			return r;
 		}
 		if (useAttachedJavadoc && member.getOpenable().getBuffer() == null) { // only if no source available
-			String s= member.getAttachedJavadoc(null);
+			String s= AttachedJavadocCache.getDefault().getAttachedJavadoc(member, null);
 			if (s != null)
 				return new StringReader(s);
 		}
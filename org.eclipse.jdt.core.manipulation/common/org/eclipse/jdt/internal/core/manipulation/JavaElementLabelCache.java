@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.core.manipulation.util.BoundedLRUCache;
+import org.eclipse.jdt.internal.core.manipulation.util.JavaElementDeltas;
+
+/**
+ * A bounded cache of the text labels of types, methods, fields and initializers, keyed by the
+ * element and the rendering flags.
+ * <p>
+ * The label of a member only depends on its compilation unit or class file and on the class path.
+ * The keys contain a stamp of the compilation unit or class file, which is incremented when it
+ * changes, so that its previous entries are no longer found and are evicted eventually. All entries
+ * are removed on the container changes reported by
+ * {@link JavaElementDeltas#visitTypeRootDeltas(org.eclipse.jdt.core.IJavaElementDelta, JavaElementDeltas.ITypeRootDeltaVisitor)}. Labels rendered
+ * with {@link JavaElementLabelsCore#P_COMPRESSED} depend on preferences and are not cached.
+ * </p>
+ * <p>
+ * The maximum number of entries can be configured with the <code>jdt.elementLabelCache.maxEntries</code>
+ * system property, a value of <code>0</code> disables the cache.
+ * </p>
+ */
+public final class JavaElementLabelCache implements IElementChangedListener {
+
+	/**
+	 * Computes the label of an element on a cache miss.
+	 */
+	public interface ILabelComposer {
+
+		/**
+		 * @param element the element to render
+		 * @param flags the rendering flags
+		 * @return the label of the element
+		 */
+		String compose(IJavaElement element, long flags);
+	}
+
+	private static final int MAX_ENTRIES= BoundedLRUCache.getMaxEntries("jdt.elementLabelCache.maxEntries", 10000); //$NON-NLS-1$
+
+	private static JavaElementLabelCache fgDefault;
+
+	private static final class Key {
+
+		final IJavaElement fElement;
+		final long fFlags;
+		final long fStamp;
+		final int fHash;
+
+		Key(IJavaElement element, long flags, long stamp) {
+			fElement= element;
+			fFlags= flags;
+			fStamp= stamp;
+			fHash= (element.hashCode() * 31 + Long.hashCode(flags)) * 31 + Long.hashCode(stamp);
+		}
+
+		@Override
+		public int hashCode() {
+			return fHash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other= (Key) obj;
+			return fFlags == other.fFlags && fStamp == other.fStamp && fElement.equals(other.fElement);
+		}
+	}
+
+	private final BoundedLRUCache<Key, String> fLabels;
+
+	/**
+	 * The stamps of the compilation units and class files that changed since the cache was cleared,
+	 * missing for all others, whose stamp is <code>0</code>.
+	 */
+	private final Map<IOpenable, Long> fStamps= new HashMap<>();
+
+	/**
+	 * Returns the cache for the labels of {@link JavaElementLabelsCore}, installing its element
+	 * changed listener on first access.
+	 *
+	 * @return the shared cache
+	 */
+	public static synchronized JavaElementLabelCache getDefault() {
+		if (fgDefault == null)
+			fgDefault= new JavaElementLabelCache(MAX_ENTRIES);
+		return fgDefault;
+	}
+
+	/**
+	 * Disposes the shared cache if it has been created.
+	 */
+	public static synchronized void disposeDefault() {
+		if (fgDefault != null) {
+			fgDefault.dispose();
+			fgDefault= null;
+		}
+	}
+
+	/**
+	 * Creates a new cache and installs its element changed listener. Clients that use a different
+	 * label composer than {@link JavaElementLabelsCore} have to use their own cache and dispose it.
+	 */
+	public JavaElementLabelCache() {
+		this(MAX_ENTRIES);
+	}
+
+	private JavaElementLabelCache(int maxEntries) {
+		fLabels= new BoundedLRUCache<>("JavaElementLabelCache", maxEntries); //$NON-NLS-1$
+		if (maxEntries > 0)
+			JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	/**
+	 * Removes the element changed listener and all cached labels.
+	 */
+	public void dispose() {
+		JavaCore.removeElementChangedListener(this);
+		clear();
+	}
+
+	/**
+	 * Returns the label of the given element, computing it with the given composer if it is not
+	 * cached.
+	 *
+	 * @param element the element to render
+	 * @param flags the rendering flags
+	 * @param composer computes the label on a cache miss
+	 * @return the label of the element
+	 */
+	public String getLabel(IJavaElement element, long flags, ILabelComposer composer) {
+		if (!isCacheable(element, flags))
+			return composer.compose(element, flags);
+
+		// the generation has to be read first, see clear()
+		long generation= fLabels.getGeneration();
+		Key key= new Key(element, flags, getStamp(element.getOpenable()));
+		String label= fLabels.get(key);
+		if (label == null) {
+			label= composer.compose(element, flags);
+			fLabels.put(key, label, generation);
+		}
+		return label;
+	}
+
+	private boolean isCacheable(IJavaElement element, long flags) {
+		if (!fLabels.isEnabled() || (flags & JavaElementLabelsCore.P_COMPRESSED) != 0)
+			return false;
+		switch (element.getElementType()) {
+			case IJavaElement.TYPE:
+			case IJavaElement.METHOD:
+			case IJavaElement.FIELD:
+			case IJavaElement.INITIALIZER:
+				return element.getOpenable() != null;
+			default:
+				return false;
+		}
+	}
+
+	private long getStamp(IOpenable openable) {
+		synchronized (fStamps) {
+			Long stamp= fStamps.get(openable);
+			return stamp != null ? stamp.longValue() : 0;
+		}
+	}
+
+	/**
+	 * Removes all cached labels. The stamps are reset in the same step, a label that is composed
+	 * meanwhile is not cached since the generation of the cache changes.
+	 */
+	public void clear() {
+		synchronized (fStamps) {
+			fStamps.clear();
+			fLabels.clear();
+		}
+	}
+
+	/**
+	 * Invalidates the cached labels of the members of the given compilation unit or class file,
+	 * including the labels that are composed meanwhile. Clears the cache if too many compilation
+	 * units and class files have changed.
+	 *
+	 * @param openable the compilation unit or class file
+	 */
+	public void remove(IOpenable openable) {
+		synchronized (fStamps) {
+			if (fStamps.size() >= MAX_ENTRIES)
+				clear();
+			fStamps.merge(openable, Long.valueOf(1), Long::sum);
+		}
+	}
+
+	/*
+	 * Changes are also tracked while the cache is empty, so that a label that is composed
+	 * meanwhile is not cached.
+	 */
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		boolean handled= JavaElementDeltas.visitTypeRootDeltas(event.getDelta(), delta -> {
+			remove((IOpenable) delta.getElement());
+			return true;
+		});
+		if (!handled)
+			clear();
+	}
+
+	/**
+	 * @return the number of labels that were served from the cache
+	 */
+	public long getHitCount() {
+		return fLabels.getHitCount();
+	}
+
+	/**
+	 * @return the number of labels that had to be computed
+	 */
+	public long getMissCount() {
+		return fLabels.getMissCount();
+	}
+
+	/**
+	 * @return the number of cached labels
+	 */
+	public int size() {
+		return fLabels.size();
+	}
+
+	@Override
+	public String toString() {
+		return fLabels.toString();
+	}
+}
@@ -118,6 +118,40 @@ public class JavaElementLabelComposerCore {
 		}
 	}
 
+	/**
+	 * A buffer adapter for an unsynchronized {@link StringBuilder}, which can be reused for several
+	 * labels.
+	 */
+	public static class FlexibleStringBuilderCore extends FlexibleBufferCore {
+		private final StringBuilder fStringBuilder;
+
+		public FlexibleStringBuilderCore(StringBuilder stringBuilder) {
+			fStringBuilder= stringBuilder;
+		}
+
+		@Override
+		public FlexibleBufferCore append(char ch) {
+			fStringBuilder.append(ch);
+			return this;
+		}
+
+		@Override
+		public FlexibleBufferCore append(String string) {
+			fStringBuilder.append(string);
+			return this;
+		}
+
+		@Override
+		public int length() {
+			return fStringBuilder.length();
+		}
+
+		@Override
+		public String toString() {
+			return fStringBuilder.toString();
+		}
+	}
+
 	final static long QUALIFIER_FLAGS= JavaElementLabelsCore.P_COMPRESSED | JavaElementLabelsCore.USE_RESOLVED;
 
 	/*
@@ -152,6 +186,15 @@ public class JavaElementLabelComposerCore {
 		this(new FlexibleStringBufferCore(buffer));
 	}
 
+	/**
+	 * Creates a new java element composer based on the given buffer.
+	 *
+	 * @param buffer the string builder
+	 */
+	public JavaElementLabelComposerCore(StringBuilder buffer) {
+		this(new FlexibleStringBuilderCore(buffer));
+	}
+
 	/**
 	 * Appends the label for a Java element with the flags as defined by this class.
 	 *
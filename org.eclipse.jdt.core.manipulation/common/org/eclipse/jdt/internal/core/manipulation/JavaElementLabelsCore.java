@@ -382,6 +382,13 @@ public final class JavaElementLabelsCore {
 	 */
 	public final static String DEFAULT_PACKAGE= JavaElementLabelsMessages.JavaElementLabels_default_package;
 
+	/**
+	 * Builders that have grown larger are not reused to not hold on to the memory.
+	 */
+	private static final int MAX_REUSED_BUFFER_CAPACITY= 1024;
+
+	private static final ThreadLocal<StringBuilder> fgBuffer= new ThreadLocal<>();
+
 	private JavaElementLabelsCore() {
 	}
 
@@ -416,9 +423,42 @@ public final class JavaElementLabelsCore {
 	 * @return the label of the Java element
 	 */
 	public static String getElementLabel(IJavaElement element, long flags) {
-		StringBuffer result= new StringBuffer();
-		getElementLabel(element, flags, result);
-		return org.eclipse.jdt.internal.core.manipulation.util.Strings.markJavaElementLabelLTR(result.toString());
+		return JavaElementLabelCache.getDefault().getLabel(element, flags, JavaElementLabelsCore::composeElementLabel);
+	}
+
+	private static String composeElementLabel(IJavaElement element, long flags) {
+		StringBuilder buffer= acquireBuffer();
+		try {
+			new JavaElementLabelComposerCore(buffer).appendElementLabel(element, flags);
+			return org.eclipse.jdt.internal.core.manipulation.util.Strings.markJavaElementLabelLTR(buffer.toString());
+		} finally {
+			releaseBuffer(buffer);
+		}
+	}
+
+	/**
+	 * Returns an empty string builder for composing a label. The builder is reused by the current
+	 * thread after it has been {@link #releaseBuffer(StringBuilder) released}.
+	 *
+	 * @return an empty string builder
+	 */
+	public static StringBuilder acquireBuffer() {
+		StringBuilder buffer= fgBuffer.get();
+		if (buffer == null)
+			return new StringBuilder(64);
+		fgBuffer.set(null); // labels can be composed recursively
+		buffer.setLength(0);
+		return buffer;
+	}
+
+	/**
+	 * Releases a string builder returned by {@link #acquireBuffer()} so that it can be reused.
+	 *
+	 * @param buffer the string builder
+	 */
+	public static void releaseBuffer(StringBuilder buffer) {
+		if (buffer.capacity() <= MAX_REUSED_BUFFER_CAPACITY)
+			fgBuffer.set(buffer);
 	}
 
 	/**
@@ -29,7 +29,10 @@ import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.Status;
 
 import org.eclipse.jdt.core.manipulation.JavaManipulation;
+import org.eclipse.jdt.core.manipulation.internal.javadoc.AttachedJavadocCache;
 
+import org.eclipse.jdt.internal.core.manipulation.dom.SharedASTCache;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallerIndex;
 import org.eclipse.jdt.internal.corext.util.TypeFilter;
 
 import org.eclipse.jdt.internal.ui.IJavaStatusConstants;
@@ -88,6 +91,10 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 			fTypeFilter.dispose();
 			fTypeFilter= null;
 		}
+		SharedASTCache.disposeDefault();
+		CallerIndex.disposeDefault();
+		JavaElementLabelCache.disposeDefault();
+		AttachedJavadocCache.disposeDefault();
 	}
 
 	/**
@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation.dom;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.core.BufferChangedEvent;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IBufferChangedListener;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.core.manipulation.util.BoundedLRUCache;
+import org.eclipse.jdt.internal.core.manipulation.util.JavaElementDeltas;
+
+/**
+ * A bounded cache of shared ASTs (with bindings) for type roots that are <em>not</em> the input of
+ * the active editor. The AST of the active editor is still held by {@link CoreASTProvider}.
+ * <p>
+ * Entries are evicted in least-recently-used order as soon as the maximum number of entries is
+ * exceeded. The cache is bounded by the number of entries only: an AST with bindings keeps the
+ * compiler's lookup environment alive, so its retained heap cannot be estimated from its source.
+ * </p>
+ * <p>
+ * An entry is removed as soon as the buffer of its type root changes or is closed, so that a cached
+ * AST never has to be compared with the current source. In addition, entries are invalidated on Java
+ * element deltas: a {@link JavaElementDeltas#isLocalChange(org.eclipse.jdt.core.IJavaElementDelta)
+ * local change} only invalidates the changed unit, while other changes invalidate all entries since
+ * the bindings of the other ASTs might be affected.
+ * </p>
+ * <p>
+ * The maximum number of entries can be configured with the <code>jdt.sharedASTCache.maxEntries</code>
+ * system property, a value of <code>0</code> disables the cache.
+ * </p>
+ */
+public final class SharedASTCache implements IElementChangedListener {
+
+	private static final int MAX_ENTRIES= BoundedLRUCache.getMaxEntries("jdt.sharedASTCache.maxEntries", 5); //$NON-NLS-1$
+
+	private static SharedASTCache fgDefault;
+
+	/**
+	 * A cached AST. The entry listens to the buffer the AST was created from and removes itself
+	 * from the cache when the buffer changes.
+	 */
+	private final class Entry implements IBufferChangedListener {
+
+		final ITypeRoot fInput;
+		final CompilationUnit fAST;
+		final IBuffer fBuffer;
+		/**
+		 * Set when the entry is removed because its buffer notified a change.
+		 */
+		volatile boolean fBufferChanged;
+
+		Entry(ITypeRoot input, CompilationUnit ast, IBuffer buffer) {
+			fInput= input;
+			fAST= ast;
+			fBuffer= buffer;
+		}
+
+		@Override
+		public void bufferChanged(BufferChangedEvent event) {
+			fBufferChanged= true;
+			fEntries.remove(fInput, this);
+		}
+
+		void dispose() {
+			fBuffer.removeBufferChangedListener(this);
+		}
+	}
+
+	private final BoundedLRUCache<ITypeRoot, Entry> fEntries;
+	/**
+	 * Entries removed because their buffer changed. They stop listening to the buffer on the next
+	 * modification of the cache, since a buffer must not lose listeners while it notifies them.
+	 */
+	private final List<Entry> fBufferChangedEntries= new ArrayList<>();
+
+	/**
+	 * Returns the shared cache, installing its element changed listener on first access.
+	 *
+	 * @return the shared cache
+	 */
+	public static synchronized SharedASTCache getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new SharedASTCache(MAX_ENTRIES);
+			if (MAX_ENTRIES > 0) {
+				JavaCore.addElementChangedListener(fgDefault, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+			}
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Disposes the shared cache if it has been created.
+	 */
+	public static synchronized void disposeDefault() {
+		if (fgDefault != null) {
+			JavaCore.removeElementChangedListener(fgDefault);
+			fgDefault.clear();
+			fgDefault= null;
+		}
+	}
+
+	private SharedASTCache(int maxEntries) {
+		fEntries= new BoundedLRUCache<>("SharedASTCache", maxEntries, this::removed); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the cached AST for the given type root. The AST is up to date since entries are
+	 * removed when the buffer of their type root changes.
+	 *
+	 * @param input the type root
+	 * @return the cached AST or <code>null</code> if no AST is cached
+	 */
+	public CompilationUnit get(ITypeRoot input) {
+		if (!fEntries.isEnabled())
+			return null;
+		Entry entry= fEntries.get(input);
+		return entry != null ? entry.fAST : null;
+	}
+
+	/**
+	 * Caches the given AST for the given type root. The AST is not cached if it does not span the
+	 * current source of the type root.
+	 *
+	 * @param input the type root
+	 * @param ast the AST created for <code>input</code>
+	 */
+	public void put(ITypeRoot input, CompilationUnit ast) {
+		if (!fEntries.isEnabled() || ast == null)
+			return;
+
+		IBuffer buffer= getBuffer(input);
+		if (buffer == null || buffer.isClosed() || ast.getLength() != buffer.getLength())
+			return; // buffer has changed while the AST was created
+
+		disposeBufferChangedEntries();
+		Entry entry= new Entry(input, ast, buffer);
+		buffer.addBufferChangedListener(entry);
+		fEntries.put(input, entry);
+	}
+
+	/**
+	 * Removes the cached AST of the given type root.
+	 *
+	 * @param input the type root
+	 */
+	public void remove(ITypeRoot input) {
+		disposeBufferChangedEntries();
+		fEntries.remove(input);
+	}
+
+	/**
+	 * Removes all cached ASTs.
+	 */
+	public void clear() {
+		disposeBufferChangedEntries();
+		fEntries.clear();
+	}
+
+	private void removed(ITypeRoot input, Entry entry, boolean evicted) {
+		if (evicted && JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+			System.out.println(CoreASTProvider.getThreadName() + " - " + CoreASTProvider.DEBUG_PREFIX + "evicting cached AST for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$
+		if (entry.fBufferChanged) {
+			synchronized (fBufferChangedEntries) {
+				fBufferChangedEntries.add(entry);
+			}
+		} else {
+			entry.dispose();
+		}
+	}
+
+	private void disposeBufferChangedEntries() {
+		List<Entry> entries;
+		synchronized (fBufferChangedEntries) {
+			if (fBufferChangedEntries.isEmpty())
+				return;
+			entries= new ArrayList<>(fBufferChangedEntries);
+			fBufferChangedEntries.clear();
+		}
+		for (Entry entry : entries)
+			entry.dispose();
+	}
+
+	private static IBuffer getBuffer(ITypeRoot input) {
+		try {
+			return input.exists() ? input.getBuffer() : null;
+		} catch (JavaModelException e) {
+			return null;
+		}
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (fEntries.isEmpty())
+			return;
+		boolean local= JavaElementDeltas.visitTypeRootDeltas(event.getDelta(), delta -> {
+			if (!JavaElementDeltas.isLocalChange(delta))
+				return false;
+			remove((ITypeRoot) delta.getElement());
+			return true;
+		});
+		if (!local)
+			clear();
+	}
+
+	/**
+	 * @return the number of requests that were served from the cache
+	 */
+	public long getHitCount() {
+		return fEntries.getHitCount();
+	}
+
+	/**
+	 * @return the number of requests that could not be served from the cache
+	 */
+	public long getMissCount() {
+		return fEntries.getMissCount();
+	}
+
+	/**
+	 * @return the number of entries that have been evicted to stay within the cache bounds
+	 */
+	public long getEvictionCount() {
+		return fEntries.getEvictionCount();
+	}
+
+	/**
+	 * @return the number of entries that have been removed because they were out of date
+	 */
+	public long getInvalidationCount() {
+		return fEntries.getInvalidationCount();
+	}
+
+	/**
+	 * @return the number of cached ASTs
+	 */
+	public int size() {
+		return fEntries.size();
+	}
+
+	@Override
+	public String toString() {
+		return fEntries.toString();
+	}
+}
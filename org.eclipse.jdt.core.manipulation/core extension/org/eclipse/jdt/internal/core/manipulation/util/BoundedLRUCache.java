@@ -0,0 +1,350 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * A thread safe map that keeps at most a given number of entries and evicts the least recently
+ * used entry when a new entry exceeds this number. A maximum of <code>0</code> disables the cache:
+ * {@link #put(Object, Object)} does nothing and {@link #get(Object)} always misses.
+ * <p>
+ * The cache counts hits, misses, evictions and invalidations. An entry is <em>invalidated</em> when
+ * it is removed by {@link #remove(Object)}, {@link #removeIf(BiPredicate)} or {@link #clear()},
+ * and <em>evicted</em> when it is removed to stay within the maximum number of entries.
+ * </p>
+ * <p>
+ * Values computed outside the lock of the cache can be discarded when entries are removed in the
+ * meantime: read the {@link #getGeneration() generation} before computing the value and pass it to
+ * {@link #put(Object, Object, long)}. Any removal increments the generation, even if it found no
+ * entry, since the value being computed may be the one the removal should have invalidated.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class BoundedLRUCache<K, V> {
+
+	/**
+	 * Notified about the entries that have been removed from a cache. Listeners are called
+	 * without holding the lock of the cache.
+	 *
+	 * @param <K> the type of the keys
+	 * @param <V> the type of the values
+	 */
+	@FunctionalInterface
+	public interface IRemovalListener<K, V> {
+
+		/**
+		 * @param key the key of the removed entry
+		 * @param value the value of the removed entry
+		 * @param evicted <code>true</code> if the entry has been evicted to stay within the maximum
+		 *            number of entries, <code>false</code> if it has been removed, invalidated or
+		 *            replaced
+		 */
+		void removed(K key, V value, boolean evicted);
+	}
+
+	private static final class Removal<K, V> {
+
+		final K fKey;
+		final V fValue;
+		final boolean fEvicted;
+
+		Removal(K key, V value, boolean evicted) {
+			fKey= key;
+			fValue= value;
+			fEvicted= evicted;
+		}
+	}
+
+	private final String fName;
+	private final int fMaxEntries;
+	private final IRemovalListener<K, V> fRemovalListener;
+	private final LinkedHashMap<K, V> fEntries= new LinkedHashMap<>(16, 0.75f, true);
+
+	private long fGeneration;
+	private long fHits;
+	private long fMisses;
+	private long fEvictions;
+	private long fInvalidations;
+
+	/**
+	 * Returns the maximum number of entries configured with the given system property.
+	 *
+	 * @param property the name of the system property
+	 * @param defaultValue the maximum if the property is not set
+	 * @return the maximum number of entries, <code>0</code> if the cache is disabled
+	 */
+	public static int getMaxEntries(String property, int defaultValue) {
+		return Math.max(0, Integer.getInteger(property, defaultValue).intValue());
+	}
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param name the name of the cache, used by {@link #toString()}
+	 * @param maxEntries the maximum number of entries, <code>0</code> to disable the cache
+	 */
+	public BoundedLRUCache(String name, int maxEntries) {
+		this(name, maxEntries, null);
+	}
+
+	/**
+	 * Creates a cache that notifies the given listener about removed entries.
+	 *
+	 * @param name the name of the cache, used by {@link #toString()}
+	 * @param maxEntries the maximum number of entries, <code>0</code> to disable the cache
+	 * @param removalListener the listener or <code>null</code>
+	 */
+	public BoundedLRUCache(String name, int maxEntries, IRemovalListener<K, V> removalListener) {
+		fName= name;
+		fMaxEntries= maxEntries;
+		fRemovalListener= removalListener;
+	}
+
+	/**
+	 * @return <code>true</code> if the maximum number of entries is greater than <code>0</code>
+	 */
+	public boolean isEnabled() {
+		return fMaxEntries > 0;
+	}
+
+	/**
+	 * Returns the value of the given key and marks it as most recently used.
+	 *
+	 * @param key the key
+	 * @return the value or <code>null</code> if the key is not cached
+	 */
+	public synchronized V get(K key) {
+		V value= fEntries.get(key);
+		if (value != null)
+			fHits++;
+		else
+			fMisses++;
+		return value;
+	}
+
+	/**
+	 * Returns the generation of the cache, which is incremented by {@link #remove(Object)},
+	 * {@link #remove(Object, Object)}, {@link #removeIf(BiPredicate)} and {@link #clear()}.
+	 *
+	 * @return the generation
+	 */
+	public synchronized long getGeneration() {
+		return fGeneration;
+	}
+
+	/**
+	 * Caches the given value and evicts the least recently used entries if the cache is full.
+	 *
+	 * @param key the key
+	 * @param value the value, not <code>null</code>
+	 */
+	public void put(K key, V value) {
+		List<Removal<K, V>> removed= new ArrayList<>();
+		synchronized (this) {
+			doPut(key, value, removed);
+		}
+		notifyRemoved(removed);
+	}
+
+	/**
+	 * Caches the given value unless entries have been removed since the given generation.
+	 *
+	 * @param key the key
+	 * @param value the value, not <code>null</code>
+	 * @param generation the {@link #getGeneration() generation} read before the value was computed
+	 * @return <code>true</code> if the value has been cached
+	 */
+	public boolean put(K key, V value, long generation) {
+		List<Removal<K, V>> removed= new ArrayList<>();
+		synchronized (this) {
+			if (generation != fGeneration)
+				return false;
+			doPut(key, value, removed);
+		}
+		notifyRemoved(removed);
+		return true;
+	}
+
+	private void doPut(K key, V value, List<Removal<K, V>> removed) {
+		if (fMaxEntries <= 0)
+			return;
+		V previous= fEntries.put(key, value);
+		if (previous != null && previous != value)
+			addRemoved(removed, key, previous, false);
+		Iterator<Map.Entry<K, V>> iterator= fEntries.entrySet().iterator();
+		while (fEntries.size() > fMaxEntries && iterator.hasNext()) {
+			Map.Entry<K, V> eldest= iterator.next();
+			iterator.remove();
+			addRemoved(removed, eldest.getKey(), eldest.getValue(), true);
+			fEvictions++;
+		}
+	}
+
+	/**
+	 * Removes the entry of the given key and increments the {@link #getGeneration() generation}.
+	 *
+	 * @param key the key
+	 * @return the removed value or <code>null</code> if the key was not cached
+	 */
+	public V remove(K key) {
+		V value;
+		synchronized (this) {
+			fGeneration++;
+			value= fEntries.remove(key);
+			if (value == null)
+				return null;
+			fInvalidations++;
+		}
+		if (fRemovalListener != null)
+			fRemovalListener.removed(key, value, false);
+		return value;
+	}
+
+	/**
+	 * Removes the entry of the given key if it maps to the given value, and increments the
+	 * {@link #getGeneration() generation}.
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @return <code>true</code> if the entry has been removed
+	 */
+	public boolean remove(K key, V value) {
+		synchronized (this) {
+			fGeneration++;
+			if (fEntries.get(key) != value)
+				return false;
+			fEntries.remove(key);
+			fInvalidations++;
+		}
+		if (fRemovalListener != null)
+			fRemovalListener.removed(key, value, false);
+		return true;
+	}
+
+	/**
+	 * Removes the entries accepted by the given filter and increments the
+	 * {@link #getGeneration() generation}. The filter is called while holding the lock of the cache.
+	 *
+	 * @param filter the filter
+	 * @return the number of removed entries
+	 */
+	public int removeIf(BiPredicate<? super K, ? super V> filter) {
+		List<Removal<K, V>> removed= new ArrayList<>();
+		synchronized (this) {
+			fGeneration++;
+			for (Iterator<Map.Entry<K, V>> iterator= fEntries.entrySet().iterator(); iterator.hasNext();) {
+				Map.Entry<K, V> entry= iterator.next();
+				if (filter.test(entry.getKey(), entry.getValue())) {
+					iterator.remove();
+					addRemoved(removed, entry.getKey(), entry.getValue(), false);
+					fInvalidations++;
+				}
+			}
+		}
+		notifyRemoved(removed);
+		return removed.size();
+	}
+
+	/**
+	 * Removes all entries and increments the {@link #getGeneration() generation}.
+	 */
+	public void clear() {
+		List<Removal<K, V>> removed= new ArrayList<>();
+		synchronized (this) {
+			fGeneration++;
+			fInvalidations+= fEntries.size();
+			for (Map.Entry<K, V> entry : fEntries.entrySet())
+				addRemoved(removed, entry.getKey(), entry.getValue(), false);
+			fEntries.clear();
+		}
+		notifyRemoved(removed);
+	}
+
+	/**
+	 * Returns a copy of the entries, from the least to the most recently used one.
+	 *
+	 * @return the entries
+	 */
+	public synchronized Map<K, V> snapshot() {
+		return new LinkedHashMap<>(fEntries);
+	}
+
+	private static <K, V> void addRemoved(List<Removal<K, V>> removed, K key, V value, boolean evicted) {
+		removed.add(new Removal<>(key, value, evicted));
+	}
+
+	private void notifyRemoved(List<Removal<K, V>> removed) {
+		if (fRemovalListener == null)
+			return;
+		for (Removal<K, V> removal : removed)
+			fRemovalListener.removed(removal.fKey, removal.fValue, removal.fEvicted);
+	}
+
+	/**
+	 * @return <code>true</code> if the cache has no entries
+	 */
+	public synchronized boolean isEmpty() {
+		return fEntries.isEmpty();
+	}
+
+	/**
+	 * @return the number of entries
+	 */
+	public synchronized int size() {
+		return fEntries.size();
+	}
+
+	/**
+	 * @return the number of calls to {@link #get(Object)} that found a value
+	 */
+	public synchronized long getHitCount() {
+		return fHits;
+	}
+
+	/**
+	 * @return the number of calls to {@link #get(Object)} that found no value
+	 */
+	public synchronized long getMissCount() {
+		return fMisses;
+	}
+
+	/**
+	 * @return the number of entries that have been evicted to stay within the maximum number of
+	 *         entries
+	 */
+	public synchronized long getEvictionCount() {
+		return fEvictions;
+	}
+
+	/**
+	 * @return the number of entries that have been removed, invalidated or cleared
+	 */
+	public synchronized long getInvalidationCount() {
+		return fInvalidations;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return fName + " [entries=" + fEntries.size() + ", hits=" + fHits + ", misses=" + fMisses //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ ", evictions=" + fEvictions + ", invalidations=" + fInvalidations + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation.util;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+
+/**
+ * Classifies Java element deltas for caches of information derived from the Java model.
+ * <p>
+ * A cache typically walks a delta with {@link #visitTypeRootDeltas(IJavaElementDelta, ITypeRootDeltaVisitor)},
+ * discards everything on changes of the containers, and decides per compilation unit or class file
+ * with {@link #isLocalChange(IJavaElementDelta)} or {@link #isWorkingCopyChange(IJavaElementDelta)}
+ * which of its entries are affected.
+ * </p>
+ */
+public final class JavaElementDeltas {
+
+	/**
+	 * Flags of a project, package fragment root or package fragment delta that can change the
+	 * resolution of names in any type root below it.
+	 */
+	private static final int CONTAINER_FLAGS= IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+			| IJavaElementDelta.F_SOURCEATTACHED | IJavaElementDelta.F_SOURCEDETACHED | IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_OPENED;
+
+	/**
+	 * Visits the deltas of compilation units and class files.
+	 */
+	@FunctionalInterface
+	public interface ITypeRootDeltaVisitor {
+
+		/**
+		 * @param delta the delta of a compilation unit or class file
+		 * @return <code>true</code> if the change has been handled, <code>false</code> if the
+		 *         caller has to discard all information derived from the Java model; no further
+		 *         deltas are visited in this case
+		 */
+		boolean visit(IJavaElementDelta delta);
+	}
+
+	private JavaElementDeltas() {
+	}
+
+	/**
+	 * Passes the deltas of the compilation units and class files in the given delta to the visitor.
+	 * The walk stops as soon as a project, package fragment root or package fragment has been added,
+	 * removed, opened or closed, its class path or archive has changed, or its source attachment has
+	 * changed. These changes can affect every type root below the container, and the deltas of the
+	 * contained type roots are not always reported.
+	 *
+	 * @param delta the delta
+	 * @param visitor the visitor
+	 * @return <code>false</code> if the walk has been stopped by a container change or by the
+	 *         visitor, i.e. if the caller has to discard all information derived from the Java model
+	 */
+	public static boolean visitTypeRootDeltas(IJavaElementDelta delta, ITypeRootDeltaVisitor visitor) {
+		switch (delta.getElement().getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & CONTAINER_FLAGS) != 0)
+					return false;
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					if (!visitTypeRootDeltas(child, visitor))
+						return false;
+				}
+				return true;
+			case IJavaElement.COMPILATION_UNIT:
+			case IJavaElement.CLASS_FILE:
+				return visitor.visit(delta);
+			default:
+				return true;
+		}
+	}
+
+	/**
+	 * Tells whether the given change of a compilation unit or class file is local to it, i.e.
+	 * whether it leaves the declarations the type root exposes to other type roots unchanged. This is
+	 * the case if only the bodies of methods and initializers, comments, including Javadoc comments,
+	 * or the formatting have changed, or if just the primary resource of a reconciled working copy
+	 * has been saved.
+	 * <p>
+	 * Information about other type roots that depends on the declarations of the changed one, like
+	 * bindings, type hierarchies or resolved references, stays valid. Information derived from the
+	 * text of the changed type root, including its comments, and information that includes the
+	 * comments of other type roots, like inherited Javadoc, does not.
+	 * </p>
+	 *
+	 * @param delta the delta of a compilation unit or class file
+	 * @return <code>true</code> if the change is local to the type root
+	 */
+	public static boolean isLocalChange(IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED)
+			return false;
+		int flags= delta.getFlags();
+		if ((flags & IJavaElementDelta.F_FINE_GRAINED) != 0)
+			return delta.getAffectedChildren().length == 0;
+		if ((flags & ~IJavaElementDelta.F_PRIMARY_RESOURCE) == 0)
+			return true;
+		return (flags & ~(IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_PRIMARY_RESOURCE)) == 0 && isWorkingCopy(delta.getElement());
+	}
+
+	/**
+	 * Tells whether the given change of a compilation unit only reports that a working copy has been
+	 * opened, closed or made primary, or that a working copy has been saved. The content of the Java
+	 * model, as seen by searches and by reconciled working copies, is unchanged in this case.
+	 *
+	 * @param delta the delta of a compilation unit or class file
+	 * @return <code>true</code> if the content of the type root is unchanged
+	 */
+	public static boolean isWorkingCopyChange(IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED || delta.getAffectedChildren().length != 0)
+			return false;
+		int flags= delta.getFlags() & ~(IJavaElementDelta.F_PRIMARY_WORKING_COPY | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED);
+		if ((flags & IJavaElementDelta.F_PRIMARY_RESOURCE) != 0 && isWorkingCopy(delta.getElement()))
+			flags&= ~(IJavaElementDelta.F_PRIMARY_RESOURCE | IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED);
+		return flags == 0;
+	}
+
+	private static boolean isWorkingCopy(IJavaElement element) {
+		return element instanceof ICompilationUnit && ((ICompilationUnit) element).isWorkingCopy();
+	}
+}
@@ -180,6 +180,16 @@ public class CallHierarchyCore {
         this.fSearchScope= searchScope;
     }
 
+    /**
+     * Returns the index of the callers found in the workspace, which is consulted before the
+     * workspace is searched for the callers of a method or field.
+     *
+     * @return the caller index
+     */
+    public CallerIndex getCallerIndex() {
+        return CallerIndex.getDefault();
+    }
+
 	/**
 	 * Checks whether the fully qualified name is ignored by the set filters.
 	 *
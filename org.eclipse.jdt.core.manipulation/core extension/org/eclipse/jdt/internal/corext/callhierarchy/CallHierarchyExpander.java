@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * Expands call hierarchies breadth first, searching the calls of all members of a level
+ * concurrently.
+ * <p>
+ * Wrappers of the same member on one level are searched only once: the first wrapper searches and
+ * stores the result in the method cache shared by the wrappers of a hierarchy, the other wrappers
+ * take their calls from that cache. Results are reported to the {@link IExpansionListener} in the
+ * calling thread as soon as the search for a member has finished.
+ * </p>
+ * <p>
+ * The default number of concurrent searches can be configured with the
+ * <code>jdt.callHierarchy.parallelism</code> system property.
+ * </p>
+ */
+public class CallHierarchyExpander {
+
+	/**
+	 * Receives the calls found while expanding.
+	 */
+	public interface IExpansionListener {
+		/**
+		 * Called in the thread that runs {@link CallHierarchyExpander#expand(MethodWrapper[], IExpansionListener, IProgressMonitor)}
+		 * when the calls of a wrapper have been found.
+		 *
+		 * @param wrapper the expanded wrapper
+		 * @param calls the calls of <code>wrapper</code>
+		 */
+		void callsFound(MethodWrapper wrapper, MethodWrapper[] calls);
+	}
+
+	private static final int DEFAULT_PARALLELISM= Integer.getInteger("jdt.callHierarchy.parallelism", //$NON-NLS-1$
+			Math.min(4, Runtime.getRuntime().availableProcessors())).intValue();
+
+	/**
+	 * Progress monitor for the worker threads: only forwards cancellation, progress is reported by
+	 * the calling thread.
+	 */
+	private static final class WorkerProgressMonitor extends NullProgressMonitor {
+
+		private volatile boolean fCanceled;
+
+		@Override
+		public boolean isCanceled() {
+			return fCanceled;
+		}
+
+		@Override
+		public void setCanceled(boolean canceled) {
+			fCanceled= canceled;
+		}
+	}
+
+	private final int fMaxDepth;
+	private final int fParallelism;
+
+	/**
+	 * Creates an expander that searches with the default number of threads.
+	 *
+	 * @param maxDepth the maximum level of the wrappers that are expanded
+	 */
+	public CallHierarchyExpander(int maxDepth) {
+		this(maxDepth, DEFAULT_PARALLELISM);
+	}
+
+	/**
+	 * Creates an expander.
+	 *
+	 * @param maxDepth the maximum level of the wrappers that are expanded
+	 * @param parallelism the maximum number of concurrent searches
+	 */
+	public CallHierarchyExpander(int maxDepth, int parallelism) {
+		fMaxDepth= maxDepth;
+		fParallelism= Math.max(1, parallelism);
+	}
+
+	/**
+	 * Tells whether the calls of the given wrapper are searched. By default, all wrappers up to the
+	 * maximum level are expanded that can have children and are not recursive.
+	 *
+	 * @param wrapper the wrapper
+	 * @return <code>true</code> if the wrapper is expanded
+	 */
+	protected boolean shouldExpand(MethodWrapper wrapper) {
+		return wrapper.getLevel() <= fMaxDepth && wrapper.canHaveChildren() && !wrapper.isRecursive();
+	}
+
+	/**
+	 * Expands the given wrappers and their calls level by level.
+	 *
+	 * @param roots the wrappers to expand
+	 * @param listener the listener that receives the calls
+	 * @param monitor the progress monitor
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 */
+	public void expand(MethodWrapper[] roots, IExpansionListener listener, IProgressMonitor monitor) {
+		SubMonitor progress= SubMonitor.convert(monitor, CallHierarchyMessages.CallHierarchyExpander_taskname, fMaxDepth);
+		WorkerProgressMonitor workerMonitor= new WorkerProgressMonitor();
+		ExecutorService executor= Executors.newFixedThreadPool(fParallelism, runnable -> {
+			Thread thread= new Thread(runnable, "Call Hierarchy Expander"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<MethodWrapper> level= List.of(roots);
+			while (!level.isEmpty()) {
+				if (progress.isCanceled())
+					throw new OperationCanceledException();
+				level= expandLevel(level, listener, executor, workerMonitor, progress);
+				progress.worked(1);
+			}
+		} finally {
+			workerMonitor.setCanceled(true);
+			executor.shutdownNow();
+		}
+	}
+
+	private List<MethodWrapper> expandLevel(List<MethodWrapper> level, IExpansionListener listener, ExecutorService executor, WorkerProgressMonitor workerMonitor, IProgressMonitor monitor) {
+		Map<String, List<MethodWrapper>> byMember= new LinkedHashMap<>();
+		for (MethodWrapper wrapper : level) {
+			if (shouldExpand(wrapper))
+				byMember.computeIfAbsent(wrapper.getMethodCall().getKey(), k -> new ArrayList<>()).add(wrapper);
+		}
+
+		CompletionService<MethodWrapper> completionService= new ExecutorCompletionService<>(executor);
+		for (List<MethodWrapper> wrappers : byMember.values()) {
+			MethodWrapper first= wrappers.get(0);
+			completionService.submit(() -> {
+				JavaCore.runReadOnly(() -> first.getCalls(workerMonitor));
+				return first;
+			});
+		}
+
+		List<MethodWrapper> next= new ArrayList<>();
+		try {
+			for (int pending= byMember.size(); pending > 0; pending--) {
+				Future<MethodWrapper> future;
+				while ((future= completionService.poll(100, TimeUnit.MILLISECONDS)) == null) {
+					if (monitor.isCanceled()) {
+						workerMonitor.setCanceled(true);
+						throw new OperationCanceledException();
+					}
+				}
+				MethodWrapper searched= future.get();
+				// the other wrappers of the member take the calls from the method cache
+				for (MethodWrapper wrapper : byMember.get(searched.getMethodCall().getKey())) {
+					MethodWrapper[] calls= wrapper.getCalls(workerMonitor);
+					listener.callsFound(wrapper, calls);
+					for (MethodWrapper call : calls) {
+						next.add(call);
+					}
+				}
+			}
+		} catch (ExecutionException e) {
+			workerMonitor.setCanceled(true);
+			Throwable cause= e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		} catch (InterruptedException e) {
+			workerMonitor.setCanceled(true);
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+		return next;
+	}
+}
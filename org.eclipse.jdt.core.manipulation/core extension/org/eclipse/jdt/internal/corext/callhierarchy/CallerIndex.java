@@ -0,0 +1,561 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ISaveContext;
+import org.eclipse.core.resources.ISaveParticipant;
+import org.eclipse.core.resources.ISavedState;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.manipulation.JavaManipulation;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.core.manipulation.util.BoundedLRUCache;
+import org.eclipse.jdt.internal.core.manipulation.util.JavaElementDeltas;
+
+/**
+ * A workspace wide index of the callers of methods and fields, used by {@link CallerMethodWrapper}
+ * before it searches the workspace for references.
+ * <p>
+ * The index records the references found by a workspace search, grouped by the type root that
+ * contains them. When the change of a compilation unit is
+ * {@link JavaElementDeltas#isLocalChange(IJavaElementDelta) local} to it, the unit is marked as
+ * changed; the next lookup of a recorded member searches just the changed units again and keeps the
+ * references in all other units. Other changes, i.e. changed declarations, added or removed units
+ * and changed class paths, might change the resolution of references in other units and clear the
+ * index.
+ * </p>
+ * <p>
+ * The index is written to the state location on a full workspace save and read back on the next
+ * start. Java files that changed while the workspace was closed are marked as changed, all other
+ * relevant resource changes discard the saved index.
+ * </p>
+ * <p>
+ * The maximum number of recorded members can be configured with the
+ * <code>jdt.callerIndex.maxEntries</code> system property, a value of <code>0</code> disables the
+ * index.
+ * </p>
+ */
+public final class CallerIndex implements IElementChangedListener, ISaveParticipant {
+
+	private static final int MAX_ENTRIES= BoundedLRUCache.getMaxEntries("jdt.callerIndex.maxEntries", 5000); //$NON-NLS-1$
+
+	/**
+	 * Maximum number of changed units that are tracked before the index is cleared.
+	 */
+	private static final int MAX_CHANGED_UNITS= 1000;
+
+	private static final String FILE_NAME= "callerIndex.bin"; //$NON-NLS-1$
+
+	private static final int MAGIC= 0x4a43494e;
+
+	private static final int VERSION= 1;
+
+	private static CallerIndex fgDefault;
+
+	/**
+	 * A reference found by the search.
+	 */
+	private static final class Reference {
+
+		final String fMember;
+		final int fStart;
+		final int fEnd;
+
+		Reference(String member, int start, int end) {
+			fMember= member;
+			fStart= start;
+			fEnd= end;
+		}
+	}
+
+	/**
+	 * The references to a member, grouped by the handle identifier of the type root containing
+	 * them. Entries are not modified once they are added to the index.
+	 */
+	private static final class Entry {
+
+		final long fGeneration;
+		final Map<String, List<Reference>> fReferences;
+
+		Entry(long generation, Map<String, List<Reference>> references) {
+			fGeneration= generation;
+			fReferences= references;
+		}
+	}
+
+	/**
+	 * The content of an index file.
+	 */
+	private static final class SavedIndex {
+
+		final int fSaveNumber;
+		final long fGeneration;
+		final Map<String, Long> fChangedUnits= new HashMap<>();
+		final Map<String, Entry> fEntries= new LinkedHashMap<>();
+
+		SavedIndex(int saveNumber, long generation) {
+			fSaveNumber= saveNumber;
+			fGeneration= generation;
+		}
+	}
+
+	private static final class ReferenceCollector extends SearchRequestor {
+
+		final Map<String, List<Reference>> fReferences= new HashMap<>();
+
+		@Override
+		public void acceptSearchMatch(SearchMatch match) {
+			if (match.getAccuracy() != SearchMatch.A_ACCURATE)
+				return;
+			IMember member= MethodReferencesSearchRequestor.getCallingMember(match);
+			if (member == null)
+				return;
+			ITypeRoot typeRoot= member.getTypeRoot();
+			if (typeRoot == null)
+				return;
+			fReferences.computeIfAbsent(typeRoot.getHandleIdentifier(), k -> new ArrayList<>())
+					.add(new Reference(member.getHandleIdentifier(), match.getOffset(), match.getOffset() + match.getLength()));
+		}
+	}
+
+	/**
+	 * The recorded callers by member. The generation of the cache is incremented whenever the index
+	 * is cleared, to drop the results of searches that started before.
+	 */
+	private final BoundedLRUCache<String, Entry> fEntries= new BoundedLRUCache<>("CallerIndex", MAX_ENTRIES); //$NON-NLS-1$
+
+	/**
+	 * Maps the handle identifiers of changed units to the generation in which they changed.
+	 */
+	private final Map<String, Long> fChangedUnits= new HashMap<>();
+	private long fGeneration;
+
+	private long fHits;
+	private long fMisses;
+
+	/**
+	 * Returns the shared index. On first access, the listeners are installed and the index saved by
+	 * the previous session is read by the calling thread. The file is read without holding a lock:
+	 * other threads get the index immediately and search the workspace until it has been restored.
+	 *
+	 * @return the shared index
+	 */
+	public static CallerIndex getDefault() {
+		CallerIndex index;
+		synchronized (CallerIndex.class) {
+			if (fgDefault != null)
+				return fgDefault;
+			index= fgDefault= new CallerIndex();
+			if (MAX_ENTRIES <= 0)
+				return index;
+			JavaCore.addElementChangedListener(index, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		index.restore();
+		return index;
+	}
+
+	/**
+	 * Removes the listener of the shared index if it has been created. The save participant stays
+	 * registered, so that the workspace keeps the delta for the next session.
+	 */
+	public static synchronized void disposeDefault() {
+		if (fgDefault != null) {
+			JavaCore.removeElementChangedListener(fgDefault);
+			fgDefault= null;
+		}
+	}
+
+	private CallerIndex() {
+	}
+
+	/**
+	 * Returns the callers found by searching the given pattern in the given scope. If the callers of
+	 * the member have been recorded, only the units that changed since then are searched.
+	 *
+	 * @param member the member whose callers are searched
+	 * @param limitTo the kind of references searched, see {@link SearchPattern#createPattern(IJavaElement, int)}
+	 * @param pattern the pattern matching the references to <code>member</code>
+	 * @param scope the scope to search, must contain all references to <code>member</code> in the
+	 *            workspace
+	 * @param monitor the progress monitor
+	 * @return a map from handle identifier to {@link MethodCall}
+	 * @throws CoreException if the search fails
+	 */
+	public Map<String, MethodCall> getCallers(IMember member, int limitTo, SearchPattern pattern, IJavaSearchScope scope, IProgressMonitor monitor) throws CoreException {
+		if (MAX_ENTRIES <= 0)
+			return toCallers(search(pattern, scope, monitor));
+
+		String key= member.getHandleIdentifier() + '#' + limitTo;
+		Entry entry;
+		long generation;
+		long clearCount;
+		Set<String> changedUnits;
+		synchronized (this) {
+			entry= fEntries.get(key);
+			generation= fGeneration;
+			clearCount= fEntries.getGeneration();
+			changedUnits= entry != null ? getChangedUnits(entry.fGeneration) : null;
+			if (entry != null && changedUnits.isEmpty()) {
+				fHits++;
+				return toCallers(entry.fReferences);
+			}
+			fMisses++;
+		}
+
+		Map<String, List<Reference>> references;
+		if (entry == null) {
+			references= search(pattern, scope, monitor);
+		} else {
+			references= new HashMap<>(entry.fReferences);
+			List<IJavaElement> units= new ArrayList<>(changedUnits.size());
+			for (String handle : changedUnits) {
+				references.remove(handle);
+				IJavaElement unit= JavaCore.create(handle);
+				if (unit != null && unit.exists() && scope.encloses(unit))
+					units.add(unit);
+			}
+			if (!units.isEmpty()) {
+				IJavaSearchScope changedScope= SearchEngine.createJavaSearchScope(units.toArray(new IJavaElement[units.size()]));
+				references.putAll(search(pattern, changedScope, monitor));
+			}
+		}
+
+		fEntries.put(key, new Entry(generation, references), clearCount);
+		return toCallers(references);
+	}
+
+	private static Map<String, List<Reference>> search(SearchPattern pattern, IJavaSearchScope scope, IProgressMonitor monitor) throws CoreException {
+		ReferenceCollector collector= new ReferenceCollector();
+		new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, scope, collector, monitor);
+		return collector.fReferences;
+	}
+
+	private static Map<String, MethodCall> toCallers(Map<String, List<Reference>> references) {
+		CallSearchResultCollector collector= new CallSearchResultCollector();
+		for (List<Reference> unitReferences : references.values()) {
+			for (Reference reference : unitReferences) {
+				IJavaElement element= JavaCore.create(reference.fMember);
+				if (element instanceof IMember) {
+					IMember member= (IMember) element;
+					collector.addMember(member, member, reference.fStart, reference.fEnd);
+				}
+			}
+		}
+		return collector.getCallers();
+	}
+
+	private Set<String> getChangedUnits(long generation) {
+		Set<String> result= new HashSet<>();
+		for (Map.Entry<String, Long> changed : fChangedUnits.entrySet()) {
+			if (changed.getValue().longValue() > generation)
+				result.add(changed.getKey());
+		}
+		return result;
+	}
+
+	private synchronized void unitChanged(String handle) {
+		fGeneration++;
+		fChangedUnits.put(handle, Long.valueOf(fGeneration));
+		if (fChangedUnits.size() > MAX_CHANGED_UNITS)
+			clear();
+	}
+
+	/**
+	 * Removes all recorded callers.
+	 */
+	public synchronized void clear() {
+		fEntries.clear();
+		fChangedUnits.clear();
+	}
+
+	/*
+	 * Changes are also tracked while the index is empty: a search that is in progress must not
+	 * record its callers if a unit changes meanwhile, and the saved index is only restored if
+	 * nothing has changed while it was read.
+	 */
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		boolean local= JavaElementDeltas.visitTypeRootDeltas(event.getDelta(), delta -> {
+			if (!JavaElementDeltas.isLocalChange(delta))
+				return false;
+			unitChanged(delta.getElement().getHandleIdentifier());
+			return true;
+		});
+		if (!local)
+			clear();
+	}
+
+	/**
+	 * @return the number of lookups that did not need to search
+	 */
+	public synchronized long getHitCount() {
+		return fHits;
+	}
+
+	/**
+	 * @return the number of lookups that searched the workspace or the changed units
+	 */
+	public synchronized long getMissCount() {
+		return fMisses;
+	}
+
+	/**
+	 * @return the number of members whose callers are recorded
+	 */
+	public synchronized int size() {
+		return fEntries.size();
+	}
+
+	private static File getIndexFile() {
+		JavaManipulationPlugin plugin= JavaManipulationPlugin.getDefault();
+		return plugin != null ? plugin.getStateLocation().append(FILE_NAME).toFile() : null;
+	}
+
+	/**
+	 * Reads the index saved by the previous session and applies the resource changes since then. The
+	 * saved index is discarded if the index has changed while the file was read.
+	 */
+	private void restore() {
+		try {
+			ISavedState savedState= ResourcesPlugin.getWorkspace().addSaveParticipant(JavaManipulation.ID_PLUGIN, this);
+			File file= getIndexFile();
+			if (savedState == null || file == null || !file.exists())
+				return;
+			SavedIndex saved= read(file);
+			if (saved.fSaveNumber != savedState.getSaveNumber())
+				return;
+			Set<String> changedUnits= new HashSet<>();
+			boolean[] valid= { true };
+			savedState.processResourceChangeEvents(event -> {
+				IResourceDelta delta= event.getDelta();
+				if (delta != null && valid[0])
+					valid[0]= processResourceDelta(delta, changedUnits);
+			});
+			if (valid[0])
+				restore(saved, changedUnits);
+		} catch (CoreException | IOException e) {
+			clear();
+			JavaManipulationPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Adds the callers of a saved index, unless the index has changed in the meantime.
+	 *
+	 * @param saved the saved index
+	 * @param changedUnits the handle identifiers of the units that changed since the index was saved
+	 */
+	private synchronized void restore(SavedIndex saved, Set<String> changedUnits) {
+		if (fGeneration != 0 || !fChangedUnits.isEmpty() || fEntries.getGeneration() != 0)
+			return; // changed while the file was read
+		fGeneration= saved.fGeneration;
+		fChangedUnits.putAll(saved.fChangedUnits);
+		for (Map.Entry<String, Entry> entry : saved.fEntries.entrySet())
+			fEntries.put(entry.getKey(), entry.getValue());
+		for (String handle : changedUnits)
+			unitChanged(handle);
+	}
+
+	/**
+	 * Reads an index written by {@link #write(File, int)} into a new index, which does not listen
+	 * to changes. <strong>NOTE:</strong> Use only for testing.
+	 *
+	 * @param file the index file
+	 * @param changedUnits the handle identifiers of the units that changed since the index was
+	 *            written
+	 * @return the new index
+	 * @throws IOException if the file cannot be read
+	 */
+	public static CallerIndex read(File file, Set<String> changedUnits) throws IOException {
+		CallerIndex index= new CallerIndex();
+		index.restore(read(file), changedUnits);
+		return index;
+	}
+
+	/**
+	 * Collects the Java files changed by the given delta.
+	 *
+	 * @param delta the resource delta
+	 * @param changedUnits the handle identifiers of the changed units
+	 * @return <code>false</code> if the saved index has to be discarded since files are added or
+	 *         removed or the class path might have changed
+	 */
+	private static boolean processResourceDelta(IResourceDelta delta, Set<String> changedUnits) {
+		IResource resource= delta.getResource();
+		switch (resource.getType()) {
+			case IResource.FILE:
+				String extension= resource.getFileExtension();
+				if ("java".equals(extension)) { //$NON-NLS-1$
+					if (delta.getKind() != IResourceDelta.CHANGED)
+						return false;
+					IJavaElement unit= JavaCore.create((IFile) resource);
+					if (unit != null)
+						changedUnits.add(unit.getHandleIdentifier());
+				} else if ("jar".equals(extension) || ".classpath".equals(resource.getName())) { //$NON-NLS-1$ //$NON-NLS-2$
+					return false;
+				}
+				return true;
+			case IResource.PROJECT:
+				if (delta.getKind() != IResourceDelta.CHANGED || (delta.getFlags() & (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION)) != 0)
+					return false;
+				//$FALL-THROUGH$
+			default:
+				for (IResourceDelta child : delta.getAffectedChildren()) {
+					if (!processResourceDelta(child, changedUnits))
+						return false;
+				}
+				return true;
+		}
+	}
+
+	private static SavedIndex read(File file) throws IOException {
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+				throw new IOException("Invalid caller index: " + file); //$NON-NLS-1$
+			SavedIndex saved= new SavedIndex(in.readInt(), in.readLong());
+			int changedCount= in.readInt();
+			for (int i= 0; i < changedCount; i++) {
+				String handle= in.readUTF();
+				saved.fChangedUnits.put(handle, Long.valueOf(in.readLong()));
+			}
+			int entryCount= in.readInt();
+			for (int i= 0; i < entryCount; i++) {
+				String key= in.readUTF();
+				long generation= in.readLong();
+				int unitCount= in.readInt();
+				Map<String, List<Reference>> references= new HashMap<>(unitCount * 2);
+				for (int j= 0; j < unitCount; j++) {
+					String unit= in.readUTF();
+					int referenceCount= in.readInt();
+					List<Reference> unitReferences= new ArrayList<>(referenceCount);
+					for (int k= 0; k < referenceCount; k++) {
+						unitReferences.add(new Reference(in.readUTF(), in.readInt(), in.readInt()));
+					}
+					references.put(unit, unitReferences);
+				}
+				saved.fEntries.put(key, new Entry(generation, references));
+			}
+			return saved;
+		}
+	}
+
+	/**
+	 * Writes the recorded callers to the given file, in the format read back on the next start.
+	 * Called on a full workspace save. <strong>NOTE:</strong> Public only for testing.
+	 *
+	 * @param file the index file
+	 * @param saveNumber the save number of the workspace save
+	 * @throws IOException if the file cannot be written
+	 */
+	public synchronized void write(File file, int saveNumber) throws IOException {
+		File tmpFile= new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(saveNumber);
+			out.writeLong(fGeneration);
+			out.writeInt(fChangedUnits.size());
+			for (Map.Entry<String, Long> changed : fChangedUnits.entrySet()) {
+				out.writeUTF(changed.getKey());
+				out.writeLong(changed.getValue().longValue());
+			}
+			Map<String, Entry> entries= fEntries.snapshot();
+			out.writeInt(entries.size());
+			for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeLong(entry.getValue().fGeneration);
+				Map<String, List<Reference>> references= entry.getValue().fReferences;
+				out.writeInt(references.size());
+				for (Map.Entry<String, List<Reference>> unit : references.entrySet()) {
+					out.writeUTF(unit.getKey());
+					out.writeInt(unit.getValue().size());
+					for (Reference reference : unit.getValue()) {
+						out.writeUTF(reference.fMember);
+						out.writeInt(reference.fStart);
+						out.writeInt(reference.fEnd);
+					}
+				}
+			}
+		}
+		Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	@Override
+	public void prepareToSave(ISaveContext context) throws CoreException {
+		// nothing to do
+	}
+
+	@Override
+	public void saving(ISaveContext context) throws CoreException {
+		if (context.getKind() != ISaveContext.FULL_SAVE)
+			return;
+		File file= getIndexFile();
+		if (file == null)
+			return;
+		try {
+			write(file, context.getSaveNumber());
+			context.needDelta();
+		} catch (IOException e) {
+			JavaManipulationPlugin.log(e);
+		}
+	}
+
+	@Override
+	public void doneSaving(ISaveContext context) {
+		// nothing to do
+	}
+
+	@Override
+	public void rollback(ISaveContext context) {
+		// nothing to do
+	}
+}
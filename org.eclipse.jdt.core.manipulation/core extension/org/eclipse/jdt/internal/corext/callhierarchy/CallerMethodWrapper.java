@@ -137,8 +137,9 @@ public class CallerMethodWrapper extends MethodWrapper {
 							SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
 				}
 			}
+			int limitTo= -1;
 			if (pattern == null) {
-				int limitTo= IJavaSearchConstants.REFERENCES;
+				limitTo= IJavaSearchConstants.REFERENCES;
 				if (member.getElementType() == IJavaElement.FIELD)
 					limitTo= getFieldSearchMode();
 				pattern= SearchPattern.createPattern(member, limitTo, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
@@ -152,6 +153,9 @@ public class CallerMethodWrapper extends MethodWrapper {
 			IJavaSearchScope defaultSearchScope= getSearchScope();
 			boolean isWorkspaceScope= SearchEngine.createWorkspaceScope().equals(defaultSearchScope);
 			IJavaSearchScope searchScope= isWorkspaceScope ? getAccurateSearchScope(defaultSearchScope, member) : defaultSearchScope;
+			if (isWorkspaceScope && limitTo != -1) {
+				return CallHierarchyCore.getDefault().getCallerIndex().getCallers(member, limitTo, pattern, searchScope, monitor);
+			}
 			searchEngine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, searchScope, searchRequestor,
 					monitor);
 			return searchRequestor.getCallers();
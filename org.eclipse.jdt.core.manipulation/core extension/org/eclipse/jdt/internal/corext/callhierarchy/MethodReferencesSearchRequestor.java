@@ -39,8 +39,21 @@ class MethodReferencesSearchRequestor extends SearchRequestor {
             return;
         }
 
+        IMember member= getCallingMember(match);
+        if (member != null) {
+            fSearchResults.addMember(member, member, match.getOffset(), match.getOffset()+match.getLength());
+        }
+    }
+
+    /**
+     * Returns the member that contains the given reference.
+     *
+     * @param match the match of a reference
+     * @return the member containing the reference, or <code>null</code> if the match is not a call
+     */
+    static IMember getCallingMember(SearchMatch match) {
         if (match.isInsideDocComment()) {
-            return;
+            return null;
         }
 
         if (match.getElement() != null && match.getElement() instanceof IMember) {
@@ -50,9 +63,9 @@ class MethodReferencesSearchRequestor extends SearchRequestor {
                 case IJavaElement.TYPE:
                 case IJavaElement.FIELD:
                 case IJavaElement.INITIALIZER:
-                    fSearchResults.addMember(member, member, match.getOffset(), match.getOffset()+match.getLength());
-                    break;
+                    return member;
             }
         }
+        return null;
     }
 }
@@ -19,6 +19,7 @@ package org.eclipse.jdt.internal.corext.callhierarchy;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -66,7 +67,8 @@ public abstract class MethodWrapper extends PlatformObject {
         Assert.isNotNull(methodCall);
 
         if (parent == null) {
-            setMethodCache(new HashMap<>());
+            // the cache is shared with the wrappers that CallHierarchyExpander searches concurrently
+            setMethodCache(new ConcurrentHashMap<>());
             fLevel = 1;
         } else {
             setMethodCache(parent.getMethodCache());
@@ -98,6 +100,16 @@ public abstract class MethodWrapper extends PlatformObject {
         return result;
     }
 
+    /**
+     * Tells whether the calls of this wrapper are known without searching, i.e. whether
+     * {@link #getCalls(IProgressMonitor)} returns immediately.
+     *
+     * @return <code>true</code> if the calls have already been searched for this member
+     */
+    public boolean hasCachedCalls() {
+        return fElements != null || lookupMethod(getMethodCall()) != null;
+    }
+
     public int getLevel() {
         return fLevel;
     }
@@ -166,11 +178,6 @@ public abstract class MethodWrapper extends PlatformObject {
 
     protected abstract String getTaskName();
 
-    private void addCallToCache(MethodCall methodCall) {
-        Map<String, MethodCall> cachedCalls = lookupMethod(this.getMethodCall());
-        cachedCalls.put(methodCall.getKey(), methodCall);
-    }
-
 	/**
 	 * Creates a method wrapper for the child of the receiver.
 	 *
@@ -182,7 +189,7 @@ public abstract class MethodWrapper extends PlatformObject {
     private void doFindChildren(IProgressMonitor progressMonitor) {
         Map<String, MethodCall> existingResults = lookupMethod(getMethodCall());
 
-        if (existingResults != null && !existingResults.isEmpty()) {
+        if (existingResults != null) {
             fElements = new HashMap<>();
             fElements.putAll(existingResults);
         } else {
@@ -248,8 +255,6 @@ public abstract class MethodWrapper extends PlatformObject {
 
     private void initCalls() {
         this.fElements = new HashMap<>();
-
-        initCacheForMethod();
     }
 
     /**
@@ -264,23 +269,22 @@ public abstract class MethodWrapper extends PlatformObject {
     private void performSearch(IProgressMonitor progressMonitor) {
         fElements = findChildren(progressMonitor);
 
+        Map<String, MethodCall> cachedCalls = new HashMap<>();
         for (String string : fElements.keySet()) {
             checkCanceled(progressMonitor);
 
             MethodCall methodCall = getMethodCallFromMap(fElements, string);
-            addCallToCache(methodCall);
+            cachedCalls.put(methodCall.getKey(), methodCall);
         }
+
+        // only complete results are cached, so an empty result needs not be searched again
+        getMethodCache().put(getMethodCall().getKey(), cachedCalls);
     }
 
     private MethodCall getMethodCallFromMap(Map<String, MethodCall> elements, String key) {
         return elements.get(key);
     }
 
-    private void initCacheForMethod() {
-        Map<String, MethodCall> cachedCalls = new HashMap<>();
-        getMethodCache().put(this.getMethodCall().getKey(), cachedCalls);
-    }
-
     /**
      * Checks with the progress monitor to see whether the creation of the type hierarchy
      * should be canceled. Should be regularly called
@@ -16,6 +16,8 @@ package org.eclipse.jdt.internal.corext.util;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
@@ -26,23 +28,39 @@ import org.eclipse.jdt.core.JavaModelException;
 
 /**
  * A thread-safe cache for super type hierarchies.
+ * <p>
+ * Every type of a cached hierarchy is indexed, so a hierarchy is found in constant time for its
+ * focus type and for all of its super types, and hierarchies of related types share the hierarchy of
+ * their common subtype. Hierarchies are removed when they change, and the least recently accessed
+ * hierarchies are evicted when either the maximum number of hierarchies or the heap budget is
+ * exceeded. The heap consumption of a hierarchy is estimated from the number of its types.
+ * </p>
+ * <p>
+ * The maximum number of hierarchies can be configured with the
+ * <code>jdt.superTypeHierarchyCache.maxEntries</code> system property, a value of <code>0</code>
+ * disables the cache.
+ * </p>
  */
 // @see JDTUIHelperClasses
 public class SuperTypeHierarchyCache {
 
 	private static class HierarchyCacheEntry implements ITypeHierarchyChangedListener {
 
-		private ITypeHierarchy fTypeHierarchy;
-		private long fLastAccess;
+		private volatile ITypeHierarchy fTypeHierarchy;
+		private final IType[] fTypes;
+		private volatile long fLastAccess;
+		private final AtomicInteger fAccessCount= new AtomicInteger();
 
 		public HierarchyCacheEntry(ITypeHierarchy hierarchy) {
 			fTypeHierarchy= hierarchy;
+			fTypes= hierarchy.getAllTypes();
 			fTypeHierarchy.addTypeHierarchyChangedListener(this);
 			markAsAccessed();
 		}
 
 		@Override
 		public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
+			fgInvalidations.incrementAndGet();
 			removeHierarchyEntryFromCache(this);
 		}
 
@@ -50,36 +68,67 @@ public class SuperTypeHierarchyCache {
 			return fTypeHierarchy;
 		}
 
+		public IType[] getTypes() {
+			return fTypes;
+		}
+
+		public long getEstimatedSize() {
+			return (long) fTypes.length * BYTES_PER_TYPE;
+		}
+
 		public void markAsAccessed() {
-			fLastAccess= System.currentTimeMillis();
+			fLastAccess= System.nanoTime();
+			fAccessCount.incrementAndGet();
 		}
 
 		public long getLastAccess() {
 			return fLastAccess;
 		}
 
+		public int getAccessCount() {
+			return fAccessCount.get();
+		}
+
 		public void dispose() {
-			if (fTypeHierarchy != null) {
-				fTypeHierarchy.removeTypeHierarchyChangedListener(this);
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			if (hierarchy != null) {
+				hierarchy.removeTypeHierarchyChangedListener(this);
 				fTypeHierarchy= null;
 			}
 		}
 
 		@Override
 		public String toString() {
-			return "Super hierarchy of: " + fTypeHierarchy.getType().getElementName(); //$NON-NLS-1$
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			return "Super hierarchy of: " + (hierarchy == null ? "<disposed>" : hierarchy.getType().getElementName()) //$NON-NLS-1$ //$NON-NLS-2$
+					+ " (" + fTypes.length + " types, " + getAccessCount() + " accesses)"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 		}
 
 	}
 
 
-	private static final int CACHE_SIZE= 8;
+	private static final int CACHE_SIZE= Integer.getInteger("jdt.superTypeHierarchyCache.maxEntries", 32).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Rough estimate of the retained heap per type of a super type hierarchy.
+	 */
+	private static final int BYTES_PER_TYPE= 1000;
+
+	private static final long MAX_ESTIMATED_SIZE= Runtime.getRuntime().maxMemory() / 50;
 
-	private static ArrayList<HierarchyCacheEntry> fgHierarchyCache= new ArrayList<>(CACHE_SIZE);
-	private static Map<IType, MethodOverrideTester> fgMethodOverrideTesterCache= new LRUMap<>(CACHE_SIZE);
+	private static ArrayList<HierarchyCacheEntry> fgHierarchyCache= new ArrayList<>();
+	/**
+	 * Maps every type of the cached hierarchies to an entry whose hierarchy contains the type.
+	 * Modified while holding the lock on {@link #fgHierarchyCache}.
+	 */
+	private static Map<IType, HierarchyCacheEntry> fgTypeIndex= new ConcurrentHashMap<>();
+	private static long fgEstimatedSize= 0;
+	private static Map<IType, MethodOverrideTester> fgMethodOverrideTesterCache= new LRUMap<>(Math.max(CACHE_SIZE, 1));
 
-	private static int fgCacheHits= 0;
-	private static int fgCacheMisses= 0;
+	private static final AtomicInteger fgCacheHits= new AtomicInteger();
+	private static final AtomicInteger fgCacheMisses= new AtomicInteger();
+	private static final AtomicInteger fgEvictions= new AtomicInteger();
+	private static final AtomicInteger fgInvalidations= new AtomicInteger();
 
 	/**
 	 * Returns a super type hierarchy that contains the given type.
@@ -140,42 +189,44 @@ public class SuperTypeHierarchyCache {
 	public static ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
 		ITypeHierarchy hierarchy= findTypeHierarchyInCache(type);
 		if (hierarchy == null) {
-			fgCacheMisses++;
+			fgCacheMisses.incrementAndGet();
 			hierarchy= type.newSupertypeHierarchy(progressMonitor);
 			addTypeHierarchyToCache(hierarchy);
 		} else {
-			fgCacheHits++;
+			fgCacheHits.incrementAndGet();
 		}
 		return hierarchy;
 	}
 
 	private static void addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
+		if (CACHE_SIZE <= 0)
+			return;
 		synchronized (fgHierarchyCache) {
-			int nEntries= fgHierarchyCache.size();
-			if (nEntries >= CACHE_SIZE) {
-				// find obsolete entries or remove entry that was least recently accessed
+			// hierarchies of super types of the new focus type are contained in the new hierarchy
+			for (HierarchyCacheEntry entry : new ArrayList<>(fgHierarchyCache)) {
+				ITypeHierarchy curr= entry.getTypeHierarchy();
+				if (!curr.exists() || hierarchy.contains(curr.getType())) {
+					removeHierarchyEntryFromCache(entry);
+				}
+			}
+
+			HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
+			fgHierarchyCache.add(newEntry);
+			fgEstimatedSize+= newEntry.getEstimatedSize();
+			for (IType type : newEntry.getTypes()) {
+				fgTypeIndex.put(type, newEntry);
+			}
+
+			while (fgHierarchyCache.size() > 1 && (fgHierarchyCache.size() > CACHE_SIZE || fgEstimatedSize > MAX_ESTIMATED_SIZE)) {
 				HierarchyCacheEntry oldest= null;
-				ArrayList<HierarchyCacheEntry> obsoleteHierarchies= new ArrayList<>(CACHE_SIZE);
 				for (HierarchyCacheEntry entry : fgHierarchyCache) {
-					ITypeHierarchy curr= entry.getTypeHierarchy();
-					if (!curr.exists() || hierarchy.contains(curr.getType())) {
-						obsoleteHierarchies.add(entry);
-					} else {
-						if (oldest == null || entry.getLastAccess() < oldest.getLastAccess()) {
-							oldest= entry;
-						}
+					if (entry != newEntry && (oldest == null || entry.getLastAccess() < oldest.getLastAccess())) {
+						oldest= entry;
 					}
 				}
-				if (!obsoleteHierarchies.isEmpty()) {
-					for (HierarchyCacheEntry obsoleteHierarchie : obsoleteHierarchies) {
-						removeHierarchyEntryFromCache(obsoleteHierarchie);
-					}
-				} else if (oldest != null) {
-					removeHierarchyEntryFromCache(oldest);
-				}
+				removeHierarchyEntryFromCache(oldest);
+				fgEvictions.incrementAndGet();
 			}
-			HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
-			fgHierarchyCache.add(newEntry);
 		}
 	}
 
@@ -191,28 +242,39 @@ public class SuperTypeHierarchyCache {
 
 
 	private static ITypeHierarchy findTypeHierarchyInCache(IType type) {
-		synchronized (fgHierarchyCache) {
-			for (int i= fgHierarchyCache.size() - 1; i>= 0; i--) {
-				HierarchyCacheEntry curr= fgHierarchyCache.get(i);
-				ITypeHierarchy hierarchy= curr.getTypeHierarchy();
-				if (!hierarchy.exists()) {
-					removeHierarchyEntryFromCache(curr);
-				} else {
-					if (hierarchy.contains(type)) {
-						curr.markAsAccessed();
-						return hierarchy;
-					}
-				}
-			}
+		HierarchyCacheEntry entry= fgTypeIndex.get(type);
+		if (entry == null)
+			return null;
+		ITypeHierarchy hierarchy= entry.getTypeHierarchy();
+		if (hierarchy == null) // removed concurrently
+			return null;
+		if (!hierarchy.exists()) {
+			fgInvalidations.incrementAndGet();
+			removeHierarchyEntryFromCache(entry);
+			return null;
 		}
-		return null;
+		entry.markAsAccessed();
+		return hierarchy;
 	}
 
 	private static void removeHierarchyEntryFromCache(HierarchyCacheEntry entry) {
 		synchronized (fgHierarchyCache) {
+			if (!fgHierarchyCache.remove(entry))
+				return;
 			removeMethodOverrideTester(entry.getTypeHierarchy());
 			entry.dispose();
-			fgHierarchyCache.remove(entry);
+			fgEstimatedSize-= entry.getEstimatedSize();
+			for (IType type : entry.getTypes()) {
+				if (fgTypeIndex.remove(type, entry)) {
+					// the type might still be contained in the hierarchy of another subtype
+					for (HierarchyCacheEntry curr : fgHierarchyCache) {
+						if (curr.getTypeHierarchy().contains(type)) {
+							fgTypeIndex.put(type, curr);
+							break;
+						}
+					}
+				}
+			}
 		}
 	}
 
@@ -222,7 +284,7 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheHits() {
-		return fgCacheHits;
+		return fgCacheHits.get();
 	}
 
 	/**
@@ -230,7 +292,59 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheMisses() {
-		return fgCacheMisses;
+		return fgCacheMisses.get();
+	}
+
+	/**
+	 * @return the number of hierarchies that have been evicted to stay within the cache bounds
+	 */
+	public static int getEvictionCount() {
+		return fgEvictions.get();
+	}
+
+	/**
+	 * @return the number of hierarchies that have been removed because they changed or no longer
+	 *         exist
+	 */
+	public static int getInvalidationCount() {
+		return fgInvalidations.get();
+	}
+
+	/**
+	 * @return the number of cached hierarchies
+	 */
+	public static int getCachedHierarchyCount() {
+		synchronized (fgHierarchyCache) {
+			return fgHierarchyCache.size();
+		}
+	}
+
+	/**
+	 * @return the estimated heap consumption of the cached hierarchies in bytes
+	 */
+	public static long getEstimatedSize() {
+		synchronized (fgHierarchyCache) {
+			return fgEstimatedSize;
+		}
+	}
+
+	/**
+	 * Returns a description of the cache counters and of the cached hierarchies with their number
+	 * of accesses, for tracing.
+	 *
+	 * @return the statistics
+	 */
+	public static String getStatistics() {
+		StringBuilder buf= new StringBuilder();
+		synchronized (fgHierarchyCache) {
+			buf.append("SuperTypeHierarchyCache [entries=").append(fgHierarchyCache.size()).append(", estimatedSize=").append(fgEstimatedSize); //$NON-NLS-1$ //$NON-NLS-2$
+			buf.append(", hits=").append(getCacheHits()).append(", misses=").append(getCacheMisses()); //$NON-NLS-1$ //$NON-NLS-2$
+			buf.append(", evictions=").append(getEvictionCount()).append(", invalidations=").append(getInvalidationCount()).append(']'); //$NON-NLS-1$ //$NON-NLS-2$
+			for (HierarchyCacheEntry entry : fgHierarchyCache) {
+				buf.append('\n').append(entry);
+			}
+		}
+		return buf.toString();
 	}
 
 	private SuperTypeHierarchyCache() {
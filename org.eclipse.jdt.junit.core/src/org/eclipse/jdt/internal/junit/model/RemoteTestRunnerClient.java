@@ -15,7 +15,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.model;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
@@ -30,12 +34,17 @@ import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.SafeRunner;
 
 import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageSender;
 import org.eclipse.jdt.internal.junit.runner.MessageIds;
 import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
 
 /**
  * The client side of the RemoteTestRunner. Handles the
  * marshaling of the different messages.
+ * <p>
+ * Runners that start the connection with {@link BinaryMessageSender#MAGIC} send batches of binary
+ * events, all other runners send the text protocol described in {@link MessageIds}.
+ * </p>
  */
 public class RemoteTestRunnerClient {
 
@@ -237,6 +246,10 @@ public class RemoteTestRunnerClient {
 	private int fPort= -1;
 	private PrintWriter fWriter;
 	private PushbackReader fPushbackReader;
+	/**
+	 * The input of the binary protocol, <code>null</code> if the text protocol is used
+	 */
+	private DataInputStream fBinaryInput;
 	private String fLastLineDelimiter;
 	/**
 	 * The protocol version
@@ -275,11 +288,17 @@ public class RemoteTestRunnerClient {
 					System.out.println("Creating server socket "+fServerPort); //$NON-NLS-1$
 				fServerSocket= new ServerSocket(fServerPort);
 				fSocket= fServerSocket.accept();
-				fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(fSocket.getInputStream(), StandardCharsets.UTF_8)));
+				BufferedInputStream input= new BufferedInputStream(fSocket.getInputStream());
 				fWriter= new PrintWriter(new OutputStreamWriter(fSocket.getOutputStream(), StandardCharsets.UTF_8), true);
-				String message;
-				while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
-					receiveMessage(message);
+				if (isBinaryProtocol(input)) {
+					fBinaryInput= new DataInputStream(input);
+					readBinaryMessages();
+				} else {
+					fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+					String message;
+					while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
+						receiveMessage(message);
+				}
 			} catch (SocketException e) {
 				notifyTestRunTerminated();
 			} catch (IOException e) {
@@ -335,6 +354,13 @@ public class RemoteTestRunnerClient {
 			}
 		} catch(IOException e) {
 		}
+		try {
+			if (fBinaryInput != null) {
+				fBinaryInput.close();
+				fBinaryInput= null;
+			}
+		} catch(IOException e) {
+		}
 		try {
 			if (fSocket != null) {
 				fSocket.close();
@@ -383,6 +409,93 @@ public class RemoteTestRunnerClient {
 		return buf.toString();
 	}
 
+	/**
+	 * Tells whether the runner uses the binary protocol and consumes its header if so.
+	 *
+	 * @param input the input from the runner
+	 * @return <code>true</code> if the runner started the binary protocol
+	 * @throws IOException if reading fails or the runner uses an unsupported version of the binary
+	 *             protocol
+	 */
+	private static boolean isBinaryProtocol(BufferedInputStream input) throws IOException {
+		input.mark(4);
+		int magic= 0;
+		for (int i= 0; i < 4; i++) {
+			int b= input.read();
+			if (b == -1) {
+				input.reset();
+				return false;
+			}
+			magic= magic << 8 | b;
+		}
+		if (magic != BinaryMessageSender.MAGIC) {
+			input.reset();
+			return false;
+		}
+		int version= new DataInputStream(input).readInt();
+		if (version != BinaryMessageSender.VERSION)
+			throw new IOException("Unsupported version of the binary test runner protocol: " + version); //$NON-NLS-1$
+		return true;
+	}
+
+	private void readBinaryMessages() throws IOException {
+		DataInputStream in;
+		while ((in= fBinaryInput) != null) {
+			int length;
+			try {
+				length= in.readInt();
+			} catch (EOFException e) {
+				return;
+			}
+			if (length < 0)
+				throw new IOException("Invalid frame length: " + length); //$NON-NLS-1$
+			byte[] frame= new byte[length];
+			in.readFully(frame);
+			receiveFrame(frame);
+		}
+	}
+
+	/**
+	 * Dispatches the events of a frame of the binary protocol.
+	 *
+	 * @param frame the frame without its length
+	 * @throws IOException if the frame is corrupt
+	 */
+	private void receiveFrame(byte[] frame) throws IOException {
+		DataInputStream in= new DataInputStream(new ByteArrayInputStream(frame));
+		while (in.available() > 0) {
+			byte event= in.readByte();
+			switch (event) {
+				case BinaryMessageSender.EVENT_TEXT:
+					String message= BinaryMessageSender.readString(in);
+					fLastLineDelimiter= System.lineSeparator();
+					receiveMessage(message);
+					break;
+				case BinaryMessageSender.EVENT_TREE:
+					int id= in.readInt();
+					String name= BinaryMessageSender.readString(in);
+					boolean hasChildren= in.readBoolean();
+					int testCount= in.readInt();
+					boolean isDynamicTest= in.readBoolean();
+					int parentId= in.readInt();
+					String displayName= BinaryMessageSender.readString(in);
+					String parameterTypes= BinaryMessageSender.readString(in);
+					String uniqueId= BinaryMessageSender.readString(in);
+					notifyTestTreeEntry(RemoteTestRunner.formatTreeEntry(Integer.toString(id), name, hasChildren, testCount, isDynamicTest,
+							Integer.toString(parentId), displayName, parameterTypes, uniqueId));
+					break;
+				case BinaryMessageSender.EVENT_TEST_START:
+					notifyTestStarted(Integer.toString(in.readInt()), BinaryMessageSender.readString(in));
+					break;
+				case BinaryMessageSender.EVENT_TEST_END:
+					notifyTestEnded(Integer.toString(in.readInt()), BinaryMessageSender.readString(in));
+					break;
+				default:
+					throw new IOException("Unknown event: " + event); //$NON-NLS-1$
+			}
+		}
+	}
+
 	private void receiveMessage(String message) {
 	    fCurrentState= fCurrentState.readMessage(message);
 	}
@@ -535,6 +648,19 @@ public class RemoteTestRunnerClient {
 		}
 	}
 
+	private void notifyTestEnded(final String testId, final String testName) {
+		if (JUnitCorePlugin.isStopped())
+			return;
+		for (ITestRunListener2 listener : fListeners) {
+			SafeRunner.run(new ListenerSafeRunnable() {
+				@Override
+				public void run() {
+					listener.testEnded(testId, testName);
+				}
+			});
+		}
+	}
+
 	private void notifyTestStarted(final String test) {
 		if (JUnitCorePlugin.isStopped())
 			return;
@@ -549,6 +675,19 @@ public class RemoteTestRunnerClient {
 		}
 	}
 
+	private void notifyTestStarted(final String testId, final String testName) {
+		if (JUnitCorePlugin.isStopped())
+			return;
+		for (ITestRunListener2 listener : fListeners) {
+			SafeRunner.run(new ListenerSafeRunnable() {
+				@Override
+				public void run() {
+					listener.testStarted(testId, testName);
+				}
+			});
+		}
+	}
+
 	private void notifyTestRunStarted(final int count) {
 		if (JUnitCorePlugin.isStopped())
 			return;
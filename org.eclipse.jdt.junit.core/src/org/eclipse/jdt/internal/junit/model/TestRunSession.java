@@ -16,6 +16,7 @@
 package org.eclipse.jdt.internal.junit.model;
 
 import java.io.File;
+import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -83,6 +84,13 @@ public class TestRunSession implements ITestRunSession {
 	 */
 	private Result fTestResult;
 
+	/**
+	 * <code>true</code> if the model has been read from the swap file, so that the swap file does
+	 * not have to be written again on the next swap out. The model of a session in the history is
+	 * not modified after it has been swapped in.
+	 */
+	private boolean fSwapFileIsCurrent;
+
 	/**
 	 * Map from testId to testElement.
 	 */
@@ -239,6 +247,7 @@ public class TestRunSession implements ITestRunSession {
 		fTestRoot= new TestRoot(this);
 		fTestResult= null;
 		fIdToTest= new HashMap<>();
+		fSwapFileIsCurrent= false;
 	}
 
 	@Override
@@ -370,7 +379,10 @@ public class TestRunSession implements ITestRunSession {
 		try {
 			File swapFile= getSwapFile();
 
-			JUnitModel.exportTestRunSession(this, swapFile);
+			if (! fSwapFileIsCurrent || ! swapFile.exists()) {
+				TestRunSessionSwapFile.write(this, swapFile);
+				fSwapFileIsCurrent= true;
+			}
 			fTestResult= fTestRoot.getTestResult(true);
 			fTestRoot= null;
 			fTestRunnerClient= null;
@@ -379,7 +391,7 @@ public class TestRunSession implements ITestRunSession {
 			fFactoryTestSuites= null;
 			fUnrootedSuite= null;
 
-		} catch (IllegalStateException | CoreException e) {
+		} catch (IllegalStateException | IOException e) {
 			JUnitCorePlugin.log(e);
 		}
 	}
@@ -398,7 +410,7 @@ public class TestRunSession implements ITestRunSession {
 	private File getSwapFile() throws IllegalStateException {
 		File historyDir= JUnitCorePlugin.getHistoryDirectory();
 		String isoTime= new SimpleDateFormat("yyyyMMdd-HHmmss.SSS").format(new Date(getStartTime())); //$NON-NLS-1$
-		String swapFileName= isoTime + ".xml"; //$NON-NLS-1$
+		String swapFileName= isoTime + ".bin"; //$NON-NLS-1$
 		return new File(historyDir, swapFileName);
 	}
 
@@ -408,8 +420,10 @@ public class TestRunSession implements ITestRunSession {
 			return;
 
 		try {
-			JUnitModel.importIntoTestRunSession(getSwapFile(), this);
-		} catch (IllegalStateException | CoreException e) {
+			// children of suites without failures are loaded from the swap file when accessed
+			TestRunSessionSwapFile.read(getSwapFile(), this);
+			fSwapFileIsCurrent= true;
+		} catch (IllegalStateException | IOException e) {
 			JUnitCorePlugin.log(e);
 			fTestRoot= new TestRoot(this);
 			fTestResult= null;
@@ -857,7 +871,8 @@ public class TestRunSession implements ITestRunSession {
 		if (testResult == Result.ERROR || testResult == Result.FAILURE) {
 			failures.add(testElement);
 		}
-		if (testElement instanceof TestSuiteElement) {
+		// a suite without errors and failures has no failed descendants, so don't load its children
+		if (testElement instanceof TestSuiteElement && ((TestSuiteElement) testElement).getStatus().isErrorOrFailure()) {
 			TestSuiteElement testSuiteElement= (TestSuiteElement) testElement;
 			ITestElement[] children= testSuiteElement.getChildren();
 			for (ITestElement child : children) {
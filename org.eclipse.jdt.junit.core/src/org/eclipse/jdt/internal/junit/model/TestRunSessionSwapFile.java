@@ -0,0 +1,381 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+
+/**
+ * Reads and writes the files a {@link TestRunSession} in the history is swapped to. The files are
+ * written and read in a single pass, in a compact binary format.
+ * <p>
+ * When a session is read, the children of suites without errors and failures are skipped and only
+ * added when they are accessed (e.g. when the suite is expanded in the JUnit view), so that the
+ * elements of large test runs are only created when needed.
+ * </p>
+ * <p>
+ * Test runs are still exported and imported as XML, see {@link JUnitModel}.
+ * </p>
+ */
+final class TestRunSessionSwapFile {
+
+	private static final int MAGIC= 0x4a555346; // "JUSF"
+	private static final int VERSION= 1;
+
+	private static final byte KIND_SUITE= 1;
+	private static final byte KIND_CASE= 2;
+
+	private static final int FLAG_IGNORED= 1;
+	private static final int FLAG_ASSUMPTION_FAILED= 2;
+	private static final int FLAG_DYNAMIC_TEST= 4;
+
+	/**
+	 * Statuses indexed by {@link Status#getOldCode()}.
+	 */
+	private static final Status[] STATUSES= { Status.OK, Status.ERROR, Status.FAILURE, Status.RUNNING, Status.NOT_RUN, Status.RUNNING_ERROR, Status.RUNNING_FAILURE };
+
+	private TestRunSessionSwapFile() {
+	}
+
+	/**
+	 * Writes the given test run session.
+	 *
+	 * @param session the session, must not be swapped out
+	 * @param file the file to write to
+	 * @throws IOException if writing fails
+	 */
+	static void write(TestRunSession session, File file) throws IOException {
+		// don't truncate a file that children might still be loaded from
+		File tempFile= new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(session.getTotalCount());
+			out.writeInt(session.getStartedCount());
+			out.writeInt(session.getErrorCount());
+			out.writeInt(session.getFailureCount());
+			out.writeInt(session.getIgnoredCount());
+			out.writeInt(session.getAssumptionFailureCount());
+
+			TestRoot root= session.getTestRoot();
+			out.writeDouble(root.getElapsedTimeInSeconds());
+			TestElement[] children= root.getAllChildren();
+			out.writeInt(children.length);
+			for (TestElement child : children) {
+				writeElement(out, child);
+			}
+		}
+		Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static void writeElement(DataOutputStream out, TestElement element) throws IOException {
+		boolean isSuite= element instanceof TestSuiteElement;
+		out.writeByte(isSuite ? KIND_SUITE : KIND_CASE);
+		int flags= 0;
+		if (element.isAssumptionFailure())
+			flags|= FLAG_ASSUMPTION_FAILED;
+		if (element instanceof TestCaseElement) {
+			TestCaseElement testCase= (TestCaseElement) element;
+			if (testCase.isIgnored())
+				flags|= FLAG_IGNORED;
+			if (testCase.isDynamicTest())
+				flags|= FLAG_DYNAMIC_TEST;
+		}
+		out.writeByte(flags);
+		writeString(out, element.getId());
+		writeString(out, element.getTestName());
+		writeString(out, element.getDisplayName());
+		String[] parameterTypes= element.getParameterTypes();
+		if (parameterTypes == null) {
+			out.writeInt(-1);
+		} else {
+			out.writeInt(parameterTypes.length);
+			for (String parameterType : parameterTypes) {
+				writeString(out, parameterType);
+			}
+		}
+		writeString(out, element.getUniqueId());
+
+		Status status= isSuite ? ((TestSuiteElement) element).getSuiteStatus() : element.getStatus();
+		if (status.isRunning())
+			status= Status.NOT_RUN; // like an incomplete test in the XML format
+		out.writeByte(status.getOldCode());
+		writeString(out, element.getTrace());
+		writeString(out, element.getExpected());
+		writeString(out, element.getActual());
+		out.writeDouble(element.getElapsedTimeInSeconds());
+
+		if (isSuite) {
+			TestSuiteElement suite= (TestSuiteElement) element;
+			Status childrenStatus= suite.getChildrenStatus();
+			out.writeByte(childrenStatus == null ? -1 : childrenStatus.getOldCode());
+			TestElement[] children= suite.getAllChildren();
+			boolean lazy= children.length > 0 && !suite.getStatus().isErrorOrFailure() && suite.getSingleDynamicChild() == null;
+			out.writeBoolean(lazy);
+			out.writeInt(children.length);
+			for (TestElement child : children) {
+				writeElement(out, child);
+			}
+		}
+	}
+
+	/**
+	 * Reads a test run session that has been written with
+	 * {@link #write(TestRunSession, File)} into the given session.
+	 *
+	 * @param file the file to read
+	 * @param session the session to add the test elements to
+	 * @throws IOException if reading fails or the file is not a swap file
+	 */
+	static void read(File file, TestRunSession session) throws IOException {
+		try (CountingInputStream counting= new CountingInputStream(new BufferedInputStream(new FileInputStream(file)), 0)) {
+			DataInputStream in= new DataInputStream(counting);
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+				throw new IOException("Not a test run swap file: " + file); //$NON-NLS-1$
+			int totalCount= in.readInt();
+			int startedCount= in.readInt();
+			int errorCount= in.readInt();
+			int failureCount= in.readInt();
+			int ignoredCount= in.readInt();
+			int assumptionFailureCount= in.readInt();
+			double elapsedTime= in.readDouble();
+
+			session.reset();
+			TestRoot root= session.getTestRoot();
+			readChildren(in, counting, root, in.readInt(), file);
+			root.setElapsedTimeInSeconds(elapsedTime);
+
+			// the counts also include the children that have not been loaded
+			session.fTotalCount= totalCount;
+			session.fStartedCount= startedCount;
+			session.fErrorCount= errorCount;
+			session.fFailureCount= failureCount;
+			session.fIgnoredCount= ignoredCount;
+			session.fAssumptionFailureCount= assumptionFailureCount;
+		}
+	}
+
+	private static void readChildren(DataInputStream in, CountingInputStream counting, TestSuiteElement parent, int count, File file) throws IOException {
+		for (int i= 0; i < count; i++) {
+			readElement(in, counting, parent, file);
+		}
+	}
+
+	private static void readElement(DataInputStream in, CountingInputStream counting, TestSuiteElement parent, File file) throws IOException {
+		byte kind= in.readByte();
+		int flags= in.readByte();
+		String id= readString(in);
+		String testName= readString(in);
+		String displayName= readString(in);
+		String[] parameterTypes= null;
+		int parameterCount= in.readInt();
+		if (parameterCount >= 0) {
+			parameterTypes= new String[parameterCount];
+			for (int i= 0; i < parameterCount; i++) {
+				parameterTypes[i]= readString(in);
+			}
+		}
+		String uniqueId= readString(in);
+
+		TestElement element;
+		if (kind == KIND_SUITE) {
+			element= new TestSuiteElement(parent, id, testName, 0, displayName, parameterTypes, uniqueId);
+		} else if (kind == KIND_CASE) {
+			element= new TestCaseElement(parent, id, testName, displayName, (flags & FLAG_DYNAMIC_TEST) != 0, parameterTypes, uniqueId);
+		} else {
+			throw new IOException("Unknown test element kind: " + kind); //$NON-NLS-1$
+		}
+
+		Status status= readStatus(in);
+		String trace= readString(in);
+		String expected= readString(in);
+		String actual= readString(in);
+		if (status != Status.NOT_RUN || trace != null || expected != null || actual != null)
+			element.setStatus(status, trace, expected, actual);
+		element.setAssumptionFailed((flags & FLAG_ASSUMPTION_FAILED) != 0);
+		if (element instanceof TestCaseElement)
+			((TestCaseElement) element).setIgnored((flags & FLAG_IGNORED) != 0);
+		double time= in.readDouble();
+
+		if (element instanceof TestSuiteElement) {
+			TestSuiteElement suite= (TestSuiteElement) element;
+			byte childrenStatusCode= in.readByte();
+			Status childrenStatus= childrenStatusCode == -1 ? null : toStatus(childrenStatusCode);
+			boolean lazy= in.readBoolean();
+			int childCount= in.readInt();
+			if (lazy) {
+				suite.setChildrenLoader(new ChildrenLoader(file, counting.getPosition(), childCount), childCount, childrenStatus);
+				skipElements(in, childCount);
+			} else {
+				readChildren(in, counting, suite, childCount, file);
+			}
+		}
+		// set last, since status changes of the children can modify the time of a suite
+		element.setElapsedTimeInSeconds(time);
+	}
+
+	private static void skipElements(DataInputStream in, int count) throws IOException {
+		for (int i= 0; i < count; i++) {
+			byte kind= in.readByte();
+			in.readByte(); // flags
+			skipString(in); // id
+			skipString(in); // test name
+			skipString(in); // display name
+			int parameterCount= in.readInt();
+			for (int j= 0; j < parameterCount; j++) {
+				skipString(in);
+			}
+			skipString(in); // unique id
+			in.readByte(); // status
+			skipString(in); // trace
+			skipString(in); // expected
+			skipString(in); // actual
+			in.readDouble(); // time
+			if (kind == KIND_SUITE) {
+				in.readByte(); // children status
+				in.readBoolean(); // lazy
+				skipElements(in, in.readInt());
+			}
+		}
+	}
+
+	private static Status readStatus(DataInputStream in) throws IOException {
+		return toStatus(in.readByte());
+	}
+
+	private static Status toStatus(int code) throws IOException {
+		if (code < 0 || code >= STATUSES.length)
+			throw new IOException("Unknown status: " + code); //$NON-NLS-1$
+		return STATUSES[code];
+	}
+
+	private static void writeString(DataOutputStream out, String s) throws IOException {
+		if (s == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes= s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length= in.readInt();
+		if (length == -1)
+			return null;
+		if (length < 0)
+			throw new IOException("Invalid string length: " + length); //$NON-NLS-1$
+		byte[] bytes= new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void skipString(DataInputStream in) throws IOException {
+		int length= in.readInt();
+		while (length > 0) {
+			int skipped= in.skipBytes(length);
+			if (skipped <= 0)
+				throw new EOFException();
+			length-= skipped;
+		}
+	}
+
+	/**
+	 * Adds the children of a suite from the position in the swap file where they have been
+	 * skipped.
+	 */
+	private static final class ChildrenLoader implements TestSuiteElement.ChildrenLoader {
+
+		private final File fFile;
+		private final long fPosition;
+		private final int fCount;
+
+		ChildrenLoader(File file, long position, int count) {
+			fFile= file;
+			fPosition= position;
+			fCount= count;
+		}
+
+		@Override
+		public void loadChildren(TestSuiteElement suite) {
+			try (FileInputStream fileIn= new FileInputStream(fFile)) {
+				fileIn.getChannel().position(fPosition);
+				CountingInputStream counting= new CountingInputStream(new BufferedInputStream(fileIn), fPosition);
+				readChildren(new DataInputStream(counting), counting, suite, fCount, fFile);
+			} catch (IOException e) {
+				JUnitCorePlugin.log(e);
+			}
+		}
+	}
+
+	/**
+	 * Tracks the position in the file, to know where skipped children start.
+	 */
+	private static final class CountingInputStream extends FilterInputStream {
+
+		private long fPosition;
+
+		CountingInputStream(InputStream in, long position) {
+			super(in);
+			fPosition= position;
+		}
+
+		long getPosition() {
+			return fPosition;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b= super.read();
+			if (b != -1)
+				fPosition++;
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int read= super.read(b, off, len);
+			if (read > 0)
+				fPosition+= read;
+			return read;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped= super.skip(n);
+			fPosition+= skipped;
+			return skipped;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+	}
+}
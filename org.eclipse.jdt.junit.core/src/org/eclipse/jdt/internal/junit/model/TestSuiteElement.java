@@ -23,8 +23,25 @@ import org.eclipse.jdt.junit.model.ITestSuiteElement;
 
 public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 
+	/**
+	 * Adds the children of a suite on demand.
+	 */
+	interface ChildrenLoader {
+		/**
+		 * Adds the children to the given suite.
+		 *
+		 * @param suite the suite
+		 */
+		void loadChildren(TestSuiteElement suite);
+	}
+
 	private List<TestElement> fChildren;
 	private Status fChildrenStatus;
+	/**
+	 * Adds the children on first access, or <code>null</code> if all children have been added.
+	 */
+	private volatile ChildrenLoader fChildrenLoader;
+	private int fPendingChildCount;
 
 	public TestSuiteElement(TestSuiteElement parent, String id, String testName, int childrenCount, String displayName, String[] parameterTypes, String uniqueId) {
 		super(parent, id, testName, displayName, parameterTypes, uniqueId);
@@ -51,6 +68,8 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 
 	@Override
 	public ITestElement[] getChildren() {
+		if (fChildrenLoader != null)
+			loadChildren();
 		TestElement[] elements= fChildren.toArray(new TestElement[fChildren.size()]);
 		if (elements.length != 1 || !isSingleDynamicTest(elements[0])) {
 			return elements;
@@ -59,11 +78,70 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 		return new ITestElement[0];
 	}
 
+	/**
+	 * Tells whether {@link #getChildren()} returns children, without loading pending children.
+	 *
+	 * @return <code>true</code> if this suite has children to show
+	 */
+	public boolean hasChildren() {
+		if (fChildrenLoader != null)
+			return fPendingChildCount > 0;
+		return getChildren().length != 0;
+	}
+
+	/**
+	 * @return all children, including a single dynamic test that {@link #getChildren()} hides
+	 */
+	TestElement[] getAllChildren() {
+		if (fChildrenLoader != null)
+			loadChildren();
+		return fChildren.toArray(new TestElement[fChildren.size()]);
+	}
+
+	/**
+	 * Defers adding the children of this suite until they are accessed. The status of the children
+	 * is set right away, so that the status of this suite and its parents is known without loading
+	 * the children.
+	 *
+	 * @param loader the loader that adds the children
+	 * @param childCount the number of children the loader adds
+	 * @param childrenStatus the combined status of the children, or <code>null</code>
+	 */
+	void setChildrenLoader(ChildrenLoader loader, int childCount, Status childrenStatus) {
+		fPendingChildCount= childCount;
+		fChildrenLoader= loader;
+		if (childrenStatus != null) {
+			fChildrenStatus= childrenStatus;
+			TestSuiteElement parent= getParent();
+			if (parent != null)
+				parent.childChangedStatus(this, getStatus());
+		}
+	}
+
+	private synchronized void loadChildren() {
+		ChildrenLoader loader= fChildrenLoader;
+		if (loader != null) {
+			fChildrenLoader= null;
+			loader.loadChildren(this);
+		}
+	}
+
+	/**
+	 * @return the combined status of the children, or <code>null</code> if not known yet
+	 */
+	Status getChildrenStatus() {
+		return fChildrenStatus;
+	}
+
 	public void addChild(TestElement child) {
+		if (fChildrenLoader != null)
+			loadChildren();
 		fChildren.add(child);
 	}
 
 	public void removeChild(TestElement child) {
+		if (fChildrenLoader != null)
+			loadChildren();
 		fChildren.remove(child);
 	}
 
@@ -79,6 +157,8 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 	}
 
 	private Status getCumulatedStatus() {
+		if (fChildrenLoader != null)
+			loadChildren();
 		TestElement[] children= fChildren.toArray(new TestElement[fChildren.size()]); // copy list to avoid concurreny problems
 		if (children.length == 0)
 			return getSuiteStatus();
@@ -71,6 +71,7 @@ import org.eclipse.jdt.internal.junit.launcher.ITestKind;
 import org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants;
 import org.eclipse.jdt.internal.junit.launcher.JUnitRuntimeClasspathEntry;
 import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageSender;
 import org.eclipse.jdt.internal.junit.util.CoreTestSearchEngine;
 import org.eclipse.jdt.internal.junit.util.IJUnitStatusConstants;
 
@@ -445,6 +446,14 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		programArguments.add("-loaderpluginname"); //$NON-NLS-1$
 		programArguments.add(testRunnerKind.getLoaderPluginId());
 
+		// the runtimes of the built-in test kinds send batched binary messages on request,
+		// RemoteTestRunnerClient falls back to the text protocol for older runtimes
+		String testKindId= testRunnerKind.getId();
+		if (TestKindRegistry.JUNIT3_TEST_KIND_ID.equals(testKindId) || TestKindRegistry.JUNIT4_TEST_KIND_ID.equals(testKindId)
+				|| TestKindRegistry.JUNIT5_TEST_KIND_ID.equals(testKindId)) {
+			programArguments.add(BinaryMessageSender.PROTOCOL_ARGUMENT);
+		}
+
 		IJavaElement[] testElements= fTestElements;
 
 		if (testElements.length == 1) { // a test name was specified just run the single test, or a test container was specified
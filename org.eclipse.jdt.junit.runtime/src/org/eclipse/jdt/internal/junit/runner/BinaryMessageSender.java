@@ -0,0 +1,320 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sends the messages of a test run in the binary protocol.
+ * <p>
+ * The binary protocol is only used if the client requested it with the {@link #PROTOCOL_ARGUMENT}
+ * program argument. The connection then starts with {@link #MAGIC} and {@link #VERSION}, followed by
+ * frames consisting of the length of the frame and a batch of events. Events are:
+ * </p>
+ * <ul>
+ * <li>{@link #EVENT_TREE}: a test tree entry with numeric test id and parent id</li>
+ * <li>{@link #EVENT_TEST_START} and {@link #EVENT_TEST_END}: numeric test id and test name, escaped
+ * like in the text protocol</li>
+ * <li>{@link #EVENT_TEXT}: any other message of the text protocol, see {@link MessageIds}</li>
+ * </ul>
+ * <p>
+ * Strings are written as length of their UTF-8 encoding followed by the bytes, <code>-1</code> stands
+ * for <code>null</code>. Events are batched: {@link #flush()} only writes the pending events if they
+ * exceed {@link #BATCH_SIZE} bytes or have been pending for {@link #BATCH_MILLIS} milliseconds, a
+ * background thread writes the remaining events. A client that does not receive the magic number
+ * falls back to the text protocol.
+ * </p>
+ */
+public class BinaryMessageSender implements MessageSender {
+
+	/**
+	 * Program argument with which the client requests the binary protocol.
+	 */
+	public static final String PROTOCOL_ARGUMENT= "-binaryprotocol"; //$NON-NLS-1$
+
+	/**
+	 * Marks the start of the binary protocol. Its first byte can't start a message of the text
+	 * protocol.
+	 */
+	public static final int MAGIC= 0x004a5450;
+
+	/**
+	 * The version of the binary protocol.
+	 */
+	public static final int VERSION= 1;
+
+	/**
+	 * Message of the text protocol: text
+	 */
+	public static final byte EVENT_TEXT= 1;
+
+	/**
+	 * Test tree entry: id, name, hasChildren, testCount, isDynamicTest, parentId, displayName,
+	 * parameterTypes, uniqueId. See {@link MessageIds#TEST_TREE}.
+	 */
+	public static final byte EVENT_TREE= 2;
+
+	/**
+	 * Test started: id, escaped name
+	 */
+	public static final byte EVENT_TEST_START= 3;
+
+	/**
+	 * Test ended: id, escaped name
+	 */
+	public static final byte EVENT_TEST_END= 4;
+
+	/**
+	 * Size in bytes above which pending events are written on {@link #flush()}.
+	 */
+	public static final int BATCH_SIZE= 32 * 1024;
+
+	/**
+	 * Time in milliseconds after which pending events are written.
+	 */
+	public static final long BATCH_MILLIS= 50;
+
+	private final OutputStream fOut;
+	private final ByteArrayOutputStream fBatchBytes= new ByteArrayOutputStream(BATCH_SIZE + 1024);
+	private final DataOutputStream fBatch= new DataOutputStream(fBatchBytes);
+	private final Thread fFlusher;
+	/** Time of the oldest pending event as returned by {@link System#nanoTime()} */
+	private long fPendingSince;
+	private boolean fClosed;
+
+	/**
+	 * Creates a sender and writes the start of the binary protocol.
+	 *
+	 * @param out the stream of the connection to the client
+	 * @throws IOException if writing fails
+	 */
+	public BinaryMessageSender(OutputStream out) throws IOException {
+		fOut= out;
+		DataOutputStream header= new DataOutputStream(out);
+		header.writeInt(MAGIC);
+		header.writeInt(VERSION);
+		header.flush();
+
+		fFlusher= new Thread("BinaryMessageSender") { //$NON-NLS-1$
+			@Override
+			public void run() {
+				flushPeriodically();
+			}
+		};
+		fFlusher.setDaemon(true);
+		fFlusher.start();
+	}
+
+	@Override
+	public synchronized void sendMessage(String msg) {
+		if (fClosed)
+			return;
+		try {
+			startEvent(EVENT_TEXT);
+			writeString(fBatch, msg);
+		} catch (IOException e) {
+			// can't happen
+		}
+	}
+
+	@Override
+	public void sendTestStarted(String testId, String testName) {
+		sendTestEvent(EVENT_TEST_START, testId, testName);
+	}
+
+	@Override
+	public void sendTestEnded(String testId, String testName) {
+		sendTestEvent(EVENT_TEST_END, testId, testName);
+	}
+
+	private synchronized void sendTestEvent(byte event, String testId, String testName) {
+		int id= parseId(testId);
+		String escapedName= RemoteTestRunner.escapeText(testName);
+		if (id < 0) {
+			sendMessage((event == EVENT_TEST_START ? MessageIds.TEST_START : MessageIds.TEST_END) + testId + ',' + escapedName);
+			return;
+		}
+		if (fClosed)
+			return;
+		try {
+			startEvent(event);
+			fBatch.writeInt(id);
+			// listeners receive the escaped name, as with the text protocol
+			writeString(fBatch, escapedName);
+		} catch (IOException e) {
+			// can't happen
+		}
+	}
+
+	/**
+	 * Sends a test tree entry.
+	 *
+	 * @param testId the id of the test
+	 * @param name the name of the test
+	 * @param hasChildren whether the test is a suite
+	 * @param testCount the number of tests
+	 * @param isDynamicTest whether the test is a dynamic test
+	 * @param parentId the id of the parent of a dynamic test or <code>"-1"</code>
+	 * @param displayName the display name of the test
+	 * @param parameterTypes the parameter types of the test method
+	 * @param uniqueId the unique id of the test
+	 * @see IVisitsTestTrees#visitTreeEntry(ITestIdentifier, boolean, int, boolean, String)
+	 */
+	public synchronized void sendTreeEntry(String testId, String name, boolean hasChildren, int testCount, boolean isDynamicTest, String parentId,
+			String displayName, String parameterTypes, String uniqueId) {
+		int id= parseId(testId);
+		int parent= "-1".equals(parentId) ? -1 : parseId(parentId); //$NON-NLS-1$
+		if (id < 0 || parent < -1) {
+			sendMessage(MessageIds.TEST_TREE
+					+ RemoteTestRunner.formatTreeEntry(testId, name, hasChildren, testCount, isDynamicTest, parentId, displayName, parameterTypes, uniqueId));
+			return;
+		}
+		if (fClosed)
+			return;
+		try {
+			startEvent(EVENT_TREE);
+			fBatch.writeInt(id);
+			writeString(fBatch, name);
+			fBatch.writeBoolean(hasChildren);
+			fBatch.writeInt(testCount);
+			fBatch.writeBoolean(isDynamicTest);
+			fBatch.writeInt(parent);
+			writeString(fBatch, displayName);
+			writeString(fBatch, parameterTypes);
+			writeString(fBatch, uniqueId);
+		} catch (IOException e) {
+			// can't happen
+		}
+	}
+
+	/**
+	 * Parses a test id.
+	 *
+	 * @param testId the test id
+	 * @return the numeric id, or <code>-2</code> if the id is not a non-negative number
+	 */
+	private static int parseId(String testId) {
+		if (testId == null || testId.isEmpty() || testId.length() > 9)
+			return -2;
+		int id= 0;
+		for (int i= 0; i < testId.length(); i++) {
+			char c= testId.charAt(i);
+			if (c < '0' || c > '9')
+				return -2;
+			id= id * 10 + c - '0';
+		}
+		if (testId.length() > 1 && testId.charAt(0) == '0')
+			return -2; // would not be the same id when formatted again
+		return id;
+	}
+
+	private void startEvent(byte event) throws IOException {
+		if (fBatchBytes.size() == 0)
+			fPendingSince= System.nanoTime();
+		fBatch.writeByte(event);
+	}
+
+	/**
+	 * Writes the pending events if there are many of them or if they have been pending for a while.
+	 */
+	@Override
+	public synchronized void flush() {
+		if (fBatchBytes.size() >= BATCH_SIZE || fBatchBytes.size() > 0 && System.nanoTime() - fPendingSince >= BATCH_MILLIS * 1_000_000L)
+			writeBatch();
+	}
+
+	private synchronized void flushPeriodically() {
+		while (!fClosed) {
+			try {
+				wait(BATCH_MILLIS);
+			} catch (InterruptedException e) {
+				// check again
+			}
+			if (!fClosed && fBatchBytes.size() > 0)
+				writeBatch();
+		}
+	}
+
+	private void writeBatch() {
+		try {
+			int size= fBatchBytes.size();
+			fOut.write(new byte[] { (byte) (size >>> 24), (byte) (size >>> 16), (byte) (size >>> 8), (byte) size });
+			fBatchBytes.writeTo(fOut);
+			fOut.flush();
+		} catch (IOException e) {
+			// like PrintWriter, ignore errors of a closed connection
+			fClosed= true;
+		} finally {
+			fBatchBytes.reset();
+		}
+	}
+
+	/**
+	 * Writes the pending events, stops the background thread and closes the stream.
+	 */
+	public synchronized void close() {
+		if (fClosed)
+			return;
+		if (fBatchBytes.size() > 0)
+			writeBatch();
+		fClosed= true;
+		notifyAll();
+		try {
+			fOut.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	/**
+	 * Writes a string of the binary protocol.
+	 *
+	 * @param out the stream to write to
+	 * @param s the string or <code>null</code>
+	 * @throws IOException if writing fails
+	 */
+	public static void writeString(DataOutputStream out, String s) throws IOException {
+		if (s == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes= s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Reads a string of the binary protocol.
+	 *
+	 * @param in the stream over a complete frame
+	 * @return the string or <code>null</code>
+	 * @throws IOException if reading fails
+	 */
+	public static String readString(DataInputStream in) throws IOException {
+		int length= in.readInt();
+		if (length < 0)
+			return null;
+		if (length > in.available())
+			throw new IOException("Truncated string: " + length); //$NON-NLS-1$
+		byte[] bytes= new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -30,7 +30,7 @@ public class FirstRunExecutionListener implements IListensToTestExecutions {
 
 	@Override
 	public void notifyTestEnded(ITestIdentifier test) {
-		sendMessage(test, MessageIds.TEST_END);
+		fSender.sendTestEnded(getTestId(test), test.getName());
 		fSender.flush();
 	}
 
@@ -43,7 +43,7 @@ public class FirstRunExecutionListener implements IListensToTestExecutions {
 
 	@Override
 	public void notifyTestStarted(ITestIdentifier test) {
-		sendMessage(test, MessageIds.TEST_START);
+		fSender.sendTestStarted(getTestId(test), test.getName());
 		fSender.flush();
 	}
 
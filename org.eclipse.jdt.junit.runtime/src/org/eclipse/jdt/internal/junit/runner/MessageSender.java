@@ -22,4 +22,24 @@ public interface MessageSender {
 
 	void flush();
 
+	/**
+	 * Notification that a test has started.
+	 *
+	 * @param testId the id of the test
+	 * @param testName the name of the test
+	 */
+	default void sendTestStarted(String testId, String testName) {
+		sendMessage(MessageIds.TEST_START + testId + ',' + RemoteTestRunner.escapeText(testName));
+	}
+
+	/**
+	 * Notification that a test has ended.
+	 *
+	 * @param testId the id of the test
+	 * @param testName the name of the test
+	 */
+	default void sendTestEnded(String testId, String testName) {
+		sendMessage(MessageIds.TEST_END + testId + ',' + RemoteTestRunner.escapeText(testName));
+	}
+
 }
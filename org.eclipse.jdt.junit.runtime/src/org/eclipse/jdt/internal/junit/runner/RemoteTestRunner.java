@@ -136,6 +136,16 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	private boolean fConsoleMode = false;
 
+	/**
+	 * Has the client requested the binary protocol?
+	 */
+	private boolean fBinaryProtocol= false;
+
+	/**
+	 * Sender for the binary protocol or <code>null</code> if the text protocol is used
+	 */
+	private BinaryMessageSender fBinarySender;
+
 	/**
 	 * Reader thread that processes messages from the client.
 	 */
@@ -201,6 +211,7 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * -host: the host to connect to default local host
 	 * -port: the port to connect to, mandatory argument
 	 * -keepalive: keep the process alive after a test run
+	 * -binaryprotocol: send the messages in the binary protocol, see BinaryMessageSender
      * </pre>
      */
 	public static void main(String[] args) {
@@ -305,6 +316,8 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 			} else if ("-junitconsole".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
 			    fConsoleMode  = true;
+			} else if (BinaryMessageSender.PROTOCOL_ARGUMENT.equalsIgnoreCase(args[i])) {
+				fBinaryProtocol= true;
 			} else if ("-testloaderclass".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
 				String className = args[i + 1];
 				createLoader(className);
@@ -444,6 +457,8 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 			return;
 		if (fRerunTest != null) {
 			rerunTest(new RerunRequest(Integer.parseInt(fRerunTest), fTestClassNames[0], fTestName));
+			if (fBinarySender != null)
+				fBinarySender.close(); // write the pending events before the VM exits
 			return;
 		}
 
@@ -578,12 +593,37 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	@Override
 	public void visitTreeEntry(ITestIdentifier identifier, boolean hasChildren, int testCount, boolean isDynamicTest, String parentId) {
-		String treeEntry= getTestId(identifier) + ',' + escapeText(identifier.getName()) + ',' + hasChildren + ',' + testCount
-				+ ',' + isDynamicTest + ',' + parentId + ',' + escapeText(identifier.getDisplayName()) + ',' + escapeText(identifier.getParameterTypes())
-				+ ',' + escapeText(identifier.getUniqueId());
+		if (fBinarySender != null && fSender == this) {
+			fBinarySender.sendTreeEntry(getTestId(identifier), identifier.getName(), hasChildren, testCount, isDynamicTest, parentId,
+					identifier.getDisplayName(), identifier.getParameterTypes(), identifier.getUniqueId());
+			return;
+		}
+		String treeEntry= formatTreeEntry(getTestId(identifier), identifier.getName(), hasChildren, testCount, isDynamicTest, parentId,
+				identifier.getDisplayName(), identifier.getParameterTypes(), identifier.getUniqueId());
 		notifyTestTreeEntry(treeEntry);
 	}
 
+	/**
+	 * Formats a test tree entry of the text protocol, see {@link MessageIds#TEST_TREE}.
+	 *
+	 * @param testId the id of the test
+	 * @param name the name of the test
+	 * @param hasChildren whether the test is a suite
+	 * @param testCount the number of tests
+	 * @param isDynamicTest whether the test is a dynamic test
+	 * @param parentId the id of the parent of a dynamic test or <code>"-1"</code>
+	 * @param displayName the display name of the test
+	 * @param parameterTypes the parameter types of the test method
+	 * @param uniqueId the unique id of the test
+	 * @return the tree entry without the message id
+	 */
+	public static String formatTreeEntry(String testId, String name, boolean hasChildren, int testCount, boolean isDynamicTest, String parentId,
+			String displayName, String parameterTypes, String uniqueId) {
+		return testId + ',' + escapeText(name) + ',' + hasChildren + ',' + testCount
+				+ ',' + isDynamicTest + ',' + parentId + ',' + escapeText(displayName) + ',' + escapeText(parameterTypes)
+				+ ',' + escapeText(uniqueId);
+	}
+
 	public static String escapeText(String s) {
 		if ((s.indexOf(',') < 0) && (s.indexOf('\\') < 0) && (s.indexOf('\r') < 0) && (s.indexOf('\n') < 0))
 			return s;
@@ -648,11 +688,15 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		for (int i= 1; i < 20; i++) {
 			try{
 				fClientSocket= new Socket(fHost, fPort);
-				try {
-				    fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream(), "UTF-8")), false/*true*/); //$NON-NLS-1$
-	            } catch (UnsupportedEncodingException e1) {
-	                fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream())), false/*true*/);
-	            }
+				if (fBinaryProtocol) {
+					fBinarySender= new BinaryMessageSender(fClientSocket.getOutputStream());
+				} else {
+					try {
+					    fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream(), "UTF-8")), false/*true*/); //$NON-NLS-1$
+		            } catch (UnsupportedEncodingException e1) {
+		                fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream())), false/*true*/);
+		            }
+				}
 				try {
 				    fReader= new BufferedReader(new InputStreamReader(fClientSocket.getInputStream(), "UTF-8")); //$NON-NLS-1$
                 } catch (UnsupportedEncodingException e1) {
@@ -677,6 +721,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * Shutsdown the connection to the remote test listener.
 	 */
 	private void shutDown() {
+		if (fBinarySender != null) {
+			fBinarySender.close();
+			fBinarySender= null;
+		}
 		if (fWriter != null) {
 			fWriter.close();
 			fWriter= null;
@@ -710,6 +758,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	@Override
 	public void sendMessage(String msg) {
+		if (fBinarySender != null) {
+			fBinarySender.sendMessage(msg);
+			return;
+		}
 		if(fWriter == null)
 			return;
 		fWriter.println(msg);
@@ -748,8 +800,28 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		}
 	}
 
+	@Override
+	public void sendTestStarted(String testId, String testName) {
+		if (fBinarySender != null)
+			fBinarySender.sendTestStarted(testId, testName);
+		else
+			MessageSender.super.sendTestStarted(testId, testName);
+	}
+
+	@Override
+	public void sendTestEnded(String testId, String testName) {
+		if (fBinarySender != null)
+			fBinarySender.sendTestEnded(testId, testName);
+		else
+			MessageSender.super.sendTestEnded(testId, testName);
+	}
+
 	@Override
 	public void flush() {
+		if (fBinarySender != null) {
+			fBinarySender.flush();
+			return;
+		}
 	    fWriter.flush();
 	}
 
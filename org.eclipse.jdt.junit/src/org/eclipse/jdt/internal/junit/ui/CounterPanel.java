@@ -27,12 +27,14 @@ import org.eclipse.jdt.internal.junit.Messages;
 import org.eclipse.jdt.internal.ui.util.SWTUtil;
 
 /**
- * A panel with counters for the number of Runs, Errors and Failures.
+ * A panel with counters for the number of Runs, Errors and Failures, and the rate of test events
+ * while a test run is running.
  */
 public class CounterPanel extends Composite {
 	protected Text fNumberOfErrors;
 	protected Text fNumberOfFailures;
 	protected Text fNumberOfRuns;
+	protected Text fEventRate;
 	protected int fTotal;
 	protected int fIgnoredCount;
 	protected int fAssumptionFailedCount;
@@ -43,7 +45,7 @@ public class CounterPanel extends Composite {
 	public CounterPanel(Composite parent) {
 		super(parent, SWT.WRAP);
 		GridLayout gridLayout= new GridLayout();
-		gridLayout.numColumns= 9;
+		gridLayout.numColumns= 12;
 		gridLayout.makeColumnsEqualWidth= false;
 		gridLayout.marginWidth= 0;
 		setLayout(gridLayout);
@@ -51,6 +53,8 @@ public class CounterPanel extends Composite {
 		fNumberOfRuns= createLabel(JUnitMessages.CounterPanel_label_runs, null, " 0/0  "); //$NON-NLS-1$
 		fNumberOfErrors= createLabel(JUnitMessages.CounterPanel_label_errors, fErrorIcon, " 0 "); //$NON-NLS-1$
 		fNumberOfFailures= createLabel(JUnitMessages.CounterPanel_label_failures, fFailureIcon, " 0 "); //$NON-NLS-1$
+		fEventRate= createLabel(JUnitMessages.CounterPanel_label_eventRate, null, " 0 "); //$NON-NLS-1$
+		fEventRate.setToolTipText(JUnitMessages.CounterPanel_eventRate_tooltip);
 
 		addDisposeListener(e -> disposeIcons());
 	}
@@ -85,6 +89,7 @@ public class CounterPanel extends Composite {
 		setErrorValue(0);
 		setFailureValue(0);
 		setRunValue(0, 0, 0);
+		setEventRate(0);
 		fTotal= 0;
 	}
 
@@ -136,4 +141,13 @@ public class CounterPanel extends Composite {
 		fNumberOfFailures.setText(Integer.toString(value));
 		redraw();
 	}
+
+	/**
+	 * @param eventsPerSecond the number of test events per second received from the running test
+	 *            run
+	 */
+	public void setEventRate(int eventsPerSecond) {
+		fEventRate.setText(Integer.toString(eventsPerSecond));
+		redraw();
+	}
 }
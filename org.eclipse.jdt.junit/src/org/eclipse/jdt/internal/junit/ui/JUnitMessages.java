@@ -44,6 +44,8 @@ public final class JUnitMessages extends NLS {
 	public static String CounterPanel_label_errors;
 	public static String CounterPanel_label_failures;
 	public static String CounterPanel_label_runs;
+	public static String CounterPanel_label_eventRate;
+	public static String CounterPanel_eventRate_tooltip;
 	public static String CounterPanel_runcount;
 	public static String CounterPanel_runcount_assumptionsFailed;
 	public static String CounterPanel_runcount_ignored;
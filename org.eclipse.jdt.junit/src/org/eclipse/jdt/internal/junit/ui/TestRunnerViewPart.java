@@ -41,6 +41,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jdt.junit.model.ITestElement.Result;
 
@@ -168,6 +169,11 @@ public class TestRunnerViewPart extends ViewPart {
 	private static final String RERUN_FAILED_FIRST_COMMAND= "org.eclipse.jdt.junit.junitShortcut.rerunFailedFirst"; //$NON-NLS-1$
 
 	static final int REFRESH_INTERVAL= 200;
+	/**
+	 * Upper bound for the interval between two updates of the view if updating takes long, e.g.
+	 * because a huge number of tests is run.
+	 */
+	static final int MAX_REFRESH_INTERVAL= 2000;
 
 	public static final int LAYOUT_FLAT= 0;
 	public static final int LAYOUT_HIERARCHICAL= 1;
@@ -246,6 +252,12 @@ public class TestRunnerViewPart extends ViewPart {
 
 	private TestRunSession fTestRunSession;
 	private TestSessionListener fTestSessionListener;
+	/**
+	 * The listener whose events have been counted when the event rate has last been computed.
+	 */
+	private TestSessionListener fEventRateListener;
+	private int fEventRateCount;
+	private long fEventRateTime;
 
 	private RunnerViewHistory fViewHistory;
 	private TestRunSessionListener fTestRunSessionListener;
@@ -731,6 +743,11 @@ public class TestRunnerViewPart extends ViewPart {
 	}
 
 	private class TestSessionListener implements ITestSessionListener {
+		/**
+		 * Number of test events received, used to show the event rate.
+		 */
+		final AtomicInteger fEventCount= new AtomicInteger();
+
 		@Override
 		public void sessionStarted(){
 			fTestViewer.registerViewersRefresh();
@@ -815,6 +832,7 @@ public class TestRunnerViewPart extends ViewPart {
 
 		@Override
 		public void testStarted(TestCaseElement testCaseElement) {
+			fEventCount.incrementAndGet();
 			fTestViewer.registerAutoScrollTarget(testCaseElement);
 			fTestViewer.registerViewerUpdate(testCaseElement);
 
@@ -826,6 +844,7 @@ public class TestRunnerViewPart extends ViewPart {
 
 		@Override
 		public void testFailed(TestElement testElement, TestElement.Status status, String trace, String expected, String actual) {
+			fEventCount.incrementAndGet();
 			if (isAutoScroll()) {
 				fTestViewer.registerFailedForAutoScroll(testElement);
 			}
@@ -847,11 +866,13 @@ public class TestRunnerViewPart extends ViewPart {
 
 		@Override
 		public void testEnded(TestCaseElement testCaseElement){
+			fEventCount.incrementAndGet();
 			fTestViewer.registerViewerUpdate(testCaseElement);
 		}
 
 		@Override
 		public void testReran(TestCaseElement testCaseElement, TestElement.Status status, String trace, String expectedResult, String actualResult) {
+			fEventCount.incrementAndGet();
 			fTestViewer.registerViewerUpdate(testCaseElement); //TODO: autoExpand?
 			postSyncProcessChanges();
 			showFailure(testCaseElement);
@@ -859,6 +880,7 @@ public class TestRunnerViewPart extends ViewPart {
 
 		@Override
 		public void testAdded(TestElement testElement) {
+			fEventCount.incrementAndGet();
 			fTestViewer.registerTestAdded(testElement);
 		}
 
@@ -877,10 +899,13 @@ public class TestRunnerViewPart extends ViewPart {
 		}
 		@Override
 		public IStatus runInUIThread(IProgressMonitor monitor) {
+			long start= System.currentTimeMillis();
 			if (!isDisposed()) {
 				processChangesInUI();
 			}
-			schedule(REFRESH_INTERVAL);
+			// changes are collected until the next run, so don't spend more than a quarter of the time in the UI thread
+			long duration= System.currentTimeMillis() - start;
+			schedule(Math.min(MAX_REFRESH_INTERVAL, Math.max(REFRESH_INTERVAL, 3 * duration)));
 			return Status.OK_STATUS;
 		}
 
@@ -1791,6 +1816,32 @@ action enablement
 			ticksDone= startedCount - 1;
 
 		fProgressBar.reset(hasErrorsOrFailures, stopped, ticksDone, totalCount);
+
+		refreshEventRate();
+	}
+
+	/**
+	 * Shows the number of test events per second received by the running session. The rate is
+	 * computed over at least a second to avoid flickering.
+	 */
+	private void refreshEventRate() {
+		TestSessionListener listener= fTestSessionListener;
+		long now= System.currentTimeMillis();
+		if (listener == null || listener != fEventRateListener) {
+			if (fEventRateListener != null)
+				fCounterPanel.setEventRate(0);
+			fEventRateListener= listener;
+			fEventRateCount= 0;
+			fEventRateTime= now;
+			return;
+		}
+		long elapsed= now - fEventRateTime;
+		if (elapsed < 1000)
+			return;
+		int count= listener.fEventCount.get();
+		fCounterPanel.setEventRate((int) ((count - fEventRateCount) * 1000L / elapsed));
+		fEventRateCount= count;
+		fEventRateTime= now;
 	}
 
 	protected void postShowTestResultsView() {
@@ -51,7 +51,7 @@ public class TestSessionTreeContentProvider implements ITreeContentProvider {
 	@Override
 	public boolean hasChildren(Object element) {
 		if (element instanceof TestSuiteElement)
-			return ((TestSuiteElement) element).getChildren().length != 0;
+			return ((TestSuiteElement) element).hasChildren();
 		else
 			return false;
 	}
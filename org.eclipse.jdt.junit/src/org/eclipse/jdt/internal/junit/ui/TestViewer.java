@@ -220,6 +220,8 @@ public class TestViewer {
 	private boolean fTreeNeedsRefresh;
 	private boolean fTableNeedsRefresh;
 	private HashSet<TestElement> fNeedUpdate;
+	/** Suites whose children have been added to while the tree did not need a full refresh */
+	private LinkedHashSet<TestSuiteElement> fNeedChildrenRefresh;
 	private TestCaseElement fAutoScrollTarget;
 
 	private LinkedList<TestSuiteElement> fAutoClose;
@@ -701,10 +703,15 @@ public class TestViewer {
 
 		} else {
 			Object[] toUpdate;
+			TestSuiteElement[] toRefresh;
 			synchronized (this) {
 				toUpdate= fNeedUpdate.toArray();
 				fNeedUpdate.clear();
+				toRefresh= fNeedChildrenRefresh.toArray(new TestSuiteElement[fNeedChildrenRefresh.size()]);
+				fNeedChildrenRefresh.clear();
 			}
+			if (! fTreeNeedsRefresh && toRefresh.length > 0)
+				refreshChildrenInTree(toRefresh);
 			if (! fTreeNeedsRefresh && toUpdate.length > 0) {
 				if (fTreeHasFilter)
 					for (Object element : toUpdate)
@@ -732,6 +739,23 @@ public class TestViewer {
 		autoScrollInUI();
 	}
 
+	/**
+	 * Refreshes the children of the given suites. A suite is skipped if one of its ancestors is
+	 * refreshed as well, since refreshing the ancestor also refreshes the expanded descendants.
+	 *
+	 * @param suites the suites to refresh, in the order in which tests have been added to them
+	 */
+	private void refreshChildrenInTree(TestSuiteElement[] suites) {
+		HashSet<TestSuiteElement> dirty= new HashSet<>(Arrays.asList(suites));
+		for (TestSuiteElement suite : suites) {
+			TestSuiteElement parent= suite.getParent();
+			while (parent != null && ! dirty.contains(parent))
+				parent= parent.getParent();
+			if (parent == null)
+				fTreeViewer.refresh(suite, false);
+		}
+	}
+
 	private void updateElementInTree(final TestElement testElement) {
 		if (isShown(testElement)) {
 			updateShownElementInTree(testElement);
@@ -931,6 +955,7 @@ public class TestViewer {
 
 	private void clearUpdateAndExpansion() {
 		fNeedUpdate= new LinkedHashSet<>();
+		fNeedChildrenRefresh= new LinkedHashSet<>();
 		fAutoClose= new LinkedList<>();
 		fAutoExpand= new HashSet<>();
 	}
@@ -939,9 +964,16 @@ public class TestViewer {
 	 * @param testElement the added test
 	 */
 	public synchronized void registerTestAdded(TestElement testElement) {
-		//TODO: performance: would only need to refresh parent of added element
-		fTreeNeedsRefresh= true;
-		fTableNeedsRefresh= true;
+		// a filtered viewer only shows failed or skipped tests, so a new test is added once it gets updated
+		if (! fTreeHasFilter && ! fTreeNeedsRefresh) {
+			TestSuiteElement parent= testElement.getParent();
+			if (parent == null)
+				fTreeNeedsRefresh= true;
+			else
+				fNeedChildrenRefresh.add(parent);
+		}
+		if (! fTableHasFilter)
+			fTableNeedsRefresh= true;
 	}
 
 	public synchronized void registerViewerUpdate(final TestElement testElement) {
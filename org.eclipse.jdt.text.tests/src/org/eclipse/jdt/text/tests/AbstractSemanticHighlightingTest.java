@@ -44,6 +44,7 @@ import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting;
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingManager;
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingPresenter;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingReconciler;
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings;
 
 public class AbstractSemanticHighlightingTest {
@@ -144,6 +145,18 @@ public class AbstractSemanticHighlightingTest {
 		return document.getPositions(positionCategory);
 	}
 
+	protected SemanticHighlightingReconciler getSemanticHighlightingReconciler() {
+		SemanticHighlightingManager manager= (SemanticHighlightingManager) new Accessor(fEditor, JavaEditor.class).get("fSemanticManager");
+		return (SemanticHighlightingReconciler) new Accessor(manager, manager.getClass()).get("fReconciler");
+	}
+
+	protected void replaceAndReconcile(int line, int column, int length, String text) throws BadLocationException {
+		IDocument document= fSourceViewer.getDocument();
+		document.replace(document.getLineOffset(line) + column, length, text);
+		assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 500, 10000, 100));
+		EditorTestHelper.runEventQueue(100);
+	}
+
 	protected void setUpSemanticHighlighting(String semanticHighlighting) {
 		enableSemanticHighlighting(semanticHighlighting);
 		EditorTestHelper.forceReconcile(fSourceViewer);
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.text.tests.performance.EditorTestHelper;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.projection.ProjectionAnnotation;
+import org.eclipse.jface.text.source.projection.ProjectionAnnotationModel;
+import org.eclipse.jface.text.source.projection.ProjectionViewer;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.ui.text.folding.IJavaFoldingStructureProvider;
+
+import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+
+/**
+ * Compares the folding structure after the incremental update that follows a reconcile with the
+ * structure that is computed from scratch for the same source.
+ */
+public class JavaFoldingStructureProviderTest {
+
+	private static final String SOURCE= "package p;\n" +
+			"\n" +
+			"import java.util.List;\n" +
+			"import java.util.Map;\n" +
+			"\n" +
+			"/**\n" +
+			" * Javadoc of Folding.\n" +
+			" */\n" +
+			"public class Folding {\n" +
+			"	/**\n" +
+			"	 * Javadoc of foo.\n" +
+			"	 */\n" +
+			"	void foo() {\n" +
+			"		int i= 0;\n" +
+			"		i++;\n" +
+			"	}\n" +
+			"\n" +
+			"	/**\n" +
+			"	 * Javadoc of bar.\n" +
+			"	 */\n" +
+			"	void bar() {\n" +
+			"		System.out.println();\n" +
+			"	}\n" +
+			"\n" +
+			"	class Inner {\n" +
+			"		void baz() {\n" +
+			"			int j= 0;\n" +
+			"		}\n" +
+			"\n" +
+			"		void qux() {\n" +
+			"		}\n" +
+			"	}\n" +
+			"}\n";
+
+	private IJavaProject fProject;
+	private JavaEditor fEditor;
+	private ProjectionViewer fViewer;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject(getClass().getName(), "bin");
+		JavaProjectHelper.addRTJar(fProject);
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fProject, "src");
+		IPackageFragment pack= root.createPackageFragment("p", false, null);
+		ICompilationUnit cu= pack.createCompilationUnit("Folding.java", SOURCE, false, null);
+		fEditor= (JavaEditor) EditorUtility.openInEditor(cu);
+		fViewer= (ProjectionViewer) EditorTestHelper.getSourceViewer(fEditor);
+		assertTrue(EditorTestHelper.joinReconciler(fViewer, 0, 10000, 100));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		EditorTestHelper.closeEditor(fEditor);
+		fEditor= null;
+		fViewer= null;
+		JavaProjectHelper.delete(fProject);
+	}
+
+	@Test
+	public void testEditMethodBody() throws Exception {
+		replaceAndCompare("		i++;\n", "		i++;\n		if (i > 0) {\n			i--;\n		}\n");
+	}
+
+	@Test
+	public void testAddMember() throws Exception {
+		int annotations= getFoldingStructure().size();
+		replaceAndCompare("	class Inner {\n", "	void added() {\n		foo();\n	}\n\n	class Inner {\n");
+		assertEquals(annotations + 1, getFoldingStructure().size());
+	}
+
+	@Test
+	public void testRemoveMember() throws Exception {
+		int annotations= getFoldingStructure().size();
+		replaceAndCompare("	/**\n	 * Javadoc of bar.\n	 */\n	void bar() {\n		System.out.println();\n	}\n\n", "");
+		assertEquals(annotations - 2, getFoldingStructure().size());
+	}
+
+	@Test
+	public void testEditNestedType() throws Exception {
+		replaceAndCompare("		void qux() {\n		}\n", "		void qux() {\n			baz();\n		}\n\n		void quux() {\n			qux();\n		}\n");
+	}
+
+	@Test
+	public void testEditJavadoc() throws Exception {
+		replaceAndCompare("	 * Javadoc of foo.\n", "	 * Javadoc of foo.\n	 * <p>\n	 * More.\n	 * </p>\n");
+	}
+
+	/**
+	 * Replaces the given text, waits for the incremental update of the folding structure and
+	 * compares it with the structure computed from scratch.
+	 */
+	private void replaceAndCompare(String text, String replacement) throws Exception {
+		List<String> before= getFoldingStructure();
+		IDocument document= fViewer.getDocument();
+		int offset= document.get().indexOf(text);
+		assertTrue(text, offset != -1);
+		document.replace(offset, text.length(), replacement);
+		assertTrue(EditorTestHelper.joinReconciler(fViewer, 500, 10000, 100));
+		EditorTestHelper.runEventQueue(100);
+
+		List<String> incremental= getFoldingStructure();
+		assertNotEquals(before, incremental);
+		IJavaFoldingStructureProvider provider= fEditor.getAdapter(IJavaFoldingStructureProvider.class);
+		assertNotNull(provider);
+		provider.initialize();
+		assertEquals(getFoldingStructure(), incremental);
+	}
+
+	/**
+	 * @return the sorted positions of the projection annotations as <code>offset:length</code>
+	 */
+	private List<String> getFoldingStructure() {
+		ProjectionAnnotationModel model= fViewer.getProjectionAnnotationModel();
+		List<String> result= new ArrayList<>();
+		for (Iterator<Annotation> iter= model.getAnnotationIterator(); iter.hasNext();) {
+			Annotation annotation= iter.next();
+			Position position= model.getPosition(annotation);
+			if (annotation instanceof ProjectionAnnotation && position != null && !position.isDeleted())
+				result.add(position.getOffset() + ":" + position.getLength());
+		}
+		Collections.sort(result);
+		return result;
+	}
+}
@@ -15,6 +15,7 @@
 package org.eclipse.jdt.text.tests;
 
 import org.eclipse.jdt.text.tests.codemining.CodeMiningTriggerTest;
+import org.eclipse.jdt.text.tests.codemining.JavaCodeMiningResolverTest;
 import org.eclipse.jdt.text.tests.codemining.ParameterNamesCodeMiningTest;
 import org.eclipse.jdt.text.tests.contentassist.ContentAssistTestSuite;
 import org.eclipse.jdt.text.tests.spelling.SpellCheckEngineTestCase;
@@ -73,6 +74,9 @@ import org.junit.runners.Suite;
 	JavaElementPrefixPatternMatcherTest.class,
 	CodeMiningTriggerTest.class,
 	ParameterNamesCodeMiningTest.class,
+	JavaCodeMiningResolverTest.class,
+	JavaFoldingStructureProviderTest.class,
+	OverrideIndicatorManagerTest.class,
 })
 public class JdtTextTestSuite {
 }
\ No newline at end of file
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.text.tests.performance.DisplayHelper;
+import org.eclipse.jdt.text.tests.performance.EditorTestHelper;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.text.tests.Accessor;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.IAnnotationModel;
+import org.eclipse.jface.text.source.SourceViewer;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+
+/**
+ * Tests that the override indicators of an editor follow changes of the supertypes in other
+ * compilation units, and that the overridden methods are not searched again after an edit in a
+ * method body.
+ */
+public class OverrideIndicatorManagerTest {
+
+	private static final String OVERRIDE_INDICATOR_ANNOTATION= "org.eclipse.jdt.ui.overrideIndicator";
+
+	private static final String MANAGER_CLASS= "org.eclipse.jdt.internal.ui.javaeditor.OverrideIndicatorManager";
+
+	private static final String SUPER= "package p;\n" +
+			"public class Super {\n" +
+			"	public void foo() {\n" +
+			"	}\n" +
+			"}\n";
+
+	private static final String SUB= "package p;\n" +
+			"public class Sub extends Super {\n" +
+			"	public void foo() {\n" +
+			"		int i= 0;\n" +
+			"	}\n" +
+			"	public void bar() {\n" +
+			"	}\n" +
+			"}\n";
+
+	private IJavaProject fProject;
+	private ICompilationUnit fSuper;
+	private JavaEditor fEditor;
+	private SourceViewer fViewer;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject(getClass().getName(), "bin");
+		JavaProjectHelper.addRTJar(fProject);
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fProject, "src");
+		IPackageFragment pack= root.createPackageFragment("p", false, null);
+		fSuper= pack.createCompilationUnit("Super.java", SUPER, false, null);
+		ICompilationUnit sub= pack.createCompilationUnit("Sub.java", SUB, false, null);
+		EditorTestHelper.joinBackgroundActivities();
+		fEditor= (JavaEditor) EditorUtility.openInEditor(sub);
+		fViewer= EditorTestHelper.getSourceViewer(fEditor);
+		assertTrue(EditorTestHelper.joinReconciler(fViewer, 0, 10000, 100));
+		waitForOverrideIndicators("overrides p.Super.foo");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		EditorTestHelper.closeEditor(fEditor);
+		fEditor= null;
+		fViewer= null;
+		JavaProjectHelper.delete(fProject);
+	}
+
+	@Test
+	public void supertypeMethodAdded() throws Exception {
+		setSuperContents(SUPER.replace("	public void foo() {\n", "	public void bar() {\n	}\n	public void foo() {\n"));
+		waitForOverrideIndicators("overrides p.Super.bar", "overrides p.Super.foo");
+	}
+
+	@Test
+	public void supertypeMethodRemoved() throws Exception {
+		setSuperContents(SUPER.replace("	public void foo() {\n	}\n", ""));
+		waitForOverrideIndicators();
+	}
+
+	@Test
+	public void bodyEditKeepsOverriddenMethods() throws Exception {
+		Accessor manager= getManager();
+		int generation= manager.getInt("fOverriddenMethodsGeneration");
+		Map<?, ?> overridden= new HashMap<>((Map<?, ?>) manager.get("fOverriddenMethods"));
+		assertFalse(overridden.isEmpty());
+
+		replaceAndReconcile("		int i= 0;\n", "		int i= 1;\n		i++;\n");
+
+		assertEquals(generation, manager.getInt("fOverriddenMethodsGeneration"));
+		Map<?, ?> cached= (Map<?, ?>) manager.get("fOverriddenMethods");
+		for (Map.Entry<?, ?> entry : overridden.entrySet())
+			assertSame(entry.getValue(), cached.get(entry.getKey()));
+		waitForOverrideIndicators("overrides p.Super.foo");
+	}
+
+	@Test
+	public void memberEditSearchesAgain() throws Exception {
+		Accessor manager= getManager();
+		int generation= manager.getInt("fOverriddenMethodsGeneration");
+
+		replaceAndReconcile("	public void bar() {\n", "	public void baz() {\n	}\n	public void bar() {\n");
+
+		assertNotEquals(generation, manager.getInt("fOverriddenMethodsGeneration"));
+		waitForOverrideIndicators("overrides p.Super.foo");
+	}
+
+	private Accessor getManager() {
+		Object manager= new Accessor(fEditor, JavaEditor.class).get("fOverrideIndicatorManager");
+		return new Accessor(manager, MANAGER_CLASS, getClass().getClassLoader());
+	}
+
+	private void setSuperContents(String contents) throws Exception {
+		IFile file= (IFile) fSuper.getResource();
+		file.setContents(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)), true, false, null);
+	}
+
+	private void replaceAndReconcile(String text, String replacement) throws Exception {
+		IDocument document= fViewer.getDocument();
+		int offset= document.get().indexOf(text);
+		assertTrue(text, offset != -1);
+		document.replace(offset, text.length(), replacement);
+		assertTrue(EditorTestHelper.joinReconciler(fViewer, 500, 10000, 100));
+		EditorTestHelper.runEventQueue(100);
+	}
+
+	private void waitForOverrideIndicators(String... expected) {
+		Set<String> expectedTexts= new TreeSet<>(Arrays.asList(expected));
+		new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return expectedTexts.equals(getOverrideIndicators());
+			}
+		}.waitForCondition(EditorTestHelper.getActiveDisplay(), 10000);
+		assertEquals(expectedTexts, getOverrideIndicators());
+	}
+
+	private Set<String> getOverrideIndicators() {
+		IAnnotationModel model= fEditor.getDocumentProvider().getAnnotationModel(fEditor.getEditorInput());
+		Set<String> texts= new TreeSet<>();
+		for (Iterator<Annotation> iter= model.getAnnotationIterator(); iter.hasNext();) {
+			Annotation annotation= iter.next();
+			if (OVERRIDE_INDICATOR_ANNOTATION.equals(annotation.getType()))
+				texts.add(annotation.getText());
+		}
+		return texts;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,11 +15,14 @@
  *******************************************************************************/
 package org.eclipse.jdt.text.tests;
 
+import static org.junit.Assert.assertEquals;
+
 import org.junit.Rule;
 import org.junit.Test;
 
 import org.eclipse.jface.text.Position;
 
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingReconciler;
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings;
 
 public class SemanticHighlightingTest extends AbstractSemanticHighlightingTest {
@@ -325,4 +328,69 @@ public class SemanticHighlightingTest extends AbstractSemanticHighlightingTest {
 		};
 		assertEqualPositions(expected, actual);
 	}
+
+	@Test
+	public void incrementalLocalVariableHighlighting() throws Exception {
+		setUpSemanticHighlighting(SemanticHighlightings.LOCAL_VARIABLE);
+		SemanticHighlightingReconciler reconciler= getSemanticHighlightingReconciler();
+		int fullReconciles= reconciler.getFullReconcileCount();
+		int incrementalReconciles= reconciler.getIncrementalReconcileCount();
+
+		replaceAndReconcile(10, 0, 0, "\t\tlocal--;\n");
+
+		assertEquals(fullReconciles, reconciler.getFullReconcileCount());
+		assertEquals(incrementalReconciles + 1, reconciler.getIncrementalReconcileCount());
+		Position[] expected= new Position[] {
+				createPosition(7, 17, 5),
+				createPosition(8, 6, 5),
+				createPosition(8, 13, 5),
+				createPosition(9, 2, 5),
+				createPosition(10, 2, 5),
+				createPosition(14, 11, 6),
+				createPosition(14, 22, 6),
+				createPosition(14, 35, 6),
+				createPosition(15, 26, 6),
+				createPosition(16, 3, 5),
+				createPosition(16, 10, 6),
+				createPosition(17, 3, 6),
+				createPosition(42, 16, 4),
+				createPosition(43, 20, 13),
+				createPosition(44, 15, 7),
+		};
+		Position[] actual= getSemanticHighlightingPositions();
+		assertEqualPositions(expected, actual);
+	}
+
+	@Test
+	public void bodyBracesChangedLocalVariableHighlighting() throws Exception {
+		setUpSemanticHighlighting(SemanticHighlightings.LOCAL_VARIABLE);
+		SemanticHighlightingReconciler reconciler= getSemanticHighlightingReconciler();
+		int fullReconciles= reconciler.getFullReconcileCount();
+		int incrementalReconciles= reconciler.getIncrementalReconcileCount();
+
+		// the change includes the closing brace of the body, all positions have to be collected
+		replaceAndReconcile(18, 1, 1, "\tlocal--;\n\t}");
+
+		assertEquals(fullReconciles + 1, reconciler.getFullReconcileCount());
+		assertEquals(incrementalReconciles, reconciler.getIncrementalReconcileCount());
+		Position[] expected= new Position[] {
+				createPosition(7, 17, 5),
+				createPosition(8, 6, 5),
+				createPosition(8, 13, 5),
+				createPosition(9, 2, 5),
+				createPosition(13, 11, 6),
+				createPosition(13, 22, 6),
+				createPosition(13, 35, 6),
+				createPosition(14, 26, 6),
+				createPosition(15, 3, 5),
+				createPosition(15, 10, 6),
+				createPosition(16, 3, 6),
+				createPosition(18, 2, 5),
+				createPosition(42, 16, 4),
+				createPosition(43, 20, 13),
+				createPosition(44, 15, 7),
+		};
+		Position[] actual= getSemanticHighlightingPositions();
+		assertEqualPositions(expected, actual);
+	}
 }
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.codemining;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+import org.eclipse.jdt.internal.ui.javaeditor.codemining.JavaCodeMiningResolver;
+
+public class JavaCodeMiningResolverTest {
+
+	private IJavaProject fProject;
+	private IType fNode;
+	private IType fOther;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject(getClass().getName(), "bin");
+		JavaProjectHelper.addRTJar(fProject);
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fProject, "src");
+		IPackageFragment pack= root.createPackageFragment("p", false, null);
+		ICompilationUnit node= pack.createCompilationUnit("Node.java",
+				"package p;\n" +
+				"public class Node {\n" +
+				"	Node next;\n" +
+				"	int value;\n" +
+				"	void foo() {}\n" +
+				"	void foo(int i) {}\n" +
+				"}\n", false, null);
+		ICompilationUnit other= pack.createCompilationUnit("Other.java",
+				"package p;\n" +
+				"public class Other {\n" +
+				"	int value;\n" +
+				"	void foo() {}\n" +
+				"}\n", false, null);
+		pack.createCompilationUnit("User.java",
+				"package p;\n" +
+				"public class User {\n" +
+				"	int sum(Node n, Other o) {\n" +
+				"		n.foo();\n" +
+				"		n.foo(1);\n" +
+				"		n.foo(2);\n" +
+				"		o.foo();\n" +
+				"		return n.value + n.next.value + n.next.next.value + o.value;\n" +
+				"	}\n" +
+				"}\n", false, null);
+		fNode= node.getType("Node");
+		fOther= other.getType("Other");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.delete(fProject);
+	}
+
+	@Test
+	public void testCountsMatchSeparateSearches() throws Exception {
+		JavaCodeMiningResolver resolver= new JavaCodeMiningResolver();
+		IJavaElement[] elements= {
+				fNode, fNode.getField("next"), fNode.getField("value"),
+				fNode.getMethod("foo", new String[0]), fNode.getMethod("foo", new String[] { "I" }),
+				fOther, fOther.getField("value"), fOther.getMethod("foo", new String[0]) };
+		for (IJavaElement element : elements) {
+			assertEquals(element.getElementName(), countBySearch(element), resolver.countReferences(element, new NullProgressMonitor()));
+		}
+	}
+
+	@Test
+	public void testDuplicateNamesAndQualifiedFieldChains() throws Exception {
+		JavaCodeMiningResolver resolver= new JavaCodeMiningResolver();
+		NullProgressMonitor monitor= new NullProgressMonitor();
+		// n.next.value and n.next.next.value reference both fields of Node
+		assertEquals(3, resolver.countReferences(fNode.getField("next"), monitor));
+		assertEquals(3, resolver.countReferences(fNode.getField("value"), monitor));
+		assertEquals(1, resolver.countReferences(fOther.getField("value"), monitor));
+		// overloaded and duplicate method names
+		assertEquals(1, resolver.countReferences(fNode.getMethod("foo", new String[0]), monitor));
+		assertEquals(2, resolver.countReferences(fNode.getMethod("foo", new String[] { "I" }), monitor));
+		assertEquals(1, resolver.countReferences(fOther.getMethod("foo", new String[0]), monitor));
+	}
+
+	@Test(expected= OperationCanceledException.class)
+	public void testCanceledResolverDoesNotSearch() throws Exception {
+		JavaCodeMiningResolver resolver= new JavaCodeMiningResolver();
+		resolver.cancel();
+		resolver.countReferences(fNode.getField("value"), new NullProgressMonitor());
+	}
+
+	private static long countBySearch(IJavaElement element) throws CoreException {
+		AtomicLong count= new AtomicLong();
+		SearchPattern pattern= SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
+		new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
+				SearchEngine.createWorkspaceScope(), new SearchRequestor() {
+					@Override
+					public void acceptSearchMatch(SearchMatch match) {
+						count.incrementAndGet();
+					}
+				}, null);
+		return count.get();
+	}
+}
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.test.performance.PerformanceMeter;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.codemining.ICodeMining;
+import org.eclipse.jface.text.source.ISourceViewerExtension5;
+import org.eclipse.jface.text.source.SourceViewer;
+
+import org.eclipse.ui.texteditor.AbstractTextEditor;
+
+import org.eclipse.jdt.ui.PreferenceConstants;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaCodeMiningReconciler;
+import org.eclipse.jdt.internal.ui.javaeditor.codemining.JavaCodeMiningResolver;
+import org.eclipse.jdt.internal.ui.javaeditor.codemining.JavaElementCodeMiningProvider;
+
+/**
+ * Measures the time until the first reference or implementation code mining in the visible
+ * region of a large file in the Java editor is resolved, with the editor scrolled to the middle of
+ * the file.
+ */
+public class FirstVisibleCodeMiningTest extends TextPerformanceTestCase {
+
+	private static final Class<FirstVisibleCodeMiningTest> THIS= FirstVisibleCodeMiningTest.class;
+
+	private static final String FILE= PerformanceTestSetup.STYLED_TEXT;
+
+	private static final int WARM_UP_RUNS= 2;
+
+	private static final int MEASURED_RUNS= 5;
+
+	private static final long TIMEOUT= 60000;
+
+	private static final String[] PREFERENCES= {
+			PreferenceConstants.EDITOR_CODEMINING_ENABLED,
+			PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_REFERENCES,
+			PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_REFERENCES_ON_TYPES,
+			PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_REFERENCES_ON_FIELDS,
+			PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_REFERENCES_ON_METHODS,
+			PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_IMPLEMENTATIONS };
+
+	private final boolean[] fOldValues= new boolean[PREFERENCES.length];
+
+	private AbstractTextEditor fEditor;
+
+	public static Test suite() {
+		return new PerformanceTestSetup(new TestSuite(THIS));
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		IPreferenceStore store= JavaPlugin.getDefault().getPreferenceStore();
+		for (int i= 0; i < PREFERENCES.length; i++) {
+			fOldValues[i]= store.getBoolean(PREFERENCES[i]);
+			store.setValue(PREFERENCES[i], true);
+		}
+		fEditor= (AbstractTextEditor) EditorTestHelper.openInEditor(ResourceTestHelper.findFile(FILE), true);
+		EditorTestHelper.joinBackgroundActivities(fEditor);
+		ISourceViewerExtension5 viewer= (ISourceViewerExtension5) EditorTestHelper.getSourceViewer(fEditor);
+		assertTrue("Editor not reconciled", new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return JavaCodeMiningReconciler.isReconciled(viewer);
+			}
+		}.waitForCondition(EditorTestHelper.getActiveDisplay(), TIMEOUT, 10));
+		setWarmUpRuns(WARM_UP_RUNS);
+		setMeasuredRuns(MEASURED_RUNS);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		EditorTestHelper.closeAllEditors();
+		IPreferenceStore store= JavaPlugin.getDefault().getPreferenceStore();
+		for (int i= 0; i < PREFERENCES.length; i++) {
+			store.setValue(PREFERENCES[i], fOldValues[i]);
+		}
+	}
+
+	/**
+	 * Measures the time until the first visible code mining is resolved.
+	 */
+	public void test() throws Exception {
+		measure(getNullPerformanceMeter(), getWarmUpRuns());
+		measure(createPerformanceMeter(), getMeasuredRuns());
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	private void measure(PerformanceMeter performanceMeter, int runs) throws Exception {
+		SourceViewer viewer= EditorTestHelper.getSourceViewer(fEditor);
+		int middleLine= viewer.getDocument().getNumberOfLines() / 2;
+		for (int i= 0; i < runs; i++) {
+			viewer.setTopIndex(i % 2 == 0 ? middleLine : middleLine + 200);
+			EditorTestHelper.runEventQueue(fEditor);
+			// start without cached counts
+			JavaCodeMiningResolver.clearCache();
+			JavaElementCodeMiningProvider provider= new JavaElementCodeMiningProvider();
+			provider.setContext(fEditor);
+			NullProgressMonitor monitor= new NullProgressMonitor();
+			try {
+				performanceMeter.start();
+				List<? extends ICodeMining> minings= provider.provideCodeMinings(viewer, monitor).get();
+				// let the provider track the visible region
+				EditorTestHelper.runEventQueue(fEditor);
+				List<ICodeMining> visibleMinings= getVisibleMinings(viewer, minings);
+				for (ICodeMining mining : minings) {
+					mining.resolve(viewer, monitor);
+				}
+				boolean resolved= new DisplayHelper() {
+					@Override
+					protected boolean condition() {
+						for (ICodeMining mining : visibleMinings) {
+							if (mining.isResolved() && mining.getLabel() != null)
+								return true;
+						}
+						return false;
+					}
+				}.waitForCondition(EditorTestHelper.getActiveDisplay(), TIMEOUT, 10);
+				performanceMeter.stop();
+
+				assertFalse("No visible code minings", visibleMinings.isEmpty());
+				assertTrue("No visible code mining resolved", resolved);
+			} finally {
+				monitor.setCanceled(true);
+				provider.dispose();
+			}
+			EditorTestHelper.joinBackgroundActivities(fEditor);
+		}
+	}
+
+	private static List<ICodeMining> getVisibleMinings(SourceViewer viewer, List<? extends ICodeMining> minings) {
+		int start= viewer.getTopIndexStartOffset();
+		int end= viewer.getBottomIndexEndOffset();
+		List<ICodeMining> result= new ArrayList<>();
+		for (ICodeMining mining : minings) {
+			Position position= mining.getPosition();
+			if (position.getOffset() >= start && position.getOffset() <= end)
+				result.add(mining);
+		}
+		return result;
+	}
+}
@@ -52,6 +52,7 @@ public class PerformanceTestSuite extends TestSuite {
 		addTest(SynchronizedLineDifferInitializationTest.suite());
 		addTest(DocumentLineDifferModificationTest.suite());
 		addTest(SpellCheckingTest.suite());
+		addTest(FirstVisibleCodeMiningTest.suite());
 
 
 		/* !!! IMPORTANT NOTE: The following test must be the last one !!! */
@@ -18,9 +18,14 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Locale;
 import java.util.Set;
@@ -35,10 +40,15 @@ import org.eclipse.jdt.ui.PreferenceConstants;
 
 import org.eclipse.jdt.internal.ui.text.spelling.SpellCheckEngine;
 import org.eclipse.jdt.internal.ui.text.spelling.engine.AbstractSpellDictionary;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.CompactWordStore;
 import org.eclipse.jdt.internal.ui.text.spelling.engine.DefaultPhoneticDistanceAlgorithm;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.DefaultPhoneticHashProvider;
 import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellCheckEngine;
 import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellChecker;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.IWordStore;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.PersistentSpellDictionary;
 import org.eclipse.jdt.internal.ui.text.spelling.engine.RankedWordProposal;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.SpellDictionaryIndex;
 
 
 
@@ -57,6 +67,21 @@ public class SpellCheckEngineTestCase {
 		}
 	}
 
+	protected static class CompactTestDictionary extends TestDictionary {
+
+		@Override
+		protected IWordStore createWordStore() {
+			return new CompactWordStore(getInitialSize());
+		}
+	}
+
+	protected static class TestPersistentDictionary extends PersistentSpellDictionary {
+
+		public TestPersistentDictionary(URL url) {
+			super(url);
+		}
+	}
+
 	public static final String GLOBAL= "Global"; //$NON-NLS-1$
 	public static final String LASTWAGEN= "Lastwagen"; //$NON-NLS-1$
 	public static final String LORRY= "Lorry"; //$NON-NLS-1$
@@ -260,4 +285,107 @@ public class SpellCheckEngineTestCase {
 		assertTrue(proposals.size() >= 1);
 		assertEquals(- DefaultPhoneticDistanceAlgorithm.COST_CASE, proposals.iterator().next().getRank());
 	}
+
+	@Test
+	public void testCompactWordStore() {
+		final CompactTestDictionary dictionary= new CompactTestDictionary();
+		try {
+			for (int i= 0; i < 1000; i++)
+				dictionary.addWord("word" + i); //$NON-NLS-1$
+			dictionary.addWord(TRUCK);
+			dictionary.addWord(SENTENCESTART);
+			dictionary.addWord("\u00fcber"); //$NON-NLS-1$
+
+			assertTrue(dictionary.isCorrect(TRUCK));
+			assertTrue(dictionary.isCorrect("word999")); //$NON-NLS-1$
+			assertTrue(dictionary.isCorrect("\u00fcber")); //$NON-NLS-1$
+			assertFalse(dictionary.isCorrect(LORRY));
+			assertFalse(dictionary.isCorrect("word1000")); //$NON-NLS-1$
+
+			Set<RankedWordProposal> proposals= dictionary.getProposals(SENTENCECONTENT, true);
+			assertTrue(contains(proposals, SENTENCESTART));
+			proposals= dictionary.getProposals(SENTENCECONTENT, false);
+			assertTrue(contains(proposals, SENTENCESTART));
+
+			final CompactWordStore store= new CompactWordStore(16);
+			for (int i= 0; i < 1000; i++)
+				store.add("H" + (i % 100), "word" + i); //$NON-NLS-1$ //$NON-NLS-2$
+			store.compact();
+			store.add("H0", TRUCK); //$NON-NLS-1$
+			assertEquals(1001, store.getWordCount());
+			assertEquals(100, store.getHashCount());
+			assertTrue(store.contains("H0", TRUCK)); //$NON-NLS-1$
+			assertTrue(store.contains("H42", "word942")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertFalse(store.contains("H43", "word942")); //$NON-NLS-1$ //$NON-NLS-2$
+
+			final int[] count= { 0 };
+			store.forEach("H0", 5, word -> count[0]++); //$NON-NLS-1$
+			assertEquals(5, count[0]);
+
+			store.clear();
+			assertTrue(store.isEmpty());
+			assertFalse(store.contains("H0", TRUCK)); //$NON-NLS-1$
+		} finally {
+			dictionary.unload();
+		}
+	}
+
+	@Test
+	public void testDictionaryIndex() throws IOException {
+		File file= File.createTempFile("dictionary", ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+		TestPersistentDictionary dictionary= new TestPersistentDictionary(file.toURI().toURL());
+		SpellDictionaryIndex index= dictionary.getIndex();
+		try {
+			Files.write(file.toPath(), (TRUCK + "\n" + LORRY + "\n").getBytes("UTF-8")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			index.delete();
+
+			assertTrue(dictionary.isCorrect(TRUCK));
+			CompactWordStore store= new CompactWordStore(16);
+			assertTrue(index.read(store));
+			assertEquals(2, store.getWordCount());
+
+			dictionary.unload();
+			assertTrue(dictionary.isCorrect(LORRY));
+			assertFalse(dictionary.isCorrect(LASTWAGEN));
+
+			Files.write(file.toPath(), (LASTWAGEN + "\n").getBytes("UTF-8"), StandardOpenOption.APPEND); //$NON-NLS-1$ //$NON-NLS-2$
+			assertFalse(index.read(new CompactWordStore(16)));
+
+			dictionary.unload();
+			assertTrue(dictionary.isCorrect(LASTWAGEN));
+			store= new CompactWordStore(16);
+			assertTrue(index.read(store));
+			assertEquals(3, store.getWordCount());
+		} finally {
+			dictionary.unload();
+			index.delete();
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testBundleDictionaryIndex() throws IOException {
+		URL url= getClass().getResource("SpellCheckEngineTestCase.class"); //$NON-NLS-1$
+		assertEquals("bundleresource", url.getProtocol()); //$NON-NLS-1$
+		SpellDictionaryIndex index= new SpellDictionaryIndex(url, "UTF-8", new DefaultPhoneticHashProvider()); //$NON-NLS-1$
+		try {
+			CompactWordStore store= new CompactWordStore(16);
+			store.add("H0", TRUCK); //$NON-NLS-1$
+			store.add("H1", LORRY); //$NON-NLS-1$
+			index.write(store);
+
+			// the host of a bundle URL identifies the framework instance and changes with every session
+			URL otherSession= new URL(url.getProtocol(), url.getHost() + "0", url.getPort(), url.getFile()); //$NON-NLS-1$
+			store= new CompactWordStore(16);
+			assertTrue(new SpellDictionaryIndex(otherSession, "UTF-8", new DefaultPhoneticHashProvider()).read(store)); //$NON-NLS-1$
+			assertEquals(2, store.getWordCount());
+
+			SpellDictionaryIndex.deleteUnused(Collections.singleton(index));
+			assertTrue(index.read(new CompactWordStore(16)));
+			SpellDictionaryIndex.deleteUnused(Collections.emptySet());
+			assertFalse(index.read(new CompactWordStore(16)));
+		} finally {
+			index.delete();
+		}
+	}
 }
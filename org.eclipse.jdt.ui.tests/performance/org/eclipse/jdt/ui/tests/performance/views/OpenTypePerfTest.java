@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui.tests.performance.views;
 
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import org.junit.FixMethodOrder;
@@ -34,7 +35,11 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.ui.dialogs.ISelectionStatusValidator;
 import org.eclipse.ui.dialogs.SelectionDialog;
 
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
 
 import org.eclipse.jdt.ui.IJavaElementSearchConstants;
 import org.eclipse.jdt.ui.JavaUI;
@@ -42,6 +47,9 @@ import org.eclipse.jdt.ui.dialogs.TypeSelectionExtension;
 import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
 import org.eclipse.jdt.ui.tests.performance.SWTTestProject;
 
+import org.eclipse.jdt.internal.corext.util.TypeInfoFilter;
+import org.eclipse.jdt.internal.corext.util.TypeNameIndex;
+
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.util.CoreUtility;
 
@@ -50,6 +58,7 @@ public class OpenTypePerfTest extends JdtPerformanceTestCaseCommon {
 
 	private SelectionDialog fOpenTypeDialog;
 	private Shell fShell;
+	private int fMatchCount;
 
 	private static class MyTestSetup extends ExternalResource {
 		private SWTTestProject fTestProject;
@@ -166,6 +175,38 @@ public class OpenTypePerfTest extends JdtPerformanceTestCaseCommon {
 		}
 	}
 
+	@Test
+	public void testGWarmTypeNameIndexKeystrokes() throws Exception {
+		//warm, filter the resident index as if typing and deleting a pattern
+		joinBackgroudActivities();
+		IJavaSearchScope scope= SearchEngine.createWorkspaceScope();
+		TypeNameIndex index= TypeNameIndex.getDefault();
+		TypeNameMatchRequestor requestor= new TypeNameMatchRequestor() {
+			@Override
+			public void acceptTypeNameMatch(TypeNameMatch match) {
+				fMatchCount++;
+			}
+		};
+		// create the index outside of the measurements
+		assertTrue(index.search(new TypeInfoFilter("SWT", scope, IJavaSearchConstants.TYPE, null), requestor, null));
+
+		String[] patterns= { "S", "St", "Sty", "Styl", "Style", "StyledText", "Style", "Styl", "Sty", "St", "S", "SWTE", "*Listener", "org.eclipse.swt.widgets.S" };
+		try {
+			for (int i= 0; i < 10; i++) {
+				for (String pattern : patterns) {
+					fMatchCount= 0;
+					startMeasuring();
+					index.search(new TypeInfoFilter(pattern, scope, IJavaSearchConstants.TYPE, null), requestor, null);
+					stopMeasuring();
+					assertTrue(pattern, fMatchCount > 0);
+				}
+			}
+		} finally {
+			commitMeasurements();
+			Performance.getDefault().assertPerformanceInAbsoluteBand(fPerformanceMeter, Dimension.ELAPSED_PROCESS, 0, 50);
+		}
+	}
+
 	//---
 
 	private void measureOpenType(String pattern) throws Exception {
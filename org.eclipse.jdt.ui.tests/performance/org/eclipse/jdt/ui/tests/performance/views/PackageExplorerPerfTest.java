@@ -15,6 +15,7 @@
 package org.eclipse.jdt.ui.tests.performance.views;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.util.zip.ZipFile;
@@ -43,12 +44,16 @@ import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
 
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
 
+import org.eclipse.jdt.internal.ui.packageview.PackageExplorerContentProvider;
 import org.eclipse.jdt.internal.ui.packageview.PackageExplorerPart;
 
 @FixMethodOrder(MethodSorters.NAME_ASCENDING)
@@ -149,6 +154,36 @@ public class PackageExplorerPerfTest extends JdtPerformanceTestCaseCommon {
 		finishMeasurements();
 	}
 
+	@Test
+	public void testECoalesceUpdates() throws Throwable {
+		// Removes all compilation units below a collapsed source folder in one operation, similar to
+		// switching branches. The updates of the realized but hidden items are folded into a refresh
+		// of the source folder.
+		final IJavaProject javaProject= MyTestSetup.fJProject1;
+		IPackageFragmentRoot root= javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder(MyTestSetup.SRC_CONTAINER));
+		TreeViewer viewer= getViewer();
+		viewer.expandToLevel(root, 2);
+		viewer.setExpandedState(root, false);
+
+		PackageExplorerPart view= getView();
+		PackageExplorerContentProvider contentProvider= (PackageExplorerContentProvider) viewer.getContentProvider();
+		joinBackgroudActivities();
+		long coalesced= contentProvider.getFoldedUpdateCount() + contentProvider.getDroppedUpdateCount();
+
+		startMeasuring();
+		javaProject.getProject().getWorkspace().run((IWorkspaceRunnable) monitor -> {
+			for (IJavaElement pack : root.getChildren()) {
+				for (ICompilationUnit cu : ((IPackageFragment) pack).getCompilationUnits()) {
+					cu.delete(true, null);
+				}
+			}
+		}, null);
+		view.selectAndReveal(root); // runs pending updates
+		finishMeasurements();
+
+		assertTrue(contentProvider.getFoldedUpdateCount() + contentProvider.getDroppedUpdateCount() > coalesced);
+	}
+
 	private void touchAllFilesOnDisk(IFolder folder) throws CoreException {
 		final long now= System.currentTimeMillis();
 		folder.accept(resource -> {
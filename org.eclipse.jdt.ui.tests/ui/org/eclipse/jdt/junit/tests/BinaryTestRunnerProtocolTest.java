@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.model.ITestRunListener2;
+import org.eclipse.jdt.internal.junit.model.RemoteTestRunnerClient;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageSender;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
+
+import org.eclipse.jdt.launching.SocketUtil;
+
+public class BinaryTestRunnerProtocolTest {
+
+	private static class RecordingListener implements ITestRunListener2 {
+		final List<String> fEvents= new ArrayList<>();
+		final CountDownLatch fEnded= new CountDownLatch(1);
+
+		@Override
+		public synchronized void testRunStarted(int testCount) {
+			fEvents.add("runStarted " + testCount);
+		}
+
+		@Override
+		public synchronized void testRunEnded(long elapsedTime) {
+			fEvents.add("runEnded " + elapsedTime);
+			fEnded.countDown();
+		}
+
+		@Override
+		public synchronized void testRunStopped(long elapsedTime) {
+			fEvents.add("runStopped " + elapsedTime);
+			fEnded.countDown();
+		}
+
+		@Override
+		public synchronized void testStarted(String testId, String testName) {
+			fEvents.add("started " + testId + " " + testName);
+		}
+
+		@Override
+		public synchronized void testEnded(String testId, String testName) {
+			fEvents.add("ended " + testId + " " + testName);
+		}
+
+		@Override
+		public synchronized void testRunTerminated() {
+			fEvents.add("terminated");
+			fEnded.countDown();
+		}
+
+		@Override
+		public synchronized void testTreeEntry(String description) {
+			fEvents.add("tree " + description);
+		}
+
+		@Override
+		public synchronized void testFailed(int status, String testId, String testName, String trace, String expected, String actual) {
+			fEvents.add("failed " + status + " " + testId + " " + testName + " " + trace.trim() + " " + expected + " " + actual);
+		}
+
+		@Override
+		public synchronized void testReran(String testId, String testClass, String testName, int status, String trace, String expected, String actual) {
+			fEvents.add("reran " + testId);
+		}
+	}
+
+	private static Socket connect(int port) throws IOException, InterruptedException {
+		for (int i= 0; ; i++) {
+			try {
+				return new Socket("localhost", port);
+			} catch (ConnectException e) {
+				if (i == 50)
+					throw e;
+				Thread.sleep(100);
+			}
+		}
+	}
+
+	@Test
+	public void testBinaryProtocol() throws Exception {
+		RecordingListener listener= new RecordingListener();
+		RemoteTestRunnerClient client= new RemoteTestRunnerClient();
+		int port= SocketUtil.findFreePort();
+		client.startListening(new ITestRunListener2[] { listener }, port);
+
+		try (Socket socket= connect(port)) {
+			BinaryMessageSender sender= new BinaryMessageSender(socket.getOutputStream());
+			sender.sendMessage(MessageIds.TEST_RUN_START + "2 v2");
+			sender.sendTreeEntry("1", "pack.ATest", true, 2, false, "-1", "ATest", "", "");
+			sender.sendTreeEntry("2", "test1(pack.ATest)", false, 1, false, "-1", "test1", "", "[method:test1()]");
+			sender.sendTreeEntry("3", "test2(pack.ATest)", false, 1, false, "-1", "test2, with comma", "int", "");
+			sender.sendTestStarted("2", "test1(pack.ATest)");
+			sender.flush();
+			sender.sendTestEnded("2", "test1(pack.ATest)");
+			sender.sendTestStarted("3", "test2(pack.ATest)");
+			sender.sendMessage(MessageIds.TEST_FAILED + "3,test2(pack.ATest)");
+			sender.sendMessage(MessageIds.EXPECTED_START);
+			sender.sendMessage("1");
+			sender.sendMessage(MessageIds.EXPECTED_END);
+			sender.sendMessage(MessageIds.ACTUAL_START);
+			sender.sendMessage("2");
+			sender.sendMessage(MessageIds.ACTUAL_END);
+			sender.sendMessage(MessageIds.TRACE_START);
+			sender.sendMessage("junit.framework.ComparisonFailure: expected:<1> but was:<2>");
+			sender.sendMessage(MessageIds.TRACE_END);
+			sender.sendTestEnded("3", "test2(pack.ATest)");
+			sender.sendTestStarted("4", "test3[a, b\\c](pack.ATest)");
+			sender.sendTestEnded("4", "test3[a, b\\c](pack.ATest)");
+			sender.sendMessage(MessageIds.TEST_RUN_END + "42");
+			sender.close();
+
+			assertTrue(listener.fEnded.await(10, TimeUnit.SECONDS));
+		} finally {
+			client.stopWaiting();
+		}
+
+		List<String> expected= List.of(
+				"runStarted 2",
+				"tree 1,pack.ATest,true,2,false,-1,ATest,,",
+				"tree 2,test1(pack.ATest),false,1,false,-1,test1,,[method:test1()]",
+				"tree 3,test2(pack.ATest),false,1,false,-1,test2\\, with comma,int,",
+				"started 2 test1(pack.ATest)",
+				"ended 2 test1(pack.ATest)",
+				"started 3 test2(pack.ATest)",
+				"failed " + ITestRunListener2.STATUS_FAILURE + " 3 test2(pack.ATest) junit.framework.ComparisonFailure: expected:<1> but was:<2> 1 2",
+				"ended 3 test2(pack.ATest)",
+				// names are escaped as with the text protocol
+				"started 4 test3[a\\, b\\\\c](pack.ATest)",
+				"ended 4 test3[a\\, b\\\\c](pack.ATest)",
+				"runEnded 42");
+		synchronized (listener) {
+			assertEquals(expected, listener.fEvents.subList(0, expected.size()));
+		}
+	}
+}
@@ -37,6 +37,8 @@ TestRunFilteredParameterizedRunnerTest4.class,
 
 TestRunSessionSerializationTests3.class,
 TestRunSessionSerializationTests4.class,
+BinaryTestRunnerProtocolTest.class,
+TestRunSessionSwapTest.class,
 
 JUnit3TestFinderTest.class,
 JUnitTestFinderTest.class,
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+import org.eclipse.jdt.junit.model.ITestElement.Result;
+
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestRoot;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+
+public class TestRunSessionSwapTest {
+
+	private TestRunSession fSession;
+
+	@Before
+	public void setUp() {
+		fSession= new TestRunSession("swap", null);
+	}
+
+	@After
+	public void tearDown() {
+		fSession.removeSwapFile();
+	}
+
+	private TestSuiteElement createSuite(TestSuiteElement parent, String id, String name) {
+		return (TestSuiteElement) fSession.createTestElement(parent, id, name, true, 0, false, null, null, null);
+	}
+
+	private TestCaseElement createTest(TestSuiteElement parent, String id, String name) {
+		return (TestCaseElement) fSession.createTestElement(parent, id, name, false, 0, false, name + " display", new String[] { "int" }, "[engine:junit]/" + name);
+	}
+
+	@Test
+	public void swapOutAndIn() {
+		TestRoot root= fSession.getTestRoot();
+		TestSuiteElement passing= createSuite(root, "1", "p.Passing");
+		for (int i= 0; i < 100; i++) {
+			fSession.registerTestEnded(createTest(passing, "1." + i, "test" + i + "(p.Passing)"), true);
+		}
+		TestSuiteElement failing= createSuite(root, "2", "p.Failing");
+		TestCaseElement ok= createTest(failing, "2.0", "ok(p.Failing)");
+		fSession.registerTestEnded(ok, true);
+		TestCaseElement failure= createTest(failing, "2.1", "failure(p.Failing)");
+		fSession.registerTestFailureStatus(failure, Status.FAILURE, "trace", "expected", "actual");
+		fSession.registerTestEnded(failure, true);
+		TestCaseElement error= createTest(failing, "2.2", "error(p.Failing)");
+		fSession.registerTestFailureStatus(error, Status.ERROR, "error trace", null, null);
+		fSession.registerTestEnded(error, true);
+		TestCaseElement ignored= createTest(failing, "2.3", "ignored(p.Failing)");
+		ignored.setIgnored(true);
+		fSession.registerTestEnded(ignored, true);
+
+		String expected= dump(root);
+
+		fSession.swapOut();
+		TestRoot swappedIn= fSession.getTestRoot();
+		assertTrue(swappedIn != root);
+
+		assertEquals(104, fSession.getTotalCount());
+		assertEquals(104, fSession.getStartedCount());
+		assertEquals(1, fSession.getFailureCount());
+		assertEquals(1, fSession.getErrorCount());
+		assertEquals(1, fSession.getIgnoredCount());
+		assertEquals(Result.ERROR, swappedIn.getTestResult(true));
+
+		TestElement[] failed= fSession.getAllFailedTestElements();
+		assertEquals(4, failed.length);
+		assertEquals("swap", failed[0].getTestName());
+		assertEquals("p.Failing", failed[1].getTestName());
+		assertEquals("failure(p.Failing)", failed[2].getTestName());
+		assertEquals("trace", failed[2].getTrace());
+		assertEquals("expected", failed[2].getExpected());
+		assertEquals("actual", failed[2].getActual());
+		assertEquals("error(p.Failing)", failed[3].getTestName());
+		assertNull(failed[3].getExpected());
+
+		assertEquals(expected, dump(swappedIn));
+
+		// an unmodified session is swapped out again without rewriting the file
+		fSession.swapOut();
+		assertEquals(expected, dump(fSession.getTestRoot()));
+	}
+
+	private static String dump(TestSuiteElement suite) {
+		StringBuilder buf= new StringBuilder();
+		dump(buf, suite, "");
+		return buf.toString();
+	}
+
+	private static void dump(StringBuilder buf, ITestElement element, String indent) {
+		TestElement testElement= (TestElement) element;
+		buf.append(indent).append(testElement.getTestName()).append(' ').append(testElement.getDisplayName()).append(' ');
+		buf.append(testElement.getUniqueId()).append(' ').append(testElement.getTestResult(true)).append(' ').append(testElement.getStatus());
+		buf.append(' ').append(testElement.getTrace()).append('\n');
+		if (element instanceof TestSuiteElement) {
+			for (ITestElement child : ((TestSuiteElement) element).getChildren()) {
+				dump(buf, child, indent + "  ");
+			}
+		}
+	}
+}
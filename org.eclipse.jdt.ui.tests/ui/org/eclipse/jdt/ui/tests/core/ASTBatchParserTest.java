@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+
+import org.eclipse.jdt.internal.corext.dom.ASTBatchParser;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+public class ASTBatchParserTest {
+
+	private static final int UNIT_COUNT= 45;
+
+	private static final class CollectingRequestor extends ASTRequestor {
+
+		final Map<ICompilationUnit, CompilationUnit> fASTs= new HashMap<>();
+		int fDuplicates;
+
+		@Override
+		public synchronized void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+			if (fASTs.put(source, ast) != null)
+				fDuplicates++;
+		}
+	}
+
+	private static final class CountingProgressMonitor extends NullProgressMonitor {
+
+		private int fTotalWork;
+		private double fWorked;
+
+		@Override
+		public void beginTask(String name, int totalWork) {
+			fTotalWork= totalWork;
+		}
+
+		@Override
+		public void worked(int work) {
+			internalWorked(work);
+		}
+
+		@Override
+		public synchronized void internalWorked(double work) {
+			fWorked+= work;
+		}
+
+		synchronized long getWorked() {
+			return Math.round(fWorked);
+		}
+	}
+
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJProject1;
+
+	private ICompilationUnit[] fUnits;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= pts.getProject();
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack= sourceFolder.createPackageFragment("test1", false, null);
+		fUnits= new ICompilationUnit[UNIT_COUNT];
+		for (int i= 0; i < UNIT_COUNT; i++) {
+			String superclass= i == 0 ? "Object" : "E" + (i - 1);
+			String str= "package test1;\n"
+					+ "public class E" + i + " extends " + superclass + " {\n"
+					+ "    public int foo" + i + "() { return " + i + "; }\n"
+					+ "}\n";
+			fUnits[i]= pack.createCompilationUnit("E" + i + ".java", str, false, null);
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+	}
+
+	private void assertAllParsed(CollectingRequestor requestor, CountingProgressMonitor monitor) {
+		assertEquals(0, requestor.fDuplicates);
+		assertEquals(UNIT_COUNT, requestor.fASTs.size());
+		for (int i= 0; i < UNIT_COUNT; i++) {
+			CompilationUnit ast= requestor.fASTs.get(fUnits[i]);
+			assertNotNull(ast);
+			ITypeBinding binding= ((TypeDeclaration) ast.types().get(0)).resolveBinding();
+			assertNotNull(binding);
+			assertEquals(i == 0 ? "Object" : "E" + (i - 1), binding.getSuperclass().getName());
+		}
+		assertEquals(UNIT_COUNT, monitor.fTotalWork);
+		assertEquals(UNIT_COUNT, monitor.getWorked());
+	}
+
+	@Test
+	public void fixedBatchSize() throws Exception {
+		ASTBatchParser parser= new ASTBatchParser();
+		CollectingRequestor requestor= new CollectingRequestor();
+		CountingProgressMonitor monitor= new CountingProgressMonitor();
+		parser.createASTs(fUnits, new String[0], requestor, monitor);
+
+		assertAllParsed(requestor, monitor);
+		ASTBatchParser.Statistics statistics= parser.getStatistics();
+		assertEquals(UNIT_COUNT, statistics.getUnitCount());
+		// the heap is only measured in adaptive mode
+		assertEquals(0, statistics.getMaxHeapPerUnit());
+	}
+
+	@Test
+	public void adaptiveBatchSize() throws Exception {
+		ASTBatchParser parser= new ASTBatchParser();
+		parser.setAdaptiveBatchSize(true);
+		CollectingRequestor requestor= new CollectingRequestor();
+		CountingProgressMonitor monitor= new CountingProgressMonitor();
+		parser.createASTs(fUnits, new String[0], requestor, monitor);
+
+		assertAllParsed(requestor, monitor);
+		ASTBatchParser.Statistics statistics= parser.getStatistics();
+		assertEquals(UNIT_COUNT, statistics.getUnitCount());
+		assertTrue(statistics.getBatchCount() >= 1);
+		assertTrue(statistics.getLastBatchSize() > 0);
+		assertTrue(statistics.getParseMillis() >= 0);
+	}
+
+	@Test
+	public void parallel() throws Exception {
+		ASTBatchParser parser= new ASTBatchParser();
+		parser.setParallelism(3);
+		CollectingRequestor requestor= new CollectingRequestor();
+		CountingProgressMonitor monitor= new CountingProgressMonitor();
+		parser.createASTs(fUnits, new String[0], requestor, monitor);
+
+		assertAllParsed(requestor, monitor);
+		ASTBatchParser.Statistics statistics= parser.getStatistics();
+		assertEquals(UNIT_COUNT, statistics.getUnitCount());
+		// each of the three partitions is parsed in at least one subset
+		assertTrue(statistics.getBatchCount() >= 3);
+	}
+
+	@Test
+	public void parallelAndAdaptive() throws Exception {
+		ASTBatchParser parser= new ASTBatchParser();
+		parser.setParallelism(2);
+		parser.setAdaptiveBatchSize(true);
+		CollectingRequestor requestor= new CollectingRequestor();
+		CountingProgressMonitor monitor= new CountingProgressMonitor();
+		parser.createASTs(fUnits, new String[0], requestor, monitor);
+
+		assertAllParsed(requestor, monitor);
+		assertEquals(UNIT_COUNT, parser.getStatistics().getUnitCount());
+	}
+
+	@Test(expected= OperationCanceledException.class)
+	public void parallelCanceled() throws Exception {
+		ASTBatchParser parser= new ASTBatchParser();
+		parser.setParallelism(3);
+		NullProgressMonitor monitor= new NullProgressMonitor();
+		monitor.setCanceled(true);
+		parser.createASTs(fUnits, new String[0], new CollectingRequestor(), monitor);
+	}
+}
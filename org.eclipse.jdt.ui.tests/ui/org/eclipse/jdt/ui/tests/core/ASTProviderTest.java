@@ -15,6 +15,8 @@ package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 import org.junit.After;
 import org.junit.Before;
@@ -44,6 +46,8 @@ import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
+import org.eclipse.jdt.internal.core.manipulation.dom.SharedASTCache;
+
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
@@ -141,6 +145,39 @@ public class ASTProviderTest extends CoreTests {
 		cu.getBuffer().save(null, true);
 	}
 
+	@Test
+	public void testRecentlyUsedASTsAreCached() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String str= """
+			package test1;
+			public class E2 {
+			    void foo() {
+			    }
+			}
+			""";
+		ICompilationUnit cu= pack1.createCompilationUnit("E2.java", str, false, null);
+
+		SharedASTCache cache= SharedASTCache.getDefault();
+		long hits= cache.getHitCount();
+
+		CompilationUnit ast1= SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_YES, null);
+		assertNotNull(ast1);
+		CompilationUnit ast2= SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_YES, null);
+		assertSame(ast1, ast2);
+		assertEquals(hits + 1, cache.getHitCount());
+
+		cu.getBuffer().append("// changed\n");
+		CompilationUnit ast3= SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_YES, null);
+		assertNotNull(ast3);
+		assertNotSame(ast2, ast3);
+		assertEquals(hits + 1, cache.getHitCount());
+		CompilationUnit ast4= SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_YES, null);
+		assertSame(ast3, ast4);
+		assertEquals(hits + 2, cache.getHitCount());
+
+		cu.getBuffer().close();
+	}
+
 	private static String getNormalizeNumber(int number) {
 		if (number < 10) {
 			return "000" + number;
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.core.manipulation.util.BoundedLRUCache;
+
+public class BoundedLRUCacheTest {
+
+	@Test
+	public void evictsLeastRecentlyUsed() {
+		BoundedLRUCache<String, String> cache= new BoundedLRUCache<>("test", 2);
+		cache.put("a", "A");
+		cache.put("b", "B");
+		assertEquals("A", cache.get("a"));
+		cache.put("c", "C");
+
+		assertNull(cache.get("b"));
+		assertEquals(Arrays.asList("a", "c"), Arrays.asList(cache.snapshot().keySet().toArray()));
+		assertEquals(1, cache.getEvictionCount());
+	}
+
+	@Test
+	public void clearDropsPendingPut() {
+		BoundedLRUCache<String, String> cache= new BoundedLRUCache<>("test", 10);
+		long generation= cache.getGeneration();
+		cache.clear();
+
+		assertFalse(cache.put("a", "A", generation));
+		assertNull(cache.get("a"));
+	}
+
+	@Test
+	public void removeDropsPendingPut() {
+		BoundedLRUCache<String, String> cache= new BoundedLRUCache<>("test", 10);
+		long generation= cache.getGeneration();
+		// the key is not cached yet while its value is computed
+		assertNull(cache.remove("a"));
+
+		assertFalse(cache.put("a", "stale", generation));
+		assertNull(cache.get("a"));
+		assertTrue(cache.put("a", "A", cache.getGeneration()));
+		assertEquals("A", cache.get("a"));
+	}
+
+	@Test
+	public void removeIfDropsPendingPut() {
+		BoundedLRUCache<String, String> cache= new BoundedLRUCache<>("test", 10);
+		cache.put("b", "B");
+		long generation= cache.getGeneration();
+		assertEquals(1, cache.removeIf((key, value) -> true));
+
+		assertFalse(cache.put("a", "stale", generation));
+		assertTrue(cache.isEmpty());
+		assertEquals(1, cache.getInvalidationCount());
+	}
+
+	@Test
+	public void removeValueDropsPendingPut() {
+		BoundedLRUCache<String, String> cache= new BoundedLRUCache<>("test", 10);
+		cache.put("a", "A");
+		long generation= cache.getGeneration();
+		assertFalse(cache.remove("a", "other"));
+
+		assertFalse(cache.put("b", "stale", generation));
+		assertNull(cache.get("b"));
+		assertEquals("A", cache.get("a"));
+	}
+
+	@Test
+	public void disabled() {
+		BoundedLRUCache<String, String> cache= new BoundedLRUCache<>("test", 0);
+		assertFalse(cache.isEnabled());
+		cache.put("a", "A");
+		assertNull(cache.get("a"));
+	}
+}
@@ -19,10 +19,14 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.junit.After;
 import org.junit.Before;
@@ -30,13 +34,23 @@ import org.junit.Test;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
 
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IInitializer;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
 
 import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchyCore;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchyExpander;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallerIndex;
+import org.eclipse.jdt.internal.corext.callhierarchy.MethodCall;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
+import org.eclipse.jdt.internal.corext.util.SearchUtils;
 
 import org.eclipse.jdt.ui.tests.callhierarchy.CallHierarchyTestHelper;
 
@@ -96,6 +110,40 @@ public class CallHierarchyTest {
         helper.assertCalls(expectedSecondLevelMethods, wrapper2.getCalls(new NullProgressMonitor()));
     }
 
+	@Test
+	public void expandCallersInParallel() throws Exception {
+        helper.createSimpleClasses();
+
+        MethodWrapper root= getSingleCallerRoot(helper.getMethod1());
+        List<String> expanded= new ArrayList<>();
+        new CallHierarchyExpander(10, 2).expand(new MethodWrapper[] { root }, (wrapper, calls) -> {
+            expanded.add(wrapper.getName() + "@" + wrapper.getLevel() + ":" + calls.length);
+        }, new NullProgressMonitor());
+
+        assertEquals(Arrays.asList("method1@1:2"), expanded.subList(0, 1));
+        assertEquals(6, expanded.size());
+        assertTrue(expanded.toString(), expanded.containsAll(Arrays.asList("method2@2:1", "method3@2:1", "method3@3:1", "method4@3:0", "method4@4:0")));
+
+        MethodWrapper[] calls= root.getCalls(new NullProgressMonitor());
+        MethodWrapper wrapper3= helper.findMethodWrapper(helper.getMethod3(), calls);
+        assertTrue(wrapper3.hasCachedCalls());
+        helper.assertCalls(Arrays.asList(helper.getMethod4()), wrapper3.getCalls(new NullProgressMonitor()));
+    }
+
+	@Test
+	public void expandCallersUpToMaxDepth() throws Exception {
+        helper.createSimpleClasses();
+
+        MethodWrapper root= getSingleCallerRoot(helper.getMethod1());
+        List<String> expanded= new ArrayList<>();
+        new CallHierarchyExpander(2, 2).expand(new MethodWrapper[] { root }, (wrapper, calls) -> {
+            expanded.add(wrapper.getName() + "@" + wrapper.getLevel());
+        }, new NullProgressMonitor());
+
+        assertEquals(3, expanded.size());
+        assertTrue(expanded.toString(), expanded.containsAll(Arrays.asList("method1@1", "method2@2", "method3@2")));
+    }
+
 	@Test
 	public void callersNoResults() throws Exception {
         helper.createSimpleClasses();
@@ -523,6 +571,70 @@ public class CallHierarchyTest {
 		checkCalls(component, expectedCaller);
     }
 
+    @Test
+    public void callersFromIndexAfterBodyChange() throws Exception {
+        helper.createSimpleClasses();
+
+        IMethod method= helper.getMethod1();
+        CallerIndex index= CallHierarchyCore.getDefault().getCallerIndex();
+        ICompilationUnit cu= helper.getType2().getCompilationUnit();
+        cu.becomeWorkingCopy(null);
+        try {
+            checkCalls(method, helper.getMethod2(), helper.getMethod3());
+
+            long hits= index.getHitCount();
+            checkCalls(method, helper.getMethod2(), helper.getMethod3());
+            assertEquals(hits + 1, index.getHitCount());
+
+            // a change inside a method body only invalidates the callers in the changed unit
+            String contents= cu.getBuffer().getContents();
+            cu.getBuffer().setContents(contents.replace("{ method3(); }", "{ method3(); method1(); }"));
+            cu.reconcile(ICompilationUnit.NO_AST, false, null, null);
+
+            long misses= index.getMissCount();
+            checkCalls(method, helper.getMethod2(), helper.getMethod3(), helper.getMethod4());
+            assertEquals(misses + 1, index.getMissCount());
+        } finally {
+            cu.discardWorkingCopy();
+        }
+    }
+
+    @Test
+    public void callersFromSavedIndex() throws Exception {
+        helper.createSimpleClasses();
+
+        IMethod method= helper.getMethod1();
+        SearchPattern pattern= SearchPattern.createPattern(method, IJavaSearchConstants.REFERENCES, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
+        IJavaSearchScope scope= SearchEngine.createWorkspaceScope();
+        CallerIndex index= CallHierarchyCore.getDefault().getCallerIndex();
+        Map<String, MethodCall> callers= index.getCallers(method, IJavaSearchConstants.REFERENCES, pattern, scope, null);
+        assertEquals(Set.of(helper.getMethod2().getHandleIdentifier(), helper.getMethod3().getHandleIdentifier()), callers.keySet());
+
+        File file= File.createTempFile("callerIndex", ".bin");
+        try {
+            index.write(file, 1);
+
+            CallerIndex restored= CallerIndex.read(file, Collections.emptySet());
+            assertEquals(index.size(), restored.size());
+            assertEquals(callers.keySet(), restored.getCallers(method, IJavaSearchConstants.REFERENCES, pattern, scope, null).keySet());
+            assertEquals(1, restored.getHitCount());
+            assertEquals(0, restored.getMissCount());
+
+            // a unit that changed while the workspace was closed is searched again
+            ICompilationUnit cu= helper.getType2().getCompilationUnit();
+            String contents= cu.getBuffer().getContents();
+            cu.getBuffer().setContents(contents.replace("{ method3(); }", "{ method3(); method1(); }"));
+            cu.save(null, true);
+            restored= CallerIndex.read(file, Set.of(cu.getHandleIdentifier()));
+            callers= restored.getCallers(method, IJavaSearchConstants.REFERENCES, pattern, scope, null);
+            assertEquals(Set.of(helper.getMethod2().getHandleIdentifier(), helper.getMethod3().getHandleIdentifier(), helper.getMethod4().getHandleIdentifier()), callers.keySet());
+            assertEquals(0, restored.getHitCount());
+            assertEquals(1, restored.getMissCount());
+        } finally {
+            file.delete();
+        }
+    }
+
     private void checkCalls(IMember memberToCheck, IMethod... expectedCallers) {
         MethodWrapper[] methodWrappers = CallHierarchy.getDefault().getCallerRoots(new IMember[] { memberToCheck });
         MethodWrapper[] callers = methodWrappers[0].getCalls(new NullProgressMonitor());
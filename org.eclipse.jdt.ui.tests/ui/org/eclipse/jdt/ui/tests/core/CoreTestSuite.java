@@ -55,9 +55,12 @@ TypeHierarchyViewPartTest.class,
 TypeRulesTest.class,
 TypeInfoTest.class,
 StringsTest.class,
+SuperTypeHierarchyCacheTest.class,
 IndentManipulationTest.class,
 SelectionHistoryTest.class,
 ASTProviderTest.class,
+ASTBatchParserTest.class,
+BoundedLRUCacheTest.class,
 JDTFlagsTest18.class,
 JavaTokenComparatorTest.class,
 JavaIgnoreWhitespaceContributorTest.class,
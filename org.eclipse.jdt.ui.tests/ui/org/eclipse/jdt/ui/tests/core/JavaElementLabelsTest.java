@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui.tests.core;
 
+import static org.junit.Assert.assertEquals;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -34,6 +36,8 @@ import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeParameter;
 import org.eclipse.jdt.core.JavaModelException;
 
+import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelCache;
+
 import org.eclipse.jdt.ui.JavaElementLabels;
 import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
@@ -511,6 +515,64 @@ public class JavaElementLabelsTest extends CoreTests {
 		}
 	}
 
+	@Test
+	public void testMethodLabelAfterChange() throws Exception {
+		// labels of members are cached until their compilation unit changes
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+
+		IPackageFragment pack1= sourceFolder.createPackageFragment("org.test", false, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package org.test;\n");
+		buf.append("public class Changed {\n");
+		buf.append("    public void foo(int i) {\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		String content= buf.toString();
+		ICompilationUnit cu= pack1.createCompilationUnit("Changed.java", content, false, null);
+
+		IMethod method= cu.getType("Changed").getMethod("foo", new String[] { "I" });
+		long flags= JavaElementLabels.M_PARAMETER_TYPES | JavaElementLabels.M_PARAMETER_NAMES | JavaElementLabels.M_APP_RETURNTYPE;
+		assertExpectedLabel(method, "foo(int i) : void", flags);
+		assertExpectedLabel(method, "foo(int i) : void", flags);
+
+		cu.getBuffer().setContents(content.replace("int i", "int count"));
+		cu.save(null, true);
+
+		assertExpectedLabel(method, "foo(int count) : void", flags);
+	}
+
+	@Test
+	public void testMethodLabelComposedDuringChange() throws Exception {
+		// a label composed while its compilation unit changes is not cached, also if the cache is empty
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+
+		IPackageFragment pack1= sourceFolder.createPackageFragment("org.test", false, null);
+		String content= "package org.test;\npublic class Composed {\n    public void foo(int i) {\n    }\n}\n";
+		ICompilationUnit cu= pack1.createCompilationUnit("Composed.java", content, false, null);
+		IMethod method= cu.getType("Composed").getMethod("foo", new String[] { "I" });
+
+		int[] count= { 0 };
+		JavaElementLabelCache.ILabelComposer composer= (element, flags) -> {
+			if (count[0]++ == 0) {
+				try {
+					cu.getBuffer().setContents(content.replace("int i", "int count"));
+					cu.save(null, true);
+				} catch (JavaModelException e) {
+					throw new AssertionError(e);
+				}
+			}
+			return String.valueOf(count[0]);
+		};
+		JavaElementLabelCache cache= new JavaElementLabelCache();
+		try {
+			assertEquals("1", cache.getLabel(method, JavaElementLabels.ALL_DEFAULT, composer));
+			assertEquals("2", cache.getLabel(method, JavaElementLabels.ALL_DEFAULT, composer));
+			assertEquals("2", cache.getLabel(method, JavaElementLabels.ALL_DEFAULT, composer));
+		} finally {
+			cache.dispose();
+		}
+	}
+
 	@Test
 	public void testMethodLabelVarargsDeclaration() throws Exception {
 
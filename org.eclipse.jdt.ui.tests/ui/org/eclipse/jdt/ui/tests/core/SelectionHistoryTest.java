@@ -13,8 +13,14 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui.tests.core;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
 import java.text.Collator;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -24,8 +30,11 @@ import org.junit.Test;
 
 import org.w3c.dom.Element;
 
+import org.eclipse.jdt.internal.corext.util.BinaryHistory;
 import org.eclipse.jdt.internal.corext.util.History;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
 public class SelectionHistoryTest {
@@ -124,6 +133,66 @@ public class SelectionHistoryTest {
 
 	}
 
+	private static final class BinaryTestHistory extends BinaryHistory<String, String> {
+
+		static final String BINARY_FILE_NAME= "SelectionHistoryTest.bin";
+
+		public BinaryTestHistory() {
+			super("SelectionHistoryTest.xml", BINARY_FILE_NAME);
+			load();
+		}
+		@Override
+		protected void setAttributes(Object object, Element element) {}
+		@Override
+		protected String createFromElement(Element type) {return null;}
+		@Override
+		protected String getKey(String object) {return object;}
+		@Override
+		protected void writeValue(String value, DataOutput out) throws IOException {out.writeUTF(value);}
+		@Override
+		protected String readValue(DataInput in) throws IOException {return in.readUTF();}
+
+	}
+
+	@Test
+	public void binaryHistory() throws Exception {
+		File file= JavaPlugin.getDefault().getStateLocation().append(BinaryTestHistory.BINARY_FILE_NAME).toFile();
+		file.delete();
+		try {
+			History<String, String> history= new BinaryTestHistory();
+			history.accessed("a");
+			history.accessed("b");
+			history.accessed("c");
+			history.accessed("a");
+			history.remove("b");
+			for (int i= 0; i < 500; i++) {
+				history.accessed("d");
+			}
+			history.accessed("c");
+
+			// changes have been appended without calling save()
+			History<String, String> loaded= new BinaryTestHistory();
+			Comparator<String> comparator= new TestHistoryComparator(loaded);
+			String[] strings= {"a", "b", "c", "d"};
+			String[] expected= {"c", "d", "a", "b"};
+			Arrays.sort(strings, comparator);
+			assertEquals(strings, expected);
+			assertFalse(loaded.contains("b"));
+
+			// appended records are compacted
+			long length= file.length();
+			loaded.save();
+			assertTrue(file.length() < length);
+			History<String, String> compacted= new BinaryTestHistory();
+			strings= new String[] {"a", "b", "c", "d"};
+			Arrays.sort(strings, new TestHistoryComparator(compacted));
+			assertEquals(strings, expected);
+			assertFalse(compacted.contains("b"));
+		} finally {
+			file.delete();
+		}
+	}
+
 	@Test
 	public void organizeImportHistory01() throws Exception {
 		History<String, String> history= new TestHistory();
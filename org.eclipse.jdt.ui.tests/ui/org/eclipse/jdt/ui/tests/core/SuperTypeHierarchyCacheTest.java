@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+public class SuperTypeHierarchyCacheTest {
+
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJProject1;
+
+	private IPackageFragment fPack;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= pts.getProject();
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		fPack= sourceFolder.createPackageFragment("test1", false, null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+	}
+
+	@Test
+	public void sharedBySuperTypes() throws Exception {
+		String str= """
+			package test1;
+			public class A {
+			}
+			class B extends A {
+			}
+			class C extends B implements Runnable {
+			    public void run() {}
+			}
+			""";
+		ICompilationUnit cu= fPack.createCompilationUnit("A.java", str, false, null);
+		IType a= cu.getType("A");
+		IType b= cu.getType("B");
+		IType c= cu.getType("C");
+
+		int misses= SuperTypeHierarchyCache.getCacheMisses();
+		int hits= SuperTypeHierarchyCache.getCacheHits();
+
+		ITypeHierarchy hierarchy= SuperTypeHierarchyCache.getTypeHierarchy(c);
+		assertEquals(misses + 1, SuperTypeHierarchyCache.getCacheMisses());
+		assertTrue(SuperTypeHierarchyCache.hasInCache(b));
+		assertTrue(SuperTypeHierarchyCache.hasInCache(a));
+
+		// the hierarchy of the subtype is used for its super types
+		assertSame(hierarchy, SuperTypeHierarchyCache.getTypeHierarchy(a));
+		assertSame(hierarchy, SuperTypeHierarchyCache.getTypeHierarchy(b));
+		assertSame(hierarchy, SuperTypeHierarchyCache.getTypeHierarchy(c));
+		assertEquals(misses + 1, SuperTypeHierarchyCache.getCacheMisses());
+		assertEquals(hits + 3, SuperTypeHierarchyCache.getCacheHits());
+		assertTrue(SuperTypeHierarchyCache.getCachedHierarchyCount() > 0);
+		assertTrue(SuperTypeHierarchyCache.getEstimatedSize() > 0);
+	}
+
+	@Test
+	public void removedOnChange() throws Exception {
+		String str= """
+			package test1;
+			public class A {
+			}
+			class B extends A {
+			}
+			""";
+		ICompilationUnit cu= fPack.createCompilationUnit("A.java", str, false, null);
+		IType a= cu.getType("A");
+		IType b= cu.getType("B");
+
+		ITypeHierarchy hierarchy= SuperTypeHierarchyCache.getTypeHierarchy(b);
+		assertTrue(hierarchy.contains(a));
+		int invalidations= SuperTypeHierarchyCache.getInvalidationCount();
+
+		str= """
+			package test1;
+			public class A {
+			}
+			class B {
+			}
+			""";
+		cu.getBuffer().setContents(str);
+		cu.save(null, true);
+
+		assertFalse(SuperTypeHierarchyCache.hasInCache(a));
+		assertTrue(SuperTypeHierarchyCache.getInvalidationCount() > invalidations);
+		assertFalse(SuperTypeHierarchyCache.getTypeHierarchy(b).contains(a));
+	}
+}
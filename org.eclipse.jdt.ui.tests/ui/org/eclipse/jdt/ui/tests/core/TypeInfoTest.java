@@ -49,6 +49,7 @@ import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
 
 import org.eclipse.jdt.internal.corext.util.TypeInfoFilter;
+import org.eclipse.jdt.internal.corext.util.TypeNameIndex;
 
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
@@ -300,4 +301,38 @@ public class TypeInfoTest {
 		assertEquals(null, filter.getPackagePattern());
    }
 
+	@Test
+	public void typeNameIndex() throws Exception {
+		File junitSrcArchive= JavaTestPlugin.getDefault().getFileInPlugin(JavaProjectHelper.JUNIT_SRC_381);
+		assertNotNull("Junit source", junitSrcArchive);
+		JavaProjectHelper.addSourceContainerWithImport(fJProject2, "src", junitSrcArchive, JavaProjectHelper.JUNIT_SRC_ENCODING);
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("com.oti", true, null);
+
+		IJavaSearchScope scope= SearchEngine.createJavaSearchScope(new IJavaProject[] { fJProject2 });
+		ArrayList<TypeNameMatch> expected= new ArrayList<>();
+		new SearchEngine().searchAllTypeNames(null, 0, new char[] { 'T' }, SearchPattern.R_PREFIX_MATCH, IJavaSearchConstants.TYPE, scope,
+				new TypeNameMatchCollector(expected), IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, null);
+
+		TypeNameIndex index= TypeNameIndex.getDefault();
+		index.clear();
+		ArrayList<TypeNameMatch> result= new ArrayList<>();
+		assertTrue(index.search(new TypeInfoFilter("T", scope, IJavaSearchConstants.TYPE, null), new TypeNameMatchCollector(result), null));
+		assertEquals(expected.size(), result.size());
+		for (TypeNameMatch match : expected) {
+			findTypeRef(result, match.getFullyQualifiedName());
+		}
+
+		// new types are found without creating the index again
+		int builds= index.getBuildCount();
+		pack1.getCompilationUnit("TestListenerAdapter.java").createType("public class TestListenerAdapter {\n}\n", null, true, null);
+		result.clear();
+		index.search(new TypeInfoFilter("TLiA", SearchEngine.createWorkspaceScope(), IJavaSearchConstants.TYPE, null), new TypeNameMatchCollector(result), null);
+		findTypeRef(result, "com.oti.TestListenerAdapter");
+		result.clear();
+		index.search(new TypeInfoFilter("com.oti.*Listener", SearchEngine.createWorkspaceScope(), IJavaSearchConstants.CLASS, null), new TypeNameMatchCollector(result), null);
+		assertEquals(1, result.size());
+		assertEquals(builds, index.getBuildCount());
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.hover;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.testplugin.JavaTestPlugin;
+
+import org.eclipse.core.runtime.Path;
+
+import org.eclipse.jdt.core.IClasspathAttribute;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaModelStatusConstants;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.manipulation.internal.javadoc.AttachedJavadocCache;
+import org.eclipse.jdt.core.manipulation.internal.javadoc.CoreJavaDocLocations;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+/**
+ * Tests the disk cache of attached Javadoc from remote locations.
+ */
+public class AttachedJavadocCacheTest {
+
+	private static final long EXPIRY= 60_000;
+
+	private static final long MAX_SIZE= 1024 * 1024;
+
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJProject1;
+
+	private File fDirectory;
+
+	/** Stands in for the remote Javadoc server */
+	private final Map<String, String> fServer= new HashMap<>();
+
+	private int fRequests;
+
+	private boolean fOnline= true;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= pts.getProject();
+		fDirectory= Files.createTempDirectory("attachedJavadoc").toFile();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		new AttachedJavadocCache(fDirectory, 0, 0, 0).clear();
+		fDirectory.delete();
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+	}
+
+	@Test
+	public void servesFetchedEntriesOffline() throws Exception {
+		URL foo= new URL("https://example.org/api/p/A.html#foo()");
+		URL bar= new URL("https://example.org/api/p/A.html#bar()");
+		fServer.put(foo.toExternalForm(), "<p>Docs of foo</p>");
+		AttachedJavadocCache cache= new AttachedJavadocCache(fDirectory, EXPIRY, EXPIRY, MAX_SIZE);
+
+		assertEquals("<p>Docs of foo</p>", cache.getAttachedJavadoc(foo, () -> fetch(foo)));
+		assertNull(cache.getAttachedJavadoc(bar, () -> fetch(bar)));
+		assertEquals(2, fRequests);
+
+		// a new cache on the same directory reads the entries written by the first one
+		fOnline= false;
+		AttachedJavadocCache restored= new AttachedJavadocCache(fDirectory, EXPIRY, EXPIRY, MAX_SIZE);
+		assertEquals("<p>Docs of foo</p>", restored.getAttachedJavadoc(foo, () -> fetch(foo)));
+		assertNull(restored.getAttachedJavadoc(bar, () -> fetch(bar)));
+		assertEquals(2, fRequests);
+		assertEquals(2, restored.getHitCount());
+	}
+
+	@Test
+	public void keepsExpiredEntriesUntilFetchedAgain() throws Exception {
+		URL foo= new URL("https://example.org/api/p/A.html#foo()");
+		fServer.put(foo.toExternalForm(), "<p>Docs of foo</p>");
+		new AttachedJavadocCache(fDirectory, EXPIRY, EXPIRY, MAX_SIZE).getAttachedJavadoc(foo, () -> fetch(foo));
+
+		// trimming, e.g. at shutdown, does not delete expired entries
+		AttachedJavadocCache expired= new AttachedJavadocCache(fDirectory, 0, 0, MAX_SIZE);
+		expired.trim();
+
+		fOnline= false;
+		assertEquals("<p>Docs of foo</p>", expired.getAttachedJavadoc(foo, () -> fetch(foo)));
+		assertEquals(1, expired.getStaleHitCount());
+
+		fOnline= true;
+		fServer.put(foo.toExternalForm(), "<p>New docs of foo</p>");
+		assertEquals("<p>New docs of foo</p>", expired.getAttachedJavadoc(foo, () -> fetch(foo)));
+		fOnline= false;
+		assertEquals("<p>New docs of foo</p>", expired.getAttachedJavadoc(foo, () -> fetch(foo)));
+	}
+
+	@Test
+	public void missingJavadocExpiresSooner() throws Exception {
+		URL foo= new URL("https://example.org/api/p/A.html#foo()");
+		URL bar= new URL("https://example.org/api/p/A.html#bar()");
+		fServer.put(foo.toExternalForm(), "<p>Docs of foo</p>");
+		AttachedJavadocCache cache= new AttachedJavadocCache(fDirectory, EXPIRY, 0, MAX_SIZE);
+
+		cache.getAttachedJavadoc(foo, () -> fetch(foo));
+		assertNull(cache.getAttachedJavadoc(bar, () -> fetch(bar)));
+		assertEquals(2, fRequests);
+
+		fServer.put(bar.toExternalForm(), "<p>Docs of bar</p>");
+		assertEquals("<p>Docs of foo</p>", cache.getAttachedJavadoc(foo, () -> fetch(foo)));
+		assertEquals("<p>Docs of bar</p>", cache.getAttachedJavadoc(bar, () -> fetch(bar)));
+		assertEquals(3, fRequests);
+	}
+
+	@Test
+	public void trimDeletesLeastRecentlyUsedEntries() throws Exception {
+		URL[] urls= { new URL("https://example.org/api/p/A.html"), new URL("https://example.org/api/p/B.html"), new URL("https://example.org/api/p/C.html") };
+		AttachedJavadocCache cache= new AttachedJavadocCache(fDirectory, EXPIRY, EXPIRY, MAX_SIZE);
+		for (URL url : urls) {
+			fServer.put(url.toExternalForm(), "<p>Docs of " + url.getPath() + "</p>");
+			cache.getAttachedJavadoc(url, () -> fetch(url));
+		}
+		long maxLength= 0;
+		for (File file : fDirectory.listFiles()) {
+			maxLength= Math.max(maxLength, file.length());
+			file.setLastModified(file.lastModified() - EXPIRY);
+		}
+		// a hit marks the entry of B as recently used
+		cache.getAttachedJavadoc(urls[1], () -> fetch(urls[1]));
+		assertEquals(3, fRequests);
+
+		AttachedJavadocCache trimmed= new AttachedJavadocCache(fDirectory, EXPIRY, EXPIRY, maxLength);
+		trimmed.trim();
+		assertEquals(1, fDirectory.listFiles().length);
+
+		fOnline= false;
+		assertEquals("<p>Docs of /api/p/B.html</p>", trimmed.getAttachedJavadoc(urls[1], () -> fetch(urls[1])));
+	}
+
+	@Test
+	public void elementsAreKeyedByTheirJavadocLocation() throws Exception {
+		IClasspathAttribute attribute= JavaCore.newClasspathAttribute(IClasspathAttribute.JAVADOC_LOCATION_ATTRIBUTE_NAME, "https://example.org/api/");
+		IClasspathEntry library= JavaCore.newLibraryEntry(new Path(JavaTestPlugin.getDefault().getFileInPlugin(new Path("/testresources/rtstubs15.jar")).getAbsolutePath()), null, null, null,
+				new IClasspathAttribute[] { attribute }, false);
+		fJProject1.setRawClasspath(new IClasspathEntry[] { library }, null);
+		IType object= fJProject1.findType("java.lang.Object");
+		assertNotNull(object);
+		IMethod hashCode= object.getMethod("hashCode", new String[0]);
+
+		// fill the cache through the locations, including the member anchor
+		URL typeLocation= CoreJavaDocLocations.getJavadocLocation(object, true);
+		URL methodLocation= CoreJavaDocLocations.getJavadocLocation(hashCode, true);
+		assertEquals("https://example.org/api/java/lang/Object.html", typeLocation.toExternalForm());
+		fServer.put(typeLocation.toExternalForm(), "<p>Docs of Object</p>");
+		fServer.put(methodLocation.toExternalForm(), "<p>Docs of hashCode</p>");
+		AttachedJavadocCache cache= new AttachedJavadocCache(fDirectory, EXPIRY, EXPIRY, MAX_SIZE);
+		cache.getAttachedJavadoc(typeLocation, () -> fetch(typeLocation));
+		cache.getAttachedJavadoc(methodLocation, () -> fetch(methodLocation));
+
+		assertEquals("<p>Docs of Object</p>", cache.getAttachedJavadoc(object, null));
+		assertEquals("<p>Docs of hashCode</p>", cache.getAttachedJavadoc(hashCode, null));
+		assertEquals(2, cache.getHitCount());
+		assertEquals(2, fRequests);
+	}
+
+	private String fetch(URL url) throws JavaModelException {
+		if (!fOnline)
+			throw new JavaModelException(new Exception("offline"), IJavaModelStatusConstants.CANNOT_RETRIEVE_ATTACHED_JAVADOC);
+		fRequests++;
+		return fServer.get(url.toExternalForm());
+	}
+}
@@ -17,6 +17,7 @@ package org.eclipse.jdt.ui.tests.hover;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.After;
@@ -38,6 +39,7 @@ import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.ISourceReference;
 import org.eclipse.jdt.core.IType;
@@ -50,6 +52,8 @@ import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
 import org.eclipse.jdt.internal.ui.text.java.hover.JavadocBrowserInformationControlInput;
 import org.eclipse.jdt.internal.ui.text.java.hover.JavadocHover;
+import org.eclipse.jdt.internal.ui.text.javadoc.JavadocContentAccess2;
+import org.eclipse.jdt.internal.ui.text.javadoc.JavadocHTMLCache;
 
 public class JavadocHoverTests extends CoreTests {
 
@@ -266,5 +270,79 @@ public class JavadocHoverTests extends CoreTests {
 		}
 	}
 
-}
+	@Test
+	public void testHTMLCacheInvalidatedByJavadocChange() throws Exception {
+		String source=
+				"package p;\n" +
+				"public class Cached {\n" +
+				"  /**\n" +
+				"   * First version.\n" +
+				"   */\n" +
+				"  public void foo() {\n" +
+				"  }\n" +
+				"}\n";
+		ICompilationUnit cu= getWorkingCopy("/TestSetupProject/src/p/Cached.java", source, null);
+		IMethod method= cu.getType("Cached").getMethod("foo", new String[0]);
+		JavadocHTMLCache cache= JavadocHTMLCache.getDefault();
 
+		String first= JavadocContentAccess2.getHTMLContent(method, true);
+		assertTrue(first, first.contains("First version."));
+		long hits= cache.getHitCount();
+		assertEquals(first, JavadocContentAccess2.getHTMLContent(method, true));
+		assertEquals(hits + 1, cache.getHitCount());
+
+		cu.getBuffer().setContents(source.replace("First", "Second"));
+		cu.reconcile(ICompilationUnit.NO_AST, false, null, null);
+		String second= JavadocContentAccess2.getHTMLContent(method, true);
+		assertTrue(second, second.contains("Second version."));
+		assertFalse(second, second.contains("First version."));
+	}
+
+	@Test
+	public void testHTMLContentOfUnresolvedElement() throws Exception {
+		// e.g. content assist proposals whose member cannot be resolved
+		assertNull(JavadocContentAccess2.getHTMLContent(null, true));
+	}
+
+	@Test
+	public void testHTMLCacheInvalidatedByInheritedJavadocChange() throws Exception {
+		String superSource=
+				"package p;\n" +
+				"public class CachedSuper {\n" +
+				"  /**\n" +
+				"   * First version.\n" +
+				"   */\n" +
+				"  public void foo() {\n" +
+				"  }\n" +
+				"}\n";
+		String subSource=
+				"package p;\n" +
+				"public class CachedSub extends CachedSuper {\n" +
+				"  /**\n" +
+				"   * {@inheritDoc}\n" +
+				"   */\n" +
+				"  @Override\n" +
+				"  public void foo() {\n" +
+				"  }\n" +
+				"}\n";
+		ICompilationUnit superCu= getWorkingCopy("/TestSetupProject/src/p/CachedSuper.java", superSource, null);
+		superCu.commitWorkingCopy(true, null);
+		ICompilationUnit subCu= getWorkingCopy("/TestSetupProject/src/p/CachedSub.java", subSource, null);
+		subCu.commitWorkingCopy(true, null);
+		try {
+			IMethod method= subCu.getType("CachedSub").getMethod("foo", new String[0]);
+			String first= JavadocContentAccess2.getHTMLContent(method, true);
+			assertTrue(first, first.contains("First version."));
+
+			// a Javadoc-only change of the supertype is local to it, but changes the inherited documentation
+			superCu.getBuffer().setContents(superSource.replace("First", "Second"));
+			superCu.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			String second= JavadocContentAccess2.getHTMLContent(method, true);
+			assertTrue(second, second.contains("Second version."));
+			assertFalse(second, second.contains("First version."));
+		} finally {
+			subCu.discardWorkingCopy();
+			superCu.discardWorkingCopy();
+		}
+	}
+}
@@ -20,6 +20,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui.tests.jarexport;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
@@ -29,7 +30,11 @@ import static org.junit.Assert.fail;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Map;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -190,9 +195,7 @@ public class FatJarExportTests {
 		}
 
 		// run newly generated jar and check stdout
-		String stdout= runJar(project, data.getJarLocation().toOSString());
-		// normalize EndOfLine to \n
-		stdout= stdout.replaceAll("\r\n", "\n").replaceAll("\r", "\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		String stdout= normalizeEndOfLine(runJar(project, data.getJarLocation().toOSString()));
 		// check for successful call of Foo
 		String expected= "created mylib.Foo\n"; //$NON-NLS-1$
 		assertEquals(expected, stdout);
@@ -200,6 +203,13 @@ public class FatJarExportTests {
 		return data;
 	}
 
+	/**
+	 * Normalizes EndOfLine to \n.
+	 */
+	private static String normalizeEndOfLine(String stdout) {
+		return stdout.replaceAll("\r\n", "\n").replaceAll("\r", "\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
 	private static JarPackageData assertFatJarExport(IJavaProject project, String testName, boolean compressJar, LibraryHandler libraryHandler) throws Exception {
 		//create class files
 		buildProject();
@@ -395,6 +405,10 @@ public class FatJarExportTests {
 	}
 
 	private static String runJar(IJavaProject project, String jarPath) throws CoreException {
+		return runJar(project, jarPath, new String[0]);
+	}
+
+	private static String runJar(IJavaProject project, String jarPath, String[] vmArgs) throws CoreException {
 
 		IVMInstall vmInstall= JavaRuntime.getVMInstall(project);
 		if (vmInstall == null)
@@ -409,6 +423,7 @@ public class FatJarExportTests {
 
 		VMRunnerConfiguration vmConfig= new VMRunnerConfiguration("-jar", new String[] {}); //$NON-NLS-1$
 		vmConfig.setWorkingDirectory(new File(jarPath).getParent());
+		vmConfig.setVMArguments(vmArgs);
 		vmConfig.setProgramArguments(new String[] { jarPath });
 
 		ILaunch launch= new Launch(null, ILaunchManager.RUN_MODE, null);
@@ -866,6 +881,67 @@ public class FatJarExportTests {
 		}
 	}
 
+	@Test
+	public void exportInternalLib_IndexedLibraries() throws Exception {
+		File lib= JavaTestPlugin.getDefault().getFileInPlugin(JavaProjectHelper.MYLIB_STDOUT);
+		IPackageFragmentRoot root= JavaProjectHelper.addLibraryWithImport(fProject, Path.fromOSString(lib.getPath()), null, null);
+
+		try {
+			// Jar-in-Jar loader with an index of the packaged libraries
+			JarPackageData data= createAndRunFatJar(fProject, getName(), true, new PackageLibraryHandler(true));
+			try (ZipFile generatedArchive= JarPackagerUtil.createZipFile(data.getJarLocation())) {
+				Manifest manifest;
+				try (InputStream in= generatedArchive.getInputStream(generatedArchive.getEntry(JarFile.MANIFEST_NAME))) {
+					manifest= new Manifest(in);
+				}
+				String indexName= manifest.getMainAttributes().getValue("Rsrc-Index"); //$NON-NLS-1$
+				assertEquals("META-INF/RSRC-INDEX.LIST", indexName); //$NON-NLS-1$
+
+				ZipEntry indexEntry= generatedArchive.getEntry(indexName);
+				assertNotNull(indexEntry);
+				String index;
+				try (InputStream in= generatedArchive.getInputStream(indexEntry)) {
+					index= new String(in.readAllBytes(), StandardCharsets.UTF_8);
+				}
+				assertTrue(index, index.startsWith("RsrcIndex-Version: 1.0\n")); //$NON-NLS-1$
+				assertTrue(index, index.matches("(?s).*\\n\\d+ \\p{XDigit}{64} mylib_stdout\\.jar\\n(.+\\n)*mylib\\n.*")); //$NON-NLS-1$
+			}
+		} finally {
+			JavaProjectHelper.removeFromClasspath(fProject, root.getPath());
+		}
+	}
+
+	@Test
+	public void exportInternalLib_IndexedLibrariesCache() throws Exception {
+		File lib= JavaTestPlugin.getDefault().getFileInPlugin(JavaProjectHelper.MYLIB_STDOUT);
+		IPackageFragmentRoot root= JavaProjectHelper.addLibraryWithImport(fProject, Path.fromOSString(lib.getPath()), null, null);
+		File cacheDir= Files.createTempDirectory("jarinjarloader").toFile(); //$NON-NLS-1$
+
+		try {
+			JarPackageData data= createAndRunFatJar(fProject, getName(), true, new PackageLibraryHandler(true));
+			String jarPath= data.getJarLocation().toOSString();
+			String[] vmArgs= { "-Djarinjarloader.cacheDir=" + cacheDir.getAbsolutePath() }; //$NON-NLS-1$
+			byte[] libContent= Files.readAllBytes(lib.toPath());
+
+			// the nested JAR is extracted to the cache directory
+			assertEquals("created mylib.Foo\n", normalizeEndOfLine(runJar(fProject, jarPath, vmArgs))); //$NON-NLS-1$
+			File[] extracted= cacheDir.listFiles((dir, name) -> name.endsWith("-mylib_stdout.jar")); //$NON-NLS-1$
+			assertEquals(1, extracted.length);
+			assertArrayEquals(libContent, Files.readAllBytes(extracted[0].toPath()));
+
+			// a cached file of the same size that does not match the hash is extracted again
+			byte[] corrupted= new byte[libContent.length];
+			Files.write(extracted[0].toPath(), corrupted);
+			assertEquals("created mylib.Foo\n", normalizeEndOfLine(runJar(fProject, jarPath, vmArgs))); //$NON-NLS-1$
+			assertArrayEquals(libContent, Files.readAllBytes(extracted[0].toPath()));
+		} finally {
+			JavaProjectHelper.removeFromClasspath(fProject, root.getPath());
+			for (File file : cacheDir.listFiles())
+				file.delete();
+			cacheDir.delete();
+		}
+	}
+
 	@Test
 	public void exportExternalLib() throws Exception {
 		File lib= JavaTestPlugin.getDefault().getFileInPlugin(JavaProjectHelper.MYLIB_STDOUT);
@@ -13,11 +13,13 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui.tests.jarexport;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -41,6 +43,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
 
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.ui.IWorkbenchWindow;
@@ -58,6 +61,9 @@ import org.eclipse.jdt.ui.jarpackager.IJarExportRunnable;
 import org.eclipse.jdt.ui.jarpackager.JarPackageData;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
+import org.eclipse.jdt.internal.ui.jarpackager.JarExportTimings;
+import org.eclipse.jdt.internal.ui.jarpackager.JarExportTimings.Phase;
+import org.eclipse.jdt.internal.ui.jarpackager.JarFileExportOperation;
 import org.eclipse.jdt.internal.ui.jarpackager.JarPackagerUtil;
 
 public class PlainJarExportTests {
@@ -160,6 +166,35 @@ public class PlainJarExportTests {
 		assertEquals(expected.toString(), entries.toString());
 	}
 
+	@Test
+	public void incrementalExport() throws Exception {
+		JarPackageData data= createJarPackageData();
+
+		data.setElements(new Object[] { fCU });
+		data.setExportClassFiles(true);
+		data.setIncrementalExport(true);
+
+		List<String> expected= Arrays.asList("META-INF/MANIFEST.MF\n", "org/eclipse/jdt/ui/test/Main$1.class\n", "org/eclipse/jdt/ui/test/Main$MainInner.class\n", "org/eclipse/jdt/ui/test/Main.class\n");
+		JarExportTimings timings= export(data).getTimings();
+		try (ZipFile jar= JarPackagerUtil.createZipFile(data.getJarLocation())) {
+			assertEquals(expected.toString(), getSortedEntries(jar).toString());
+		}
+		assertEquals(0, timings.getCount(Phase.REUSE));
+
+		// the class files did not change, their entries are copied from the previous JAR
+		byte[] content;
+		timings= export(data).getTimings();
+		try (ZipFile jar= JarPackagerUtil.createZipFile(data.getJarLocation())) {
+			assertEquals(expected.toString(), getSortedEntries(jar).toString());
+			content= jar.getInputStream(jar.getEntry("org/eclipse/jdt/ui/test/Main.class")).readAllBytes();
+		}
+		assertEquals(3, timings.getCount(Phase.REUSE));
+		IFile classFile= ResourcesPlugin.getWorkspace().getRoot().getFolder(fProject.getOutputLocation()).getFile("org/eclipse/jdt/ui/test/Main.class");
+		try (InputStream in= classFile.getContents()) {
+			assertArrayEquals(in.readAllBytes(), content);
+		}
+	}
+
 	private JarPackageData createJarPackageData() {
 		JarPackageData data= new JarPackageData();
 		data.setJarLocation(ResourcesPlugin.getWorkspace().getRoot().getLocation().append(getName() + ".jar"));
@@ -172,7 +207,7 @@ public class PlainJarExportTests {
 		return tn.getMethodName();
 	}
 
-	private static ZipFile createArchive(JarPackageData data) throws Exception, CoreException {
+	private static JarFileExportOperation export(JarPackageData data) throws Exception, CoreException {
 		IWorkbenchWindow window= PlatformUI.getWorkbench().getActiveWorkbenchWindow();
 
 		IJarExportRunnable op= data.createJarExportRunnable(window.getShell());
@@ -182,6 +217,11 @@ public class PlainJarExportTests {
 		if (status.getSeverity() == IStatus.ERROR)
 			throw new CoreException(status);
 
+		return (JarFileExportOperation) op;
+	}
+
+	private static ZipFile createArchive(JarPackageData data) throws Exception, CoreException {
+		export(data);
 		return JarPackagerUtil.createZipFile(data.getJarLocation());
 	}
 
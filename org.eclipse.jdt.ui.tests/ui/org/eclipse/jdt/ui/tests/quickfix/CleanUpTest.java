@@ -24,11 +24,13 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
+import java.io.StringWriter;
 import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Before;
@@ -40,6 +42,7 @@ import org.eclipse.jdt.testplugin.TestOptions;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
 
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
@@ -60,6 +63,8 @@ import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
 
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
+import org.eclipse.jdt.internal.corext.fix.CleanUpTimings;
 import org.eclipse.jdt.internal.corext.fix.FixMessages;
 import org.eclipse.jdt.internal.corext.fix.UpdateProperty;
 import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
@@ -67,6 +72,7 @@ import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
 import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
 import org.eclipse.jdt.ui.tests.core.rules.Java13ProjectTestSetup;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
@@ -217,6 +223,106 @@ public class CleanUpTest extends CleanUpTestCase {
 		assertRefactoringResultAsExpected(new ICompilationUnit[] {cu1, cu2, cu3}, new String[] {expected1, expected2, expected3}, null);
 	}
 
+	@Test
+	public void testUnusedCodeParallel() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit[] cus= new ICompilationUnit[30];
+		String[] expected= new String[cus.length];
+		for (int i= 0; i < cus.length; i++) {
+			String sample= "" //
+					+ "package test1;\n" //
+					+ "import java.util.ArrayList;\n" //
+					+ "import java.util.List;\n" //
+					+ "public class E" + i + " {\n" //
+					+ "    List<String> list;\n" //
+					+ "}\n";
+			cus[i]= pack1.createCompilationUnit("E" + i + ".java", sample, false, null);
+
+			expected[i]= "" //
+					+ "package test1;\n" //
+					+ "import java.util.List;\n" //
+					+ "public class E" + i + " {\n" //
+					+ "    List<String> list;\n" //
+					+ "}\n";
+		}
+
+		enable(CleanUpConstants.REMOVE_UNUSED_CODE_IMPORTS);
+
+		CleanUpRefactoring ref= new CleanUpRefactoring();
+		ref.setUseOptionsFromProfile(true);
+		ref.setParallelism(4);
+		ICleanUp[] cleanUps= JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps();
+		performRefactoring(ref, cus, cleanUps, null);
+
+		for (int i= 0; i < cus.length; i++) {
+			assertEquals(expected[i], cus[i].getBuffer().getContents());
+		}
+		assertTrue(ref.getTimings().getCleanUps().length > 0);
+		assertTrue(ref.getTimings().getIterationCount() > 0);
+	}
+
+	@Test
+	public void testCleanUpTimingsReport() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit[] cus= new ICompilationUnit[2];
+		for (int i= 0; i < cus.length; i++) {
+			String sample= "" //
+					+ "package test1;\n" //
+					+ "import java.util.ArrayList;\n" //
+					+ "public class E" + i + " {\n" //
+					+ "}\n";
+			cus[i]= pack1.createCompilationUnit("E" + i + ".java", sample, false, null);
+		}
+
+		enable(CleanUpConstants.REMOVE_UNUSED_CODE_IMPORTS);
+
+		CleanUpRefactoring ref= new CleanUpRefactoring();
+		ref.setUseOptionsFromProfile(true);
+		for (ICompilationUnit cu : cus) {
+			ref.addCompilationUnit(cu);
+		}
+		for (ICleanUp cleanUp : JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps()) {
+			ref.addCleanUp(cleanUp);
+		}
+		CleanUpTimings timings= ref.getTimings();
+		timings.setRecordUnits(true);
+
+		ref.checkAllConditions(new NullProgressMonitor());
+		int iterations= timings.getIterationCount();
+		ICleanUp[] cleanUps= timings.getCleanUps();
+		int[] createFixCounts= new int[cleanUps.length];
+		for (int i= 0; i < cleanUps.length; i++) {
+			createFixCounts[i]= timings.getCreateFixCount(cleanUps[i]);
+		}
+		assertTrue(iterations > 0);
+		assertTrue(cleanUps.length > 0);
+
+		// the timings are reset for each run
+		ref.checkAllConditions(new NullProgressMonitor());
+		assertEquals(iterations, timings.getIterationCount());
+		for (int i= 0; i < cleanUps.length; i++) {
+			assertEquals(createFixCounts[i], timings.getCreateFixCount(cleanUps[i]));
+		}
+
+		StringWriter writer= new StringWriter();
+		timings.writeReport(writer);
+		List<String> lines= Arrays.asList(writer.toString().split("\n"));
+		assertEquals("record,cleanUp,compilationUnit,phase,count,nanos", lines.get(0));
+		assertEquals("iterations,,,," + iterations + ",", lines.get(1));
+		for (int i= 0; i < cleanUps.length; i++) {
+			String prefix= "total," + cleanUps[i].getClass().getName() + ",,createFix," + createFixCounts[i] + ",";
+			assertTrue(prefix, lines.stream().anyMatch(line -> line.startsWith(prefix) && line.substring(prefix.length()).matches("\\d+")));
+		}
+		String cleanUp= cleanUps[0].getClass().getName();
+		for (ICompilationUnit cu : cus) {
+			String prefix= "unit," + cleanUp + "," + cu.getPath() + ",createFix,";
+			assertTrue(prefix, lines.stream().anyMatch(line -> line.startsWith(prefix) && line.substring(prefix.length()).matches("\\d+,\\d+")));
+		}
+		for (String line : lines.subList(2, lines.size())) {
+			assertTrue(line, line.matches("(total|unit),[^,]*,[^,]*,(createFix|createChange|mergeEdits|applyEdits),\\d+,\\d+"));
+		}
+	}
+
 	@Test
 	public void testRemoveNLSTag01() throws Exception {
 		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
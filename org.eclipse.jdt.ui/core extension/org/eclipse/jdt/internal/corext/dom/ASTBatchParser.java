@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2016 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,14 +18,22 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.IBinding;
 
 import org.eclipse.jdt.internal.ui.util.Progress;
@@ -34,6 +42,13 @@ import org.eclipse.jdt.internal.ui.util.Progress;
  * Creates AST from a set of compilation units. Uses the
  * batch parser. Splits the set of compilation units in subsets
  * such that it is unlikely that a out of memory exception will occur.
+ * <p>
+ * By default the subsets have a fixed size derived from the maximum heap size and
+ * are parsed sequentially. Clients can enable an adaptive mode that sizes the subsets
+ * from the heap consumption and the parse time observed for the previous subsets,
+ * and a parallel mode that parses partitions of the compilation units
+ * concurrently. Throughput numbers are available from {@link #getStatistics()}.
+ * </p>
  *
  * @since 3.4
  */
@@ -50,6 +65,220 @@ public class ASTBatchParser {
 		else                        MAX_AT_ONCE=  25;
 	}
 
+	/**
+	 * Lower bound for the size of adaptively computed subsets.
+	 */
+	private static final int MIN_AT_ONCE= 10;
+
+	/**
+	 * Upper bound for the size of adaptively computed subsets.
+	 */
+	private static final int MAX_ADAPTIVE_AT_ONCE= 2 * MAX_AT_ONCE;
+
+	/**
+	 * Adaptively computed subsets are limited such that parsing them takes about this
+	 * long, to keep progress reporting and cancellation responsive.
+	 */
+	private static final long TARGET_BATCH_NANOS= TimeUnit.SECONDS.toNanos(10);
+
+	/**
+	 * Share of the currently free heap that the subsets being parsed may use.
+	 */
+	private static final double HEAP_SHARE= 0.5;
+
+	/**
+	 * Throughput numbers of an {@link ASTBatchParser}. All methods are thread safe.
+	 */
+	public static final class Statistics {
+
+		private long fUnits;
+		private long fBatches;
+		private long fParseNanos;
+		private long fWallClockNanos;
+		private long fMaxHeapPerUnit;
+		private int fLastBatchSize;
+
+		private synchronized void batchDone(int units, long parseNanos, long heapGrowth) {
+			fUnits+= units;
+			fBatches++;
+			fParseNanos+= parseNanos;
+			fLastBatchSize= units;
+			if (heapGrowth > 0)
+				fMaxHeapPerUnit= Math.max(fMaxHeapPerUnit, heapGrowth / units);
+		}
+
+		private synchronized void wallClockDone(long nanos) {
+			fWallClockNanos+= nanos;
+		}
+
+		/**
+		 * @return the number of compilation units parsed
+		 */
+		public synchronized long getUnitCount() {
+			return fUnits;
+		}
+
+		/**
+		 * @return the number of subsets passed to the AST parser
+		 */
+		public synchronized long getBatchCount() {
+			return fBatches;
+		}
+
+		/**
+		 * @return the size of the last subset passed to the AST parser
+		 */
+		public synchronized int getLastBatchSize() {
+			return fLastBatchSize;
+		}
+
+		/**
+		 * @return the time spent in the AST parser, summed up over all threads, in milliseconds
+		 */
+		public synchronized long getParseMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(fParseNanos);
+		}
+
+		/**
+		 * @return the elapsed time of all {@link ASTBatchParser#createASTs} calls in milliseconds
+		 */
+		public synchronized long getWallClockMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(fWallClockNanos);
+		}
+
+		/**
+		 * @return the largest observed heap growth per compilation unit in bytes, only measured if
+		 *         subsets are sized adaptively
+		 */
+		public synchronized long getMaxHeapPerUnit() {
+			return fMaxHeapPerUnit;
+		}
+
+		/**
+		 * @return the number of compilation units parsed per second of elapsed time
+		 */
+		public synchronized double getUnitsPerSecond() {
+			if (fWallClockNanos == 0)
+				return 0;
+			return fUnits * (double) TimeUnit.SECONDS.toNanos(1) / fWallClockNanos;
+		}
+
+		@Override
+		public synchronized String toString() {
+			return "units=" + fUnits + ", batches=" + fBatches + ", lastBatchSize=" + fLastBatchSize //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ ", parseMillis=" + getParseMillis() + ", wallClockMillis=" + getWallClockMillis() //$NON-NLS-1$ //$NON-NLS-2$
+					+ ", unitsPerSecond=" + Math.round(getUnitsPerSecond()) + ", maxHeapPerUnit=" + fMaxHeapPerUnit; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Forwards to the client's requestor and records the heap usage while a subset is parsed.
+	 */
+	private static final class MeasuringRequestor extends ASTRequestor {
+
+		private final ASTRequestor fRequestor;
+		private long fPeakUsedMemory;
+
+		MeasuringRequestor(ASTRequestor requestor) {
+			fRequestor= requestor;
+			fPeakUsedMemory= usedMemory();
+		}
+
+		@Override
+		public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+			fPeakUsedMemory= Math.max(fPeakUsedMemory, usedMemory());
+			fRequestor.acceptAST(source, ast);
+		}
+
+		@Override
+		public void acceptBinding(String bindingKey, IBinding binding) {
+			fRequestor.acceptBinding(bindingKey, binding);
+		}
+
+		long getPeakUsedMemory() {
+			return fPeakUsedMemory;
+		}
+	}
+
+	/**
+	 * Progress monitor for the worker threads: collects the work done by all workers and forwards
+	 * cancellation, progress is reported by the calling thread.
+	 */
+	private static final class WorkerProgressMonitor extends NullProgressMonitor {
+
+		private volatile boolean fCanceled;
+		private double fWorked;
+
+		@Override
+		public synchronized void internalWorked(double work) {
+			fWorked+= work;
+		}
+
+		@Override
+		public void worked(int work) {
+			internalWorked(work);
+		}
+
+		synchronized int getWorked() {
+			return (int) fWorked;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return fCanceled;
+		}
+
+		@Override
+		public void setCanceled(boolean canceled) {
+			fCanceled= canceled;
+		}
+	}
+
+	private boolean fAdaptive;
+	private int fParallelism= 1;
+	private final Statistics fStatistics= new Statistics();
+
+	/**
+	 * Enables or disables adaptive sizing of the subsets. If enabled, the size of the next subset
+	 * is computed from the heap growth and the parse time per compilation unit observed for the
+	 * previous subset, such that the subsets fit into the free heap and take a bounded time.
+	 *
+	 * @param adaptive <code>true</code> to size subsets adaptively
+	 */
+	public final void setAdaptiveBatchSize(boolean adaptive) {
+		fAdaptive= adaptive;
+	}
+
+	/**
+	 * Sets the number of threads that may parse compilation units concurrently.
+	 * <p>
+	 * If greater than 1, <code>ASTRequestor.acceptAST</code> and
+	 * <code>ASTRequestor.acceptBinding</code> may be called concurrently from different threads
+	 * and the requestor passed to
+	 * {@link #createASTs(ICompilationUnit[], String[], ASTRequestor, IProgressMonitor)} must be
+	 * thread safe. The compilation units are partitioned by project; if there are fewer projects
+	 * than threads, the compilation units of a project are split into several partitions. Each
+	 * partition is parsed by one thread with its own parsers, i.e. ASTs passed to the requestor
+	 * by different threads never share bindings. Progress is reported from the calling thread
+	 * with <code>IProgressMonitor.worked(int)</code> only.
+	 * </p>
+	 *
+	 * @param parallelism the maximum number of partitions parsed at the same time, 1 to parse
+	 *            sequentially
+	 */
+	public final void setParallelism(int parallelism) {
+		fParallelism= Math.max(1, parallelism);
+	}
+
+	/**
+	 * Returns the throughput numbers of all <code>createASTs</code> calls of this parser.
+	 *
+	 * @return the statistics
+	 */
+	public final Statistics getStatistics() {
+		return fStatistics;
+	}
+
 	/**
 	 * Creates ASTs for each compilation unit in <code>units</code>.
 	 * <p>
@@ -76,30 +305,145 @@ public class ASTBatchParser {
 			monitor= new NullProgressMonitor();
 
 		monitor.beginTask("", compilationUnits.length); //$NON-NLS-1$
+		long start= System.nanoTime();
 		try {
+			ICompilationUnit[][] projects= splitByProject(compilationUnits);
+			if (fParallelism > 1) {
+				ICompilationUnit[][] partitions= splitForParallelism(projects, compilationUnits.length, fParallelism);
+				if (partitions.length > 1) {
+					createASTsConcurrently(partitions, compilationUnits.length, bindingKeys, requestor, monitor);
+					return;
+				}
+			}
 
-			for (ICompilationUnit[] units : splitByProject(compilationUnits)) {
-				if (units.length <= MAX_AT_ONCE) {
-					createParser(units[0].getJavaProject()).createASTs(units, bindingKeys, requestor, Progress.subMonitor(monitor, units.length));
-				} else {
-					List<ICompilationUnit> list= Arrays.asList(units);
-					int end= 0;
-					int cursor= 0;
-					while (cursor < units.length) {
-						end= Math.min(end + MAX_AT_ONCE, units.length);
-						List<ICompilationUnit> toParse= list.subList(cursor, end);
-
-						createParser(units[0].getJavaProject()).createASTs(toParse.toArray(new ICompilationUnit[toParse.size()]), bindingKeys, requestor,
-							Progress.subMonitor(monitor, toParse.size()));
-						cursor= end;
+			for (ICompilationUnit[] units : projects) {
+				createASTsInBatches(units, bindingKeys, requestor, monitor, 1, fAdaptive);
+			}
+		} finally {
+			fStatistics.wallClockDone(System.nanoTime() - start);
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Parses each partition in a worker thread. Progress is reported and cancellation is checked by
+	 * the calling thread, which reports one tick per compilation unit in total, independent of the
+	 * sizes of the subsets parsed by the workers.
+	 */
+	private void createASTsConcurrently(ICompilationUnit[][] partitions, int unitCount, String[] bindingKeys, ASTRequestor requestor, IProgressMonitor monitor) {
+		int threads= Math.min(fParallelism, partitions.length);
+		WorkerProgressMonitor workerMonitor= new WorkerProgressMonitor();
+		ExecutorService executor= Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread= new Thread(runnable, "AST Batch Parser"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<?>> futures= new ArrayList<>(partitions.length);
+			for (ICompilationUnit[] units : partitions) {
+				futures.add(executor.submit(() -> createASTsInBatches(units, bindingKeys, requestor, workerMonitor, threads, fAdaptive)));
+			}
+
+			int reported= 0;
+			for (Future<?> future : futures) {
+				while (true) {
+					try {
+						future.get(100, TimeUnit.MILLISECONDS);
+						break;
+					} catch (TimeoutException e) {
+						if (monitor.isCanceled())
+							workerMonitor.setCanceled(true);
 					}
+					int worked= workerMonitor.getWorked();
+					monitor.worked(worked - reported);
+					reported= worked;
 				}
 			}
+			monitor.worked(unitCount - reported);
+		} catch (ExecutionException e) {
+			workerMonitor.setCanceled(true);
+			Throwable cause= e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		} catch (InterruptedException e) {
+			workerMonitor.setCanceled(true);
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
 		} finally {
-			monitor.done();
+			executor.shutdownNow();
+		}
+		if (monitor.isCanceled())
+			throw new OperationCanceledException();
+	}
+
+	/**
+	 * Parses the compilation units of one project in subsets.
+	 *
+	 * @param units the compilation units, all from the same project
+	 * @param bindingKeys the binding keys to create bindings for
+	 * @param requestor the AST requestor
+	 * @param monitor the progress monitor
+	 * @param concurrency the number of partitions parsed at the same time
+	 * @param adaptive whether to size the subsets from the observed heap growth and parse time
+	 */
+	private void createASTsInBatches(ICompilationUnit[] units, String[] bindingKeys, ASTRequestor requestor, IProgressMonitor monitor, int concurrency, boolean adaptive) {
+		IJavaProject project= units[0].getJavaProject();
+		int batchSize= Math.max(MIN_AT_ONCE, MAX_AT_ONCE / concurrency);
+		int cursor= 0;
+		while (cursor < units.length) {
+			if (monitor.isCanceled())
+				throw new OperationCanceledException();
+
+			int end= Math.min(cursor + batchSize, units.length);
+			ICompilationUnit[] batch= Arrays.copyOfRange(units, cursor, end);
+
+			long usedBefore= adaptive ? usedMemory() : 0;
+			long start= System.nanoTime();
+			MeasuringRequestor measuringRequestor= adaptive ? new MeasuringRequestor(requestor) : null;
+			createParser(project).createASTs(batch, bindingKeys, adaptive ? measuringRequestor : requestor, Progress.subMonitor(monitor, batch.length));
+			long parseNanos= System.nanoTime() - start;
+			long heapGrowth= adaptive ? measuringRequestor.getPeakUsedMemory() - usedBefore : 0;
+
+			fStatistics.batchDone(batch.length, parseNanos, heapGrowth);
+			if (adaptive)
+				batchSize= computeNextBatchSize(batch.length, parseNanos, heapGrowth, concurrency);
+			cursor= end;
 		}
 	}
 
+	/**
+	 * Computes the size of the next subset from the measurements of the previous one. The size at
+	 * most doubles from one subset to the next.
+	 *
+	 * @param batchSize the size of the previous subset
+	 * @param parseNanos the time it took to parse the previous subset
+	 * @param heapGrowth the observed heap growth while parsing the previous subset; includes
+	 *            allocations of concurrently running parsers and is therefore conservative
+	 * @param concurrency the number of partitions parsed at the same time
+	 * @return the size of the next subset
+	 */
+	private static int computeNextBatchSize(int batchSize, long parseNanos, long heapGrowth, int concurrency) {
+		long size= Math.min(MAX_ADAPTIVE_AT_ONCE, 2L * batchSize);
+		if (heapGrowth > 0) {
+			long heapPerUnit= Math.max(1, heapGrowth / batchSize);
+			long freeMemory= Runtime.getRuntime().maxMemory() - usedMemory();
+			size= Math.min(size, (long) (freeMemory * HEAP_SHARE / concurrency) / heapPerUnit);
+		}
+		if (parseNanos > 0) {
+			long nanosPerUnit= Math.max(1, parseNanos / batchSize);
+			size= Math.min(size, TARGET_BATCH_NANOS / nanosPerUnit);
+		}
+		return (int) Math.max(MIN_AT_ONCE, size);
+	}
+
+	private static long usedMemory() {
+		Runtime runtime= Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
 	/**
 	 * Creates a new parser which can be used to create ASTs
 	 * for compilation units in <code>project</code>
@@ -145,6 +489,24 @@ public class ASTBatchParser {
 		return result;
 	}
 
+	/**
+	 * Splits the compilation units of large projects such that there are about
+	 * <code>parallelism</code> partitions of similar size. Partitions are not made smaller than
+	 * {@link #MIN_AT_ONCE} units.
+	 */
+	private static ICompilationUnit[][] splitForParallelism(ICompilationUnit[][] projects, int unitCount, int parallelism) {
+		int partitionSize= Math.max(MIN_AT_ONCE, (unitCount + parallelism - 1) / parallelism);
+		List<ICompilationUnit[]> result= new ArrayList<>();
+		for (ICompilationUnit[] units : projects) {
+			int partitions= Math.max(1, units.length / partitionSize);
+			int size= (units.length + partitions - 1) / partitions;
+			for (int cursor= 0; cursor < units.length; cursor+= size) {
+				result.add(Arrays.copyOfRange(units, cursor, Math.min(cursor + size, units.length)));
+			}
+		}
+		return result.toArray(new ICompilationUnit[result.size()][]);
+	}
+
 	private static boolean hasOnlyOneProject(ICompilationUnit[] units) {
 		IJavaProject javaProject= units[0].getJavaProject();
 		for (int i= 1; i < units.length; i++) {
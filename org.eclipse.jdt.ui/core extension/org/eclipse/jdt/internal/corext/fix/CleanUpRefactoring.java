@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,12 +13,19 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.fix;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.swt.widgets.Display;
 
@@ -203,6 +210,11 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 	}
 
+	/**
+	 * Reports one tick per compilation unit whose clean ups are all done. If the compilation units
+	 * are parsed concurrently, the units done by the worker threads are only recorded and are
+	 * reported when the parser reports progress from the calling thread.
+	 */
 	private final static class CleanUpRefactoringProgressMonitor extends ProgressMonitorWrapper {
 
 		private double fRealWork;
@@ -210,6 +222,9 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		private final int fSize;
 		private final int fIndex;
 
+		private int fPendingFlushCount;
+		private ICompilationUnit fPendingSource;
+
 		private CleanUpRefactoringProgressMonitor(IProgressMonitor monitor, int ticks, int size, int index) {
 			super(Progress.subMonitor(monitor, ticks));
 			fFlushCount= 0;
@@ -232,6 +247,50 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			fRealWork= 0.0;
 		}
 
+		/**
+		 * Records that a worker thread is done with the given compilation unit.
+		 *
+		 * @param source the compilation unit
+		 * @param flush <code>true</code> if all clean ups are done for the compilation unit
+		 */
+		public synchronized void unitDone(ICompilationUnit source, boolean flush) {
+			fPendingSource= source;
+			if (flush)
+				fPendingFlushCount++;
+		}
+
+		/**
+		 * Called by the concurrent AST batch parser from the calling thread, which reports the
+		 * units recorded by {@link #unitDone(ICompilationUnit, boolean)} instead of the ticks of the
+		 * parser.
+		 */
+		@Override
+		public void worked(int work) {
+			reportUnitsDone();
+		}
+
+		/**
+		 * Reports the units recorded by {@link #unitDone(ICompilationUnit, boolean)}. Must be
+		 * called from the thread that owns the progress monitor.
+		 */
+		public void reportUnitsDone() {
+			reset();
+			ICompilationUnit source;
+			int flushCount;
+			synchronized (this) {
+				source= fPendingSource;
+				flushCount= fPendingFlushCount;
+				fPendingSource= null;
+				fPendingFlushCount= 0;
+			}
+			if (source != null)
+				super.subTask(getSubTaskMessage(source));
+			if (flushCount > 0) {
+				super.internalWorked(flushCount);
+				fFlushCount+= flushCount;
+			}
+		}
+
 		@Override
 		public void done() {}
 
@@ -245,17 +304,29 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 	}
 
+	/**
+	 * Computes the solutions for the accepted ASTs. If <code>acceptAST</code> is called
+	 * concurrently by the worker threads of a parser, only parsing runs in parallel: the fixes are
+	 * still computed for one compilation unit at a time, since clean ups are not thread safe, and
+	 * progress is left to the calling thread.
+	 */
 	private static class CleanUpASTRequestor extends ASTRequestor {
 
-		private final List<ParseListElement> fUndoneElements;
+		private final List<ParseListElement> fParseList;
+		private final Hashtable<ICompilationUnit, ParseListElement> fUndoneElements;
 		private final Hashtable<ICompilationUnit, List<CleanUpChange>> fSolutions;
 		private final Hashtable<ICompilationUnit, ParseListElement> fCompilationUnitParseElementMap;
 		private final CleanUpRefactoringProgressMonitor fMonitor;
+		private final CleanUpTimings fTimings;
+		private final boolean fConcurrent;
 
-		public CleanUpASTRequestor(List<ParseListElement> parseList, Hashtable<ICompilationUnit, List<CleanUpChange>> solutions, CleanUpRefactoringProgressMonitor monitor) {
+		public CleanUpASTRequestor(List<ParseListElement> parseList, Hashtable<ICompilationUnit, List<CleanUpChange>> solutions, CleanUpRefactoringProgressMonitor monitor, CleanUpTimings timings, boolean concurrent) {
+			fParseList= parseList;
 			fSolutions= solutions;
 			fMonitor= monitor;
-			fUndoneElements= new ArrayList<>();
+			fTimings= timings;
+			fConcurrent= concurrent;
+			fUndoneElements= new Hashtable<>();
 			fCompilationUnitParseElementMap= new Hashtable<>(parseList.size());
 			for (ParseListElement element : parseList) {
 				fCompilationUnitParseElementMap.put(element.getTarget().getCompilationUnit(), element);
@@ -264,9 +335,31 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 		@Override
 		public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+			if (fConcurrent) {
+				synchronized (this) {
+					ICleanUp[] rejectedCleanUps= computeSolutions(source, ast);
+					fMonitor.unitDone(source, rejectedCleanUps.length == 0);
+				}
+			} else {
+				accept(source, ast);
+			}
+		}
 
+		public void acceptSource(ICompilationUnit source) {
+			accept(source, null);
+		}
+
+		private void accept(ICompilationUnit source, CompilationUnit ast) {
 			fMonitor.subTask(fMonitor.getSubTaskMessage(source));
+			ICleanUp[] rejectedCleanUps= computeSolutions(source, ast);
+			if (rejectedCleanUps.length > 0) {
+				fMonitor.reset();
+			} else {
+				fMonitor.flush();
+			}
+		}
 
+		private ICleanUp[] computeSolutions(ICompilationUnit source, CompilationUnit ast) {
 			ICompilationUnit primary= (ICompilationUnit)source.getPrimaryElement();
 			ParseListElement element= fCompilationUnitParseElementMap.get(primary);
 			CleanUpTarget target= element.getTarget();
@@ -279,27 +372,30 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			}
 			ICleanUp[] rejectedCleanUps= calculateSolutions(context, element.getCleanUps());
 
-			if (rejectedCleanUps.length > 0) {
-				fUndoneElements.add(new ParseListElement(target, rejectedCleanUps));
-				fMonitor.reset();
-			} else {
-				fMonitor.flush();
-			}
-		}
-
-		public void acceptSource(ICompilationUnit source) {
-			acceptAST(source, null);
+			if (rejectedCleanUps.length > 0)
+				fUndoneElements.put(primary, new ParseListElement(target, rejectedCleanUps));
+			return rejectedCleanUps;
 		}
 
+		/**
+		 * @return the elements with clean ups left for the next iteration, in the order of the
+		 *         parse list
+		 */
 		public List<ParseListElement> getUndoneElements() {
-			return fUndoneElements;
+			List<ParseListElement> result= new ArrayList<>(fUndoneElements.size());
+			for (ParseListElement element : fParseList) {
+				ParseListElement undone= fUndoneElements.get(element.getTarget().getCompilationUnit());
+				if (undone != null)
+					result.add(undone);
+			}
+			return result;
 		}
 
 		private ICleanUp[] calculateSolutions(CleanUpContext context, ICleanUp[] cleanUps) {
 			List<ICleanUp>result= new ArrayList<>();
 			CleanUpChange solution;
 			try {
-				solution= calculateChange(context, cleanUps, result, null);
+				solution= calculateChange(context, cleanUps, result, null, fTimings);
 			} catch (CoreException e) {
 				throw new FixCalculationException(e);
 			}
@@ -314,17 +410,20 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		private void integrateSolution(CleanUpChange solution, ICompilationUnit source) {
 			ICompilationUnit primary= source.getPrimary();
 
-			List<CleanUpChange> changes= fSolutions.get(primary);
-			if (changes == null) {
-				changes= new ArrayList<>();
-				fSolutions.put(primary, changes);
+			synchronized (fSolutions) {
+				List<CleanUpChange> changes= fSolutions.get(primary);
+				if (changes == null) {
+					changes= new ArrayList<>();
+					fSolutions.put(primary, changes);
+				}
+				changes.add(solution);
 			}
-			changes.add(solution);
 		}
 	}
 
 	private class CleanUpFixpointIterator {
 
+		private final CleanUpTarget[] fTargets;
 		private List<ParseListElement> fParseList;
 		private final Hashtable<ICompilationUnit, List<CleanUpChange>> fSolutions;
 		private final Hashtable<ICompilationUnit, ICompilationUnit> fWorkingCopies; // map from primary to working copy
@@ -333,6 +432,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		private int fIndex;
 
 		public CleanUpFixpointIterator(CleanUpTarget[] targets, ICleanUp[] cleanUps) {
+			fTargets= targets;
 			fSolutions= new Hashtable<>(targets.length);
 			fWorkingCopies= new Hashtable<>();
 
@@ -381,7 +481,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 				}
 
 				CleanUpRefactoringProgressMonitor cuMonitor= new CleanUpRefactoringProgressMonitor(monitor, parseList.size() + sourceList.size(), fSize, fIndex);
-				CleanUpASTRequestor requestor= new CleanUpASTRequestor(fParseList, fSolutions, cuMonitor);
+				CleanUpASTRequestor requestor= new CleanUpASTRequestor(fParseList, fSolutions, cuMonitor, fTimings, fParallelism > 1);
 				if (parseList.size() > 0) {
 					ASTBatchParser parser= new ASTBatchParser() {
 						@Override
@@ -395,9 +495,14 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 							return result;
 						}
 					};
+					if (fParallelism > 1) {
+						parser.setParallelism(fParallelism);
+						parser.setAdaptiveBatchSize(true);
+					}
 					try {
 						ICompilationUnit[] units= parseList.toArray(new ICompilationUnit[parseList.size()]);
 						parser.createASTs(units, new String[0], requestor, cuMonitor);
+						cuMonitor.reportUnitsDone();
 					} catch (FixCalculationException e) {
 						throw e.getException();
 					}
@@ -438,13 +543,18 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			return false;
 		}
 
+		/**
+		 * @return the changes in the order of the clean up targets
+		 */
 		public Change[] getResult() {
 
-			Change[] result= new Change[fSolutions.size()];
-			int i=0;
-			for (Entry<ICompilationUnit, List<CleanUpChange>> entry : fSolutions.entrySet()) {
-				List<CleanUpChange> changes= entry.getValue();
-				ICompilationUnit unit= entry.getKey();
+			List<Change> result= new ArrayList<>(fSolutions.size());
+			HashSet<ICompilationUnit> processed= new HashSet<>();
+			for (CleanUpTarget target : fTargets) {
+				ICompilationUnit unit= target.getCompilationUnit().getPrimary();
+				List<CleanUpChange> changes= fSolutions.get(unit);
+				if (changes == null || !processed.add(unit))
+					continue;
 
 				int saveMode;
 				if (fLeaveFilesDirty) {
@@ -456,20 +566,18 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 				if (changes.size() == 1) {
 					CleanUpChange change= changes.get(0);
 					change.setSaveMode(saveMode);
-					result[i]= change;
+					result.add(change);
 				} else {
 					MultiStateCompilationUnitChange mscuc= new MultiStateCompilationUnitChange(getChangeName(unit), unit);
 					for (CleanUpChange change : changes) {
 						mscuc.addChange(createGroupFreeChange(change));
 					}
 					mscuc.setSaveMode(saveMode);
-					result[i]= mscuc;
+					result.add(mscuc);
 				}
-
-				i++;
 			}
 
-			return result;
+			return result.toArray(new Change[result.size()]);
 		}
 
 		private TextChange createGroupFreeChange(CleanUpChange change) {
@@ -480,6 +588,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
         }
 
 		private void applyChange(ICompilationUnit compilationUnit, List<CleanUpChange> changes) throws JavaModelException, CoreException {
+			long timeBefore= System.nanoTime();
 			IDocument document= new Document(changes.get(0).getCurrentContent(new NullProgressMonitor()));
 			for (CleanUpChange change : changes) {
 				TextEdit edit= change.getEdit().copy();
@@ -491,6 +600,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 				}
 			}
 			compilationUnit.getBuffer().setContents(document.get());
+			fTimings.phaseDone(null, compilationUnit, CleanUpTimings.Phase.APPLY_EDITS, System.nanoTime() - timeBefore);
 		}
 	}
 
@@ -502,6 +612,19 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	 */
 	private static final int SLOW_CLEAN_UP_THRESHOLD= 2000;
 
+	/**
+	 * Default number of threads parsing compilation units concurrently, can be set with the
+	 * <code>jdt.cleanup.parallelism</code> system property for headless clean ups.
+	 */
+	private static final int DEFAULT_PARALLELISM= Integer.getInteger("jdt.cleanup.parallelism", 1).intValue(); //$NON-NLS-1$
+
+	/**
+	 * If set, the <code>jdt.cleanup.profile</code> system property names a file to which the timings
+	 * of each clean up run are written, including the timings per compilation unit. See
+	 * {@link CleanUpTimings#writeReport(java.io.Writer)} for the format.
+	 */
+	private static final String PROFILE_FILE= System.getProperty("jdt.cleanup.profile"); //$NON-NLS-1$
+
 	private final List<ICleanUp> fCleanUps;
 	private final Hashtable<IJavaProject, List<CleanUpTarget>> fProjects;
 	private Change fChange;
@@ -510,6 +633,9 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 	private boolean fUseOptionsFromProfile;
 
+	private int fParallelism;
+	private final CleanUpTimings fTimings;
+
 	public CleanUpRefactoring() {
 		this(FixMessages.CleanUpRefactoring_Refactoring_name);
 	}
@@ -519,6 +645,33 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		fCleanUps= new ArrayList<>();
 		fProjects= new Hashtable<>();
 		fUseOptionsFromProfile= false;
+		fParallelism= DEFAULT_PARALLELISM;
+		fTimings= new CleanUpTimings();
+		fTimings.setRecordUnits(PROFILE_FILE != null);
+	}
+
+	/**
+	 * Sets the number of threads that parse compilation units concurrently. If greater than 1, the
+	 * compilation units are parsed in partitions by separate parsers. The fixes are computed in the
+	 * threads of the parsers, but for one compilation unit at a time, since clean ups are not
+	 * required to be thread safe. Separate clean up instances per thread are not an option either:
+	 * the state set up by <code>checkPreConditions</code> is not always kept in the instance, see
+	 * for example <code>PotentialProgrammingProblemsFixCore.checkPreConditions</code>. The result
+	 * does not depend on the number of threads.
+	 *
+	 * @param parallelism the number of threads, 1 to parse all compilation units in the calling
+	 *            thread
+	 */
+	public void setParallelism(int parallelism) {
+		fParallelism= Math.max(1, parallelism);
+	}
+
+	/**
+	 * @return the time spent in the clean ups of the last run of this refactoring, per clean up and
+	 *         phase
+	 */
+	public CleanUpTimings getTimings() {
+		return fTimings;
 	}
 
 	public void setUseOptionsFromProfile(boolean enabled) {
@@ -610,6 +763,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		if (pm == null)
 			pm= new NullProgressMonitor();
 
+		fTimings.reset();
 		if (fProjects.isEmpty() || fCleanUps.isEmpty()) {
 			pm.beginTask("", 1); //$NON-NLS-1$
 			pm.worked(1);
@@ -655,11 +809,23 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			result.merge(Checks.validateModifiesFiles(files.toArray(new IFile[files.size()]), getValidationContext(), pm));
 		} finally {
 			pm.done();
+			if (JavaPlugin.DEBUG_CLEAN_UP)
+				System.out.println("Clean up timings:\n" + fTimings); //$NON-NLS-1$
+			if (PROFILE_FILE != null)
+				writeProfile(new File(PROFILE_FILE));
 		}
 
 		return result;
 	}
 
+	private void writeProfile(File file) {
+		try (Writer writer= new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+			fTimings.writeReport(writer);
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+		}
+	}
+
 	private void findFilesToBeModified(CompositeChange change, List<IResource> result) throws JavaModelException {
 		for (Change child : change.getChildren()) {
 			if (child instanceof CompositeChange) {
@@ -681,6 +847,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		try {
 			while (iter.hasNext()) {
 				iter.next(subMonitor);
+				fTimings.iterationDone();
 			}
 
 			return iter.getResult();
@@ -756,6 +923,10 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	}
 
 	public static CleanUpChange calculateChange(CleanUpContext context, ICleanUp[] cleanUps, List<ICleanUp> undoneCleanUps, HashSet<ICleanUp> slowCleanUps) throws CoreException {
+		return calculateChange(context, cleanUps, undoneCleanUps, slowCleanUps, null);
+	}
+
+	public static CleanUpChange calculateChange(CleanUpContext context, ICleanUp[] cleanUps, List<ICleanUp> undoneCleanUps, HashSet<ICleanUp> slowCleanUps, CleanUpTimings timings) throws CoreException {
 		if (cleanUps.length == 0)
 			return null;
 
@@ -764,19 +935,27 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		do {
 			ICleanUp cleanUp= cleanUps[i];
 			ICleanUpFix fix;
-			if (slowCleanUps != null) {
-				long timeBefore= System.currentTimeMillis();
+			if (slowCleanUps != null || timings != null) {
+				long timeBefore= System.nanoTime();
 				fix= cleanUp.createFix(context);
-				if (System.currentTimeMillis() - timeBefore > SLOW_CLEAN_UP_THRESHOLD)
+				long time= System.nanoTime() - timeBefore;
+				if (slowCleanUps != null && TimeUnit.NANOSECONDS.toMillis(time) > SLOW_CLEAN_UP_THRESHOLD)
 					slowCleanUps.add(cleanUp);
+				if (timings != null)
+					timings.phaseDone(cleanUp, context.getCompilationUnit(), CleanUpTimings.Phase.CREATE_FIX, time);
 			} else {
 				fix= cleanUp.createFix(context);
 			}
 			if (fix != null) {
+				long timeBefore= timings != null ? System.nanoTime() : 0;
 				CompilationUnitChange current= fix.createChange(null);
 				TextEdit currentEdit= current.getEdit();
+				if (timings != null)
+					timings.phaseDone(cleanUp, context.getCompilationUnit(), CleanUpTimings.Phase.CREATE_CHANGE, System.nanoTime() - timeBefore);
 
 				if (solution != null) {
+					if (timings != null)
+						timeBefore= System.nanoTime();
 					if (TextEditUtil.overlaps(currentEdit, solution.getEdit())) {
 						undoneCleanUps.add(cleanUp);
 					} else {
@@ -788,6 +967,8 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 						solution= merge;
 					}
+					if (timings != null)
+						timings.phaseDone(cleanUp, context.getCompilationUnit(), CleanUpTimings.Phase.MERGE_EDITS, System.nanoTime() - timeBefore);
 				} else {
 					solution= new CleanUpChange(current.getName(), context.getCompilationUnit());
 					solution.setEdit(currentEdit);
@@ -0,0 +1,274 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.fix;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+
+/**
+ * Records where the time of a clean up run is spent: per clean up and phase, optionally also per
+ * compilation unit, and the number of fix point iterations. All methods are thread safe.
+ */
+public class CleanUpTimings {
+
+	/**
+	 * The measured phases of a clean up run.
+	 */
+	public enum Phase {
+		/**
+		 * {@link ICleanUp#createFix(org.eclipse.jdt.ui.cleanup.CleanUpContext)}
+		 */
+		CREATE_FIX("createFix"), //$NON-NLS-1$
+		/**
+		 * {@link org.eclipse.jdt.ui.cleanup.ICleanUpFix#createChange(org.eclipse.core.runtime.IProgressMonitor)},
+		 * i.e. rewriting the AST into text edits
+		 */
+		CREATE_CHANGE("createChange"), //$NON-NLS-1$
+		/**
+		 * Merging the text edits of a clean up with the edits of the previous clean ups
+		 */
+		MERGE_EDITS("mergeEdits"), //$NON-NLS-1$
+		/**
+		 * Applying the edits of the previous fix point iterations before a compilation unit is
+		 * processed again; not attributed to a single clean up
+		 */
+		APPLY_EDITS("applyEdits"); //$NON-NLS-1$
+
+		private final String fId;
+
+		Phase(String id) {
+			fId= id;
+		}
+
+		/**
+		 * @return the identifier used in the report
+		 */
+		public String getId() {
+			return fId;
+		}
+	}
+
+	private static final class Timing {
+		long fNanos;
+		int fCount;
+
+		void add(long nanos) {
+			fNanos+= nanos;
+			fCount++;
+		}
+	}
+
+	private static final class Key {
+		final ICleanUp fCleanUp;
+		final ICompilationUnit fUnit;
+		final Phase fPhase;
+
+		Key(ICleanUp cleanUp, ICompilationUnit unit, Phase phase) {
+			fCleanUp= cleanUp;
+			fUnit= unit;
+			fPhase= phase;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(fCleanUp) * 31 * 31 + (fUnit == null ? 0 : fUnit.hashCode()) * 31 + fPhase.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other= (Key) obj;
+			return fCleanUp == other.fCleanUp && fPhase == other.fPhase && (fUnit == null ? other.fUnit == null : fUnit.equals(other.fUnit));
+		}
+	}
+
+	private final Map<Key, Timing> fTimings= new LinkedHashMap<>();
+	private final Map<Key, Timing> fUnitTimings= new LinkedHashMap<>();
+	private boolean fRecordUnits;
+	private int fIterations;
+
+	/**
+	 * Enables recording per compilation unit in addition to the totals per clean up. Disabled by
+	 * default since the number of records grows with the number of compilation units.
+	 *
+	 * @param recordUnits <code>true</code> to record per compilation unit
+	 */
+	public synchronized void setRecordUnits(boolean recordUnits) {
+		fRecordUnits= recordUnits;
+	}
+
+	/**
+	 * Removes the recorded times and the number of iterations, e.g. before a new clean up run.
+	 */
+	public synchronized void reset() {
+		fTimings.clear();
+		fUnitTimings.clear();
+		fIterations= 0;
+	}
+
+	/**
+	 * Records the time spent in a phase.
+	 *
+	 * @param cleanUp the clean up or <code>null</code> if the phase is not attributed to a clean up
+	 * @param unit the compilation unit
+	 * @param phase the phase
+	 * @param nanos the time the phase took in nanoseconds
+	 */
+	public synchronized void phaseDone(ICleanUp cleanUp, ICompilationUnit unit, Phase phase, long nanos) {
+		fTimings.computeIfAbsent(new Key(cleanUp, null, phase), k -> new Timing()).add(nanos);
+		if (fRecordUnits && unit != null)
+			fUnitTimings.computeIfAbsent(new Key(cleanUp, unit.getPrimary(), phase), k -> new Timing()).add(nanos);
+	}
+
+	/**
+	 * Records that a fix point iteration has been completed.
+	 */
+	public synchronized void iterationDone() {
+		fIterations++;
+	}
+
+	/**
+	 * @return the number of completed fix point iterations, summed up over all projects
+	 */
+	public synchronized int getIterationCount() {
+		return fIterations;
+	}
+
+	/**
+	 * @return the clean ups for which a time was recorded, the most expensive first
+	 */
+	public synchronized ICleanUp[] getCleanUps() {
+		Map<ICleanUp, Long> totals= new LinkedHashMap<>();
+		for (Map.Entry<Key, Timing> entry : fTimings.entrySet()) {
+			ICleanUp cleanUp= entry.getKey().fCleanUp;
+			if (cleanUp != null)
+				totals.merge(cleanUp, Long.valueOf(entry.getValue().fNanos), Long::sum);
+		}
+		List<Map.Entry<ICleanUp, Long>> entries= new ArrayList<>(totals.entrySet());
+		entries.sort((e1, e2) -> e2.getValue().compareTo(e1.getValue()));
+		ICleanUp[] result= new ICleanUp[entries.size()];
+		for (int i= 0; i < result.length; i++) {
+			result[i]= entries.get(i).getKey();
+		}
+		return result;
+	}
+
+	/**
+	 * @param cleanUp the clean up or <code>null</code> for phases not attributed to a clean up
+	 * @param phase the phase
+	 * @return the accumulated time spent in the given phase in milliseconds
+	 */
+	public synchronized long getMillis(ICleanUp cleanUp, Phase phase) {
+		Timing timing= fTimings.get(new Key(cleanUp, null, phase));
+		return timing == null ? 0 : TimeUnit.NANOSECONDS.toMillis(timing.fNanos);
+	}
+
+	/**
+	 * @param cleanUp the clean up or <code>null</code> for phases not attributed to a clean up
+	 * @param phase the phase
+	 * @return the number of times the given phase has been recorded
+	 */
+	public synchronized int getCount(ICleanUp cleanUp, Phase phase) {
+		Timing timing= fTimings.get(new Key(cleanUp, null, phase));
+		return timing == null ? 0 : timing.fCount;
+	}
+
+	/**
+	 * @param cleanUp the clean up
+	 * @return the accumulated time spent in <code>createFix</code> of the given clean up in
+	 *         milliseconds
+	 */
+	public long getCreateFixMillis(ICleanUp cleanUp) {
+		return getMillis(cleanUp, Phase.CREATE_FIX);
+	}
+
+	/**
+	 * @param cleanUp the clean up
+	 * @return the number of calls to <code>createFix</code> of the given clean up
+	 */
+	public int getCreateFixCount(ICleanUp cleanUp) {
+		return getCount(cleanUp, Phase.CREATE_FIX);
+	}
+
+	/**
+	 * Writes the recorded timings as comma separated values with the header
+	 * <code>record,cleanUp,compilationUnit,phase,count,nanos</code>. <code>record</code> is
+	 * <code>total</code> for the totals per clean up and phase, <code>unit</code> for the values
+	 * per compilation unit and <code>iterations</code> for the number of fix point iterations (in
+	 * the <code>count</code> column).
+	 *
+	 * @param writer the writer to write to
+	 * @throws IOException if writing fails
+	 */
+	public synchronized void writeReport(Writer writer) throws IOException {
+		writer.write("record,cleanUp,compilationUnit,phase,count,nanos\n"); //$NON-NLS-1$
+		writer.write("iterations,,,," + fIterations + ",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		writeRecords(writer, "total", fTimings); //$NON-NLS-1$
+		writeRecords(writer, "unit", fUnitTimings); //$NON-NLS-1$
+		writer.flush();
+	}
+
+	private static void writeRecords(Writer writer, String record, Map<Key, Timing> timings) throws IOException {
+		for (Map.Entry<Key, Timing> entry : timings.entrySet()) {
+			Key key= entry.getKey();
+			Timing timing= entry.getValue();
+			writer.write(record);
+			writer.write(',');
+			writer.write(key.fCleanUp == null ? "" : key.fCleanUp.getClass().getName()); //$NON-NLS-1$
+			writer.write(',');
+			writer.write(key.fUnit == null ? "" : quote(key.fUnit.getPath().toString())); //$NON-NLS-1$
+			writer.write(',');
+			writer.write(key.fPhase.getId());
+			writer.write(',');
+			writer.write(String.valueOf(timing.fCount));
+			writer.write(',');
+			writer.write(String.valueOf(timing.fNanos));
+			writer.write('\n');
+		}
+	}
+
+	private static String quote(String value) {
+		if (value.indexOf(',') == -1 && value.indexOf('"') == -1)
+			return value;
+		return '"' + value.replace("\"", "\"\"") + '"'; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder buf= new StringBuilder();
+		buf.append("iterations: ").append(fIterations).append('\n'); //$NON-NLS-1$
+		for (ICleanUp cleanUp : getCleanUps()) {
+			buf.append(cleanUp.getClass().getName()).append(':');
+			for (Phase phase : Phase.values()) {
+				if (getCount(cleanUp, phase) > 0) {
+					buf.append(' ').append(phase.getId()).append('=').append(getMillis(cleanUp, phase)).append(" ms"); //$NON-NLS-1$
+				}
+			}
+			buf.append(" (").append(getCreateFixCount(cleanUp)).append(" calls)\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if (getCount(null, Phase.APPLY_EDITS) > 0)
+			buf.append(Phase.APPLY_EDITS.getId()).append(": ").append(getMillis(null, Phase.APPLY_EDITS)).append(" ms\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		return buf.toString();
+	}
+}
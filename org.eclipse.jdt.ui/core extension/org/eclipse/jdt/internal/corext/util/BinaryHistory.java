@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * A history that is stored in a compact binary file. Every change is appended to the file as it
+ * happens, the file is rewritten with just the current entries when the history is saved or the
+ * number of appended records gets too large. The xml file of the history is only read if the binary
+ * file does not exist yet.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @since 3.33
+ */
+public abstract class BinaryHistory<K, V> extends History<K, V> {
+
+	private static final int BINARY_MAGIC= 0x4a484953; // "JHIS"
+	private static final byte BINARY_VERSION= 1;
+	private static final byte RECORD_ACCESSED= 1;
+	private static final byte RECORD_REMOVED= 2;
+	/**
+	 * Number of records after which the binary file is rewritten with the current entries.
+	 */
+	private static final int MAX_BINARY_RECORDS= 4 * MAX_HISTORY_SIZE;
+
+	private final String fBinaryFileName;
+	/**
+	 * Number of records in the binary file, or <code>-1</code> if the file needs to be rewritten
+	 * before records can be appended.
+	 */
+	private int fBinaryRecords= -1;
+
+	/**
+	 * @param fileName the name of the xml file the history has been stored to before
+	 * @param binaryFileName the name of the binary file in the state location
+	 * @param rootNodeName the name of the root node of the xml file
+	 * @param infoNodeName the name of the entry nodes of the xml file
+	 */
+	public BinaryHistory(String fileName, String binaryFileName, String rootNodeName, String infoNodeName) {
+		super(fileName, rootNodeName, infoNodeName);
+		fBinaryFileName= binaryFileName;
+	}
+
+	/**
+	 * @param fileName the name of the xml file the history has been stored to before
+	 * @param binaryFileName the name of the binary file in the state location
+	 */
+	public BinaryHistory(String fileName, String binaryFileName) {
+		super(fileName);
+		fBinaryFileName= binaryFileName;
+	}
+
+	/**
+	 * Writes the given value to the binary file.
+	 *
+	 * @param value the value to write
+	 * @param out the output to write to
+	 * @throws IOException if writing fails
+	 */
+	protected abstract void writeValue(V value, DataOutput out) throws IOException;
+
+	/**
+	 * Reads a value that has been written with {@link #writeValue(Object, DataOutput)}.
+	 *
+	 * @param in the input to read from
+	 * @return the value or <code>null</code> if the value is no longer valid
+	 * @throws IOException if reading fails
+	 */
+	protected abstract V readValue(DataInput in) throws IOException;
+
+	@Override
+	public synchronized void accessed(V object) {
+		super.accessed(object);
+		appendRecord(RECORD_ACCESSED, object);
+	}
+
+	@Override
+	public synchronized V remove(V object) {
+		V removed= super.remove(object);
+		if (removed != null)
+			appendRecord(RECORD_REMOVED, removed);
+		return removed;
+	}
+
+	@Override
+	public synchronized V removeKey(Object key) {
+		V removed= super.removeKey(key);
+		if (removed != null)
+			appendRecord(RECORD_REMOVED, removed);
+		return removed;
+	}
+
+	@Override
+	public synchronized void load() {
+		File file= getBinaryFile();
+		if (file.exists() && loadBinary(file))
+			return;
+		super.load();
+		saveBinary(file);
+	}
+
+	@Override
+	public synchronized void save() {
+		saveBinary(getBinaryFile());
+	}
+
+	private File getBinaryFile() {
+		return JavaPlugin.getDefault().getStateLocation().append(fBinaryFileName).toFile();
+	}
+
+	private boolean loadBinary(File file) {
+		// the eldest entries are dropped by setValues(), evicting them while replaying doesn't change the result
+		Map<K, V> values= new LinkedHashMap<>(80, 0.75f, true);
+		int records= 0;
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != BINARY_MAGIC || in.readByte() != BINARY_VERSION)
+				return false;
+			int kind;
+			while ((kind= in.read()) != -1) {
+				V value= readValue(in);
+				records++;
+				if (value == null)
+					continue;
+				switch (kind) {
+					case RECORD_ACCESSED:
+						values.put(getKey(value), value);
+						break;
+					case RECORD_REMOVED:
+						values.remove(getKey(value));
+						break;
+					default:
+						return false;
+				}
+			}
+			fBinaryRecords= records;
+		} catch (EOFException e) {
+			// last record has not been written completely, rewrite the file on the next change
+			fBinaryRecords= -1;
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+			return false;
+		}
+		setValues(values.values());
+		return true;
+	}
+
+	private void saveBinary(File file) {
+		File tempFile= new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+				out.writeInt(BINARY_MAGIC);
+				out.writeByte(BINARY_VERSION);
+				for (V value : getValues()) {
+					out.writeByte(RECORD_ACCESSED);
+					writeValue(value, out);
+				}
+			}
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			fBinaryRecords= getValues().size();
+		} catch (IOException e) {
+			fBinaryRecords= -1;
+			JavaPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Appends a change to the binary file.
+	 *
+	 * @param kind the kind of the record
+	 * @param value the value that has been accessed or removed
+	 */
+	private void appendRecord(byte kind, V value) {
+		File file= getBinaryFile();
+		if (fBinaryRecords < 0 || fBinaryRecords >= MAX_BINARY_RECORDS || !file.exists()) {
+			saveBinary(file);
+			return;
+		}
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))) {
+			out.writeByte(kind);
+			writeValue(value, out);
+			fBinaryRecords++;
+		} catch (IOException e) {
+			fBinaryRecords= -1;
+			JavaPlugin.log(e);
+		}
+	}
+}
@@ -62,7 +62,8 @@ import org.eclipse.jdt.internal.ui.util.XmlProcessorFactoryJdtUi;
  * MAX_HISTORY_SIZE. If the list exceeds this size the eldest element is removed
  * from the list. An element can be added/renewed with a call to <code>accessed(Object)</code>.
  *
- * The history can be stored to/loaded from an xml file.
+ * The history can be stored to/loaded from an xml file. {@link BinaryHistory} stores it in a
+ * compact binary file instead.
  *
  * @param <K> key type
  * @param <V> value type
@@ -71,7 +72,7 @@ public abstract class History<K, V> {
 
 	private static final String DEFAULT_ROOT_NODE_NAME= "histroyRootNode"; //$NON-NLS-1$
 	private static final String DEFAULT_INFO_NODE_NAME= "infoNode"; //$NON-NLS-1$
-	private static final int MAX_HISTORY_SIZE= 60;
+	static final int MAX_HISTORY_SIZE= 60;
 
 	private static JavaUIException createException(Throwable t, String message) {
 		return new JavaUIException(JavaUIStatus.createError(IStatus.ERROR, message, t));
@@ -118,14 +119,14 @@ public abstract class History<K, V> {
 		return fHistory.isEmpty();
 	}
 
-	public synchronized Object remove(V object) {
-		Object removed= fHistory.remove(getKey(object));
+	public synchronized V remove(V object) {
+		V removed= fHistory.remove(getKey(object));
 		rebuildPositions();
 		return removed;
 	}
 
-	public synchronized Object removeKey(Object key) {
-		Object removed= fHistory.remove(key);
+	public synchronized V removeKey(Object key) {
+		V removed= fHistory.remove(key);
 		rebuildPositions();
 		return removed;
 	}
@@ -220,6 +221,19 @@ public abstract class History<K, V> {
 	 */
 	protected abstract K getKey(V object);
 
+	/**
+	 * Replaces the entries of the history, used by subclasses that store the history in a different
+	 * format.
+	 *
+	 * @param values the values, from the eldest to the newest one
+	 */
+	synchronized void setValues(Collection<V> values) {
+		fHistory.clear();
+		for (V value : values)
+			fHistory.put(getKey(value), value);
+		rebuildPositions();
+	}
+
 	private void rebuildPositions() {
 		fPositions.clear();
 		int pos=0;
@@ -13,6 +13,9 @@
  *******************************************************************************/
  package org.eclipse.jdt.internal.corext.util;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -20,6 +23,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.w3c.dom.Element;
 
@@ -56,8 +61,12 @@ import org.eclipse.jdt.internal.corext.CorextMessages;
 
 /**
  * History for the open type dialog. Object and keys are both {@link TypeNameMatch}s.
+ * <p>
+ * Entries can be checked one by one with {@link #isConsistent(TypeNameMatch)}, so that clients only
+ * pay for the entries they are about to show instead of a full {@link #checkConsistency(IProgressMonitor)}.
+ * </p>
  */
-public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
+public class OpenTypeHistory extends BinaryHistory<TypeNameMatch, TypeNameMatch> {
 
 	private static class TypeHistoryDeltaListener implements IElementChangedListener {
 		@Override
@@ -169,11 +178,15 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	private volatile boolean fNeedsConsistencyCheck;
 	// Map of cached time stamps
 	private Map<TypeNameMatch, Long> fTimestampMapping;
+	// Entries that have been checked since the history has been marked as inconsistent.
+	// Needs to be concurrent since markAsInconsistent isn't synchronized.
+	private final Set<TypeNameMatch> fCheckedTypes= ConcurrentHashMap.newKeySet();
 
 	private final IElementChangedListener fDeltaListener;
 	private final UpdateJob fUpdateJob;
 
 	private static final String FILENAME= "OpenTypeHistory.xml"; //$NON-NLS-1$
+	private static final String BINARY_FILENAME= "OpenTypeHistory.bin"; //$NON-NLS-1$
 	private static final String NODE_ROOT= "typeInfoHistroy"; //$NON-NLS-1$
 	private static final String NODE_TYPE_INFO= "typeInfo"; //$NON-NLS-1$
 	private static final String NODE_HANDLE= "handle"; //$NON-NLS-1$
@@ -195,7 +208,7 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	}
 
 	private OpenTypeHistory() {
-		super(FILENAME, NODE_ROOT, NODE_TYPE_INFO);
+		super(FILENAME, BINARY_FILENAME, NODE_ROOT, NODE_TYPE_INFO);
 		fTimestampMapping= new HashMap<>();
 		fNeedsConsistencyCheck= true;
 		load();
@@ -212,6 +225,7 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 
 	public void markAsInconsistent() {
 		fNeedsConsistencyCheck= true;
+		fCheckedTypes.clear();
 		// cancel the old job. If no job is running this is a NOOP.
 		fUpdateJob.cancel();
 		fUpdateJob.schedule();
@@ -237,6 +251,23 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		internalCheckConsistency(monitor);
 	}
 
+	/**
+	 * Checks whether the given entry still denotes an existing type. Entries whose type doesn't
+	 * exist anymore are removed from the history, entries whose modifiers have changed are
+	 * replaced. An entry is only checked again after the history has been marked as inconsistent.
+	 *
+	 * @param type the entry to check
+	 * @return <code>true</code> if the type still exists
+	 */
+	public synchronized boolean isConsistent(TypeNameMatch type) {
+		if (!fNeedsConsistencyCheck || fCheckedTypes.contains(type))
+			return true;
+		boolean consistent= checkEntry(type);
+		if (consistent)
+			fCheckedTypes.add(type);
+		return consistent;
+	}
+
 	@Override
 	public synchronized boolean contains(TypeNameMatch type) {
 		return super.contains(type);
@@ -255,7 +286,7 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	@Override
 	public synchronized TypeNameMatch remove(TypeNameMatch info) {
 		fTimestampMapping.remove(info);
-		return (TypeNameMatch)super.remove(info);
+		return super.remove(info);
 	}
 
 	public synchronized void replace(TypeNameMatch old, TypeNameMatch newMatch) {
@@ -301,26 +332,8 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		monitor.beginTask(CorextMessages.TypeInfoHistory_consistency_check, typesToCheck.size());
 		monitor.setTaskName(CorextMessages.TypeInfoHistory_consistency_check);
 		for (TypeNameMatch type : typesToCheck) {
-			long currentTimestamp= getContainerTimestamp(type);
-			Long lastTested= fTimestampMapping.get(type);
-			if (lastTested != null && currentTimestamp != IResource.NULL_STAMP && currentTimestamp == lastTested.longValue() && !isContainerDirty(type))
-				continue;
-			try {
-				IType jType= type.getType();
-				if (jType == null || !jType.exists()) {
-					remove(type);
-				} else {
-					// copy over the modifiers since they may have changed
-					int modifiers= jType.getFlags();
-					if (modifiers != type.getModifiers()) {
-						replace(type, SearchEngine.createTypeNameMatch(jType, modifiers));
-					} else {
-						fTimestampMapping.put(type, currentTimestamp);
-					}
-				}
-			} catch (JavaModelException e) {
-				remove(type);
-			}
+			if (!fCheckedTypes.contains(type))
+				checkEntry(type);
 			if (monitor.isCanceled())
 				throw new OperationCanceledException();
 			monitor.worked(1);
@@ -329,6 +342,38 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		fNeedsConsistencyCheck= false;
 	}
 
+	/**
+	 * Checks a single entry, removes it if its type doesn't exist anymore and replaces it if its
+	 * modifiers have changed.
+	 *
+	 * @param type the entry to check
+	 * @return <code>false</code> if the entry has been removed
+	 */
+	private boolean checkEntry(TypeNameMatch type) {
+		long currentTimestamp= getContainerTimestamp(type);
+		Long lastTested= fTimestampMapping.get(type);
+		if (lastTested != null && currentTimestamp != IResource.NULL_STAMP && currentTimestamp == lastTested.longValue() && !isContainerDirty(type))
+			return true;
+		try {
+			IType jType= type.getType();
+			if (jType == null || !jType.exists()) {
+				remove(type);
+				return false;
+			}
+			// copy over the modifiers since they may have changed
+			int modifiers= jType.getFlags();
+			if (modifiers != type.getModifiers()) {
+				replace(type, SearchEngine.createTypeNameMatch(jType, modifiers));
+			} else {
+				fTimestampMapping.put(type, currentTimestamp);
+			}
+			return true;
+		} catch (JavaModelException e) {
+			remove(type);
+			return false;
+		}
+	}
+
 	private long getContainerTimestamp(TypeNameMatch match) {
 		try {
 			IType type= match.getType();
@@ -381,6 +426,29 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		save();
 	}
 
+	@Override
+	protected void writeValue(TypeNameMatch type, DataOutput out) throws IOException {
+		out.writeUTF(type.getType().getHandleIdentifier());
+		out.writeInt(type.getModifiers());
+		Long timestamp= fTimestampMapping.get(type);
+		out.writeLong(timestamp == null ? IResource.NULL_STAMP : timestamp.longValue());
+	}
+
+	@Override
+	protected TypeNameMatch readValue(DataInput in) throws IOException {
+		String handle= in.readUTF();
+		int modifiers= in.readInt();
+		long timestamp= in.readLong();
+		IJavaElement element= JavaCore.create(handle);
+		if (!(element instanceof IType))
+			return null;
+		TypeNameMatch info= SearchEngine.createTypeNameMatch((IType) element, modifiers);
+		if (timestamp != IResource.NULL_STAMP) {
+			fTimestampMapping.put(info, timestamp);
+		}
+		return info;
+	}
+
 	@Override
 	protected TypeNameMatch createFromElement(Element type) {
 		String handle= type.getAttribute(NODE_HANDLE);
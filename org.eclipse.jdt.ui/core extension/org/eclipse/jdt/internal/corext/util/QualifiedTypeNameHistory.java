@@ -13,16 +13,22 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.util;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import org.w3c.dom.Element;
 
-public class QualifiedTypeNameHistory extends History<String, String> {
+public class QualifiedTypeNameHistory extends BinaryHistory<String, String> {
 
 	private static final String NODE_ROOT= "qualifiedTypeNameHistroy"; //$NON-NLS-1$
 	private static final String NODE_TYPE_INFO= "fullyQualifiedTypeName"; //$NON-NLS-1$
 	private static final String NODE_NAME= "name"; //$NON-NLS-1$
 
-	private static QualifiedTypeNameHistory fgInstance;
+	private static final String XML_EXTENSION= ".xml"; //$NON-NLS-1$
+	private static final String BINARY_EXTENSION= ".bin"; //$NON-NLS-1$
 
+	private static QualifiedTypeNameHistory fgInstance;
 
 	public static QualifiedTypeNameHistory getDefault() {
 		if (fgInstance == null)
@@ -32,10 +38,26 @@ public class QualifiedTypeNameHistory extends History<String, String> {
 	}
 
 	public QualifiedTypeNameHistory(String fileName) {
-		super(fileName, NODE_ROOT, NODE_TYPE_INFO);
+		super(fileName, getBinaryFileName(fileName), NODE_ROOT, NODE_TYPE_INFO);
 		load();
 	}
 
+	private static String getBinaryFileName(String fileName) {
+		if (fileName.endsWith(XML_EXTENSION))
+			return fileName.substring(0, fileName.length() - XML_EXTENSION.length()) + BINARY_EXTENSION;
+		return fileName + BINARY_EXTENSION;
+	}
+
+	@Override
+	protected void writeValue(String value, DataOutput out) throws IOException {
+		out.writeUTF(value);
+	}
+
+	@Override
+	protected String readValue(DataInput in) throws IOException {
+		return in.readUTF();
+	}
+
 	@Override
 	protected void setAttributes(Object object, Element element) {
 		element.setAttribute(NODE_NAME, (String)object);
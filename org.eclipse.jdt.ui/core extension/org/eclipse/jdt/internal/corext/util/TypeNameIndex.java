@@ -0,0 +1,480 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+
+import org.eclipse.jdt.internal.core.manipulation.util.BoundedLRUCache;
+import org.eclipse.jdt.internal.core.manipulation.util.JavaElementDeltas;
+
+/**
+ * A resident index of the names of all types in the workspace scope, used by the Open Type dialog
+ * to filter in memory instead of running a new type name search for every pattern.
+ * <p>
+ * The index is created with a single type name search on first use. The simple type names are
+ * packed into one character array in case-insensitive order, so that all names with a given prefix
+ * are found by binary search. Prefix and exact patterns are looked up directly, camel case patterns
+ * and patterns with wildcards are narrowed to the names with the same first characters. The
+ * candidates are then matched with {@link TypeInfoFilter#matchesHistoryElement(TypeNameMatch)}.
+ * </p>
+ * <p>
+ * The index is kept up to date from Java element deltas: compilation units that have been changed
+ * are scanned again on the next lookup, classpath and archive changes make the index create itself
+ * again. The maximum number of indexed types can be configured with the
+ * <code>jdt.typeNameIndex.maxEntries</code> system property, a value of <code>0</code> disables the
+ * index. If the workspace scope contains more types, lookups fall back to the search engine.
+ * </p>
+ */
+public final class TypeNameIndex implements IElementChangedListener {
+
+	private static final int MAX_ENTRIES= BoundedLRUCache.getMaxEntries("jdt.typeNameIndex.maxEntries", 1000000); //$NON-NLS-1$
+
+	/**
+	 * Maximum number of changed compilation units that are tracked separately. If more units have
+	 * changed, the index is created again on the next lookup.
+	 */
+	private static final int MAX_CHANGED_UNITS= 1000;
+
+	private static final TypeNameMatch[] NO_MATCHES= new TypeNameMatch[0];
+
+	private static TypeNameIndex fgDefault;
+
+	/**
+	 * Immutable sorted snapshot of the indexed types.
+	 */
+	static final class Snapshot {
+
+		final TypeNameMatch[] fMatches;
+		/**
+		 * The simple names of <code>fMatches</code>, name <code>i</code> spans
+		 * <code>fNames[fStarts[i]]</code> to <code>fNames[fStarts[i + 1]]</code>.
+		 */
+		final char[] fNames;
+		final int[] fStarts;
+
+		Snapshot(List<TypeNameMatch> matches) {
+			String[] names= new String[matches.size()];
+			Integer[] order= new Integer[names.length];
+			for (int i= 0; i < names.length; i++) {
+				names[i]= matches.get(i).getSimpleTypeName();
+				order[i]= Integer.valueOf(i);
+			}
+			Arrays.sort(order, Comparator.comparing((Integer i) -> names[i.intValue()], String.CASE_INSENSITIVE_ORDER));
+
+			fMatches= new TypeNameMatch[names.length];
+			fStarts= new int[names.length + 1];
+			int length= 0;
+			for (String name : names) {
+				length+= name.length();
+			}
+			fNames= new char[length];
+			int offset= 0;
+			for (int i= 0; i < order.length; i++) {
+				int index= order[i].intValue();
+				fMatches[i]= matches.get(index);
+				fStarts[i]= offset;
+				names[index].getChars(0, names[index].length(), fNames, offset);
+				offset+= names[index].length();
+			}
+			fStarts[names.length]= offset;
+		}
+
+		int size() {
+			return fMatches.length;
+		}
+
+		/**
+		 * Compares the beginning of the name at the given index with the given prefix, ignoring
+		 * case.
+		 *
+		 * @param index the index of the name
+		 * @param prefix the prefix
+		 * @return a negative value if the name is smaller than the prefix, <code>0</code> if the
+		 *         name starts with the prefix and a positive value if it is greater
+		 */
+		int comparePrefix(int index, String prefix) {
+			int start= fStarts[index];
+			int nameLength= fStarts[index + 1] - start;
+			int length= Math.min(nameLength, prefix.length());
+			for (int i= 0; i < length; i++) {
+				char c1= fold(fNames[start + i]);
+				char c2= fold(prefix.charAt(i));
+				if (c1 != c2)
+					return c1 - c2;
+			}
+			return nameLength < prefix.length() ? -1 : 0;
+		}
+
+		/**
+		 * @param prefix the prefix
+		 * @return the index of the first name that is not smaller than the prefix
+		 */
+		int lowerBound(String prefix) {
+			int low= 0;
+			int high= fMatches.length;
+			while (low < high) {
+				int mid= (low + high) >>> 1;
+				if (comparePrefix(mid, prefix) < 0)
+					low= mid + 1;
+				else
+					high= mid;
+			}
+			return low;
+		}
+
+		/**
+		 * @param prefix the prefix
+		 * @return the index of the first name that is greater than the prefix and does not start
+		 *         with it
+		 */
+		int upperBound(String prefix) {
+			int low= 0;
+			int high= fMatches.length;
+			while (low < high) {
+				int mid= (low + high) >>> 1;
+				if (comparePrefix(mid, prefix) <= 0)
+					low= mid + 1;
+				else
+					high= mid;
+			}
+			return low;
+		}
+
+		private static char fold(char c) {
+			// same folding as String.CASE_INSENSITIVE_ORDER
+			return Character.toLowerCase(Character.toUpperCase(c));
+		}
+	}
+
+	private final int fMaxEntries;
+	private volatile Snapshot fSnapshot;
+	private boolean fStale;
+	private boolean fTooLarge;
+	private int fGeneration;
+	/**
+	 * Primary compilation units that have changed since the snapshot has been created, mapped to
+	 * their current types or to <code>null</code> if they have not been scanned yet.
+	 */
+	private final Map<ICompilationUnit, TypeNameMatch[]> fChangedUnits= new HashMap<>();
+
+	private int fBuildCount;
+	private long fLookupCount;
+
+	/**
+	 * Returns the shared index, installing its element changed listener on first access.
+	 *
+	 * @return the shared index
+	 */
+	public static synchronized TypeNameIndex getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new TypeNameIndex(MAX_ENTRIES);
+			if (MAX_ENTRIES > 0) {
+				JavaCore.addElementChangedListener(fgDefault, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+			}
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Disposes the shared index if it has been created.
+	 */
+	public static synchronized void disposeDefault() {
+		if (fgDefault != null) {
+			JavaCore.removeElementChangedListener(fgDefault);
+			fgDefault.clear();
+			fgDefault= null;
+		}
+	}
+
+	private TypeNameIndex(int maxEntries) {
+		fMaxEntries= maxEntries;
+	}
+
+	/**
+	 * Reports all types in the index that match the given filter. The index is created first if
+	 * necessary.
+	 *
+	 * @param filter the filter
+	 * @param requestor the requestor that receives the matching types
+	 * @param monitor the progress monitor
+	 * @return <code>false</code> if the index is disabled or too large; the caller has to search
+	 *         with the search engine instead
+	 * @throws JavaModelException if the index could not be created
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 */
+	public boolean search(TypeInfoFilter filter, TypeNameMatchRequestor requestor, IProgressMonitor monitor) throws JavaModelException {
+		if (fMaxEntries <= 0)
+			return false;
+
+		Snapshot snapshot= getSnapshot(monitor);
+		if (snapshot == null)
+			return false;
+
+		Map<ICompilationUnit, TypeNameMatch[]> changedUnits= getChangedUnits();
+		String prefix= getPrefix(filter);
+		int end= snapshot.upperBound(prefix);
+		for (int i= snapshot.lowerBound(prefix); i < end; i++) {
+			if ((i & 0xff) == 0 && monitor != null && monitor.isCanceled())
+				throw new OperationCanceledException();
+			TypeNameMatch match= snapshot.fMatches[i];
+			if (!changedUnits.isEmpty() && changedUnits.containsKey(match.getType().getCompilationUnit()))
+				continue;
+			if (filter.matchesHistoryElement(match))
+				requestor.acceptTypeNameMatch(match);
+		}
+		for (TypeNameMatch[] matches : changedUnits.values()) {
+			for (TypeNameMatch match : matches) {
+				if (filter.matchesHistoryElement(match))
+					requestor.acceptTypeNameMatch(match);
+			}
+		}
+		synchronized (this) {
+			fLookupCount++;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the prefix that all simple names matched by the given filter start with, ignoring
+	 * case.
+	 *
+	 * @param filter the filter
+	 * @return the prefix, may be empty
+	 */
+	static String getPrefix(TypeInfoFilter filter) {
+		if (filter.getText().length() == 0)
+			return ""; //$NON-NLS-1$
+		String pattern= filter.getNamePattern();
+		int length;
+		switch (filter.getSearchFlags()) {
+			case SearchPattern.R_EXACT_MATCH:
+			case SearchPattern.R_PREFIX_MATCH:
+				length= pattern.length();
+				break;
+			case SearchPattern.R_PATTERN_MATCH:
+				length= 0;
+				while (length < pattern.length() && pattern.charAt(length) != '*' && pattern.charAt(length) != '?')
+					length++;
+				break;
+			default:
+				// camel case patterns only need to match the first character
+				length= Math.min(1, pattern.length());
+				break;
+		}
+		for (int i= 0; i < length; i++) {
+			if (pattern.charAt(i) >= 128)
+				return ""; // case folding is not symmetric for all characters //$NON-NLS-1$
+		}
+		return pattern.substring(0, length);
+	}
+
+	private Snapshot getSnapshot(IProgressMonitor monitor) throws JavaModelException {
+		int generation;
+		synchronized (this) {
+			if (!fStale) {
+				if (fSnapshot != null) {
+					if (fChangedUnits.size() > MAX_CHANGED_UNITS / 2 && !fChangedUnits.containsValue(null))
+						compact();
+					return fSnapshot;
+				}
+				if (fTooLarge)
+					return null;
+			}
+			fStale= false;
+			fTooLarge= false;
+			fSnapshot= null;
+			fChangedUnits.clear();
+			generation= ++fGeneration;
+		}
+
+		List<TypeNameMatch> matches= new ArrayList<>();
+		new SearchEngine((WorkingCopyOwner) null).searchAllTypeNames(null, SearchPattern.R_EXACT_MATCH,
+				null, SearchPattern.R_PREFIX_MATCH,
+				IJavaSearchConstants.TYPE,
+				SearchEngine.createWorkspaceScope(),
+				new TypeNameMatchRequestor() {
+					@Override
+					public void acceptTypeNameMatch(TypeNameMatch match) {
+						if (matches.size() <= fMaxEntries)
+							matches.add(match);
+					}
+				},
+				IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH,
+				monitor);
+
+		synchronized (this) {
+			boolean current= !fStale && generation == fGeneration;
+			if (matches.size() > fMaxEntries) {
+				if (current)
+					fTooLarge= true;
+				return null;
+			}
+			Snapshot snapshot= new Snapshot(matches);
+			if (current)
+				fSnapshot= snapshot;
+			fBuildCount++;
+			return snapshot;
+		}
+	}
+
+	/**
+	 * Merges the changed units into a new snapshot. Needs to be called with the lock held.
+	 */
+	private void compact() {
+		List<TypeNameMatch> matches= new ArrayList<>(fSnapshot.size());
+		for (TypeNameMatch match : fSnapshot.fMatches) {
+			if (!fChangedUnits.containsKey(match.getType().getCompilationUnit()))
+				matches.add(match);
+		}
+		for (TypeNameMatch[] changed : fChangedUnits.values()) {
+			matches.addAll(Arrays.asList(changed));
+		}
+		fSnapshot= new Snapshot(matches);
+		fChangedUnits.clear();
+	}
+
+	/**
+	 * Returns the changed units with their current types, scanning the units that have not been
+	 * scanned yet.
+	 *
+	 * @return the changed units mapped to their types
+	 */
+	private Map<ICompilationUnit, TypeNameMatch[]> getChangedUnits() {
+		List<ICompilationUnit> unscanned= new ArrayList<>();
+		synchronized (this) {
+			if (fChangedUnits.isEmpty())
+				return fChangedUnits;
+			for (Map.Entry<ICompilationUnit, TypeNameMatch[]> entry : fChangedUnits.entrySet()) {
+				if (entry.getValue() == null)
+					unscanned.add(entry.getKey());
+			}
+		}
+		for (ICompilationUnit unit : unscanned) {
+			TypeNameMatch[] matches= getTypes(unit);
+			synchronized (this) {
+				// don't replace the entry if the unit has changed again in the meantime
+				if (fChangedUnits.containsKey(unit) && fChangedUnits.get(unit) == null)
+					fChangedUnits.put(unit, matches);
+			}
+		}
+		synchronized (this) {
+			Map<ICompilationUnit, TypeNameMatch[]> result= new HashMap<>(fChangedUnits);
+			result.values().removeIf(matches -> matches == null);
+			return result;
+		}
+	}
+
+	private static TypeNameMatch[] getTypes(ICompilationUnit unit) {
+		try {
+			if (!unit.exists())
+				return NO_MATCHES;
+			IType[] types= unit.getAllTypes();
+			TypeNameMatch[] matches= new TypeNameMatch[types.length];
+			for (int i= 0; i < types.length; i++) {
+				matches[i]= SearchEngine.createTypeNameMatch(types[i], types[i].getFlags());
+			}
+			return matches;
+		} catch (JavaModelException e) {
+			return NO_MATCHES;
+		}
+	}
+
+	/**
+	 * Discards the index, it is created again on the next lookup.
+	 */
+	public synchronized void clear() {
+		fStale= true;
+		fSnapshot= null;
+		fChangedUnits.clear();
+	}
+
+	private synchronized void unitChanged(ICompilationUnit unit) {
+		if (fTooLarge)
+			return;
+		if (fChangedUnits.size() >= MAX_CHANGED_UNITS && !fChangedUnits.containsKey(unit)) {
+			clear();
+		} else {
+			fChangedUnits.put(unit, null);
+		}
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		synchronized (this) {
+			if (fStale || (fSnapshot == null && fGeneration == 0))
+				return;
+		}
+		boolean handled= JavaElementDeltas.visitTypeRootDeltas(event.getDelta(), delta -> {
+			IJavaElement element= delta.getElement();
+			if (element.getElementType() == IJavaElement.CLASS_FILE)
+				return delta.getKind() == IJavaElementDelta.CHANGED;
+			ICompilationUnit unit= (ICompilationUnit) element;
+			if (JavaModelUtil.isPrimary(unit) && !JavaElementDeltas.isLocalChange(delta))
+				unitChanged(unit.getPrimary());
+			return true;
+		});
+		if (!handled)
+			clear();
+	}
+
+	/**
+	 * @return the number of indexed types or <code>0</code> if the index has not been created
+	 */
+	public int size() {
+		Snapshot snapshot= fSnapshot;
+		return snapshot == null ? 0 : snapshot.size();
+	}
+
+	/**
+	 * @return the number of times the index has been created with a type name search
+	 */
+	public synchronized int getBuildCount() {
+		return fBuildCount;
+	}
+
+	/**
+	 * @return the number of lookups that have been answered from the index
+	 */
+	public synchronized long getLookupCount() {
+		return fLookupCount;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "TypeNameIndex [types=" + size() + ", changedUnits=" + fChangedUnits.size() + ", builds=" + fBuildCount + ", lookups=" + fLookupCount + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+}
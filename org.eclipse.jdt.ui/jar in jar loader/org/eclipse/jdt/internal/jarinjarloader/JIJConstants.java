@@ -22,6 +22,12 @@ final class JIJConstants {
 	static final String REDIRECTED_CLASS_PATH_MANIFEST_NAME  = "Rsrc-Class-Path";  //$NON-NLS-1$
 	/** duplicates org.eclipse.jdt.internal.ui.jarpackagerfat.JIJConstants.REDIRECTED_MAIN_CLASS_MANIFEST_NAME*/
 	static final String REDIRECTED_MAIN_CLASS_MANIFEST_NAME  = "Rsrc-Main-Class";  //$NON-NLS-1$
+	/** duplicates org.eclipse.jdt.internal.ui.jarpackagerfat.JIJConstants.REDIRECTED_INDEX_MANIFEST_NAME*/
+	static final String REDIRECTED_INDEX_MANIFEST_NAME       = "Rsrc-Index";  //$NON-NLS-1$
+	/** duplicates org.eclipse.jdt.internal.ui.jarpackagerfat.JIJConstants.INDEX_VERSION*/
+	static final String INDEX_VERSION                        = "RsrcIndex-Version: 1.0";  //$NON-NLS-1$
+	/** duplicates org.eclipse.jdt.internal.ui.jarpackagerfat.JIJConstants.ROOT_PACKAGE*/
+	static final String ROOT_PACKAGE                         = "/";  //$NON-NLS-1$
 	static final String DEFAULT_REDIRECTED_CLASSPATH         = "";  //$NON-NLS-1$
 	static final String MAIN_METHOD_NAME                     = "main";  //$NON-NLS-1$
 	static final String JAR_INTERNAL_URL_PROTOCOL_WITH_COLON = "jar:rsrc:";  //$NON-NLS-1$
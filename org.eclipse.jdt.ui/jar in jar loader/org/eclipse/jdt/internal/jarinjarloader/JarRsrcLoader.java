@@ -41,12 +41,41 @@ public class JarRsrcLoader {
 	private static class ManifestInfo {
 		String rsrcMainClass;
 		String[] rsrcClassPath;
+		String rsrcIndex;
 	}
 
 	public static void main(String[] args) throws ClassNotFoundException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, SecurityException, NoSuchMethodException, IOException {
 		ManifestInfo mi = getManifestInfo();
 		ClassLoader cl = Thread.currentThread().getContextClassLoader();
 		URL.setURLStreamHandlerFactory(new RsrcURLStreamHandlerFactory(cl));
+		ClassLoader jceClassLoader = null;
+		if (mi.rsrcIndex != null)
+			jceClassLoader = createIndexClassLoader(mi, cl);
+		if (jceClassLoader == null)
+			jceClassLoader = createURLClassLoader(mi);
+		Thread.currentThread().setContextClassLoader(jceClassLoader);
+		Class<?> c = Class.forName(mi.rsrcMainClass, true, jceClassLoader);
+		Method main = c.getMethod(JIJConstants.MAIN_METHOD_NAME, args.getClass());
+		main.invoke((Object) null, new Object[] {args});
+	}
+
+	/**
+	 * Creates a class loader that answers lookups from the index written by the exporter and opens
+	 * each nested JAR only once.
+	 *
+	 * @return the class loader or <code>null</code> if the index cannot be read
+	 */
+	private static ClassLoader createIndexClassLoader(ManifestInfo mi, ClassLoader cl) throws InvocationTargetException, IllegalAccessException {
+		try (InputStream index = cl.getResourceAsStream(mi.rsrcIndex)) {
+			if (index != null)
+				return new RsrcIndexClassLoader(mi.rsrcClassPath, index, cl, getParentClassLoader());
+		} catch (IOException e) {
+			// fall back to the rsrc: URLs
+		}
+		return null;
+	}
+
+	private static ClassLoader createURLClassLoader(ManifestInfo mi) throws IOException, InvocationTargetException, IllegalAccessException {
 		URL[] rsrcUrls = new URL[mi.rsrcClassPath.length];
 		for (int i = 0; i < mi.rsrcClassPath.length; i++) {
 			String rsrcPath = mi.rsrcClassPath[i];
@@ -55,12 +84,7 @@ public class JarRsrcLoader {
 			else
 				rsrcUrls[i] = new URL(JIJConstants.JAR_INTERNAL_URL_PROTOCOL_WITH_COLON + rsrcPath + JIJConstants.JAR_INTERNAL_SEPARATOR);
 		}
-		@SuppressWarnings("resource")
-		ClassLoader jceClassLoader = new URLClassLoader(rsrcUrls, getParentClassLoader());
-		Thread.currentThread().setContextClassLoader(jceClassLoader);
-		Class<?> c = Class.forName(mi.rsrcMainClass, true, jceClassLoader);
-		Method main = c.getMethod(JIJConstants.MAIN_METHOD_NAME, args.getClass());
-		main.invoke((Object) null, new Object[] {args});
+		return new URLClassLoader(rsrcUrls, getParentClassLoader());
 	}
 
 	private static ClassLoader getParentClassLoader() throws InvocationTargetException, IllegalAccessException {
@@ -92,6 +116,7 @@ public class JarRsrcLoader {
 					if (rsrcCP == null)
 						rsrcCP = JIJConstants.DEFAULT_REDIRECTED_CLASSPATH;
 					result.rsrcClassPath = splitSpaces(rsrcCP);
+					result.rsrcIndex = mainAttribs.getValue(JIJConstants.REDIRECTED_INDEX_MANIFEST_NAME);
 					if ((result.rsrcMainClass != null) && !result.rsrcMainClass.trim().isEmpty())
 							return result;
 				}
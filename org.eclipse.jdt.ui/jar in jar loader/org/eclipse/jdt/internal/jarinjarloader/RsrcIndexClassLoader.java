@@ -0,0 +1,523 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.jarinjarloader;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.CodeSigner;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * This class will be compiled into the binary jar-in-jar-loader.zip. This ZIP is used for the
+ * "Runnable JAR File Exporter".
+ * Source has to comply to java 1.8 - see <a href="file:../../../../../../scripts/build_jar-in-jar-loader.xml">build_jar-in-jar-loader.xml</a>
+ *
+ * A class loader for the <code>Rsrc-Class-Path</code> that answers lookups from the index written
+ * by the exporter instead of probing every nested JAR. Each nested JAR is extracted once to a cache
+ * directory, keyed by its SHA-256 hash, and opened as a {@link JarFile} on first use. A cached file
+ * is only used if its hash still matches the index. Directory entries of the class path (e.g.
+ * <code>./</code>) are still read through the class loader of the runnable JAR.
+ * <p>
+ * The cache directory is <code>${java.io.tmpdir}/jarinjarloader-${user.name}</code>, it can be
+ * changed with the <code>jarinjarloader.cacheDir</code> system property. The directory is created
+ * with owner-only permissions. If it is not a directory owned by the current user, or if other users
+ * have access to it, the nested JARs are extracted to a new temporary directory that is deleted
+ * when the JVM exits.
+ * </p>
+ */
+public class RsrcIndexClassLoader extends ClassLoader {
+
+	static {
+		registerAsParallelCapable();
+	}
+
+	private abstract static class Element {
+
+		/**
+		 * @param packageName the package (directory) of the resource
+		 * @return <code>true</code> if the resource may be contained in this element
+		 */
+		abstract boolean mayContain(String packageName);
+
+		abstract URL getResource(String name) throws IOException;
+
+		abstract InputStream openStream(String name) throws IOException;
+
+		abstract ProtectionDomain getProtectionDomain(String name) throws IOException;
+
+		abstract Manifest getManifest() throws IOException;
+	}
+
+	/**
+	 * A directory of the runnable JAR, read through its class loader.
+	 */
+	private static final class DirectoryElement extends Element {
+
+		private final ClassLoader loader;
+		private final String prefix;
+		private final ProtectionDomain domain;
+
+		DirectoryElement(ClassLoader loader, String path, ClassLoader definingLoader) throws MalformedURLException {
+			this.loader= loader;
+			prefix= JIJConstants.CURRENT_DIR.equals(path) ? "" : path; //$NON-NLS-1$
+			domain= new ProtectionDomain(new CodeSource(new URL(JIJConstants.INTERNAL_URL_PROTOCOL_WITH_COLON + path), (CodeSigner[]) null), null, definingLoader, null);
+		}
+
+		@Override
+		boolean mayContain(String packageName) {
+			return true;
+		}
+
+		@Override
+		URL getResource(String name) {
+			return loader.getResource(prefix + name);
+		}
+
+		@Override
+		InputStream openStream(String name) {
+			return loader.getResourceAsStream(prefix + name);
+		}
+
+		@Override
+		ProtectionDomain getProtectionDomain(String name) {
+			return domain;
+		}
+
+		@Override
+		Manifest getManifest() {
+			return null;
+		}
+	}
+
+	/**
+	 * A nested JAR, described by a section of the index.
+	 */
+	private static final class NestedJarElement extends Element {
+
+		final String name;
+		final long size;
+		final String hash;
+		final Set<String> packages= new HashSet<>();
+
+		private final ClassLoader loader;
+		private final RsrcIndexClassLoader definingLoader;
+		private JarFile jarFile;
+		private URL baseURL;
+		private Map<Object, ProtectionDomain> domains;
+
+		NestedJarElement(String name, long size, String hash, ClassLoader loader, RsrcIndexClassLoader definingLoader) {
+			this.name= name;
+			this.size= size;
+			this.hash= hash;
+			this.loader= loader;
+			this.definingLoader= definingLoader;
+		}
+
+		@Override
+		boolean mayContain(String packageName) {
+			return packages.contains(packageName);
+		}
+
+		/**
+		 * Opens the JAR on first use, extracting it to the cache directory if it is not cached yet.
+		 */
+		private synchronized JarFile getJarFile() throws IOException {
+			if (jarFile == null) {
+				File file= extract();
+				jarFile= new JarFile(file);
+				baseURL= new URL("jar:" + file.toURI().toURL() + JIJConstants.JAR_INTERNAL_SEPARATOR); //$NON-NLS-1$
+				domains= new HashMap<>();
+			}
+			return jarFile;
+		}
+
+		private File extract() throws IOException {
+			File cacheDir= definingLoader.getCacheDir();
+			String fileName= hash + '-' + new File(name).getName().replaceAll("[^A-Za-z0-9._-]", "_"); //$NON-NLS-1$ //$NON-NLS-2$
+			File file= new File(cacheDir, fileName);
+			if (isExtracted(file))
+				return file;
+
+			File tempFile= File.createTempFile(fileName, ".tmp", cacheDir); //$NON-NLS-1$
+			try {
+				MessageDigest digest= createDigest();
+				long length= 0;
+				try (InputStream in= loader.getResourceAsStream(name); OutputStream out= new FileOutputStream(tempFile)) {
+					if (in == null)
+						throw new IOException("Missing nested JAR " + name); //$NON-NLS-1$
+					byte[] buffer= new byte[1 << 16];
+					int read;
+					while ((read= in.read(buffer)) != -1) {
+						digest.update(buffer, 0, read);
+						out.write(buffer, 0, read);
+						length+= read;
+					}
+				}
+				if (length != size || !hash.equals(toHex(digest.digest())))
+					throw new IOException("Nested JAR does not match the index: " + name); //$NON-NLS-1$
+				try {
+					try {
+						Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+					} catch (FileAlreadyExistsException | AtomicMoveNotSupportedException e) {
+						Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+					}
+				} catch (IOException e) {
+					// extracted concurrently by another process that still uses the file
+					if (!isExtracted(file))
+						throw e;
+				}
+				if (definingLoader.deleteOnExit)
+					file.deleteOnExit();
+				return file;
+			} finally {
+				tempFile.delete();
+			}
+		}
+
+		/**
+		 * Tells whether the given file exists and has the size and hash of the nested JAR.
+		 */
+		private boolean isExtracted(File file) throws IOException {
+			if (!file.isFile() || file.length() != size)
+				return false;
+			MessageDigest digest= createDigest();
+			try (InputStream in= new FileInputStream(file)) {
+				byte[] buffer= new byte[1 << 16];
+				int read;
+				while ((read= in.read(buffer)) != -1) {
+					digest.update(buffer, 0, read);
+				}
+			}
+			return hash.equals(toHex(digest.digest()));
+		}
+
+		@Override
+		URL getResource(String name) throws IOException {
+			JarFile jarFile= getJarFile();
+			if (jarFile.getEntry(name) == null)
+				return null;
+			return new URL(baseURL, name);
+		}
+
+		@Override
+		InputStream openStream(String name) throws IOException {
+			JarFile jarFile= getJarFile();
+			JarEntry entry= jarFile.getJarEntry(name);
+			return entry != null ? jarFile.getInputStream(entry) : null;
+		}
+
+		@Override
+		synchronized ProtectionDomain getProtectionDomain(String name) throws IOException {
+			JarEntry entry= getJarFile().getJarEntry(name);
+			CodeSigner[] signers= entry != null ? entry.getCodeSigners() : null;
+			Object key= signers != null ? signers : this;
+			ProtectionDomain domain= domains.get(key);
+			if (domain == null) {
+				URL location= new File(jarFile.getName()).toURI().toURL();
+				domain= new ProtectionDomain(new CodeSource(location, signers), null, definingLoader, null);
+				domains.put(key, domain);
+			}
+			return domain;
+		}
+
+		@Override
+		Manifest getManifest() throws IOException {
+			return getJarFile().getManifest();
+		}
+	}
+
+	private final Element[] elements;
+	private File cacheDir;
+	/**
+	 * <code>true</code> if the nested JARs are extracted to a directory that is used by this JVM only.
+	 */
+	private boolean deleteOnExit;
+
+	/**
+	 * Creates a class loader for the given class path.
+	 *
+	 * @param classPath the entries of the <code>Rsrc-Class-Path</code>, URL encoded
+	 * @param index the content of the index written by the exporter
+	 * @param loader the class loader of the runnable JAR
+	 * @param parent the parent class loader
+	 * @throws IOException if the index cannot be read or does not match the class path
+	 */
+	public RsrcIndexClassLoader(String[] classPath, InputStream index, ClassLoader loader, ClassLoader parent) throws IOException {
+		super(parent);
+		Map<String, NestedJarElement> nestedJars= readIndex(index, loader);
+		elements= new Element[classPath.length];
+		for (int i= 0; i < classPath.length; i++) {
+			String path= URLDecoder.decode(classPath[i], JIJConstants.UTF8_ENCODING);
+			if (path.endsWith(JIJConstants.PATH_SEPARATOR)) {
+				elements[i]= new DirectoryElement(loader, path, this);
+			} else {
+				elements[i]= nestedJars.get(path);
+				if (elements[i] == null)
+					throw new IOException("Nested JAR not indexed: " + path); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Returns the directory the nested JARs are extracted to, creating it on first use.
+	 */
+	synchronized File getCacheDir() throws IOException {
+		if (cacheDir == null) {
+			String property= System.getProperty("jarinjarloader.cacheDir"); //$NON-NLS-1$
+			String userName= System.getProperty("user.name", ""); //$NON-NLS-1$ //$NON-NLS-2$
+			Path dir= property != null ? Paths.get(property)
+					: Paths.get(System.getProperty("java.io.tmpdir"), "jarinjarloader-" + userName.replaceAll("[^A-Za-z0-9._-]", "_")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			if (!isPrivateDirectory(dir, userName)) {
+				dir= Files.createTempDirectory("jarinjarloader"); //$NON-NLS-1$
+				dir.toFile().deleteOnExit();
+				deleteOnExit= true;
+			}
+			cacheDir= dir.toFile();
+		}
+		return cacheDir;
+	}
+
+	/**
+	 * Creates the given directory with owner-only permissions if it does not exist and tells
+	 * whether it is a directory that is owned by the given user and that no other user can access.
+	 */
+	private static boolean isPrivateDirectory(Path dir, String userName) {
+		try {
+			boolean posix= dir.getFileSystem().supportedFileAttributeViews().contains("posix"); //$NON-NLS-1$
+			if (!Files.exists(dir, LinkOption.NOFOLLOW_LINKS)) {
+				if (dir.getParent() != null)
+					Files.createDirectories(dir.getParent());
+				try {
+					if (posix)
+						Files.createDirectory(dir, PosixFilePermissions.asFileAttribute(EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE, PosixFilePermission.OWNER_EXECUTE)));
+					else
+						Files.createDirectory(dir);
+				} catch (FileAlreadyExistsException e) {
+					// created concurrently, check it below
+				}
+			}
+			if (!Files.isDirectory(dir, LinkOption.NOFOLLOW_LINKS))
+				return false;
+			UserPrincipal user= dir.getFileSystem().getUserPrincipalLookupService().lookupPrincipalByName(userName);
+			if (!user.equals(Files.getOwner(dir, LinkOption.NOFOLLOW_LINKS)))
+				return false;
+			if (posix) {
+				Set<PosixFilePermission> permissions= Files.getPosixFilePermissions(dir, LinkOption.NOFOLLOW_LINKS);
+				permissions.removeAll(EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE, PosixFilePermission.OWNER_EXECUTE));
+				return permissions.isEmpty();
+			}
+			return true;
+		} catch (IOException | UnsupportedOperationException | SecurityException e) {
+			return false;
+		}
+	}
+
+	private static MessageDigest createDigest() throws IOException {
+		try {
+			return MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder result= new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			result.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Reads the index. A section starts with a line <code>size sha256 name</code> for a nested JAR,
+	 * followed by the packages (directories) that contain its entries, <code>/</code> denoting the
+	 * root. Sections are separated by empty lines.
+	 */
+	private Map<String, NestedJarElement> readIndex(InputStream index, ClassLoader loader) throws IOException {
+		Map<String, NestedJarElement> result= new HashMap<>();
+		BufferedReader reader= new BufferedReader(new InputStreamReader(index, JIJConstants.UTF8_ENCODING));
+		if (!JIJConstants.INDEX_VERSION.equals(reader.readLine()))
+			throw new IOException("Unsupported index version"); //$NON-NLS-1$
+		NestedJarElement current= null;
+		String line;
+		while ((line= reader.readLine()) != null) {
+			if (line.isEmpty()) {
+				current= null;
+			} else if (current == null) {
+				int first= line.indexOf(' ');
+				int second= line.indexOf(' ', first + 1);
+				if (first == -1 || second == -1)
+					throw new IOException("Invalid index entry: " + line); //$NON-NLS-1$
+				try {
+					long size= Long.parseLong(line.substring(0, first));
+					String hash= line.substring(first + 1, second);
+					if (!hash.matches("[0-9a-f]{64}")) //$NON-NLS-1$
+						throw new IOException("Invalid index entry: " + line); //$NON-NLS-1$
+					String name= line.substring(second + 1);
+					current= new NestedJarElement(name, size, hash, loader, this);
+					result.put(name, current);
+				} catch (NumberFormatException e) {
+					throw new IOException("Invalid index entry: " + line); //$NON-NLS-1$
+				}
+			} else {
+				current.packages.add(JIJConstants.ROOT_PACKAGE.equals(line) ? "" : line); //$NON-NLS-1$
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the directory of the given resource as it appears in the index. For a directory, this
+	 * is the directory itself, since the index contains all parent directories of the entries.
+	 */
+	private static String getPackageName(String name) {
+		if (name.endsWith(JIJConstants.PATH_SEPARATOR))
+			return name.substring(0, name.length() - 1);
+		int lastSlash= name.lastIndexOf('/');
+		return lastSlash == -1 ? "" : name.substring(0, lastSlash); //$NON-NLS-1$
+	}
+
+	@Override
+	protected Class<?> findClass(String name) throws ClassNotFoundException {
+		String path= name.replace('.', '/').concat(".class"); //$NON-NLS-1$
+		String packageName= getPackageName(path);
+		for (Element element : elements) {
+			if (!element.mayContain(packageName))
+				continue;
+			try (InputStream in= element.openStream(path)) {
+				if (in == null)
+					continue;
+				byte[] bytes= readAll(in);
+				int lastDot= name.lastIndexOf('.');
+				if (lastDot != -1)
+					definePackage(name.substring(0, lastDot), packageName, element);
+				return defineClass(name, bytes, 0, bytes.length, element.getProtectionDomain(path));
+			} catch (IOException e) {
+				throw new ClassNotFoundException(name, e);
+			}
+		}
+		throw new ClassNotFoundException(name);
+	}
+
+	@SuppressWarnings("deprecation")
+	private void definePackage(String packageName, String path, Element element) throws IOException {
+		if (getPackage(packageName) != null)
+			return;
+		String[] values= new String[6];
+		Manifest manifest= element.getManifest();
+		if (manifest != null) {
+			Attributes.Name[] names= { Attributes.Name.SPECIFICATION_TITLE, Attributes.Name.SPECIFICATION_VERSION, Attributes.Name.SPECIFICATION_VENDOR,
+					Attributes.Name.IMPLEMENTATION_TITLE, Attributes.Name.IMPLEMENTATION_VERSION, Attributes.Name.IMPLEMENTATION_VENDOR };
+			Attributes packageAttributes= manifest.getAttributes(path + JIJConstants.PATH_SEPARATOR);
+			for (int i= 0; i < names.length; i++) {
+				String value= packageAttributes != null ? packageAttributes.getValue(names[i]) : null;
+				values[i]= value != null ? value : manifest.getMainAttributes().getValue(names[i]);
+			}
+		}
+		try {
+			definePackage(packageName, values[0], values[1], values[2], values[3], values[4], values[5], null);
+		} catch (IllegalArgumentException e) {
+			// defined concurrently
+		}
+	}
+
+	@Override
+	protected URL findResource(String name) {
+		String packageName= getPackageName(name);
+		for (Element element : elements) {
+			if (!element.mayContain(packageName))
+				continue;
+			try {
+				URL url= element.getResource(name);
+				if (url != null)
+					return url;
+			} catch (IOException e) {
+				// continue with the next element, like URLClassLoader
+			}
+		}
+		return null;
+	}
+
+	@Override
+	protected Enumeration<URL> findResources(String name) throws IOException {
+		String packageName= getPackageName(name);
+		List<URL> result= new ArrayList<>();
+		for (Element element : elements) {
+			if (!element.mayContain(packageName))
+				continue;
+			try {
+				URL url= element.getResource(name);
+				if (url != null)
+					result.add(url);
+			} catch (IOException e) {
+				// continue with the next element, like findResource(String)
+			}
+		}
+		return Collections.enumeration(result);
+	}
+
+	private static byte[] readAll(InputStream in) throws IOException {
+		byte[] buffer= new byte[Math.max(in.available(), 8192)];
+		int length= 0;
+		int read;
+		while ((read= in.read(buffer, length, buffer.length - length)) != -1) {
+			length+= read;
+			if (length == buffer.length) {
+				byte[] larger= new byte[buffer.length * 2];
+				System.arraycopy(buffer, 0, larger, 0, length);
+				buffer= larger;
+			}
+		}
+		if (length == buffer.length)
+			return buffer;
+		byte[] result= new byte[length];
+		System.arraycopy(buffer, 0, result, 0, length);
+		return result;
+	}
+}
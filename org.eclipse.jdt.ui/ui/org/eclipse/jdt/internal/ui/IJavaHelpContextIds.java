@@ -496,6 +496,7 @@ public interface IJavaHelpContextIds {
 	 */
 	String CALL_HIERARCHY_SEARCH_IN_DIALOG= 							PREFIX + "call_hierarchy_search_in_dialog_context"; //$NON-NLS-1$
 	String CALL_HIERARCHY_PIN_VIEW_ACTION= 								PREFIX + "call_hierarchy_pin_view_action_context"; //$NON-NLS-1$
+	String CALL_HIERARCHY_EXPAND_ALL_ACTION= 							PREFIX + "call_hierarchy_expand_all_action_context"; //$NON-NLS-1$
 	/**
 	 * @since 3.2
 	 */
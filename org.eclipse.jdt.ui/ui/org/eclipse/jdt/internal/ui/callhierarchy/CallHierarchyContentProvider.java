@@ -19,6 +19,7 @@ import java.lang.reflect.InvocationTargetException;
 import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 
 import org.eclipse.jface.operation.IRunnableContext;
 import org.eclipse.jface.operation.IRunnableWithProgress;
@@ -157,6 +158,10 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
 
 					}
 				}
+				if (methodWrapper.hasCachedCalls()) {
+					// e.g. searched by ExpandAllAction, no need for a deferred search
+					return methodWrapper.getCalls(new NullProgressMonitor());
+				}
 				if (fManager != null) {
 					Object[] children= fManager.getChildren(new DeferredMethodWrapper(this, methodWrapper));
 					if (children != null)
@@ -122,6 +122,10 @@ public final class CallHierarchyMessages extends NLS {
 	public static String RefreshSingleElementAction_text;
 	public static String RefreshSingleElementAction_tooltip;
 	public static String RefreshSingleElementAction_description;
+	public static String ExpandAllAction_text;
+	public static String ExpandAllAction_tooltip;
+	public static String ExpandAllAction_description;
+	public static String ExpandAllAction_job_name;
 	public static String SearchScopeActionGroup_searchScope;
 	public static String SearchScopeActionGroup_project_text;
 	public static String SearchScopeActionGroup_project_tooltip;
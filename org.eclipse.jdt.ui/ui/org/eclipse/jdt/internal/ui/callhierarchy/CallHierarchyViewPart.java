@@ -228,6 +228,7 @@ public class CallHierarchyViewPart extends ViewPart implements ICallHierarchyVie
     private CallHierarchyFiltersActionGroup fFiltersActionGroup;
     private HistoryDropDownAction fHistoryDropDownAction;
     private RefreshElementAction fRefreshSingleElementAction;
+    private ExpandAllAction fExpandAllAction;
     private RefreshViewAction fRefreshViewAction;
     private OpenLocationAction fOpenLocationAction;
 	private LocationCopyAction fLocationCopyAction;
@@ -622,6 +623,8 @@ public class CallHierarchyViewPart extends ViewPart implements ICallHierarchyVie
 			fRefreshViewAction.setEnabled(!isEmpty);
 		if (fRefreshSingleElementAction != null)
 			fRefreshSingleElementAction.setEnabled(!isEmpty);
+		if (fExpandAllAction != null)
+			fExpandAllAction.setEnabled(!isEmpty);
     }
 
     /**
@@ -723,6 +726,9 @@ public class CallHierarchyViewPart extends ViewPart implements ICallHierarchyVie
 
 	@Override
 	public void dispose() {
+		if (fExpandAllAction != null)
+			fExpandAllAction.cancel();
+
 		if (fActionGroups != null)
 			fActionGroups.dispose();
 
@@ -986,6 +992,7 @@ public class CallHierarchyViewPart extends ViewPart implements ICallHierarchyVie
         JavaPlugin.createStandardGroups(menu);
 
 		menu.appendToGroup(IContextMenuConstants.GROUP_SHOW, fRefreshSingleElementAction);
+		menu.appendToGroup(IContextMenuConstants.GROUP_SHOW, fExpandAllAction);
         menu.appendToGroup(IContextMenuConstants.GROUP_SHOW, new Separator(GROUP_FOCUS));
 
         if (fFocusOnSelectionAction.canActionBeAdded()) {
@@ -1018,6 +1025,7 @@ public class CallHierarchyViewPart extends ViewPart implements ICallHierarchyVie
         fActionGroups.fillActionBars(actionBars);
 
         toolBar.add(fRefreshViewAction);
+        toolBar.add(fExpandAllAction);
         toolBar.add(fCancelSearchAction);
 		for (ToggleCallModeAction fToggleCallModeAction : fToggleCallModeActions) {
 			toolBar.add(fToggleCallModeAction);
@@ -1029,6 +1037,7 @@ public class CallHierarchyViewPart extends ViewPart implements ICallHierarchyVie
     private void makeActions() {
         fRefreshViewAction = new RefreshViewAction(this);
         fRefreshSingleElementAction= new RefreshElementAction(fCallHierarchyViewer);
+        fExpandAllAction= new ExpandAllAction(this, fCallHierarchyViewer);
 
 		new CallHierarchyOpenEditorHelper(fLocationViewer);
 		new CallHierarchyOpenEditorHelper(fCallHierarchyViewer);
@@ -1250,6 +1259,7 @@ public class CallHierarchyViewPart extends ViewPart implements ICallHierarchyVie
      */
     void cancelJobs() {
         fCallHierarchyViewer.cancelJobs();
+        fExpandAllAction.cancel();
     }
 
 	/**
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.callhierarchy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.widgets.Control;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.viewers.IStructuredSelection;
+
+import org.eclipse.ui.PlatformUI;
+
+import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchyExpander;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallerMethodWrapper;
+import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
+
+import org.eclipse.jdt.internal.ui.IJavaHelpContextIds;
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.JavaPluginImages;
+
+/**
+ * Action to expand the selected elements, or all roots if nothing is selected, up to the maximum
+ * call depth. The calls are searched level by level in parallel by a
+ * {@link CallHierarchyExpander}, each element is expanded in the viewer as soon as its calls have
+ * been found.
+ */
+public class ExpandAllAction extends Action {
+
+	private final CallHierarchyViewPart fPart;
+	private final CallHierarchyViewer fViewer;
+	private Job fJob;
+
+	/**
+	 * Creates the action to expand the call hierarchy.
+	 *
+	 * @param part the call hierarchy view part
+	 * @param viewer the call hierarchy viewer
+	 */
+	public ExpandAllAction(CallHierarchyViewPart part, CallHierarchyViewer viewer) {
+		fPart= part;
+		fViewer= viewer;
+		setText(CallHierarchyMessages.ExpandAllAction_text);
+		setToolTipText(CallHierarchyMessages.ExpandAllAction_tooltip);
+		setDescription(CallHierarchyMessages.ExpandAllAction_description);
+		JavaPluginImages.setLocalImageDescriptors(this, "expandall.png"); //$NON-NLS-1$
+		PlatformUI.getWorkbench().getHelpSystem().setHelp(this, IJavaHelpContextIds.CALL_HIERARCHY_EXPAND_ALL_ACTION);
+	}
+
+	@Override
+	public void run() {
+		List<MethodWrapper> roots= new ArrayList<>();
+		IStructuredSelection selection= fViewer.getStructuredSelection();
+		for (Object element : selection) {
+			if (element instanceof MethodWrapper)
+				roots.add((MethodWrapper) element);
+		}
+		if (roots.isEmpty()) {
+			MethodWrapper[] currentRoots= fPart.getCurrentMethodWrappers();
+			if (currentRoots == null)
+				return;
+			roots.addAll(List.of(currentRoots));
+		}
+		expand(roots.toArray(new MethodWrapper[roots.size()]));
+	}
+
+	private void expand(MethodWrapper[] roots) {
+		cancel();
+		CallHierarchyExpander expander= new CallHierarchyExpander(CallHierarchyUI.getDefault().getMaxCallDepth()) {
+			@Override
+			protected boolean shouldExpand(MethodWrapper wrapper) {
+				if (wrapper instanceof CallerMethodWrapper) {
+					// the viewer shows constructors instead of the calls of these wrappers
+					CallerMethodWrapper caller= (CallerMethodWrapper) wrapper;
+					CallHierarchyContentProvider.ensureDefaultExpandWithConstructors(caller);
+					if (caller.getExpandWithConstructors())
+						return false;
+				}
+				return super.shouldExpand(wrapper);
+			}
+		};
+		Job job= new Job(CallHierarchyMessages.ExpandAllAction_job_name) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					expander.expand(roots, ExpandAllAction.this::callsFound, monitor);
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				} catch (RuntimeException e) {
+					JavaPlugin.log(e);
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		job.setUser(false);
+		job.addJobChangeListener(new JobChangeAdapter() {
+			@Override
+			public void done(IJobChangeEvent event) {
+				asyncExec(() -> {
+					if (fJob == job) {
+						fJob= null;
+						fPart.setCancelEnabled(false);
+					}
+				});
+			}
+		});
+		fJob= job;
+		fPart.setCancelEnabled(true);
+		job.schedule();
+	}
+
+	private void callsFound(MethodWrapper wrapper, MethodWrapper[] calls) {
+		if (calls.length == 0)
+			return;
+		// the calls of the viewer's wrappers are now served from the method cache
+		asyncExec(() -> fViewer.expandToLevel(wrapper, 1));
+	}
+
+	private void asyncExec(Runnable runnable) {
+		Control control= fViewer.getControl();
+		if (control.isDisposed())
+			return;
+		control.getDisplay().asyncExec(() -> {
+			if (!control.isDisposed())
+				runnable.run();
+		});
+	}
+
+	/**
+	 * Cancels the running expansion, if any.
+	 */
+	public void cancel() {
+		if (fJob != null) {
+			fJob.cancel();
+			fJob= null;
+		}
+	}
+}
@@ -96,6 +96,7 @@ import org.eclipse.jdt.internal.corext.util.Strings;
 import org.eclipse.jdt.internal.corext.util.TypeFilter;
 import org.eclipse.jdt.internal.corext.util.TypeInfoFilter;
 import org.eclipse.jdt.internal.corext.util.TypeInfoRequestorAdapter;
+import org.eclipse.jdt.internal.corext.util.TypeNameIndex;
 
 import org.eclipse.jdt.launching.IVMInstall;
 import org.eclipse.jdt.launching.IVMInstallType;
@@ -486,6 +487,10 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 		typeSearchFilter.setMatchEverythingMode(true);
 
 		try {
+			// the index filters with the same matching as the history elements
+			if (TypeNameIndex.getDefault().search(typeSearchFilter.getTypeInfoFilter(), requestor, progressMonitor))
+				return;
+
 			engine.searchAllTypeNames(packPattern == null ? null : packPattern.toCharArray(),
 					typeSearchFilter.getPackageFlags(),
 					typePattern.toCharArray(),
@@ -551,19 +556,10 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 				IJobManager manager= Job.getJobManager();
 				manager.join(JavaUI.ID_PLUGIN, monitor);
 			}
-			OpenTypeHistory history= OpenTypeHistory.getInstance();
-			if (fgFirstTime || history.isEmpty()) {
-				if (history.needConsistencyCheck()) {
-					SubMonitor subMonitor= SubMonitor.convert(monitor,JavaUIMessages.TypeSelectionDialog_progress_consistency, 10 );
-					refreshSearchIndices(subMonitor.split(9));
-					history.checkConsistency(subMonitor.split(1));
-				} else {
-					refreshSearchIndices(monitor);
-				}
-				fgFirstTime= false;
-			} else {
-				history.checkConsistency(monitor);
-			}
+			// History entries are checked lazily, see TypeItemsFilter#isConsistentItem(Object).
+			// The indices still have to be up to date after the changes that made the history inconsistent.
+			refreshSearchIndices(monitor);
+			fgFirstTime= false;
 		}
 		public static boolean needsExecution() {
 			OpenTypeHistory history= OpenTypeHistory.getInstance();
@@ -955,6 +951,10 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 			return fMyTypeFilterVersion;
 		}
 
+		public TypeInfoFilter getTypeInfoFilter() {
+			return fTypeInfoFilter;
+		}
+
 		public String getNamePattern() {
 			return fTypeInfoFilter.getNamePattern();
 		}
@@ -987,7 +987,8 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 
 		@Override
 		public boolean isConsistentItem(Object item) {
-			return true;
+			// only called for history elements that match the filter
+			return OpenTypeHistory.getInstance().isConsistent((TypeNameMatch) item);
 		}
 
 		@Override
@@ -0,0 +1,797 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.jarpackager;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+import org.eclipse.jdt.internal.ui.jarpackager.JarExportTimings.Phase;
+
+/**
+ * Writes a JAR file whose entries are read and compressed by worker threads and written to the
+ * archive in the order in which they have been added.
+ * <p>
+ * If the archive already exists, its unchanged entries are reused: an entry is copied in its
+ * compressed form from the previous archive if the file has the same size, CRC and content. The
+ * modification time is not compared, an archive only stores it with a resolution of two seconds.
+ * The new archive is written to a temporary
+ * file which replaces the target file on {@link #close()}, so the previous archive stays intact
+ * while it is read and if writing fails.
+ * </p>
+ * <p>
+ * Entries that are written through {@link #getStreamedEntriesOutputStream()} are collected in a
+ * separate temporary archive and appended to the archive on close. Only archives with less than
+ * 65535 entries and less than 4 GB are supported (no ZIP64). The number of worker threads can be
+ * configured with the <code>jdt.jarExport.parallelism</code> system property, a value of
+ * <code>1</code> reads and compresses all entries in the calling thread.
+ * </p>
+ */
+public final class JarArchiveWriter implements Closeable {
+
+	/**
+	 * The content of a file entry. All methods are called on a worker thread.
+	 */
+	public interface IEntryContent {
+
+		/**
+		 * @return the modification time of the file in milliseconds
+		 * @throws IOException if the file cannot be accessed
+		 */
+		long getLastModified() throws IOException;
+
+		/**
+		 * @return the content of the file
+		 * @throws IOException if the file cannot be read
+		 */
+		byte[] getBytes() throws IOException;
+	}
+
+	/**
+	 * Signals that a single entry could not be written. The entry is skipped, the remaining entries
+	 * are still written.
+	 */
+	public static final class EntryException extends IOException {
+
+		private static final long serialVersionUID= 1L;
+
+		private final transient IEntryContent fContent;
+
+		EntryException(IEntryContent content, IOException cause) {
+			super(cause.getLocalizedMessage(), cause);
+			fContent= content;
+		}
+
+		/**
+		 * @return the content of the entry that could not be written
+		 */
+		public IEntryContent getContent() {
+			return fContent;
+		}
+	}
+
+	private static final int PARALLELISM= Integer.getInteger("jdt.jarExport.parallelism", Runtime.getRuntime().availableProcessors()).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Number of entries per worker thread that may be read or compressed ahead of the entry that is
+	 * written next. Bounds the memory held by compressed entries that wait to be written.
+	 */
+	private static final int PENDING_ENTRIES_PER_THREAD= 16;
+
+	private static final int LOCAL_HEADER_SIGNATURE= 0x04034b50;
+	private static final int CENTRAL_HEADER_SIGNATURE= 0x02014b50;
+	private static final int END_HEADER_SIGNATURE= 0x06054b50;
+	private static final int LOCAL_HEADER_LENGTH= 30;
+	private static final int CENTRAL_HEADER_LENGTH= 46;
+	private static final int END_HEADER_LENGTH= 22;
+	private static final int FLAG_ENCRYPTED= 0x1;
+	private static final int FLAG_UTF8= 0x800;
+	private static final int VERSION_STORED= 10;
+	private static final int VERSION_DEFLATED= 20;
+	private static final int MAX_ENTRIES= 0xffff;
+	private static final long MAX_OFFSET= 0xffffffffL;
+
+	private static final byte[] NO_EXTRA= {};
+
+	/**
+	 * The extra field that marks a ZIP file as JAR file, see {@link JarOutputStream}.
+	 */
+	private static final byte[] JAR_MAGIC= { (byte) 0xfe, (byte) 0xca, 0, 0 };
+
+	private static final class Entry {
+
+		final String fName;
+		final byte[] fNameBytes;
+		int fMethod;
+		long fDosTime;
+		long fCrc;
+		long fSize;
+		long fCompressedSize;
+		long fOffset;
+		byte[] fExtra= NO_EXTRA;
+		byte[] fData;
+
+		Entry(String name, byte[] nameBytes) {
+			fName= name;
+			fNameBytes= nameBytes;
+		}
+
+		Entry(String name) {
+			this(name, name.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * An existing archive from which entries are copied in their compressed form.
+	 */
+	private static final class SourceArchive implements Closeable {
+
+		final FileChannel fChannel;
+		final Map<String, Entry> fEntries;
+
+		private SourceArchive(FileChannel channel, Map<String, Entry> entries) {
+			fChannel= channel;
+			fEntries= entries;
+		}
+
+		/**
+		 * Reads the central directory of the given archive.
+		 *
+		 * @param file the archive
+		 * @return the archive or <code>null</code> if it is not a ZIP file or uses unsupported
+		 *         features
+		 * @throws IOException if the file cannot be read
+		 */
+		static SourceArchive open(File file) throws IOException {
+			FileChannel channel= FileChannel.open(file.toPath(), StandardOpenOption.READ);
+			try {
+				Map<String, Entry> entries= readCentralDirectory(channel);
+				if (entries != null)
+					return new SourceArchive(channel, entries);
+			} catch (IOException | RuntimeException e) {
+				channel.close();
+				throw e;
+			}
+			channel.close();
+			return null;
+		}
+
+		private static Map<String, Entry> readCentralDirectory(FileChannel channel) throws IOException {
+			long size= channel.size();
+			if (size < END_HEADER_LENGTH)
+				return null;
+			int tailLength= (int) Math.min(size, END_HEADER_LENGTH + 0xffff);
+			ByteBuffer tail= ByteBuffer.allocate(tailLength).order(ByteOrder.LITTLE_ENDIAN);
+			readFully(channel, tail, size - tailLength);
+			int end= tailLength - END_HEADER_LENGTH;
+			while (end >= 0 && tail.getInt(end) != END_HEADER_SIGNATURE)
+				end--;
+			if (end < 0)
+				return null;
+
+			int count= tail.getShort(end + 10) & 0xffff;
+			long directorySize= tail.getInt(end + 12) & MAX_OFFSET;
+			long directoryOffset= tail.getInt(end + 16) & MAX_OFFSET;
+			if (count == MAX_ENTRIES || directorySize == MAX_OFFSET || directoryOffset == MAX_OFFSET || directoryOffset + directorySize > size)
+				return null; // ZIP64 or corrupt
+
+			ByteBuffer directory= ByteBuffer.allocate((int) directorySize).order(ByteOrder.LITTLE_ENDIAN);
+			readFully(channel, directory, directoryOffset);
+			Map<String, Entry> entries= new LinkedHashMap<>(count * 4 / 3 + 1);
+			int position= 0;
+			for (int i= 0; i < count; i++) {
+				if (position + CENTRAL_HEADER_LENGTH > directorySize || directory.getInt(position) != CENTRAL_HEADER_SIGNATURE)
+					return null;
+				int flags= directory.getShort(position + 8) & 0xffff;
+				int nameLength= directory.getShort(position + 28) & 0xffff;
+				int extraLength= directory.getShort(position + 30) & 0xffff;
+				int commentLength= directory.getShort(position + 32) & 0xffff;
+				if (position + CENTRAL_HEADER_LENGTH + nameLength > directorySize)
+					return null;
+
+				byte[] nameBytes= new byte[nameLength];
+				directory.get(position + CENTRAL_HEADER_LENGTH, nameBytes);
+				Entry entry= new Entry(new String(nameBytes, StandardCharsets.UTF_8), nameBytes);
+				entry.fMethod= directory.getShort(position + 10) & 0xffff;
+				entry.fDosTime= directory.getInt(position + 12) & MAX_OFFSET;
+				entry.fCrc= directory.getInt(position + 16) & MAX_OFFSET;
+				entry.fCompressedSize= directory.getInt(position + 20) & MAX_OFFSET;
+				entry.fSize= directory.getInt(position + 24) & MAX_OFFSET;
+				entry.fOffset= directory.getInt(position + 42) & MAX_OFFSET;
+				if ((flags & FLAG_ENCRYPTED) == 0 && (entry.fMethod == ZipEntry.STORED || entry.fMethod == ZipEntry.DEFLATED)
+						&& entry.fCompressedSize != MAX_OFFSET && entry.fSize != MAX_OFFSET && entry.fOffset != MAX_OFFSET)
+					entries.put(entry.fName, entry);
+				position+= CENTRAL_HEADER_LENGTH + nameLength + extraLength + commentLength;
+			}
+			return entries;
+		}
+
+		/**
+		 * Reads the compressed data of the given entry. Can be called concurrently.
+		 *
+		 * @param entry an entry of this archive
+		 * @return the data as stored in the archive
+		 * @throws IOException if reading fails
+		 */
+		byte[] readData(Entry entry) throws IOException {
+			ByteBuffer header= ByteBuffer.allocate(LOCAL_HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+			readFully(fChannel, header, entry.fOffset);
+			if (header.getInt(0) != LOCAL_HEADER_SIGNATURE)
+				throw new ZipException("invalid local header: " + entry.fName); //$NON-NLS-1$
+			long dataOffset= entry.fOffset + LOCAL_HEADER_LENGTH + (header.getShort(26) & 0xffff) + (header.getShort(28) & 0xffff);
+			ByteBuffer data= ByteBuffer.allocate((int) entry.fCompressedSize);
+			readFully(fChannel, data, dataOffset);
+			return data.array();
+		}
+
+		@Override
+		public void close() throws IOException {
+			fChannel.close();
+		}
+
+		private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer, position + buffer.position()) < 0)
+					throw new EOFException();
+			}
+		}
+	}
+
+	private final File fFile;
+	private final File fTempFile;
+	private final OutputStream fOutput;
+	private final int fMethod;
+	private final JarExportTimings fTimings;
+	private final SourceArchive fPrevious;
+	private final ExecutorService fExecutor;
+	private final int fMaxPending;
+
+	private final ArrayDeque<Future<Entry>> fPending= new ArrayDeque<>();
+	private final Set<String> fNames= new HashSet<>();
+	private final List<Entry> fEntries= new ArrayList<>();
+	private long fOffset;
+	private byte[] fComment= NO_EXTRA;
+	private boolean fBroken;
+
+	private File fStreamedFile;
+	private JarOutputStream fStreamedOutput;
+	private int fStreamedCount;
+
+	/**
+	 * Creates a writer for the given archive.
+	 *
+	 * @param file the archive to write
+	 * @param compress <code>true</code> to compress the entries
+	 * @param reuseEntries <code>true</code> to reuse the unchanged entries of an existing archive
+	 * @param timings the timings to record to
+	 * @throws IOException if the temporary file cannot be created
+	 */
+	public JarArchiveWriter(File file, boolean compress, boolean reuseEntries, JarExportTimings timings) throws IOException {
+		fFile= file.getAbsoluteFile();
+		fMethod= compress ? ZipEntry.DEFLATED : ZipEntry.STORED;
+		fTimings= timings;
+		fPrevious= reuseEntries && fFile.isFile() ? openPrevious(fFile) : null;
+		fTempFile= File.createTempFile(fFile.getName(), ".tmp", fFile.getParentFile()); //$NON-NLS-1$
+		fOutput= new BufferedOutputStream(new FileOutputStream(fTempFile), 1 << 16);
+
+		int threads= Math.max(1, PARALLELISM);
+		fMaxPending= threads * PENDING_ENTRIES_PER_THREAD;
+		if (threads > 1) {
+			fExecutor= Executors.newFixedThreadPool(threads, runnable -> {
+				Thread thread= new Thread(runnable, "JAR Export Worker"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		} else {
+			fExecutor= null;
+		}
+	}
+
+	private static SourceArchive openPrevious(File file) {
+		try {
+			return SourceArchive.open(file);
+		} catch (IOException e) {
+			return null; // not reusable, write all entries
+		}
+	}
+
+	/**
+	 * Sets the comment of the archive.
+	 *
+	 * @param comment the comment
+	 */
+	public void setComment(String comment) {
+		byte[] bytes= comment.getBytes(StandardCharsets.UTF_8);
+		fComment= bytes.length > 0xffff ? Arrays.copyOf(bytes, 0xffff) : bytes;
+	}
+
+	/**
+	 * Reserves the given entry name.
+	 *
+	 * @param name the name of an entry
+	 * @throws ZipException if an entry with the given name has already been added
+	 */
+	public void reserveName(String name) throws ZipException {
+		if (!fNames.add(name))
+			throw new ZipException("duplicate entry: " + name); //$NON-NLS-1$
+	}
+
+	/**
+	 * Adds a directory entry.
+	 *
+	 * @param name the name of the entry, ending with a <code>/</code>
+	 * @param time the modification time in milliseconds
+	 * @throws IOException if an entry with the given name has already been added or writing
+	 *             previously added entries failed
+	 */
+	public void addDirectory(String name, long time) throws IOException {
+		reserveName(name);
+		Entry entry= new Entry(name);
+		entry.fMethod= ZipEntry.STORED;
+		entry.fDosTime= toDosTime(time);
+		entry.fData= NO_EXTRA;
+		FutureTask<Entry> task= new FutureTask<>(() -> entry);
+		task.run();
+		enqueue(task);
+	}
+
+	/**
+	 * Adds an entry with the given content. The content is compressed in a worker thread.
+	 *
+	 * @param name the name of the entry
+	 * @param bytes the content
+	 * @param time the modification time in milliseconds
+	 * @throws IOException if an entry with the given name has already been added or writing
+	 *             previously added entries failed
+	 */
+	public void addBytes(String name, byte[] bytes, long time) throws IOException {
+		reserveName(name);
+		submit(() -> {
+			Entry entry= new Entry(name);
+			entry.fDosTime= toDosTime(time);
+			setContent(entry, bytes);
+			return entry;
+		});
+	}
+
+	/**
+	 * Adds a file entry. The file is read and compressed in a worker thread unless the entry of the
+	 * previous archive can be reused.
+	 *
+	 * @param name the name of the entry
+	 * @param content the content of the file
+	 * @throws IOException if an entry with the given name has already been added or writing
+	 *             previously added entries failed
+	 */
+	public void addFile(String name, IEntryContent content) throws IOException {
+		reserveName(name);
+		Entry previous= fPrevious != null ? fPrevious.fEntries.get(name) : null;
+		submit(() -> {
+			try {
+				return prepareFile(name, content, previous);
+			} catch (IOException e) {
+				throw new EntryException(content, e);
+			}
+		});
+	}
+
+	/**
+	 * Returns a stream for entries that are not added through this writer. The entries are
+	 * appended to the archive when it is closed.
+	 *
+	 * @return the stream
+	 * @throws IOException if the temporary file cannot be created
+	 */
+	public JarOutputStream getStreamedEntriesOutputStream() throws IOException {
+		if (fStreamedOutput == null) {
+			fStreamedFile= File.createTempFile("jarexport", ".jar"); //$NON-NLS-1$ //$NON-NLS-2$
+			fStreamedOutput= new JarOutputStream(new BufferedOutputStream(new FileOutputStream(fStreamedFile))) {
+				@Override
+				public void putNextEntry(ZipEntry e) throws IOException {
+					reserveName(e.getName());
+					super.putNextEntry(e);
+					fStreamedCount++;
+				}
+			};
+		}
+		return fStreamedOutput;
+	}
+
+	private Entry prepareFile(String name, IEntryContent content, Entry previous) throws IOException {
+		Entry entry= new Entry(name);
+		entry.fDosTime= toDosTime(content.getLastModified());
+		long start= System.nanoTime();
+		byte[] bytes= content.getBytes();
+		fTimings.phaseDone(Phase.READ, System.nanoTime() - start);
+		if (previous != null && previous.fMethod == fMethod && previous.fSize == bytes.length && previous.fCrc == crc(bytes)) {
+			start= System.nanoTime();
+			byte[] data= fPrevious.readData(previous);
+			if (hasContent(previous, data, bytes)) {
+				reuse(entry, previous, data);
+				fTimings.phaseDone(Phase.REUSE, System.nanoTime() - start);
+				return entry;
+			}
+		}
+		setContent(entry, bytes);
+		return entry;
+	}
+
+	private static void reuse(Entry entry, Entry previous, byte[] data) {
+		entry.fMethod= previous.fMethod;
+		entry.fCrc= previous.fCrc;
+		entry.fSize= previous.fSize;
+		entry.fCompressedSize= previous.fCompressedSize;
+		entry.fData= data;
+	}
+
+	private void setContent(Entry entry, byte[] bytes) {
+		entry.fMethod= fMethod;
+		entry.fSize= bytes.length;
+		entry.fCrc= crc(bytes);
+		if (fMethod == ZipEntry.DEFLATED) {
+			long start= System.nanoTime();
+			entry.fData= deflate(bytes);
+			fTimings.phaseDone(Phase.COMPRESS, System.nanoTime() - start);
+		} else {
+			entry.fData= bytes;
+		}
+		entry.fCompressedSize= entry.fData.length;
+	}
+
+	private static long crc(byte[] bytes) {
+		CRC32 crc= new CRC32();
+		crc.update(bytes);
+		return crc.getValue();
+	}
+
+	private static byte[] deflate(byte[] bytes) {
+		Deflater deflater= new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		try {
+			deflater.setInput(bytes);
+			deflater.finish();
+			ByteArrayOutputStream out= new ByteArrayOutputStream(Math.max(64, bytes.length / 2));
+			byte[] buffer= new byte[8192];
+			while (!deflater.finished()) {
+				int length= deflater.deflate(buffer);
+				out.write(buffer, 0, length);
+			}
+			return out.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	/**
+	 * Tells whether the data of an entry of the previous archive has the given content. The CRC
+	 * alone is not trusted, an entry with the same size and CRC but a different content must not be
+	 * reused.
+	 */
+	private static boolean hasContent(Entry entry, byte[] data, byte[] bytes) {
+		if (entry.fMethod == ZipEntry.STORED)
+			return Arrays.equals(data, bytes);
+
+		Inflater inflater= new Inflater(true);
+		try {
+			inflater.setInput(data);
+			byte[] inflated= new byte[bytes.length];
+			int length= 0;
+			while (length < inflated.length) {
+				int n= inflater.inflate(inflated, length, inflated.length - length);
+				if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+					return false;
+				length+= n;
+			}
+			return Arrays.equals(inflated, bytes);
+		} catch (DataFormatException e) {
+			return false;
+		} finally {
+			inflater.end();
+		}
+	}
+
+	private void submit(Callable<Entry> callable) throws IOException {
+		FutureTask<Entry> task= new FutureTask<>(callable);
+		if (fExecutor != null)
+			fExecutor.execute(task);
+		else
+			task.run();
+		enqueue(task);
+	}
+
+	private void enqueue(Future<Entry> task) throws IOException {
+		fPending.add(task);
+		writeCompleted(false);
+	}
+
+	/**
+	 * Writes the prepared entries in the order in which they have been added.
+	 *
+	 * @param all <code>true</code> to wait for all entries, <code>false</code> to only wait as long
+	 *            as more than the allowed number of entries are pending
+	 * @throws EntryException if an entry could not be prepared; the entry is skipped
+	 * @throws IOException if writing fails
+	 */
+	private void writeCompleted(boolean all) throws IOException {
+		while (!fPending.isEmpty()) {
+			Future<Entry> head= fPending.peek();
+			if (!head.isDone() && !all && fPending.size() <= fMaxPending)
+				return;
+
+			long start= System.nanoTime();
+			Entry entry;
+			try {
+				entry= head.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException();
+			} catch (ExecutionException e) {
+				fPending.poll();
+				Throwable cause= e.getCause();
+				if (cause instanceof IOException)
+					throw (IOException) cause;
+				if (cause instanceof RuntimeException)
+					throw (RuntimeException) cause;
+				throw new IOException(cause);
+			} finally {
+				fTimings.phaseDone(Phase.WAIT, System.nanoTime() - start);
+			}
+			fPending.poll();
+			writeEntry(entry);
+		}
+	}
+
+	private void writeEntry(Entry entry) throws IOException {
+		if (fBroken)
+			throw new IOException("archive cannot be written: " + fFile); //$NON-NLS-1$
+		long start= System.nanoTime();
+		if (fEntries.isEmpty())
+			entry.fExtra= JAR_MAGIC;
+		long length= LOCAL_HEADER_LENGTH + entry.fNameBytes.length + entry.fExtra.length + entry.fCompressedSize;
+		if (fEntries.size() >= MAX_ENTRIES - 1 || fOffset + length >= MAX_OFFSET) {
+			fBroken= true;
+			throw new ZipException("archive too large, ZIP64 is not supported: " + fFile); //$NON-NLS-1$
+		}
+		entry.fOffset= fOffset;
+		try {
+			writeInt(LOCAL_HEADER_SIGNATURE);
+			writeShort(entry.fMethod == ZipEntry.DEFLATED ? VERSION_DEFLATED : VERSION_STORED);
+			writeShort(FLAG_UTF8);
+			writeShort(entry.fMethod);
+			writeInt(entry.fDosTime);
+			writeInt(entry.fCrc);
+			writeInt(entry.fCompressedSize);
+			writeInt(entry.fSize);
+			writeShort(entry.fNameBytes.length);
+			writeShort(entry.fExtra.length);
+			writeBytes(entry.fNameBytes);
+			writeBytes(entry.fExtra);
+			writeBytes(entry.fData);
+		} catch (IOException e) {
+			fBroken= true;
+			throw e;
+		}
+		entry.fData= null;
+		fEntries.add(entry);
+		fTimings.phaseDone(Phase.WRITE, System.nanoTime() - start);
+	}
+
+	private void writeCentralDirectory() throws IOException {
+		long directoryOffset= fOffset;
+		for (Entry entry : fEntries) {
+			writeInt(CENTRAL_HEADER_SIGNATURE);
+			writeShort(VERSION_DEFLATED);
+			writeShort(entry.fMethod == ZipEntry.DEFLATED ? VERSION_DEFLATED : VERSION_STORED);
+			writeShort(FLAG_UTF8);
+			writeShort(entry.fMethod);
+			writeInt(entry.fDosTime);
+			writeInt(entry.fCrc);
+			writeInt(entry.fCompressedSize);
+			writeInt(entry.fSize);
+			writeShort(entry.fNameBytes.length);
+			writeShort(entry.fExtra.length);
+			writeShort(0); // comment length
+			writeShort(0); // disk number
+			writeShort(0); // internal attributes
+			writeInt(0); // external attributes
+			writeInt(entry.fOffset);
+			writeBytes(entry.fNameBytes);
+			writeBytes(entry.fExtra);
+		}
+		long directorySize= fOffset - directoryOffset;
+		if (fOffset >= MAX_OFFSET)
+			throw new ZipException("archive too large, ZIP64 is not supported: " + fFile); //$NON-NLS-1$
+		writeInt(END_HEADER_SIGNATURE);
+		writeShort(0); // disk number
+		writeShort(0); // disk with the central directory
+		writeShort(fEntries.size());
+		writeShort(fEntries.size());
+		writeInt(directorySize);
+		writeInt(directoryOffset);
+		writeShort(fComment.length);
+		writeBytes(fComment);
+	}
+
+	private void writeShort(int value) throws IOException {
+		fOutput.write(value & 0xff);
+		fOutput.write((value >>> 8) & 0xff);
+		fOffset+= 2;
+	}
+
+	private void writeInt(long value) throws IOException {
+		writeShort((int) (value & 0xffff));
+		writeShort((int) ((value >>> 16) & 0xffff));
+	}
+
+	private void writeBytes(byte[] bytes) throws IOException {
+		fOutput.write(bytes);
+		fOffset+= bytes.length;
+	}
+
+	/**
+	 * Appends the entries written to the stream returned by
+	 * {@link #getStreamedEntriesOutputStream()}.
+	 */
+	private void appendStreamedEntries() throws IOException {
+		fStreamedOutput.close();
+		if (fStreamedCount == 0)
+			return;
+		try (SourceArchive streamed= SourceArchive.open(fStreamedFile)) {
+			if (streamed == null)
+				throw new ZipException("invalid archive: " + fStreamedFile); //$NON-NLS-1$
+			for (Entry source : streamed.fEntries.values()) {
+				Entry entry= new Entry(source.fName, source.fNameBytes);
+				entry.fDosTime= source.fDosTime;
+				entry.fMethod= source.fMethod;
+				entry.fCrc= source.fCrc;
+				entry.fSize= source.fSize;
+				entry.fCompressedSize= source.fCompressedSize;
+				entry.fData= streamed.readData(source);
+				writeEntry(entry);
+			}
+		}
+	}
+
+	/**
+	 * Writes the pending entries and the central directory and replaces the target file by the new
+	 * archive. Entries that could not be prepared are skipped, the first such failure is rethrown
+	 * after the archive has been written.
+	 *
+	 * @throws IOException if an entry could not be written or the archive could not be written
+	 */
+	@Override
+	public void close() throws IOException {
+		IOException failure= null;
+		boolean replaced= false;
+		try {
+			while (!fPending.isEmpty() && !fBroken) {
+				try {
+					writeCompleted(true);
+				} catch (EntryException e) {
+					if (failure == null)
+						failure= e;
+				}
+			}
+			if (fStreamedOutput != null)
+				appendStreamedEntries();
+			writeCentralDirectory();
+			fOutput.close();
+			if (fPrevious != null)
+				fPrevious.close();
+			try {
+				Files.move(fTempFile.toPath(), fFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(fTempFile.toPath(), fFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			replaced= true;
+		} catch (IOException e) {
+			failure= e;
+		} finally {
+			dispose(replaced);
+		}
+		if (failure != null)
+			throw failure;
+	}
+
+	/**
+	 * Discards the archive, the target file is left unchanged.
+	 */
+	public void abort() {
+		dispose(false);
+	}
+
+	private void dispose(boolean replaced) {
+		if (fExecutor != null)
+			fExecutor.shutdownNow();
+		fPending.clear();
+		closeQuietly(fOutput);
+		closeQuietly(fPrevious);
+		closeQuietly(fStreamedOutput);
+		if (fStreamedFile != null)
+			fStreamedFile.delete();
+		if (!replaced)
+			fTempFile.delete();
+	}
+
+	private static void closeQuietly(Closeable closeable) {
+		if (closeable == null)
+			return;
+		try {
+			closeable.close();
+		} catch (IOException e) {
+			// ignore, the file is deleted or has been closed before
+		}
+	}
+
+	/**
+	 * @return the number of entries written to the archive
+	 */
+	public int getEntryCount() {
+		return fEntries.size();
+	}
+
+	/**
+	 * Converts the given time to the MS-DOS date and time format used in ZIP files, the date in the
+	 * upper and the time in the lower 16 bits.
+	 *
+	 * @param time the time in milliseconds
+	 * @return the MS-DOS date and time
+	 */
+	static long toDosTime(long time) {
+		LocalDateTime dateTime= LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+		int year= dateTime.getYear() - 1980;
+		if (year < 0)
+			return (1 << 21) | (1 << 16); // 1980-01-01 00:00
+		year= Math.min(year, 127);
+		return ((long) year << 25 | dateTime.getMonthValue() << 21 | dateTime.getDayOfMonth() << 16
+				| dateTime.getHour() << 11 | dateTime.getMinute() << 5 | dateTime.getSecond() >> 1) & MAX_OFFSET;
+	}
+}
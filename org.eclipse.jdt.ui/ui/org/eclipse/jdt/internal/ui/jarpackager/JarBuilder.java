@@ -36,6 +36,7 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
 public abstract class JarBuilder implements IJarBuilder {
 
 	private MultiStatus fStatus;
+	private JarExportTimings fTimings= new JarExportTimings();
 
 	@Override
 	public void open(JarPackageData jarPackage, Shell shell, MultiStatus status) throws CoreException {
@@ -53,6 +54,27 @@ public abstract class JarBuilder implements IJarBuilder {
 		return fStatus;
 	}
 
+	/**
+	 * Sets the timings that the export is recorded to. Has to be called before
+	 * {@link #open(JarPackageData, Shell, MultiStatus)}.
+	 *
+	 * @param timings the timings
+	 *
+	 * @since 3.33
+	 */
+	public void setTimings(JarExportTimings timings) {
+		fTimings= timings;
+	}
+
+	/**
+	 * @return the timings that the export is recorded to
+	 *
+	 * @since 3.33
+	 */
+	public JarExportTimings getTimings() {
+		return fTimings;
+	}
+
 	//some methods for convenience
 	protected final void addInfo(String message, Throwable error) {
 		fStatus.add(new Status(IStatus.INFO, JavaPlugin.getPluginId(), IJavaStatusConstants.INTERNAL_ERROR, message, error));
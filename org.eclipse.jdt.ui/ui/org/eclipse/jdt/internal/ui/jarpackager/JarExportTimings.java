@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.jarpackager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records where the time of a JAR export is spent. The phases executed by the worker threads of a
+ * {@link JarArchiveWriter} are summed up over all threads. All methods are thread safe.
+ * <p>
+ * The timings of an export are created by the {@link JarFileExportOperation} and passed to the
+ * {@link JarBuilder} and from there to the JAR writer.
+ * </p>
+ */
+public class JarExportTimings {
+
+	/**
+	 * The measured phases of a JAR export.
+	 */
+	public enum Phase {
+		/**
+		 * Walking the selected elements and handing the files to the JAR builder
+		 */
+		EXPORT("export"), //$NON-NLS-1$
+		/**
+		 * Reading the content of a file that has to be written again
+		 */
+		READ("read"), //$NON-NLS-1$
+		/**
+		 * Compressing the content of a file
+		 */
+		COMPRESS("compress"), //$NON-NLS-1$
+		/**
+		 * Reading the unchanged, already compressed entry from the previous archive
+		 */
+		REUSE("reuse"), //$NON-NLS-1$
+		/**
+		 * Waiting for the worker threads before an entry can be written
+		 */
+		WAIT("wait"), //$NON-NLS-1$
+		/**
+		 * Writing an entry to the archive
+		 */
+		WRITE("write"), //$NON-NLS-1$
+		/**
+		 * Closing the JAR builder, i.e. writing the pending entries and the central directory
+		 */
+		CLOSE("close"); //$NON-NLS-1$
+
+		private final String fId;
+
+		Phase(String id) {
+			fId= id;
+		}
+
+		/**
+		 * @return the identifier used by {@link JarExportTimings#toString()}
+		 */
+		public String getId() {
+			return fId;
+		}
+	}
+
+	private final long[] fNanos= new long[Phase.values().length];
+	private final int[] fCounts= new int[Phase.values().length];
+
+	/**
+	 * Records the time spent in a phase.
+	 *
+	 * @param phase the phase
+	 * @param nanos the time the phase took in nanoseconds
+	 */
+	public synchronized void phaseDone(Phase phase, long nanos) {
+		fNanos[phase.ordinal()]+= nanos;
+		fCounts[phase.ordinal()]++;
+	}
+
+	/**
+	 * @param phase the phase
+	 * @return the accumulated time spent in the given phase in milliseconds
+	 */
+	public synchronized long getMillis(Phase phase) {
+		return TimeUnit.NANOSECONDS.toMillis(fNanos[phase.ordinal()]);
+	}
+
+	/**
+	 * @param phase the phase
+	 * @return the number of times the given phase has been recorded, e.g. the number of reused
+	 *         entries for {@link Phase#REUSE}
+	 */
+	public synchronized int getCount(Phase phase) {
+		return fCounts[phase.ordinal()];
+	}
+
+	@Override
+	public synchronized String toString() {
+		Map<String, String> values= new LinkedHashMap<>();
+		for (Phase phase : Phase.values()) {
+			if (fCounts[phase.ordinal()] > 0)
+				values.put(phase.getId(), getMillis(phase) + " ms (" + fCounts[phase.ordinal()] + ')'); //$NON-NLS-1$
+		}
+		return "JarExportTimings " + values; //$NON-NLS-1$
+	}
+}
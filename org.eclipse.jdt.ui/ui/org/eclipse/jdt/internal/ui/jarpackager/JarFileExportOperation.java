@@ -122,6 +122,7 @@ public class JarFileExportOperation extends WorkspaceModifyOperation implements
 	private MessageMultiStatus fStatus;
 	private StandardJavaElementContentProvider fJavaElementContentProvider;
 	private boolean fFilesSaved;
+	private JarExportTimings fTimings;
 
 	/**
 	 * Creates an instance of this class.
@@ -903,6 +904,15 @@ public class JarFileExportOperation extends WorkspaceModifyOperation implements
 			addToStatus(ex);
 	}
 
+	/**
+	 * Returns where the time of the last exported JAR package has been spent.
+	 *
+	 * @return the timings or <code>null</code> if no JAR package has been exported yet
+	 */
+	public JarExportTimings getTimings() {
+		return fTimings;
+	}
+
 	/**
 	 * Returns the status of this operation.
 	 * The result is a status object containing individual
@@ -997,10 +1007,15 @@ public class JarFileExportOperation extends WorkspaceModifyOperation implements
 			} else
 				progressMonitor.beginTask("", totalWork); //$NON-NLS-1$
 
+			fTimings= new JarExportTimings();
 			fJarBuilder = fJarPackage.getJarBuilder();
+			if (fJarBuilder instanceof JarBuilder)
+				((JarBuilder) fJarBuilder).setTimings(fTimings);
 			fJarBuilder.open(fJarPackage, fParentShell, fStatus);
 
+			long start= System.nanoTime();
 			exportSelectedElements(progressMonitor);
+			fTimings.phaseDone(JarExportTimings.Phase.EXPORT, System.nanoTime() - start);
 			if (getStatus().getSeverity() != IStatus.ERROR) {
 				progressMonitor.subTask(JarPackagerMessages.JarFileExportOperation_savingFiles);
 				saveFiles();
@@ -1009,8 +1024,12 @@ public class JarFileExportOperation extends WorkspaceModifyOperation implements
 			addToStatus(ex);
 		} finally {
 			try {
-				if (fJarBuilder != null)
+				if (fJarBuilder != null) {
+					long start= System.nanoTime();
 					fJarBuilder.close();
+					if (fTimings != null)
+						fTimings.phaseDone(JarExportTimings.Phase.CLOSE, System.nanoTime() - start);
+				}
 			} catch (CoreException ex) {
 				addToStatus(ex);
 			}
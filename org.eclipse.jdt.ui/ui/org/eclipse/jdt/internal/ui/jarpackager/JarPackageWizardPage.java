@@ -107,6 +107,7 @@ class JarPackageWizardPage extends AbstractJarDestinationWizardPage {
 	private Button		fCompressCheckbox;
 	private Button		fOverwriteCheckbox;
 	private Button		fIncludeDirectoryEntriesCheckbox;
+	private Button		fIncrementalExportCheckbox;
 	private boolean	fInitiallySelecting= true;
 
 	// dialog store id constants
@@ -120,6 +121,7 @@ class JarPackageWizardPage extends AbstractJarDestinationWizardPage {
 	private static final String STORE_COMPRESS= PAGE_NAME + ".COMPRESS"; //$NON-NLS-1$
 	private final static String STORE_OVERWRITE= PAGE_NAME + ".OVERWRITE"; //$NON-NLS-1$
 	private final static String STORE_INCLUDE_DIRECTORY_ENTRIES= PAGE_NAME + ".INCLUDE_DIRECTORY_ENTRIES"; //$NON-NLS-1$
+	private final static String STORE_INCREMENTAL_EXPORT= PAGE_NAME + ".INCREMENTAL_EXPORT"; //$NON-NLS-1$
 
 	// other constants
 	private static final int SIZING_SELECTION_WIDGET_WIDTH= 480;
@@ -200,6 +202,10 @@ class JarPackageWizardPage extends AbstractJarDestinationWizardPage {
 		fIncludeDirectoryEntriesCheckbox.setText(JarPackagerMessages.JarPackageWizardPage_includeDirectoryEntries_text);
 		fIncludeDirectoryEntriesCheckbox.addListener(SWT.Selection, this);
 
+		fIncrementalExportCheckbox= new Button(optionsGroup, SWT.CHECK | SWT.LEFT);
+		fIncrementalExportCheckbox.setText(JarPackagerMessages.JarPackageWizardPage_incrementalExport_text);
+		fIncrementalExportCheckbox.addListener(SWT.Selection, this);
+
 		fOverwriteCheckbox= new Button(optionsGroup, SWT.CHECK | SWT.LEFT);
 		fOverwriteCheckbox.setText(JarPackagerMessages.JarPackageWizardPage_overwrite_text);
 		fOverwriteCheckbox.addListener(SWT.Selection, this);
@@ -237,6 +243,7 @@ class JarPackageWizardPage extends AbstractJarDestinationWizardPage {
 			settings.put(STORE_REFACTORINGS, fJarPackage.isRefactoringAware());
 			settings.put(STORE_COMPRESS, fJarPackage.isCompressed());
 			settings.put(STORE_INCLUDE_DIRECTORY_ENTRIES, fJarPackage.areDirectoryEntriesIncluded());
+			settings.put(STORE_INCREMENTAL_EXPORT, fJarPackage.isIncrementalExport());
 			settings.put(STORE_OVERWRITE, fJarPackage.allowOverwrite());
 		}
 		// Allow subclasses to save values
@@ -270,6 +277,7 @@ class JarPackageWizardPage extends AbstractJarDestinationWizardPage {
 			fExportRefactoringsCheckbox.setSelection(fJarPackage.isRefactoringAware());
 		fCompressCheckbox.setSelection(fJarPackage.isCompressed());
 		fIncludeDirectoryEntriesCheckbox.setSelection(fJarPackage.areDirectoryEntriesIncluded());
+		fIncrementalExportCheckbox.setSelection(fJarPackage.isIncrementalExport());
 		fOverwriteCheckbox.setSelection(fJarPackage.allowOverwrite());
 	}
 
@@ -292,6 +300,7 @@ class JarPackageWizardPage extends AbstractJarDestinationWizardPage {
 			fJarPackage.setRefactoringAware(settings.getBoolean(STORE_REFACTORINGS));
 			fJarPackage.setCompress(settings.getBoolean(STORE_COMPRESS));
 			fJarPackage.setIncludeDirectoryEntries(settings.getBoolean(STORE_INCLUDE_DIRECTORY_ENTRIES));
+			fJarPackage.setIncrementalExport(settings.getBoolean(STORE_INCREMENTAL_EXPORT));
 			fJarPackage.setOverwrite(settings.getBoolean(STORE_OVERWRITE));
 		}
 	}
@@ -322,6 +331,7 @@ class JarPackageWizardPage extends AbstractJarDestinationWizardPage {
 			fJarPackage.setRefactoringAware(false);
 		fJarPackage.setCompress(fCompressCheckbox.getSelection());
 		fJarPackage.setIncludeDirectoryEntries(fIncludeDirectoryEntriesCheckbox.getSelection());
+		fJarPackage.setIncrementalExport(fIncrementalExportCheckbox.getSelection());
 		fJarPackage.setOverwrite(fOverwriteCheckbox.getSelection());
 	}
 
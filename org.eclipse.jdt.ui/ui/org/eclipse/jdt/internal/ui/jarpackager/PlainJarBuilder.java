@@ -55,7 +55,7 @@ public class PlainJarBuilder extends JarBuilder {
 	public void open(JarPackageData jarPackage, Shell displayShell, MultiStatus statusMsg) throws CoreException {
 		super.open(jarPackage, displayShell, statusMsg);
 		fJarPackage= jarPackage;
-		fJarWriter= new JarWriter3(fJarPackage, displayShell);
+		fJarWriter= new JarWriter3(fJarPackage, displayShell, getTimings());
 	}
 
 	@Override
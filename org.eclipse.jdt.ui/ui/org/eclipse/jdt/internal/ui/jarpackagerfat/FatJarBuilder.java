@@ -54,7 +54,7 @@ public abstract class FatJarBuilder extends JarBuilder implements IJarBuilderExt
 	public void open(JarPackageData jarPackage, Shell displayShell, MultiStatus status) throws CoreException {
 		super.open(jarPackage, displayShell, status);
 		fJarPackage= jarPackage;
-		fJarWriter= new JarWriter4(fJarPackage, displayShell);
+		fJarWriter= new JarWriter4(fJarPackage, displayShell, getTimings());
 	}
 
 	@Override
@@ -142,7 +142,22 @@ public class FatJarPackageWizardPage extends AbstractJarDestinationWizardPage {
 
 		public final static int ID= 2;
 
+		private final boolean fIndexLibraries;
+
 		public PackageLibraryHandler() {
+			this(false);
+		}
+
+		/**
+		 * @param indexLibraries <code>true</code> to write an index of the packaged libraries that
+		 *            lets the class loader open each library only once
+		 */
+		public PackageLibraryHandler(boolean indexLibraries) {
+			fIndexLibraries= indexLibraries;
+		}
+
+		public boolean isIndexLibraries() {
+			return fIndexLibraries;
 		}
 
 		@Override
@@ -152,7 +167,7 @@ public class FatJarPackageWizardPage extends AbstractJarDestinationWizardPage {
 
 		@Override
 		public FatJarBuilder getBuilder(JarPackageData jarPackageData) {
-			return new FatJarRsrcUrlBuilder();
+			return new FatJarRsrcUrlBuilder(fIndexLibraries);
 		}
 
 		@Override
@@ -264,6 +279,7 @@ public class FatJarPackageWizardPage extends AbstractJarDestinationWizardPage {
 	private static final String STORE_ANTSCRIPT_LOCATION= PAGE_NAME + ".ANTSCRIPT_LOCATION"; //$NON-NLS-1$
 	private static final String STORE_ANTSCRIPT_LOCATION_HISTORY= PAGE_NAME + ".ANTSCRIPT_LOCATION_HISTORY"; //$NON-NLS-1$
 	private static final String STORE_LIBRARY_HANDLING= PAGE_NAME + ".LIBRARY_HANDLING"; //$NON-NLS-1$
+	private static final String STORE_INDEX_LIBRARIES= PAGE_NAME + ".INDEX_LIBRARIES"; //$NON-NLS-1$
 
 	private static final String ANTSCRIPT_EXTENSION= "xml"; //$NON-NLS-1$
 
@@ -288,6 +304,7 @@ public class FatJarPackageWizardPage extends AbstractJarDestinationWizardPage {
 	private Button fExtractJarsRadioButton;
 	private Button fPackageJarsRadioButton;
 	private Button fCopyJarFilesRadioButton;
+	private Button fIndexJarsCheckbox;
 
 	public FatJarPackageWizardPage(JarPackageData jarPackage, IStructuredSelection selection) {
 		super(PAGE_NAME, selection, jarPackage);
@@ -472,8 +489,20 @@ public class FatJarPackageWizardPage extends AbstractJarDestinationWizardPage {
 		fPackageJarsRadioButton.setText(FatJarPackagerMessages.FatJarPackageWizardPage_packageJars_text);
 		fPackageJarsRadioButton.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
 		fPackageJarsRadioButton.addListener(SWT.Selection, event -> {
-			if (((Button)event.widget).getSelection())
-				fLibraryHandler= new PackageLibraryHandler();
+			boolean selected= ((Button)event.widget).getSelection();
+			if (selected)
+				fLibraryHandler= new PackageLibraryHandler(fIndexJarsCheckbox.getSelection());
+			fIndexJarsCheckbox.setEnabled(selected);
+		});
+
+		fIndexJarsCheckbox= new Button(fLibraryHandlingGroup, SWT.CHECK | SWT.LEFT);
+		fIndexJarsCheckbox.setText(FatJarPackagerMessages.FatJarPackageWizardPage_indexJars_text);
+		GridData indexJarsData= new GridData(GridData.FILL_HORIZONTAL);
+		indexJarsData.horizontalIndent= convertWidthInCharsToPixels(3);
+		fIndexJarsCheckbox.setLayoutData(indexJarsData);
+		fIndexJarsCheckbox.addListener(SWT.Selection, event -> {
+			if (fLibraryHandler.getID() == PackageLibraryHandler.ID)
+				fLibraryHandler= new PackageLibraryHandler(fIndexJarsCheckbox.getSelection());
 		});
 
 		fCopyJarFilesRadioButton= new Button(fLibraryHandlingGroup, SWT.RADIO | SWT.LEFT);
@@ -497,11 +526,14 @@ public class FatJarPackageWizardPage extends AbstractJarDestinationWizardPage {
 		fExtractJarsRadioButton.setSelection(libraryHandler.getID() == ExtractLibraryHandler.ID);
 		fPackageJarsRadioButton.setSelection(libraryHandler.getID() == PackageLibraryHandler.ID);
 		fCopyJarFilesRadioButton.setSelection(libraryHandler.getID() == CopyLibraryHandler.ID);
+		if (libraryHandler instanceof PackageLibraryHandler)
+			fIndexJarsCheckbox.setSelection(((PackageLibraryHandler) libraryHandler).isIndexLibraries());
+		fIndexJarsCheckbox.setEnabled(libraryHandler.getID() == PackageLibraryHandler.ID);
 	}
 
-	LibraryHandler createLibraryHandlerById(int handlerId) {
+	LibraryHandler createLibraryHandlerById(int handlerId, boolean indexLibraries) {
 		if (handlerId == PackageLibraryHandler.ID)
-			return new PackageLibraryHandler();
+			return new PackageLibraryHandler(indexLibraries);
 		if (handlerId == CopyLibraryHandler.ID)
 			return new CopyLibraryHandler();
 		return new ExtractLibraryHandler();
@@ -940,7 +972,9 @@ public class FatJarPackageWizardPage extends AbstractJarDestinationWizardPage {
 				libraryHandling= settings.getInt(STORE_LIBRARY_HANDLING);
 			} catch (NumberFormatException ignore) { // also thrown if no value was stored (null)
 			}
-			setLibraryHandler(createLibraryHandlerById(libraryHandling));
+			boolean indexLibraries= settings.getBoolean(STORE_INDEX_LIBRARIES);
+			fIndexJarsCheckbox.setSelection(indexLibraries);
+			setLibraryHandler(createLibraryHandlerById(libraryHandling, indexLibraries));
 
 			// LAUNCH CONFIG
 			String name= settings.get(STORE_LAUNCH_CONFIGURATION_SELECTION_NAME);
@@ -990,6 +1024,7 @@ public class FatJarPackageWizardPage extends AbstractJarDestinationWizardPage {
 
 			// LIBRARY HANDLING
 			settings.put(STORE_LIBRARY_HANDLING, getLibraryHandler().getID());
+			settings.put(STORE_INDEX_LIBRARIES, fIndexJarsCheckbox.getSelection());
 
 			// LAUNCH CONFIG
 			int index= fLaunchConfigurationCombo.getSelectionIndex();
@@ -44,6 +44,7 @@ public final class FatJarPackagerMessages extends NLS {
 	public static String FatJarPackageWizardPage_extractJars_text;
 
 	public static String FatJarPackageWizardPage_packageJars_text;
+	public static String FatJarPackageWizardPage_indexJars_text;
 
 	public static String FatJarPackageWizardPage_copyJarFiles_text;
 
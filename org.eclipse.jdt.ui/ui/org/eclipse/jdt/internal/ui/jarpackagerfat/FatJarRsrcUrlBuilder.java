@@ -18,9 +18,14 @@ package org.eclipse.jdt.internal.ui.jarpackagerfat;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.jar.JarEntry;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -54,6 +59,28 @@ public class FatJarRsrcUrlBuilder extends FatJarBuilder {
 
 	private Set<String> jarNames;
 	private JarPackageData fJarPackage;
+	private final boolean fIndexLibraries;
+	private StringBuilder fIndex;
+
+	public FatJarRsrcUrlBuilder() {
+		this(false);
+	}
+
+	/**
+	 * @param indexLibraries <code>true</code> to write an index of the packages in the referenced
+	 *            libraries, which allows the class loader to extract and open each library only
+	 *            once and to skip the libraries that do not contain a package
+	 */
+	public FatJarRsrcUrlBuilder(boolean indexLibraries) {
+		fIndexLibraries= indexLibraries;
+	}
+
+	/**
+	 * @return <code>true</code> if an index of the referenced libraries is written
+	 */
+	public boolean isIndexLibraries() {
+		return fIndexLibraries;
+	}
 
 	@Override
 	public String getId() {
@@ -93,6 +120,9 @@ public class FatJarRsrcUrlBuilder extends FatJarBuilder {
 		super.open(jarPackage, displayShell, status);
 		fJarPackage= jarPackage;
 		jarNames= new HashSet<>();
+		if (fIndexLibraries) {
+			fIndex= new StringBuilder(JIJConstants.INDEX_VERSION).append('\n');
+		}
 		try {
 			writeRsrcUrlClasses();
 		} catch (IOException e) {
@@ -116,11 +146,68 @@ public class FatJarRsrcUrlBuilder extends FatJarBuilder {
 				JarPackagerUtil.setCrcAndSize(newEntry, allBytes);
 			}
 			getJarWriter().addZipEntryStream(newEntry, allBytes, jarName);
+			if (fIndex != null) {
+				appendIndex(jarFile, jarName, allBytes);
+			}
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
 	}
 
+	/**
+	 * Appends the section of a library to the index: a line with the size, the SHA-256 hash and the
+	 * name of the library, followed by the directories that contain its entries and an empty line.
+	 */
+	private void appendIndex(ZipFile jarFile, String jarName, byte[] content) {
+		byte[] hash;
+		try {
+			hash= MessageDigest.getInstance("SHA-256").digest(content); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+		fIndex.append(content.length).append(' ');
+		for (byte b : hash) {
+			fIndex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		}
+		fIndex.append(' ').append(jarName).append('\n');
+		Set<String> packages= new TreeSet<>();
+		for (Enumeration<? extends ZipEntry> entries= jarFile.entries(); entries.hasMoreElements();) {
+			String name= entries.nextElement().getName();
+			int lastSlash= name.lastIndexOf('/');
+			if (lastSlash == -1) {
+				packages.add(JIJConstants.ROOT_PACKAGE);
+				continue;
+			}
+			// include the parent directories, so that lookups of directories find the library as well
+			while (lastSlash > 0 && packages.add(name.substring(0, lastSlash))) {
+				lastSlash= name.lastIndexOf('/', lastSlash - 1);
+			}
+		}
+		for (String packageName : packages) {
+			fIndex.append(packageName).append('\n');
+		}
+		fIndex.append('\n');
+	}
+
+	@Override
+	public void close() throws CoreException {
+		if (fIndex != null && getJarWriter() != null) {
+			try {
+				byte[] content= fIndex.toString().getBytes(StandardCharsets.UTF_8);
+				JarEntry indexEntry= new JarEntry(JIJConstants.INDEX_ENTRY_NAME);
+				if (!fJarPackage.isCompressed()) {
+					JarPackagerUtil.setCrcAndSize(indexEntry, content);
+				}
+				getJarWriter().addZipEntryStream(indexEntry, content, JIJConstants.INDEX_ENTRY_NAME);
+			} catch (IOException e) {
+				throw new CoreException(new Status(IStatus.ERROR, JavaUI.ID_PLUGIN, e.getMessage(), e));
+			} finally {
+				fIndex= null;
+			}
+		}
+		super.close();
+	}
+
 	public void writeRsrcUrlClasses() throws IOException {
 		try (ZipInputStream zis= new ZipInputStream(JavaPlugin.getDefault().getBundle().getEntry(JAR_RSRC_LOADER_ZIP).openStream())){
 			ZipEntry zipEntry= zis.getNextEntry();
@@ -34,8 +34,11 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
  */
 public class FatJarRsrcUrlManifestProvider extends FatJarManifestProvider {
 
+	private final FatJarRsrcUrlBuilder fBuilder;
+
 	public FatJarRsrcUrlManifestProvider(FatJarRsrcUrlBuilder builder) {
 		super(builder);
+		fBuilder= builder;
 	}
 
 	private void setManifestRsrcClasspath(Manifest ownManifest, JarPackageData jarPackage) {
@@ -76,6 +79,8 @@ public class FatJarRsrcUrlManifestProvider extends FatJarManifestProvider {
 	@Override
 	protected void putAdditionalEntries(Manifest manifest, JarPackageData jarPackage) {
 		setManifestRsrcClasspath(manifest, jarPackage);
+		if (fBuilder.isIndexLibraries())
+			manifest.getMainAttributes().putValue(JIJConstants.REDIRECTED_INDEX_MANIFEST_NAME, JIJConstants.INDEX_ENTRY_NAME);
 		putMainClass(manifest, jarPackage);
 	}
 
@@ -22,6 +22,13 @@ final class JIJConstants {
 	static final String REDIRECTED_CLASS_PATH_MANIFEST_NAME  = "Rsrc-Class-Path";  //$NON-NLS-1$
 	/** duplicates org.eclipse.jdt.internal.jarinjarloader.JIJConstants.REDIRECTED_MAIN_CLASS_MANIFEST_NAME */
 	static final String REDIRECTED_MAIN_CLASS_MANIFEST_NAME  = "Rsrc-Main-Class";  //$NON-NLS-1$
+	/** duplicates org.eclipse.jdt.internal.jarinjarloader.JIJConstants.REDIRECTED_INDEX_MANIFEST_NAME */
+	static final String REDIRECTED_INDEX_MANIFEST_NAME       = "Rsrc-Index";  //$NON-NLS-1$
+	/** duplicates org.eclipse.jdt.internal.jarinjarloader.JIJConstants.INDEX_VERSION */
+	static final String INDEX_VERSION                        = "RsrcIndex-Version: 1.0";  //$NON-NLS-1$
+	/** duplicates org.eclipse.jdt.internal.jarinjarloader.JIJConstants.ROOT_PACKAGE */
+	static final String ROOT_PACKAGE                         = "/";  //$NON-NLS-1$
+	static final String INDEX_ENTRY_NAME                     = "META-INF/RSRC-INDEX.LIST";  //$NON-NLS-1$
 	static final String CURRENT_DIR                          = "./";  //$NON-NLS-1$
 
 	/**
@@ -39,6 +39,7 @@ import org.eclipse.jdt.internal.jarpackager.JarPackagerUtilCore;
 import org.eclipse.jdt.ui.jarpackager.JarPackageData;
 import org.eclipse.jdt.ui.jarpackager.JarWriter3;
 
+import org.eclipse.jdt.internal.ui.jarpackager.JarExportTimings;
 import org.eclipse.jdt.internal.ui.jarpackager.JarPackagerMessages;
 import org.eclipse.jdt.internal.ui.jarpackager.JarPackagerUtil;
 
@@ -61,8 +62,8 @@ public class JarWriter4 extends JarWriter3 {
 		return fJarPackage;
 	}
 
-	public JarWriter4(JarPackageData jarPackage, Shell parent) throws CoreException {
-		super(jarPackage, parent);
+	public JarWriter4(JarPackageData jarPackage, Shell parent, JarExportTimings timings) throws CoreException {
+		super(jarPackage, parent, timings);
 		fJarPackage= jarPackage;
 	}
 
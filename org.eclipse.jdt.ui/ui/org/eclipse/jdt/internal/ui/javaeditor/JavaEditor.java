@@ -3487,7 +3487,7 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 
 	protected void uninstallOverrideIndicator() {
 		if (fOverrideIndicatorManager != null) {
-			fOverrideIndicatorManager.removeAnnotations();
+			fOverrideIndicatorManager.dispose();
 			fOverrideIndicatorManager= null;
 		}
 	}
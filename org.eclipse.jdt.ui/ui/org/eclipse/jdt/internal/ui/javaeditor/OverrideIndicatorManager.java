@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 
 package org.eclipse.jdt.internal.ui.javaeditor;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -32,8 +33,12 @@ import org.eclipse.jface.text.source.Annotation;
 import org.eclipse.jface.text.source.IAnnotationModel;
 import org.eclipse.jface.text.source.IAnnotationModelExtension;
 
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
@@ -57,6 +62,12 @@ import org.eclipse.jdt.internal.ui.util.ExceptionHandler;
 /**
  * Manages the override and overwrite indicators for
  * the given Java element and annotation model.
+ * <p>
+ * The overridden methods found for the methods of the Java element are remembered until the Java
+ * model reports a change other than an edit inside the Java element that leaves its structure
+ * unchanged, so that typing in a method body does not search the type hierarchy of each method
+ * again.
+ * </p>
  *
  * @since 3.0
  */
@@ -126,6 +137,51 @@ class OverrideIndicatorManager implements IJavaReconcilingListener {
 		}
 	}
 
+	/**
+	 * The result of {@link Bindings#findOverriddenMethod(IMethodBinding, boolean)} for a method.
+	 */
+	private static final class OverriddenMethod {
+
+		static final OverriddenMethod NONE= new OverriddenMethod(null, false);
+
+		final String fText;
+		final boolean fIsImplements;
+
+		OverriddenMethod(String text, boolean isImplements) {
+			fText= text;
+			fIsImplements= isImplements;
+		}
+	}
+
+	/**
+	 * Forgets the overridden methods when the Java model changes in a way that can affect them.
+	 */
+	private class ElementChangedListener implements IElementChangedListener {
+
+		private static final int BODY_CHANGE_FLAGS= IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_AST_AFFECTED | IJavaElementDelta.F_PRIMARY_RESOURCE;
+
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			if (mayChangeOverriddenMethods(event.getDelta()))
+				clearOverriddenMethods();
+		}
+
+		private boolean mayChangeOverriddenMethods(IJavaElementDelta delta) {
+			IJavaElement element= delta.getElement();
+			if (fJavaElement.equals(element))
+				return delta.getAffectedChildren().length > 0 || (delta.getFlags() & ~BODY_CHANGE_FLAGS) != 0;
+			if (delta.getKind() == IJavaElementDelta.CHANGED && element.getElementType() < IJavaElement.COMPILATION_UNIT
+					&& (delta.getFlags() & ~IJavaElementDelta.F_CHILDREN) == 0) {
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					if (mayChangeOverriddenMethods(child))
+						return true;
+				}
+				return false;
+			}
+			return true;
+		}
+	}
+
 	static final String ANNOTATION_TYPE= "org.eclipse.jdt.ui.overrideIndicator"; //$NON-NLS-1$
 
 	private IAnnotationModel fAnnotationModel;
@@ -133,6 +189,17 @@ class OverrideIndicatorManager implements IJavaReconcilingListener {
 	private Annotation[] fOverrideAnnotations;
 	private ITypeRoot fJavaElement;
 
+	/**
+	 * The overridden methods by method binding key.
+	 */
+	private final Map<String, OverriddenMethod> fOverriddenMethods= Collections.synchronizedMap(new HashMap<>());
+	/**
+	 * Incremented when the overridden methods are cleared, so that results computed from bindings
+	 * of an older state are not cached.
+	 */
+	private int fOverriddenMethodsGeneration;
+	private final IElementChangedListener fElementChangedListener= new ElementChangedListener();
+
 
 	public OverrideIndicatorManager(IAnnotationModel annotationModel, ITypeRoot javaElement, CompilationUnit ast) {
 		Assert.isNotNull(annotationModel);
@@ -142,6 +209,7 @@ class OverrideIndicatorManager implements IJavaReconcilingListener {
 		fAnnotationModel=annotationModel;
 		fAnnotationModelLockObject= getLockObject(fAnnotationModel);
 
+		JavaCore.addElementChangedListener(fElementChangedListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
 		updateAnnotations(ast, new NullProgressMonitor());
 	}
 
@@ -182,30 +250,7 @@ class OverrideIndicatorManager implements IJavaReconcilingListener {
 			 */
 			@Override
 			public boolean visit(MethodDeclaration node) {
-				IMethodBinding binding= node.resolveBinding();
-				if (binding != null) {
-					IMethodBinding definingMethod= Bindings.findOverriddenMethod(binding, true);
-					if (definingMethod != null) {
-
-						ITypeBinding definingType= definingMethod.getDeclaringClass();
-						String qualifiedMethodName= definingType.getQualifiedName() + "." + binding.getName(); //$NON-NLS-1$
-
-						boolean isImplements= JdtFlags.isAbstract(definingMethod);
-						String text;
-						if (isImplements)
-							text= Messages.format(JavaEditorMessages.OverrideIndicatorManager_implements, BasicElementLabels.getJavaElementName(qualifiedMethodName));
-						else
-							text= Messages.format(JavaEditorMessages.OverrideIndicatorManager_overrides, BasicElementLabels.getJavaElementName(qualifiedMethodName));
-
-						SimpleName name= node.getName();
-						Position position= new Position(name.getStartPosition(), name.getLength());
-
-						annotationMap.put(
-								new OverrideIndicator(isImplements, text, binding.getKey()),
-								position);
-
-					}
-				}
+				addAnnotation(node, annotationMap);
 				return true;
 			}
 		});
@@ -228,6 +273,91 @@ class OverrideIndicatorManager implements IJavaReconcilingListener {
 		}
 	}
 
+	/**
+	 * Adds the override indicator for the given method declaration, if any, to the given map.
+	 *
+	 * @param node the method declaration
+	 * @param annotationMap the map to add the annotation to
+	 */
+	private void addAnnotation(MethodDeclaration node, Map<Annotation, Position> annotationMap) {
+		IMethodBinding binding= node.resolveBinding();
+		if (binding == null)
+			return;
+
+		OverriddenMethod overridden= getOverriddenMethod(binding);
+		if (overridden != OverriddenMethod.NONE) {
+			SimpleName name= node.getName();
+			Position position= new Position(name.getStartPosition(), name.getLength());
+
+			annotationMap.put(
+					new OverrideIndicator(overridden.fIsImplements, overridden.fText, binding.getKey()),
+					position);
+		}
+	}
+
+	/**
+	 * Returns the method overridden by the given method, from the cache if possible. Methods of
+	 * local and anonymous types are not cached since their keys change meaning when local types
+	 * are added or removed by an edit in a method body.
+	 *
+	 * @param binding the method binding
+	 * @return the overridden method or {@link OverriddenMethod#NONE}
+	 */
+	private OverriddenMethod getOverriddenMethod(IMethodBinding binding) {
+		ITypeBinding declaringType= binding.getDeclaringClass();
+		boolean cacheable= declaringType != null && !declaringType.isLocal() && !declaringType.isAnonymous();
+		String key= binding.getKey();
+		int generation;
+		synchronized (fOverriddenMethods) {
+			generation= fOverriddenMethodsGeneration;
+			OverriddenMethod overridden= cacheable ? fOverriddenMethods.get(key) : null;
+			if (overridden != null)
+				return overridden;
+		}
+
+		OverriddenMethod overridden= OverriddenMethod.NONE;
+		IMethodBinding definingMethod= Bindings.findOverriddenMethod(binding, true);
+		if (definingMethod != null) {
+			ITypeBinding definingType= definingMethod.getDeclaringClass();
+			String qualifiedMethodName= definingType.getQualifiedName() + "." + binding.getName(); //$NON-NLS-1$
+
+			boolean isImplements= JdtFlags.isAbstract(definingMethod);
+			String text;
+			if (isImplements)
+				text= Messages.format(JavaEditorMessages.OverrideIndicatorManager_implements, BasicElementLabels.getJavaElementName(qualifiedMethodName));
+			else
+				text= Messages.format(JavaEditorMessages.OverrideIndicatorManager_overrides, BasicElementLabels.getJavaElementName(qualifiedMethodName));
+			overridden= new OverriddenMethod(text, isImplements);
+		}
+		if (cacheable) {
+			synchronized (fOverriddenMethods) {
+				if (generation == fOverriddenMethodsGeneration)
+					fOverriddenMethods.put(key, overridden);
+			}
+		}
+		return overridden;
+	}
+
+	/**
+	 * Forgets the overridden methods.
+	 */
+	private void clearOverriddenMethods() {
+		synchronized (fOverriddenMethods) {
+			fOverriddenMethods.clear();
+			fOverriddenMethodsGeneration++;
+		}
+	}
+
+	/**
+	 * Removes all override indicators from this manager's annotation model and stops listening
+	 * to changes of the Java model.
+	 */
+	void dispose() {
+		JavaCore.removeElementChangedListener(fElementChangedListener);
+		clearOverriddenMethods();
+		removeAnnotations();
+	}
+
 	/**
 	 * Removes all override indicators from this manager's annotation model.
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -52,6 +52,13 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 	/** The background presentation reconciler */
 	private JavaPresentationReconciler fPresentationReconciler;
 
+	/** Lock for the changed region */
+	private final Object fChangedRegionLock= new Object();
+	/** Start offset of the region changed since the last call to {@link #takeChangedRegion()}, <code>-1</code> if none */
+	private int fChangedStart= -1;
+	/** End offset (exclusive) of the region changed since the last call to {@link #takeChangedRegion()} */
+	private int fChangedEnd= -1;
+
 	/**
 	 * Creates and returns a new highlighted position with the given offset, length and highlighting.
 	 * <p>
@@ -344,6 +351,63 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 	 */
 	@Override
 	public void documentChanged(DocumentEvent event) {
+		int offset= event.getOffset();
+		int replacedEnd= offset + event.getLength();
+		int text= event.getText() == null ? 0 : event.getText().length();
+		int delta= text - event.getLength();
+		synchronized (fChangedRegionLock) {
+			if (fChangedStart == -1) {
+				fChangedStart= offset;
+				fChangedEnd= offset + text;
+			} else {
+				int start= fChangedStart <= offset ? fChangedStart : fChangedStart >= replacedEnd ? fChangedStart + delta : offset;
+				int end= fChangedEnd <= offset ? fChangedEnd : fChangedEnd >= replacedEnd ? fChangedEnd + delta : offset + text;
+				fChangedStart= Math.min(start, offset);
+				fChangedEnd= Math.max(end, offset + text);
+			}
+		}
+	}
+
+	/**
+	 * Adds the positions that start in the given range to the given list.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @param list the list
+	 * @param offset the range offset
+	 * @param length the range length
+	 */
+	public void addPositions(List<Position> list, int offset, int length) {
+		int end= offset + length;
+		synchronized (fPositionLock) {
+			for (int i= computeIndexAtOffset(fPositions, offset), n= fPositions.size(); i < n; i++) {
+				Position position= fPositions.get(i);
+				if (position.getOffset() >= end)
+					break;
+				list.add(position);
+			}
+		}
+	}
+
+	/**
+	 * Returns the region of the document that has changed since the last call and resets it.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @return the changed region in the coordinates of the current document, or <code>null</code>
+	 *         if the document has not changed
+	 */
+	public IRegion takeChangedRegion() {
+		synchronized (fChangedRegionLock) {
+			if (fChangedStart == -1)
+				return null;
+			IRegion region= new Region(fChangedStart, fChangedEnd - fChangedStart);
+			fChangedStart= -1;
+			fChangedEnd= -1;
+			return region;
+		}
 	}
 
 	/**
@@ -485,6 +549,10 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 		synchronized (fPositionLock) {
 			fPositions.clear();
 		}
+		synchronized (fChangedRegionLock) {
+			fChangedStart= -1;
+			fChangedEnd= -1;
+		}
 	}
 
 	/**
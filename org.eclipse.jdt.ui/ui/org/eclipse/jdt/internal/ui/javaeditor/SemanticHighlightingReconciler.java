@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,6 +26,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextInputListener;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.TextPresentation;
@@ -37,13 +38,17 @@ import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.Block;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.ConstructorInvocation;
 import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.GuardedPattern;
 import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.Initializer;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.Modifier.ModifierKeyword;
+import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.dom.RecordDeclaration;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.SimpleType;
@@ -62,11 +67,19 @@ import org.eclipse.jdt.internal.ui.util.ASTHelper;
 
 /**
  * Semantic highlighting reconciler - Background thread implementation.
+ * <p>
+ * If the document has only changed inside the body of a single method or initializer since the
+ * last reconcile, only the positions in that body are collected again; the positions outside have
+ * already been shifted by the presenter's position updater. The incremental mode can be disabled
+ * with the <code>jdt.semanticHighlighting.incremental</code> system property.
+ * </p>
  *
  * @since 3.0
  */
 public class SemanticHighlightingReconciler implements IJavaReconcilingListener, ITextInputListener {
 
+	private static final boolean INCREMENTAL= Boolean.parseBoolean(System.getProperty("jdt.semanticHighlighting.incremental", "true")); //$NON-NLS-1$ //$NON-NLS-2$
+
 	/**
 	 * Collects positions from the AST.
 	 */
@@ -373,6 +386,21 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	private Highlighting fJobDeprecatedMemberHighlighting;
 
+	/**
+	 * <code>true</code> if a reconcile that consumed the changed region of the presenter did not
+	 * complete, so that the next reconcile has to collect all positions.
+	 */
+	private boolean fFullReconcileRequired;
+	/** Incremented by {@link #refresh()}, which requires all positions to be collected again */
+	private volatile int fRefreshCount;
+	/** The refresh count seen by the last completed reconcile */
+	private int fReconciledRefreshCount;
+
+	/** Number of completed reconciles that collected all positions */
+	private int fFullReconcileCount;
+	/** Number of completed reconciles that collected the positions of a single body */
+	private int fIncrementalReconcileCount;
+
 	/*
 	 * @see org.eclipse.jdt.internal.ui.text.java.IJavaReconcilingListener#aboutToBeReconciled()
 	 */
@@ -406,11 +434,21 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (ast == null || fJobPresenter.isCanceled())
 				return;
 
-			ASTNode[] subtrees= getAffectedSubtrees(ast);
+			long start= System.nanoTime();
+			IRegion changedRegion= fJobPresenter.takeChangedRegion();
+			int refreshCount= fRefreshCount;
+			boolean fullReconcileRequired= fFullReconcileRequired || refreshCount != fReconciledRefreshCount || forced || !INCREMENTAL;
+			fFullReconcileRequired= true;
+
+			ASTNode[] subtrees= getAffectedSubtrees(ast, fullReconcileRequired ? null : changedRegion);
 			if (subtrees.length == 0)
 				return;
+			boolean incremental= subtrees[0] != ast;
 
-			startReconcilingPositions();
+			if (incremental)
+				startReconcilingPositions(subtrees[0]);
+			else
+				startReconcilingPositions();
 
 			if (!fJobPresenter.isCanceled()) {
 				fJobDeprecatedMemberHighlighting= null;
@@ -428,8 +466,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (!fJobPresenter.isCanceled())
 				textPresentation= fJobPresenter.createPresentation(fAddedPositions, fRemovedPositions);
 
-			if (!fJobPresenter.isCanceled())
+			if (!fJobPresenter.isCanceled()) {
 				updatePresentation(textPresentation, fAddedPositions, fRemovedPositions);
+				fFullReconcileRequired= false;
+				fReconciledRefreshCount= refreshCount;
+				recordReconcile(incremental, subtrees, System.nanoTime() - start);
+			}
 
 			stopReconcilingPositions();
 		} finally {
@@ -444,14 +486,52 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	}
 
 	/**
+	 * Returns the subtrees that may be affected by the document changes since the last reconcile.
+	 * Changes that are strictly inside the body of a method or initializer cannot affect the
+	 * highlighting outside of that body, all other changes may have distant effects.
+	 *
 	 * @param node Root node
+	 * @param changedRegion the region changed since the last reconcile or <code>null</code> if
+	 *            all positions have to be collected
 	 * @return Array of subtrees that may be affected by past document changes
 	 */
-	private ASTNode[] getAffectedSubtrees(ASTNode node) {
-		// TODO: only return nodes which are affected by document changes - would require an 'anchor' concept for taking distant effects into account
+	private ASTNode[] getAffectedSubtrees(CompilationUnit node, IRegion changedRegion) {
+		if (changedRegion != null) {
+			Block body= getEnclosingBody(node, changedRegion);
+			if (body != null)
+				return new ASTNode[] { body };
+		}
 		return new ASTNode[] { node };
 	}
 
+	/**
+	 * Returns the body of the method or initializer that strictly contains the given region.
+	 *
+	 * @param node Root node
+	 * @param region the region
+	 * @return the body or <code>null</code> if the region is not inside a single body
+	 */
+	private static Block getEnclosingBody(CompilationUnit node, IRegion region) {
+		int start= region.getOffset();
+		int end= start + region.getLength();
+		ASTNode current= NodeFinder.perform(node, start, region.getLength());
+		Block body= null;
+		while (current != null) {
+			if (current instanceof Block) {
+				ASTNode parent= current.getParent();
+				if (parent instanceof MethodDeclaration || parent instanceof Initializer)
+					body= (Block) current;
+			}
+			current= current.getParent();
+		}
+		if (body == null || (body.getFlags() & ASTNode.MALFORMED) != 0)
+			return null;
+		// the braces of the body must not have changed
+		if (start <= body.getStartPosition() || end >= body.getStartPosition() + body.getLength())
+			return null;
+		return body;
+	}
+
 	/**
 	 * Start reconciling positions.
 	 */
@@ -460,6 +540,58 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		fNOfRemovedPositions= fRemovedPositions.size();
 	}
 
+	/**
+	 * Start reconciling the positions of the given subtree, the positions outside of it are kept.
+	 *
+	 * @param subtree the AST subtree
+	 */
+	private void startReconcilingPositions(ASTNode subtree) {
+		fJobPresenter.addPositions(fRemovedPositions, subtree.getStartPosition(), subtree.getLength());
+		fNOfRemovedPositions= fRemovedPositions.size();
+	}
+
+	/**
+	 * Counts a completed reconcile.
+	 *
+	 * @param incremental <code>true</code> if only the positions of a single body were collected
+	 * @param subtrees the reconciled subtrees
+	 * @param nanos the duration in nanoseconds
+	 */
+	private void recordReconcile(boolean incremental, ASTNode[] subtrees, long nanos) {
+		synchronized (fReconcileLock) {
+			if (incremental)
+				fIncrementalReconcileCount++;
+			else
+				fFullReconcileCount++;
+		}
+		if (JavaPlugin.DEBUG_SEMANTIC_HIGHLIGHTING) {
+			int length= 0;
+			for (ASTNode subtree : subtrees)
+				length+= subtree.getLength();
+			System.out.println("SemanticHighlightingReconciler: " + (incremental ? "incremental" : "full") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ " reconcile of " + length + " characters, " + fAddedPositions.size() + " added and " + fRemovedPositions.size() + " removed positions in " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					+ (nanos / 1000) + " us"); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * @return the number of completed reconciles that collected all positions
+	 */
+	public int getFullReconcileCount() {
+		synchronized (fReconcileLock) {
+			return fFullReconcileCount;
+		}
+	}
+
+	/**
+	 * @return the number of completed reconciles that only collected the positions of a single body
+	 */
+	public int getIncrementalReconcileCount() {
+		synchronized (fReconcileLock) {
+			return fIncrementalReconcileCount;
+		}
+	}
+
 	/**
 	 * Reconcile positions based on the AST subtrees
 	 *
@@ -675,6 +807,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @since 3.2
 	 */
 	public void refresh() {
+		fRefreshCount++;
 		scheduleJob();
 	}
 }
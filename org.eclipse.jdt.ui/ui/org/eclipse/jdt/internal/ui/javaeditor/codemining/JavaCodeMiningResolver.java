@@ -0,0 +1,488 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor.codemining;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.codemining.ICodeMining;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+import org.eclipse.jdt.internal.core.manipulation.util.BoundedLRUCache;
+import org.eclipse.jdt.internal.core.manipulation.util.JavaElementDeltas;
+
+import org.eclipse.jdt.ui.PreferenceConstants;
+
+import org.eclipse.jdt.internal.ui.preferences.JavaPreferencesPropertyTester;
+import org.eclipse.jdt.internal.ui.search.JavaSearchScopeFactory;
+
+/**
+ * Resolves the reference and implementation counts of the code minings of one editor.
+ * <p>
+ * The references of each member are counted by a separate search. A single search for an OR
+ * pattern over all members is not used since it reports a reference that matches several members,
+ * like the qualified field access <code>next.value</code>, for only one of them. Type hierarchies
+ * for implementation counts are computed once per type.
+ * </p>
+ * <p>
+ * Counts are cached by element handle until a Java element delta arrives that might change them.
+ * All searches run in a dedicated pool whose size can be configured with the
+ * <code>jdt.codemining.parallelism</code> system property. Whenever a thread of the pool becomes
+ * free, the pending mining that is closest to the visible region of the editor is resolved next, so
+ * minings on screen are resolved first and minings off screen are deferred until they are scrolled
+ * into view or all visible minings are resolved. When the editor is scrolled so that visible minings
+ * are pending, the searches of the running minings off screen are canceled and these minings are
+ * queued again. Pending minings are dropped without being resolved and running searches are
+ * canceled when their monitor or the resolver is canceled.
+ * </p>
+ */
+public final class JavaCodeMiningResolver {
+
+	private static final int PARALLELISM= Math.max(1, Integer.getInteger("jdt.codemining.parallelism", 2).intValue()); //$NON-NLS-1$
+
+	private static final int MAX_CACHED_COUNTS= 5000;
+
+	private static final Executor EXECUTOR;
+
+	static {
+		ThreadPoolExecutor executor= new ThreadPoolExecutor(PARALLELISM, PARALLELISM, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread= new Thread(runnable, "Java Code Mining Resolver"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.allowCoreThreadTimeOut(true);
+		EXECUTOR= executor;
+	}
+
+	/**
+	 * Reference and implementation counts by element handle, shared by all editors.
+	 */
+	private static final class CountCache implements IElementChangedListener {
+
+		private final BoundedLRUCache<String, Long> fCounts= new BoundedLRUCache<>("CodeMiningCountCache", MAX_CACHED_COUNTS); //$NON-NLS-1$
+
+		Long get(String key) {
+			return fCounts.get(key);
+		}
+
+		/**
+		 * @return the generation to pass to {@link #put(String, long, long)}, which drops the
+		 *         results of searches that started before the cache was cleared
+		 */
+		long getGeneration() {
+			return fCounts.getGeneration();
+		}
+
+		void put(String key, long count, long generation) {
+			fCounts.put(key, Long.valueOf(count), generation);
+		}
+
+		void clear() {
+			fCounts.clear();
+		}
+
+		/**
+		 * Clears the cache unless the delta only reports that working copies have been opened,
+		 * closed or saved, which doesn't change the content that is searched. Also clears the empty
+		 * cache, so that the count of a search that is in progress is not stored.
+		 */
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			if (!JavaElementDeltas.visitTypeRootDeltas(event.getDelta(), JavaElementDeltas::isWorkingCopyChange))
+				fCounts.clear();
+		}
+	}
+
+	private static CountCache fgCache;
+
+	/**
+	 * The task that is run by the current thread of the pool.
+	 */
+	private static final ThreadLocal<Task> fgCurrentTask= new ThreadLocal<>();
+
+	/**
+	 * A pending resolution of a mining.
+	 */
+	private static final class Task {
+
+		final ICodeMining fMining;
+		final IProgressMonitor fMonitor;
+		final Runnable fRunnable;
+		final CompletableFuture<Void> fFuture= new CompletableFuture<>();
+		/**
+		 * Set when the running searches of the task are canceled to resolve visible minings first.
+		 */
+		volatile boolean fPreempted;
+
+		Task(ICodeMining mining, IProgressMonitor monitor, Runnable runnable) {
+			fMining= mining;
+			fMonitor= monitor;
+			fRunnable= runnable;
+		}
+
+		/**
+		 * Returns the distance of the mining to the given region.
+		 *
+		 * @param start the start offset of the visible region
+		 * @param end the end offset of the visible region
+		 * @return <code>0</code> if the mining is visible, the distance in characters otherwise
+		 */
+		int getDistance(int start, int end) {
+			Position position= fMining.getPosition();
+			if (position == null || position.isDeleted())
+				return Integer.MAX_VALUE;
+			if (position.getOffset() + position.getLength() < start)
+				return start - position.getOffset() - position.getLength();
+			if (position.getOffset() > end)
+				return position.getOffset() - end;
+			return 0;
+		}
+
+		int getOffset() {
+			Position position= fMining.getPosition();
+			return position != null ? position.getOffset() : Integer.MAX_VALUE;
+		}
+	}
+
+	private final IProgressMonitor fMonitor= new NullProgressMonitor();
+	private final boolean fIgnoreInaccurate;
+
+	private final Map<String, ITypeHierarchy> fHierarchies= new HashMap<>();
+
+	private final List<Task> fPending= new ArrayList<>();
+	private final List<Task> fRunning= new ArrayList<>();
+	private int fVisibleStart= -1;
+	private int fVisibleEnd= -1;
+
+	/**
+	 * Creates a resolver for the minings of one editor.
+	 */
+	public JavaCodeMiningResolver() {
+		fIgnoreInaccurate= JavaPreferencesPropertyTester.isEnabled(PreferenceConstants.EDITOR_JAVA_CODEMINING_IGNORE_INEXACT_MATCHES);
+	}
+
+	private static synchronized CountCache getCache() {
+		if (fgCache == null) {
+			fgCache= new CountCache();
+			JavaCore.addElementChangedListener(fgCache, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return fgCache;
+	}
+
+	/**
+	 * Removes all counts from the shared count cache.
+	 */
+	public static synchronized void clearCache() {
+		if (fgCache != null) {
+			fgCache.clear();
+		}
+	}
+
+	/**
+	 * Removes the listener of the shared count cache if it has been created.
+	 */
+	public static synchronized void disposeDefault() {
+		if (fgCache != null) {
+			JavaCore.removeElementChangedListener(fgCache);
+			fgCache= null;
+		}
+	}
+
+	/**
+	 * Schedules the resolution of the given mining in the resolver pool.
+	 *
+	 * @param mining the mining
+	 * @param monitor the progress monitor of the mining
+	 * @param runnable resolves the mining
+	 * @return the future that is completed when the mining is resolved or dropped
+	 */
+	public CompletableFuture<Void> resolve(ICodeMining mining, IProgressMonitor monitor, Runnable runnable) {
+		Task task= new Task(mining, monitor, runnable);
+		synchronized (fPending) {
+			fPending.add(task);
+		}
+		EXECUTOR.execute(this::runNext);
+		return task.fFuture;
+	}
+
+	/**
+	 * Sets the region of the document that is visible in the editor. If minings in the region are
+	 * pending, the running minings outside of it are preempted.
+	 *
+	 * @param start the offset of the first visible character
+	 * @param end the offset after the last visible character
+	 */
+	public void setVisibleRange(int start, int end) {
+		synchronized (fPending) {
+			fVisibleStart= start;
+			fVisibleEnd= end;
+			if (fRunning.isEmpty())
+				return;
+			boolean visiblePending= false;
+			for (Task task : fPending) {
+				if (task.getDistance(start, end) == 0) {
+					visiblePending= true;
+					break;
+				}
+			}
+			if (!visiblePending)
+				return;
+			for (Task task : fRunning) {
+				if (task.getDistance(start, end) > 0)
+					task.fPreempted= true;
+			}
+		}
+	}
+
+	/**
+	 * Resolves the pending mining that is closest to the visible region. Runs once per scheduled
+	 * mining.
+	 */
+	private void runNext() {
+		Task next= null;
+		synchronized (fPending) {
+			int best= Integer.MAX_VALUE;
+			for (Task task : fPending) {
+				if (task.fMonitor.isCanceled() || fMonitor.isCanceled()) {
+					next= task;
+					break;
+				}
+				int distance= fVisibleStart == -1 ? 0 : task.getDistance(fVisibleStart, fVisibleEnd);
+				if (next == null || distance < best || distance == best && task.getOffset() < next.getOffset()) {
+					next= task;
+					best= distance;
+				}
+			}
+			if (next == null)
+				return;
+			fPending.remove(next);
+			next.fPreempted= false;
+			fRunning.add(next);
+		}
+		boolean preempted= false;
+		fgCurrentTask.set(next);
+		try {
+			if (!next.fMonitor.isCanceled() && !fMonitor.isCanceled())
+				next.fRunnable.run();
+			next.fFuture.complete(null);
+		} catch (OperationCanceledException e) {
+			preempted= next.fPreempted && !next.fMonitor.isCanceled() && !fMonitor.isCanceled();
+			if (!preempted)
+				next.fFuture.complete(null);
+		} catch (RuntimeException e) {
+			next.fFuture.completeExceptionally(e);
+		} finally {
+			fgCurrentTask.remove();
+			synchronized (fPending) {
+				fRunning.remove(next);
+				if (preempted)
+					fPending.add(next);
+			}
+		}
+		if (preempted)
+			EXECUTOR.execute(this::runNext);
+	}
+
+	/**
+	 * Cancels the searches of this resolver and drops its pending minings.
+	 */
+	public void cancel() {
+		fMonitor.setCanceled(true);
+	}
+
+	/**
+	 * Returns a monitor for the searches of a mining that is canceled when the monitor of the mining
+	 * or this resolver is canceled, or when the mining is preempted.
+	 *
+	 * @param monitor the progress monitor of the mining
+	 * @return the monitor for the searches
+	 */
+	private IProgressMonitor createSearchMonitor(IProgressMonitor monitor) {
+		Task task= fgCurrentTask.get();
+		return new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return fMonitor.isCanceled() || monitor.isCanceled() || task != null && task.fPreempted;
+			}
+		};
+	}
+
+	/**
+	 * Returns the number of references to the given element.
+	 *
+	 * @param element the element
+	 * @param monitor the progress monitor of the mining
+	 * @return the number of references
+	 * @throws CoreException if the search fails
+	 */
+	public long countReferences(IJavaElement element, IProgressMonitor monitor) throws CoreException {
+		if (element == null)
+			return 0;
+		CountCache cache= getCache();
+		String key= "R" + (fIgnoreInaccurate ? 'x' : 'i') + element.getHandleIdentifier(); //$NON-NLS-1$
+		Long cached= cache.get(key);
+		if (cached != null)
+			return cached.longValue();
+
+		long generation= cache.getGeneration();
+		long result= searchReferences(element, fIgnoreInaccurate, createSearchMonitor(monitor));
+		cache.put(key, result, generation);
+		return result;
+	}
+
+	/**
+	 * Returns the number of source types that implement or extend the given type.
+	 *
+	 * @param type the type
+	 * @param monitor the progress monitor
+	 * @return the number of implementations
+	 * @throws JavaModelException if the hierarchy cannot be computed
+	 */
+	public long countTypeImplementations(IType type, IProgressMonitor monitor) throws JavaModelException {
+		return countImplementations(type, type, monitor);
+	}
+
+	/**
+	 * Returns the number of source types in the hierarchy of the declaring type that declare the
+	 * given method.
+	 *
+	 * @param method the method
+	 * @param monitor the progress monitor
+	 * @return the number of implementations
+	 * @throws JavaModelException if the hierarchy cannot be computed
+	 */
+	public long countMethodImplementations(IMethod method, IProgressMonitor monitor) throws JavaModelException {
+		if (method == null)
+			return 0;
+		return countImplementations(method, method.getDeclaringType(), monitor);
+	}
+
+	private long countImplementations(IJavaElement element, IType type, IProgressMonitor monitor) throws JavaModelException {
+		CountCache cache= getCache();
+		String key= "I" + element.getHandleIdentifier(); //$NON-NLS-1$
+		Long cached= cache.get(key);
+		if (cached != null)
+			return cached.longValue();
+
+		long generation= cache.getGeneration();
+		long count= 0;
+		for (IType subtype : getHierarchy(type, createSearchMonitor(monitor)).getAllSubtypes(type)) {
+			if (subtype.getAncestor(IJavaElement.COMPILATION_UNIT) == null)
+				continue;
+			if (element instanceof IMethod) {
+				IMethod method= (IMethod) element;
+				if (!subtype.getMethod(method.getElementName(), method.getParameterTypes()).exists())
+					continue;
+			}
+			count++;
+		}
+		cache.put(key, count, generation);
+		return count;
+	}
+
+	private ITypeHierarchy getHierarchy(IType type, IProgressMonitor monitor) throws JavaModelException {
+		String key= type.getHandleIdentifier();
+		synchronized (fHierarchies) {
+			ITypeHierarchy hierarchy= fHierarchies.get(key);
+			if (hierarchy != null)
+				return hierarchy;
+		}
+		ITypeHierarchy hierarchy= type.newTypeHierarchy(monitor);
+		synchronized (fHierarchies) {
+			fHierarchies.putIfAbsent(key, hierarchy);
+		}
+		return hierarchy;
+	}
+
+	/**
+	 * Returns the number of references to the given element.
+	 *
+	 * @param element the element
+	 * @param ignoreInaccurate whether inaccurate matches are ignored
+	 * @param monitor the progress monitor
+	 * @return the number of references
+	 * @throws CoreException if the search fails
+	 */
+	private static long searchReferences(IJavaElement element, boolean ignoreInaccurate, IProgressMonitor monitor) throws CoreException {
+		final AtomicLong count= new AtomicLong(0);
+		SearchPattern pattern= SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
+		if (pattern == null) {
+			return 0;
+		}
+		SearchEngine engine= new SearchEngine();
+		engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
+				createSearchScope(element), new SearchRequestor() {
+
+					@Override
+					public void acceptSearchMatch(SearchMatch match) throws CoreException {
+						if (match.getAccuracy() == SearchMatch.A_INACCURATE && ignoreInaccurate) {
+							return;
+						}
+						Object o= match.getElement();
+						if (o instanceof IJavaElement) {
+							IJavaElement e= (IJavaElement)o;
+							if (e.getAncestor(IJavaElement.COMPILATION_UNIT) != null
+									|| e.getAncestor(IJavaElement.CLASS_FILE) != null) {
+								count.incrementAndGet();
+							}
+						}
+					}
+				}, monitor);
+
+		return count.get();
+	}
+
+	/**
+	 * Create Java workspace scope.
+	 *
+	 * @param element IJavaElement to search references for
+	 *
+	 * @return the Java workspace scope.
+	 * @throws JavaModelException when java error.
+	 */
+	private static IJavaSearchScope createSearchScope(IJavaElement element) throws JavaModelException {
+		JavaSearchScopeFactory factory= JavaSearchScopeFactory.getInstance();
+		boolean isInsideJRE= factory.isInsideJRE(element);
+		return factory.createWorkspaceScope(isInsideJRE);
+	}
+}
@@ -18,10 +18,15 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import org.eclipse.swt.custom.StyledText;
+
 import org.eclipse.core.runtime.IProgressMonitor;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.ITextViewerExtension5;
+import org.eclipse.jface.text.IViewportListener;
+import org.eclipse.jface.text.JFaceTextUtil;
 import org.eclipse.jface.text.codemining.AbstractCodeMiningProvider;
 import org.eclipse.jface.text.codemining.ICodeMining;
 import org.eclipse.jface.text.source.ISourceViewerExtension5;
@@ -67,6 +72,18 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 
 	private final boolean editorEnabled;
 
+	private JavaCodeMiningResolver resolver;
+
+	private volatile boolean disposed;
+
+	private ITextViewer viewportViewer;
+
+	private IViewportListener viewportListener;
+
+	private int visibleStart= -1;
+
+	private int visibleEnd= -1;
+
 	public JavaElementCodeMiningProvider() {
 		editorEnabled= JavaPreferencesPropertyTester.isEnabled(PreferenceConstants.EDITOR_CODEMINING_ENABLED);
 		showAtLeastOne= editorEnabled && JavaPreferencesPropertyTester.isEnabled(PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_CODEMINING_AT_LEAST_ONE);
@@ -90,6 +107,7 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 				return CompletableFuture.completedFuture(Collections.emptyList());
 			}
 		}
+		installViewportListener(viewer);
 		return CompletableFuture.supplyAsync(() -> {
 			monitor.isCanceled();
 			ITextEditor textEditor= super.getAdapter(ITextEditor.class);
@@ -100,7 +118,15 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 			try {
 				IJavaElement[] elements= unit.getChildren();
 				List<ICodeMining> minings= new ArrayList<>(elements.length);
-				collectMinings(unit, textEditor, unit.getChildren(), minings, viewer, monitor);
+				JavaCodeMiningResolver newResolver= new JavaCodeMiningResolver();
+				collectMinings(unit, textEditor, unit.getChildren(), minings, newResolver, viewer, monitor);
+				synchronized (this) {
+					if (resolver != null) {
+						resolver.cancel();
+					}
+					resolver= newResolver;
+					resolver.setVisibleRange(visibleStart, visibleEnd);
+				}
 				// interrupt if editor was marked to be reconciled in the meantime
 				if (viewer instanceof ISourceViewerExtension5) {
 					ISourceViewerExtension5 codeMiningViewer= (ISourceViewerExtension5)viewer;
@@ -117,6 +143,76 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 		});
 	}
 
+	/**
+	 * Tracks the visible region of the viewer so that visible minings are resolved first.
+	 *
+	 * @param viewer the viewer
+	 */
+	private void installViewportListener(ITextViewer viewer) {
+		StyledText textWidget= viewer.getTextWidget();
+		if (textWidget == null || textWidget.isDisposed()) {
+			return;
+		}
+		textWidget.getDisplay().asyncExec(() -> {
+			if (disposed || viewportListener != null || textWidget.isDisposed()) {
+				return;
+			}
+			viewportViewer= viewer;
+			viewportListener= verticalOffset -> updateVisibleRange(viewer);
+			viewer.addViewportListener(viewportListener);
+			updateVisibleRange(viewer);
+		});
+	}
+
+	private void updateVisibleRange(ITextViewer viewer) {
+		StyledText textWidget= viewer.getTextWidget();
+		if (textWidget == null || textWidget.isDisposed()) {
+			return;
+		}
+		int start;
+		int end;
+		if (viewer instanceof ITextViewerExtension5) {
+			ITextViewerExtension5 extension= (ITextViewerExtension5) viewer;
+			int bottomLine= JFaceTextUtil.getPartialBottomIndex(textWidget);
+			start= extension.widgetOffset2ModelOffset(textWidget.getOffsetAtLine(JFaceTextUtil.getPartialTopIndex(textWidget)));
+			end= bottomLine + 1 < textWidget.getLineCount() ? textWidget.getOffsetAtLine(bottomLine + 1) : textWidget.getCharCount();
+			end= extension.widgetOffset2ModelOffset(Math.max(0, end - 1)) + 1;
+		} else {
+			start= viewer.getTopIndexStartOffset();
+			end= viewer.getBottomIndexEndOffset();
+		}
+		if (start < 0 || end <= 0) {
+			return;
+		}
+		synchronized (this) {
+			visibleStart= start;
+			visibleEnd= end;
+			if (resolver != null) {
+				resolver.setVisibleRange(start, end);
+			}
+		}
+	}
+
+	@Override
+	public void dispose() {
+		disposed= true;
+		ITextViewer viewer= viewportViewer;
+		IViewportListener listener= viewportListener;
+		if (viewer != null && listener != null) {
+			StyledText textWidget= viewer.getTextWidget();
+			if (textWidget != null && !textWidget.isDisposed()) {
+				textWidget.getDisplay().asyncExec(() -> viewer.removeViewportListener(listener));
+			}
+		}
+		synchronized (this) {
+			if (resolver != null) {
+				resolver.cancel();
+				resolver= null;
+			}
+		}
+		super.dispose();
+	}
+
 	/**
 	 * Collect java code minings.
 	 *
@@ -124,12 +220,14 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 	 * @param textEditor the Java editor
 	 * @param elements the java elements to track
 	 * @param minings the current list of minings to update
+	 * @param miningResolver the resolver of the minings
 	 * @param viewer the viewer
 	 * @param monitor the monitor
 	 * @throws JavaModelException thrown when java model error
 	 */
 	private void collectMinings(ITypeRoot unit, ITextEditor textEditor, IJavaElement[] elements,
-			List<ICodeMining> minings, ITextViewer viewer, IProgressMonitor monitor) throws JavaModelException {
+			List<ICodeMining> minings, JavaCodeMiningResolver miningResolver, ITextViewer viewer,
+			IProgressMonitor monitor) throws JavaModelException {
 
 		// Only Java editor is supported, see bug 541811
 		if(!(textEditor instanceof JavaEditor)) {
@@ -146,7 +244,7 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 				return;
 			}
 			if (element.getElementType() == IJavaElement.TYPE) {
-				collectMinings(unit, textEditor, ((IType) element).getChildren(), minings, viewer, monitor);
+				collectMinings(unit, textEditor, ((IType) element).getChildren(), minings, miningResolver, viewer, monitor);
 			} else if ((element.getElementType() != IJavaElement.METHOD)
 					&& (element.getElementType() != IJavaElement.FIELD)) {
 				continue;
@@ -158,7 +256,7 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 							|| (showReferencesOnFields && (element.getElementType() == IJavaElement.FIELD)) // Show references on fields
 					) {
 						minings.add(new JavaReferenceCodeMining(element, (JavaEditor) textEditor, viewer.getDocument(),
-								this, showAtLeastOne));
+								this, showAtLeastOne, miningResolver));
 					}
 				} catch (BadLocationException e) {
 					// Should never occur
@@ -178,7 +276,7 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 				if (addMining) {
 					try {
 						minings.add(new JavaImplementationCodeMining(element, (JavaEditor) textEditor, viewer.getDocument(), this,
-								showAtLeastOne));
+								showAtLeastOne, miningResolver));
 					} catch (BadLocationException e) {
 						// Should never occur
 					}
@@ -63,23 +63,26 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 
 	private final boolean showImplementationsAtLeastOne;
 
+	private final JavaCodeMiningResolver resolver;
+
 	private Consumer<MouseEvent> action;
 
 	public JavaImplementationCodeMining(IJavaElement element, JavaEditor editor, IDocument document, ICodeMiningProvider provider,
-			boolean showImplementationsAtLeastOne) throws JavaModelException, BadLocationException {
+			boolean showImplementationsAtLeastOne, JavaCodeMiningResolver resolver) throws JavaModelException, BadLocationException {
 		super(element, document, provider, null);
 		this.editor= editor;
 		this.showImplementationsAtLeastOne= showImplementationsAtLeastOne;
+		this.resolver= resolver;
 	}
 
 	@Override
 	protected CompletableFuture<Void> doResolve(ITextViewer viewer, IProgressMonitor monitor) {
-		return CompletableFuture.runAsync(() -> {
+		return resolver.resolve(this, monitor, () -> {
 			try {
 				IJavaElement element= super.getElement();
 				if (element instanceof IType) {
 					// for a type, count types implementing this type and show type hierarchy
-					final long typeImplCount= countTypeImplementations((IType) element, monitor);
+					final long typeImplCount= resolver.countTypeImplementations((IType) element, monitor);
 					action= typeImplCount > 0 ? e -> {
 						if (typeImplCount == 1 && (e.stateMask & SWT.CTRL) == SWT.CTRL) {
 							// Ctrl + Click is done, open the referenced element in the Java Editor
@@ -101,7 +104,7 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 					}
 				} else if (element instanceof IMethod) {
 					// for a method, count declarations in hierarchy and show search->declarations->hierarchy
-					final long methodImplCount= countMethodImplementations((IMethod) element, monitor);
+					final long methodImplCount= resolver.countMethodImplementations((IMethod) element, monitor);
 					action= methodImplCount > 0 ? e -> {
 						if (methodImplCount == 1 && (e.stateMask & SWT.CTRL) == SWT.CTRL) {
 							// Ctrl + Click is done, open the referenced element in the Java Editor
@@ -152,19 +155,6 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 		}
 	}
 
-	/**
-	 * Return the count of implementation for the given java element type.
-	 *
-	 * @param type the java element type.
-	 * @param monitor the monitor
-	 * @return the count of implementation for the given java element type.
-	 * @throws JavaModelException throws when Java error
-	 */
-	private static long countTypeImplementations(IType type, IProgressMonitor monitor) throws JavaModelException {
-		IType[] results= type.newTypeHierarchy(monitor).getAllSubtypes(type);
-		return Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).count();
-	}
-
 	/**
 	 * Return the first implementation for the given java element type.
 	 *
@@ -178,25 +168,6 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 		return Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).findFirst().get();
 	}
 
-	/**
-	 * Return the count of implementation for the java element method.
-	 *
-	 * @param method the java element method.
-	 * @param monitor the monitor
-	 * @return the count of implementation for the given java element method.
-	 * @throws CoreException throws when java error
-	 */
-	private static long countMethodImplementations(IMethod method, IProgressMonitor monitor) throws CoreException {
-		if (method == null) {
-			return 0;
-		}
-		IType type= method.getDeclaringType();
-		IType[] results= type.newTypeHierarchy(monitor).getAllSubtypes(type);
-		List<IType> list= Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).collect(Collectors.toList());
-		long count= list.stream().filter(t -> t.getMethod(method.getElementName(), method.getParameterTypes()).exists()).count();
-		return count;
-	}
-
 	/**
 	 * Return the implementation of a java element method.
 	 *
@@ -16,8 +16,11 @@ package org.eclipse.jdt.internal.ui.packageview;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
@@ -83,6 +86,84 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	protected static final int GRANT_PARENT= 1 << 1;
 	protected static final int PROJECT= 1 << 2;
 
+	/**
+	 * Time the pending updates may block the display thread before the remaining updates are
+	 * rescheduled, roughly one frame. Can be configured with the
+	 * <code>jdt.packageExplorer.updateSliceMillis</code> system property, <code>0</code> runs all
+	 * pending updates at once.
+	 */
+	private static final long UPDATE_SLICE_NANOS= TimeUnit.MILLISECONDS.toNanos(Integer.getInteger("jdt.packageExplorer.updateSliceMillis", 20).intValue()); //$NON-NLS-1$
+
+	/**
+	 * A refresh, add or remove of an element that is known to {@link PackageExplorerContentProvider#coalesce(Collection)}.
+	 * Other runnables are executed as they are.
+	 */
+	private abstract class ViewerUpdate implements Runnable {
+
+		/**
+		 * The refreshed or removed element, or the parent of the added element.
+		 */
+		final Object fElement;
+
+		ViewerUpdate(Object element) {
+			fElement= element;
+		}
+	}
+
+	private final class RefreshUpdate extends ViewerUpdate {
+
+		boolean fUpdateLabels;
+
+		RefreshUpdate(Object element, boolean updateLabels) {
+			super(element);
+			fUpdateLabels= updateLabels;
+		}
+
+		@Override
+		public void run() {
+			if (fElement == null || fViewer.testFindItems(fElement).length > 0) {
+				fViewer.refresh(fElement, fUpdateLabels);
+			}
+		}
+	}
+
+	private final class AddUpdate extends ViewerUpdate {
+
+		private final Object fChild;
+
+		AddUpdate(Object parent, Object child) {
+			super(parent);
+			fChild= child;
+		}
+
+		@Override
+		public void run() {
+			for (Widget item : fViewer.testFindItems(fChild)) {
+				if (item instanceof TreeItem && !item.isDisposed()) {
+					TreeItem parentItem= ((TreeItem) item).getParentItem();
+					if (parentItem != null && !parentItem.isDisposed() && fElement.equals(parentItem.getData())) {
+						return; // no add, element already added (most likely by a refresh)
+					}
+				}
+			}
+			fViewer.add(fElement, fChild);
+		}
+	}
+
+	private final class RemoveUpdate extends ViewerUpdate {
+
+		RemoveUpdate(Object element) {
+			super(element);
+		}
+
+		@Override
+		public void run() {
+			if (fViewer.testFindItems(fElement).length > 0) {
+				fViewer.remove(fElement);
+			}
+		}
+	}
+
 	private TreeViewer fViewer;
 	private Object fInput;
 	private boolean fIsFlatLayout;
@@ -93,6 +174,11 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 
 	private UIJob fUpdateJob;
 
+	// statistics of the coalescing, only accessed in the display thread
+	private long fExecutedUpdates;
+	private long fFoldedUpdates;
+	private long fDroppedUpdates;
+
 	/**
 	 * We use a cache to know whether a package has a single child for the hierarchical representation.
 	 * This avoids looping over all packages for each call to
@@ -155,7 +241,7 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 			}
 			//Are we in the UIThread? If so spin it until we are done
 			if (!hasPendingUpdates && ctrl.getDisplay().getThread() == Thread.currentThread() && !fViewer.isBusy()) {
-				runUpdates(runnables);
+				runUpdates(runnables, 0);
 			} else {
 				synchronized (this) {
 					if (fPendingUpdates == null) {
@@ -177,7 +263,7 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 					if (viewer != null && viewer.isBusy()) {
 						schedule(100); // reschedule when viewer is busy: bug 184991
 					} else {
-						runPendingUpdates();
+						runPendingUpdates(UPDATE_SLICE_NANOS);
 					}
 					return Status.OK_STATUS;
 				}
@@ -191,6 +277,16 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	 * Run all of the runnables that are the widget updates. Must be called in the display thread.
 	 */
 	public void runPendingUpdates() {
+		runPendingUpdates(0);
+	}
+
+	/**
+	 * Runs the pending updates until the given time slice is used up and reschedules the remaining
+	 * updates. Must be called in the display thread.
+	 *
+	 * @param sliceNanos the time slice in nanoseconds, <code>0</code> to run all pending updates
+	 */
+	private void runPendingUpdates(long sliceNanos) {
 		Collection<Runnable> pendingUpdates;
 		synchronized (this) {
 			pendingUpdates= fPendingUpdates;
@@ -199,16 +295,183 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 		if (pendingUpdates != null && fViewer != null) {
 			Control control = fViewer.getControl();
 			if (control != null && !control.isDisposed()) {
-				runUpdates(pendingUpdates);
+				List<Runnable> remaining= runUpdates(pendingUpdates, sliceNanos);
+				if (!remaining.isEmpty()) {
+					synchronized (this) {
+						if (fPendingUpdates != null)
+							remaining.addAll(fPendingUpdates);
+						fPendingUpdates= remaining;
+					}
+					postAsyncUpdate(control.getDisplay());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Coalesces and runs the given updates. Must be called in the display thread.
+	 *
+	 * @param runnables the updates to run
+	 * @param sliceNanos the time after which the remaining updates are returned instead of being
+	 *            run, <code>0</code> to run all updates
+	 * @return the updates that have not been run
+	 */
+	private List<Runnable> runUpdates(Collection<Runnable> runnables, long sliceNanos) {
+		List<Runnable> updates= coalesce(runnables);
+		long start= System.nanoTime();
+		for (int i= 0; i < updates.size(); i++) {
+			if (sliceNanos > 0 && i > 0 && System.nanoTime() - start >= sliceNanos)
+				return new ArrayList<>(updates.subList(i, updates.size()));
+			updates.get(i).run();
+			fExecutedUpdates++;
+		}
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Coalesces the given updates. Runnables other than refreshes, adds and removes are kept in
+	 * place and the updates are not coalesced across them. In between:
+	 * <ul>
+	 * <li>updates of elements that are not shown in the viewer are dropped,</li>
+	 * <li>updates below a collapsed item are replaced by a refresh of the topmost collapsed item,</li>
+	 * <li>updates that are covered by the refresh of an ancestor (or the same element) are dropped.</li>
+	 * </ul>
+	 * All updates are run after the Java model has changed, so the refresh of an ancestor reflects
+	 * the same state as the updates it covers. Must be called in the display thread.
+	 *
+	 * @param runnables the updates
+	 * @return the coalesced updates
+	 */
+	private List<Runnable> coalesce(Collection<Runnable> runnables) {
+		List<Runnable> result= new ArrayList<>(runnables.size());
+		List<ViewerUpdate> segment= new ArrayList<>();
+		for (Runnable runnable : runnables) {
+			if (runnable instanceof ViewerUpdate) {
+				segment.add((ViewerUpdate) runnable);
+			} else {
+				coalesceSegment(segment, result);
+				segment.clear();
+				result.add(runnable);
 			}
 		}
+		coalesceSegment(segment, result);
+		return result;
 	}
 
-	private void runUpdates(Collection<Runnable> runnables) {
-		Iterator<Runnable> runnableIterator = runnables.iterator();
-		while (runnableIterator.hasNext()){
-			runnableIterator.next().run();
+	private void coalesceSegment(List<ViewerUpdate> segment, List<Runnable> result) {
+		if (segment.size() < 2 && (segment.isEmpty() || isRoot(segment.get(0).fElement))) {
+			result.addAll(segment);
+			return;
+		}
+
+		List<ViewerUpdate> updates= new ArrayList<>(segment.size());
+		Map<Object, RefreshUpdate> refreshes= new HashMap<>();
+		for (ViewerUpdate update : segment) {
+			boolean folded= false;
+			if (!isRoot(update.fElement)) {
+				Widget[] items= fViewer.testFindItems(update.fElement);
+				if (items.length == 0) {
+					fDroppedUpdates++;
+					continue;
+				}
+				if (items.length == 1 && items[0] instanceof TreeItem) {
+					Object collapsed= getTopmostCollapsedAncestor((TreeItem) items[0]);
+					if (collapsed != null) {
+						update= new RefreshUpdate(collapsed, true);
+						folded= true;
+					}
+				}
+			}
+			if (update instanceof RefreshUpdate) {
+				RefreshUpdate refresh= (RefreshUpdate) update;
+				Object key= isRoot(refresh.fElement) ? fInput : refresh.fElement;
+				RefreshUpdate existing= refreshes.get(key);
+				if (existing != null) {
+					existing.fUpdateLabels|= refresh.fUpdateLabels;
+					fFoldedUpdates++;
+					continue;
+				}
+				refreshes.put(key, refresh);
+			}
+			if (folded)
+				fFoldedUpdates++;
+			updates.add(update);
+		}
+
+		for (ViewerUpdate update : updates) {
+			if (!refreshes.isEmpty() && isCoveredByRefresh(update, refreshes)) {
+				fFoldedUpdates++;
+			} else {
+				result.add(update);
+			}
+		}
+	}
+
+	private boolean isCoveredByRefresh(ViewerUpdate update, Map<Object, RefreshUpdate> refreshes) {
+		RefreshUpdate rootRefresh= refreshes.get(fInput);
+		if (rootRefresh != null && covers(rootRefresh, update))
+			return true;
+		if (isRoot(update.fElement))
+			return false;
+
+		Widget[] items= fViewer.testFindItems(update.fElement);
+		if (items.length != 1 || !(items[0] instanceof TreeItem))
+			return false;
+		// the children of a refreshed element are updated as well
+		TreeItem item= update instanceof AddUpdate ? (TreeItem) items[0] : ((TreeItem) items[0]).getParentItem();
+		while (item != null) {
+			RefreshUpdate refresh= refreshes.get(item.getData());
+			if (refresh != null && covers(refresh, update))
+				return true;
+			item= item.getParentItem();
 		}
+		return false;
+	}
+
+	private static boolean covers(RefreshUpdate refresh, ViewerUpdate update) {
+		return refresh != update && (refresh.fUpdateLabels || !(update instanceof RefreshUpdate) || !((RefreshUpdate) update).fUpdateLabels);
+	}
+
+	private boolean isRoot(Object element) {
+		return element == null || element.equals(fInput);
+	}
+
+	private static Object getTopmostCollapsedAncestor(TreeItem item) {
+		Object collapsed= null;
+		for (TreeItem parent= item.getParentItem(); parent != null; parent= parent.getParentItem()) {
+			if (!parent.getExpanded() && parent.getData() != null)
+				collapsed= parent.getData();
+		}
+		return collapsed;
+	}
+
+	/**
+	 * Returns the number of updates that have been run. Must be called in the display thread.
+	 *
+	 * @return the number of updates run
+	 */
+	public long getExecutedUpdateCount() {
+		return fExecutedUpdates;
+	}
+
+	/**
+	 * Returns the number of updates that have been folded into the refresh of an ancestor or of the
+	 * same element. Must be called in the display thread.
+	 *
+	 * @return the number of folded updates
+	 */
+	public long getFoldedUpdateCount() {
+		return fFoldedUpdates;
+	}
+
+	/**
+	 * Returns the number of updates that have been dropped since their element was not shown.
+	 * Must be called in the display thread.
+	 *
+	 * @return the number of dropped updates
+	 */
+	public long getDroppedUpdateCount() {
+		return fDroppedUpdates;
 	}
 
 
@@ -949,35 +1212,17 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	}
 
 	protected void postRefresh(final List<Object> toRefresh, final boolean updateLabels, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			for (Object element : toRefresh.toArray()) {
-				if (element == null || fViewer.testFindItems(element).length > 0) {
-					fViewer.refresh(element, updateLabels);
-				}
-			}
-		});
+		for (Object element : toRefresh.toArray()) {
+			runnables.add(new RefreshUpdate(element, updateLabels));
+		}
 	}
 
 	protected void postAdd(final Object parent, final Object element, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			for (Widget item : fViewer.testFindItems(element)) {
-				if (item instanceof TreeItem && !item.isDisposed()) {
-					TreeItem parentItem= ((TreeItem) item).getParentItem();
-					if (parentItem != null && !parentItem.isDisposed() && parent.equals(parentItem.getData())) {
-						return; // no add, element already added (most likely by a refresh)
-					}
-				}
-			}
-			fViewer.add(parent, element);
-		});
+		runnables.add(new AddUpdate(parent, element));
 	}
 
 	protected void postRemove(final Object element, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			if (fViewer.testFindItems(element).length > 0) {
-				fViewer.remove(element);
-			}
-		});
+		runnables.add(new RemoveUpdate(element));
 	}
 
 	protected void postProjectStateChanged(final Object root, Collection<Runnable> runnables) {
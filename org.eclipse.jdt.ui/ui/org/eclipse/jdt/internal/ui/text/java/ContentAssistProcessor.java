@@ -226,6 +226,12 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 	 */
 	private static final String PREF_WARN_ABOUT_EMPTY_ASSIST_CATEGORY= "EmptyDefaultAssistCategory"; //$NON-NLS-1$
 
+	/**
+	 * The number of proposals at the top of the list whose Javadoc is rendered in the background,
+	 * roughly the number of rows shown by the proposal popup.
+	 */
+	private static final int PRERENDERED_PROPOSALS= 15;
+
 	private static final Comparator<CompletionProposalCategory> ORDER_COMPARATOR= (d1, d2) -> d1.getSortOrder() - d2.getSortOrder();
 
 	private final List<CompletionProposalCategory> fCategories;
@@ -297,6 +303,9 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		fNumberOfComputedResults= proposals.size();
 		long filter= JavaPlugin.DEBUG_RESULT_COLLECTOR ? System.currentTimeMillis() : 0;
 
+		if (!fNeedsSortingAfterFiltering)
+			prerenderProposalInfos(proposals);
+
 		ICompletionProposal[] result= proposals.toArray(new ICompletionProposal[proposals.size()]);
 		monitor.done();
 
@@ -310,6 +319,26 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		return result;
 	}
 
+	/**
+	 * Schedules the rendering of the Javadoc of the first proposals, which are visible when the
+	 * popup opens. The proposal infos are retrieved here since the proposals are not thread-safe.
+	 *
+	 * @param proposals the sorted proposals
+	 */
+	private void prerenderProposalInfos(List<ICompletionProposal> proposals) {
+		List<ProposalInfo> infos= new ArrayList<>(PRERENDERED_PROPOSALS);
+		for (ICompletionProposal proposal : proposals) {
+			if (infos.size() == PRERENDERED_PROPOSALS)
+				break;
+			if (proposal instanceof AbstractJavaCompletionProposal) {
+				ProposalInfo info= ((AbstractJavaCompletionProposal) proposal).getProposalInfo();
+				if (info != null)
+					infos.add(info);
+			}
+		}
+		ProposalInfo.prerender(infos);
+	}
+
 	private void clearState() {
 		fErrorMessage=null;
 		fNumberOfComputedResults= 0;
@@ -66,6 +66,7 @@ final class JavaTextMessages extends NLS {
 	public static String CompletionProposalComputerRegistry_invalid_message;
 	public static String CompletionProposalComputerRegistry_error_dialog_title;
 	public static String ContentAssistProcessor_defaultProposalCategory;
+	public static String ContentAssistProcessor_prerendering_javadoc;
 	public static String ContentAssistProcessor_toggle_affordance_press_gesture;
 	public static String ContentAssistProcessor_toggle_affordance_click_gesture;
 	public static String ContentAssistProcessor_toggle_affordance_update_message;
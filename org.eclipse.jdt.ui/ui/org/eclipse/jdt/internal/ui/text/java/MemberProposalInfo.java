@@ -54,7 +54,7 @@ public abstract class MemberProposalInfo extends ProposalInfo {
 	 * @throws JavaModelException if accessing the java model fails
 	 */
 	@Override
-	public IJavaElement getJavaElement() throws JavaModelException {
+	public synchronized IJavaElement getJavaElement() throws JavaModelException {
 		if (!fJavaElementResolved) {
 			fJavaElementResolved= true;
 			fElement= resolveMember();
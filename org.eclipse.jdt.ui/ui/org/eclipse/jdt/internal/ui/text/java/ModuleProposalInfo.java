@@ -36,7 +36,7 @@ public class ModuleProposalInfo extends ProposalInfo {
 	}
 
 	@Override
-	public IJavaElement getJavaElement() throws JavaModelException {
+	public synchronized IJavaElement getJavaElement() throws JavaModelException {
 		if (!fJavaElementResolved) {
 			fJavaElementResolved= true;
 			fElement= resolveModule();
@@ -39,7 +39,7 @@ public class PackageProposalInfo extends ProposalInfo {
 	}
 
 	@Override
-	public IJavaElement getJavaElement() throws JavaModelException {
+	public synchronized IJavaElement getJavaElement() throws JavaModelException {
 		if (!fJavaElementResolved) {
 			fJavaElementResolved= true;
 			fElement= resolvePackage();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,8 +13,13 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text.java;
 
+import java.util.List;
+
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
@@ -27,6 +32,41 @@ import org.eclipse.jdt.internal.ui.text.javadoc.JavadocContentAccess2;
 
 public class ProposalInfo {
 
+	/**
+	 * Renders the Javadoc of the proposals that are visible when the proposal popup opens into the
+	 * shared Javadoc HTML cache, so that the additional info is available once a proposal is
+	 * selected.
+	 */
+	private static final class PrerenderJob extends Job {
+
+		private final List<ProposalInfo> fInfos;
+
+		PrerenderJob(List<ProposalInfo> infos) {
+			super(JavaTextMessages.ContentAssistProcessor_prerendering_javadoc);
+			fInfos= infos;
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			for (ProposalInfo info : fInfos) {
+				if (monitor.isCanceled())
+					return Status.CANCEL_STATUS;
+				try {
+					IJavaElement element= info.getJavaElement();
+					if (element != null)
+						JavadocContentAccess2.getHTMLContent(element, true);
+				} catch (CoreException e) {
+					// ignore, the failure is reported when the info is requested
+				}
+			}
+			return Status.OK_STATUS;
+		}
+	}
+
+	private static PrerenderJob fgPrerenderJob;
+
 	private boolean fJavadocResolved= false;
 	private String fJavadoc= null;
 
@@ -41,7 +81,24 @@ public class ProposalInfo {
 	}
 
 	/**
-	 * Returns the Java element.
+	 * Renders the Javadoc of the given proposal infos in the background, cancelling a previously
+	 * scheduled pre-rendering.
+	 *
+	 * @param infos the infos of the visible proposals, in display order
+	 */
+	static synchronized void prerender(List<ProposalInfo> infos) {
+		if (fgPrerenderJob != null)
+			fgPrerenderJob.cancel();
+		fgPrerenderJob= null;
+		if (infos.isEmpty())
+			return;
+		fgPrerenderJob= new PrerenderJob(infos);
+		fgPrerenderJob.schedule();
+	}
+
+	/**
+	 * Returns the Java element. Also called by the pre-rendering job, i.e. subclasses that resolve
+	 * the element lazily must do so in a thread safe way.
 	 *
 	 * @throws JavaModelException if accessing the java model fails
 	 * @return the Java element
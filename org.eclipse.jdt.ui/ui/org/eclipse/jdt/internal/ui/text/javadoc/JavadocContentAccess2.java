@@ -37,6 +37,7 @@ public class JavadocContentAccess2 {
 	 * Gets an IJavaElement's Javadoc comment content from the source or Javadoc attachment
 	 * and renders the tags and links in HTML.
 	 * Returns <code>null</code> if the element does not have a Javadoc comment or if no source is available.
+	 * The result is shared through the {@link JavadocHTMLCache}.
 	 *
 	 * @param element				the element to get the Javadoc of
 	 * @param useAttachedJavadoc	if <code>true</code> Javadoc will be extracted from attached Javadoc
@@ -46,7 +47,7 @@ public class JavadocContentAccess2 {
 	 * @throws CoreException is thrown when the element's Javadoc cannot be accessed
 	 */
 	public static String getHTMLContent(IJavaElement element, boolean useAttachedJavadoc) throws CoreException {
-		return new CoreJavadocAccess().getHTMLContent(element, useAttachedJavadoc);
+		return JavadocHTMLCache.getDefault().getHTMLContent(element, useAttachedJavadoc, () -> new CoreJavadocAccess().getHTMLContent(element, useAttachedJavadoc));
 	}
 
 	/**
@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.javadoc;
+
+import java.io.File;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IClasspathAttribute;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.internal.core.manipulation.util.BoundedLRUCache;
+import org.eclipse.jdt.internal.core.manipulation.util.JavaElementDeltas;
+
+/**
+ * A bounded cache of the rendered Javadoc HTML of Java elements, shared by the Javadoc hover, the
+ * Javadoc view and the additional info of content assist proposals.
+ * <p>
+ * Entries are keyed by the handle identifier and the stamp of the element, so that an entry is
+ * only returned while the stamp is unchanged. The stamp is computed from the text of the element's
+ * own Javadoc comment and, for elements in archives, from the time stamps of the archive and its
+ * source attachment and from the Javadoc location. Since the rendered HTML also contains inherited
+ * documentation, which can change with a Javadoc-only edit of a supertype, all entries are
+ * discarded on any Java element delta that is not just a
+ * {@link JavaElementDeltas#isWorkingCopyChange(org.eclipse.jdt.core.IJavaElementDelta) working copy
+ * change}. The Javadoc of packages is not cached since it can also come from non-Java resources.
+ * </p>
+ * <p>
+ * The maximum number of entries can be configured with the <code>jdt.javadocHTMLCache.maxEntries</code>
+ * system property, a value of <code>0</code> disables the cache.
+ * </p>
+ */
+public final class JavadocHTMLCache implements IElementChangedListener {
+
+	private static final int MAX_ENTRIES= BoundedLRUCache.getMaxEntries("jdt.javadocHTMLCache.maxEntries", 200); //$NON-NLS-1$
+
+	private static JavadocHTMLCache fgDefault;
+
+	/**
+	 * Renders the Javadoc of an element on a cache miss.
+	 */
+	@FunctionalInterface
+	public interface IRenderer {
+		/**
+		 * @return the Javadoc as HTML or <code>null</code> if there is none
+		 * @throws CoreException if the Javadoc cannot be accessed
+		 */
+		String render() throws CoreException;
+	}
+
+	/**
+	 * The rendered HTML, which is <code>null</code> for elements without Javadoc.
+	 */
+	private static final class Entry {
+
+		final String fHTML;
+
+		Entry(String html) {
+			fHTML= html;
+		}
+	}
+
+	private final BoundedLRUCache<String, Entry> fEntries;
+
+	/**
+	 * Returns the shared cache, installing its element changed listener on first access.
+	 *
+	 * @return the shared cache
+	 */
+	public static synchronized JavadocHTMLCache getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new JavadocHTMLCache(MAX_ENTRIES);
+			if (MAX_ENTRIES > 0) {
+				JavaCore.addElementChangedListener(fgDefault, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+			}
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Disposes the shared cache if it has been created.
+	 */
+	public static synchronized void disposeDefault() {
+		if (fgDefault != null) {
+			JavaCore.removeElementChangedListener(fgDefault);
+			fgDefault.clear();
+			fgDefault= null;
+		}
+	}
+
+	private JavadocHTMLCache(int maxEntries) {
+		fEntries= new BoundedLRUCache<>("JavadocHTMLCache", maxEntries); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the Javadoc HTML of the given element from the cache or renders and caches it.
+	 *
+	 * @param element the element or <code>null</code>, in which case the Javadoc is rendered and
+	 *            not cached
+	 * @param useAttachedJavadoc whether the attached Javadoc is used if there's no source
+	 * @param renderer renders the Javadoc if it is not cached
+	 * @return the Javadoc as HTML or <code>null</code> if there is none
+	 * @throws CoreException if the Javadoc cannot be accessed
+	 */
+	public String getHTMLContent(IJavaElement element, boolean useAttachedJavadoc, IRenderer renderer) throws CoreException {
+		if (element == null || !fEntries.isEnabled())
+			return renderer.render();
+		int type= element.getElementType();
+		if (type == IJavaElement.PACKAGE_FRAGMENT || type == IJavaElement.PACKAGE_DECLARATION)
+			return renderer.render();
+
+		String key= element.getHandleIdentifier() + (useAttachedJavadoc ? "|a|" : "|s|") + computeStamp(element); //$NON-NLS-1$ //$NON-NLS-2$
+		long generation= fEntries.getGeneration();
+		Entry entry= fEntries.get(key);
+		if (entry != null)
+			return entry.fHTML;
+
+		String html= renderer.render();
+		fEntries.put(key, new Entry(html), generation);
+		return html;
+	}
+
+	/**
+	 * Removes all cached entries.
+	 */
+	public void clear() {
+		fEntries.clear();
+	}
+
+	private static long computeStamp(IJavaElement element) throws JavaModelException {
+		long stamp= 0;
+		IPackageFragmentRoot root= (IPackageFragmentRoot) element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		if (root != null && root.isArchive()) {
+			stamp= getTimeStamp(root.getResource(), root.getPath());
+			IPath sourceAttachment= root.getSourceAttachmentPath();
+			if (sourceAttachment != null)
+				stamp= stamp * 31 + getTimeStamp(null, sourceAttachment);
+			IClasspathEntry entry= root.getResolvedClasspathEntry();
+			for (IClasspathAttribute attribute : entry.getExtraAttributes()) {
+				if (IClasspathAttribute.JAVADOC_LOCATION_ATTRIBUTE_NAME.equals(attribute.getName()))
+					stamp= stamp * 31 + attribute.getValue().hashCode();
+			}
+		}
+		if (element instanceof IMember) {
+			IMember member= (IMember) element;
+			ITypeRoot typeRoot= member.getTypeRoot();
+			ISourceRange range= member.getJavadocRange();
+			IBuffer buffer= range != null && typeRoot != null ? typeRoot.getBuffer() : null;
+			if (buffer != null && range.getOffset() + range.getLength() <= buffer.getLength())
+				stamp= stamp * 31 + buffer.getText(range.getOffset(), range.getLength()).hashCode();
+			else
+				stamp= stamp * 31 - 1;
+		}
+		return stamp;
+	}
+
+	private static long getTimeStamp(IResource resource, IPath path) {
+		if (resource != null)
+			return resource.getLocalTimeStamp();
+		File file= path.toFile();
+		if (!file.exists()) {
+			IResource workspaceResource= ResourcesPlugin.getWorkspace().getRoot().findMember(path);
+			return workspaceResource != null ? workspaceResource.getLocalTimeStamp() : 0;
+		}
+		return file.lastModified();
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		// also while the cache is empty, to drop the result of a render that is in progress
+		if (!JavaElementDeltas.visitTypeRootDeltas(event.getDelta(), JavaElementDeltas::isWorkingCopyChange))
+			clear();
+	}
+
+	/**
+	 * @return the number of requests that were served from the cache
+	 */
+	public long getHitCount() {
+		return fEntries.getHitCount();
+	}
+
+	/**
+	 * @return the number of requests for which the Javadoc had to be rendered
+	 */
+	public long getMissCount() {
+		return fEntries.getMissCount();
+	}
+
+	/**
+	 * @return the number of entries that have been removed because they were out of date
+	 */
+	public long getInvalidationCount() {
+		return fEntries.getInvalidationCount();
+	}
+
+	/**
+	 * @return the number of cached entries
+	 */
+	public int size() {
+		return fEntries.size();
+	}
+
+	@Override
+	public String toString() {
+		return fEntries.toString();
+	}
+}
@@ -17,11 +17,13 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -44,12 +46,14 @@ import org.eclipse.ui.editors.text.EditorsUI;
 import org.eclipse.jdt.ui.PreferenceConstants;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.AbstractSpellDictionary;
 import org.eclipse.jdt.internal.ui.text.spelling.engine.DefaultSpellChecker;
 import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellCheckEngine;
 import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellChecker;
 import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellDictionary;
 import org.eclipse.jdt.internal.ui.text.spelling.engine.LocaleSensitiveSpellDictionary;
 import org.eclipse.jdt.internal.ui.text.spelling.engine.PersistentSpellDictionary;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.SpellDictionaryIndex;
 
 
 /**
@@ -322,9 +326,30 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 		if (dictionary != null)
 			fChecker.addDictionary(dictionary);
 
+		deleteUnusedIndexes();
+
 		return fChecker;
 	}
 
+	/**
+	 * Deletes the word list indexes that do not belong to a dictionary of this engine.
+	 */
+	private void deleteUnusedIndexes() {
+		List<SpellDictionaryIndex> indexes= new ArrayList<>();
+		List<ISpellDictionary> dictionaries= new ArrayList<>(fLocaleDictionaries.values());
+		dictionaries.addAll(fGlobalDictionaries);
+		if (fUserDictionary != null)
+			dictionaries.add(fUserDictionary);
+		for (ISpellDictionary dictionary : dictionaries) {
+			if (dictionary instanceof AbstractSpellDictionary) {
+				SpellDictionaryIndex index= ((AbstractSpellDictionary)dictionary).getIndex();
+				if (index != null)
+					indexes.add(index);
+			}
+		}
+		SpellDictionaryIndex.deleteUnused(indexes);
+	}
+
 	/**
 	 * Returns the current locale of the spelling preferences.
 	 *
@@ -18,7 +18,6 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.Charset;
@@ -26,11 +25,7 @@ import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.MalformedInputException;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.IStatus;
@@ -55,44 +50,6 @@ import org.eclipse.jdt.internal.ui.JavaUIMessages;
  */
 public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
-	/**
-	 * Byte array wrapper
-	 * @since 3.6
-	 */
-	private static class ByteArrayWrapper {
-
-		private byte[] byteArray;
-
-		public ByteArrayWrapper(byte[] byteArray) {
-			this.byteArray= byteArray;
-		}
-		@Override
-		public int hashCode() {
-			return 31 + Arrays.hashCode(byteArray);
-		}
-
-		@Override
-		public boolean equals(Object obj) {
-			if (this == obj)
-				return true;
-			if (obj == null)
-				return false;
-			if (!(obj instanceof ByteArrayWrapper))
-				return false;
-			ByteArrayWrapper other= (ByteArrayWrapper)obj;
-			if (!Arrays.equals(byteArray, other.byteArray))
-				return false;
-			return true;
-		}
-	}
-
-
-	/**
-	 * Canonical name for UTF-8 encoding
-	 * @since 3.6
-	 */
-	private static final String UTF_8= "UTF-8"; //$NON-NLS-1$
-
 	/** The bucket capacity */
 	protected static final int BUCKET_CAPACITY= 4;
 
@@ -111,8 +68,8 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	/** The phonetic distance algorithm */
 	private IPhoneticDistanceAlgorithm fDistanceAlgorithm= new DefaultPhoneticDistanceAlgorithm();
 
-	/** The mapping from phonetic hashes to word lists */
-	private final Map<ByteArrayWrapper, Object> fHashBuckets= new HashMap<>(getInitialSize(), LOAD_FACTOR);
+	/** The words, grouped by their phonetic hashes */
+	private final IWordStore fWordStore= createWordStore();
 
 	/** The phonetic hash provider */
 	private IPhoneticHashProvider fHashProvider= new DefaultPhoneticHashProvider();
@@ -142,21 +99,31 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	}
 
 	/**
-	 * Returns all candidates with the same phonetic hash.
+	 * Creates the store for the words of this dictionary.
+	 * <p>
+	 * The default implementation keeps the words in hash buckets. Dictionaries with many words
+	 * should return a {@link CompactWordStore}.
+	 * </p>
 	 *
-	 * @param hash
-	 *                   The hash to retrieve the candidates of
-	 * @return Array of candidates for the phonetic hash
+	 * @return the word store
 	 */
-	protected final Object getCandidates(final String hash) {
-		ByteArrayWrapper hashBytes;
-		try {
-			hashBytes= new ByteArrayWrapper(hash.getBytes(UTF_8));
-		} catch (UnsupportedEncodingException e) {
-			JavaPlugin.log(e);
-			return null;
-		}
-		return fHashBuckets.get(hashBytes);
+	protected IWordStore createWordStore() {
+		return new HashBucketWordStore(getInitialSize());
+	}
+
+	/**
+	 * Returns the given candidate, capitalized if it starts a sentence.
+	 *
+	 * @param candidate
+	 *                   The candidate
+	 * @param sentence
+	 *                   <code>true</code> iff the candidate starts a new sentence
+	 * @return The candidate to propose
+	 */
+	private static String toProposal(final String candidate, final boolean sentence) {
+		if (!sentence || candidate.isEmpty())
+			return candidate;
+		return Character.toUpperCase(candidate.charAt(0)) + candidate.substring(1);
 	}
 
 	/**
@@ -174,63 +141,15 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 */
 	protected final Set<RankedWordProposal> getCandidates(final String word, final boolean sentence, final ArrayList<String> hashs) {
 
-		int distance= 0;
-		String hash= null;
-
-		final StringBuilder buffer= new StringBuilder(BUFFER_CAPACITY);
 		final HashSet<RankedWordProposal> result= new HashSet<>(BUCKET_CAPACITY * hashs.size());
 
-		for (String hash2 : hashs) {
-
-			hash= hash2;
-
-			final Object candidates= getCandidates(hash);
-			if (candidates == null)
-				continue;
-			else if (candidates instanceof byte[]) {
-				String candidate;
-				try {
-					candidate= new String((byte[])candidates, UTF_8);
-				} catch (UnsupportedEncodingException e) {
-					JavaPlugin.log(e);
-					return result;
-				}
-				distance= fDistanceAlgorithm.getDistance(word, candidate);
-				if (distance < DISTANCE_THRESHOLD) {
-					buffer.setLength(0);
-					buffer.append(candidate);
-					if (sentence)
-						buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
-					result.add(new RankedWordProposal(buffer.toString(), -distance));
-				}
-				continue;
-			}
-
-			@SuppressWarnings("unchecked")
-			final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
-			int candidateSize= Math.min(500, candidateList.size()); // see https://bugs.eclipse.org/bugs/show_bug.cgi?id=195357
-			for (int offset= 0; offset < candidateSize; offset++) {
-
-				String candidate;
-				try {
-					candidate= new String(candidateList.get(offset), UTF_8);
-				} catch (UnsupportedEncodingException e) {
-					JavaPlugin.log(e);
-					return result;
-				}
-				distance= fDistanceAlgorithm.getDistance(word, candidate);
-
-				if (distance < DISTANCE_THRESHOLD) {
-
-					buffer.setLength(0);
-					buffer.append(candidate);
-
-					if (sentence)
-						buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
-
-					result.add(new RankedWordProposal(buffer.toString(), -distance));
-				}
-			}
+		for (String hash : hashs) {
+			// see https://bugs.eclipse.org/bugs/show_bug.cgi?id=195357
+			fWordStore.forEach(hash, 500, candidate -> {
+				int distance= fDistanceAlgorithm.getDistance(word, candidate);
+				if (distance < DISTANCE_THRESHOLD)
+					result.add(new RankedWordProposal(toProposal(candidate, sentence), -distance));
+			});
 		}
 		return result;
 	}
@@ -250,59 +169,21 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 */
 	protected final void getCandidates(final String word, final boolean sentence, final Set<RankedWordProposal> result) {
 
-		int distance= 0;
-		int minimum= Integer.MAX_VALUE;
-
-		StringBuilder buffer= new StringBuilder(BUFFER_CAPACITY);
-
-		final Object candidates= getCandidates(fHashProvider.getHash(word));
-		if (candidates == null)
-			return;
-		else if (candidates instanceof byte[]) {
-			String candidate;
-			try {
-				candidate= new String((byte[])candidates, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return;
-			}
-			distance= fDistanceAlgorithm.getDistance(word, candidate);
-			buffer.append(candidate);
-			if (sentence)
-				buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
-			result.add(new RankedWordProposal(buffer.toString(), -distance));
-			return;
-		}
-
-		@SuppressWarnings("unchecked")
-		final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
-		final ArrayList<RankedWordProposal> matches= new ArrayList<>(candidateList.size());
+		final ArrayList<RankedWordProposal> matches= new ArrayList<>(BUCKET_CAPACITY);
+		final int[] minimum= { Integer.MAX_VALUE };
 
-		for (byte[] element : candidateList) {
-			String candidate;
-			try {
-				candidate= new String(element, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return;
-			}
-			distance= fDistanceAlgorithm.getDistance(word, candidate);
+		fWordStore.forEach(fHashProvider.getHash(word), Integer.MAX_VALUE, candidate -> {
+			int distance= fDistanceAlgorithm.getDistance(word, candidate);
 
-			if (distance <= minimum) {
+			if (distance <= minimum[0]) {
 
-				if (distance < minimum)
+				if (distance < minimum[0])
 					matches.clear();
 
-				buffer.setLength(0);
-				buffer.append(candidate);
-
-				if (sentence)
-					buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
-
-				matches.add(new RankedWordProposal(buffer.toString(), -distance));
-				minimum= distance;
+				matches.add(new RankedWordProposal(toProposal(candidate, sentence), -distance));
+				minimum[0]= distance;
 			}
-		}
+		});
 
 		result.addAll(matches);
 	}
@@ -314,7 +195,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 * @since 3.3
 	 */
 	protected boolean isEmpty() {
-		return fHashBuckets.isEmpty();
+		return fWordStore.isEmpty();
 	}
 
 	/**
@@ -461,32 +342,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 *                   The word to hash in the dictionary
 	 */
 	protected final void hashWord(final String word) {
-
-		final String hash= fHashProvider.getHash(word);
-		ByteArrayWrapper hashBytes;
-		byte[] wordBytes;
-		try {
-			hashBytes= new ByteArrayWrapper(hash.getBytes(UTF_8));
-			wordBytes= word.getBytes(UTF_8);
-		} catch (UnsupportedEncodingException e) {
-			JavaPlugin.log(e);
-			return;
-		}
-
-		Object bucket= fHashBuckets.get(hashBytes);
-
-		if (bucket == null) {
-			fHashBuckets.put(hashBytes, wordBytes);
-		} else if (bucket instanceof ArrayList) {
-			@SuppressWarnings("unchecked")
-			ArrayList<byte[]> bucketList= (ArrayList<byte[]>)bucket;
-			bucketList.add(wordBytes);
-		} else {
-			ArrayList<Object> list= new ArrayList<>(BUCKET_CAPACITY);
-			list.add(bucket);
-			list.add(wordBytes);
-			fHashBuckets.put(hashBytes, list);
-		}
+		fWordStore.add(fHashProvider.getHash(word), word);
 	}
 
 	@Override
@@ -506,38 +362,11 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 			// Do nothing
 		}
 
-		final Object candidates= getCandidates(fHashProvider.getHash(word));
-		if (candidates == null)
-			return false;
-		else if (candidates instanceof byte[]) {
-			String candidate;
-			try {
-				candidate= new String((byte[])candidates, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return false;
-			}
-			if (candidate.equals(word) || candidate.equals(word.toLowerCase()))
-				return true;
-			return false;
-		}
-		@SuppressWarnings("unchecked")
-		final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
-		byte[] wordBytes;
-		byte[] lowercaseWordBytes;
-		try {
-			wordBytes= word.getBytes(UTF_8);
-			lowercaseWordBytes= word.toLowerCase().getBytes(UTF_8);
-		} catch (UnsupportedEncodingException e) {
-			JavaPlugin.log(e);
-			return false;
-		}
-		for (byte[] candidate : candidateList) {
-			if (Arrays.equals(candidate, wordBytes) || Arrays.equals(candidate, lowercaseWordBytes)) {
-				return true;
-			}
-		}
-		return false;
+		final String hash= fHashProvider.getHash(word);
+		if (fWordStore.contains(hash, word))
+			return true;
+		final String lowercaseWord= word.toLowerCase();
+		return !lowercaseWord.equals(word) && fWordStore.contains(hash, lowercaseWord);
 	}
 
 	@Override
@@ -574,11 +403,16 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 	@Override
 	public synchronized final boolean isLoaded() {
-		return fLoaded || fHashBuckets.size() > 0;
+		return fLoaded || !fWordStore.isEmpty();
 	}
 
 	/**
 	 * Loads a dictionary word list from disk.
+	 * <p>
+	 * If this dictionary uses a {@link CompactWordStore}, the words are read from the
+	 * {@link SpellDictionaryIndex} of the word list if it is up to date, otherwise the index is
+	 * written after the word list has been loaded.
+	 * </p>
 	 *
 	 * @param url
 	 *                   The URL of the word list to load
@@ -589,6 +423,51 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		 if (!fMustLoad)
 			 return fLoaded;
 
+		if (url != null && fWordStore instanceof CompactWordStore && fWordStore.isEmpty()) {
+			CompactWordStore store= (CompactWordStore)fWordStore;
+			SpellDictionaryIndex index= createIndex(url);
+			if (index.read(store)) {
+				fMustLoad= false;
+				return true;
+			}
+			boolean loaded= loadWordList(url);
+			if (loaded)
+				index.write(store);
+			return loaded;
+		}
+		return loadWordList(url);
+	}
+
+	/**
+	 * Returns the index of the word list of this dictionary.
+	 *
+	 * @return the index, or <code>null</code> if this dictionary does not use a
+	 *               {@link CompactWordStore} or has no word list
+	 */
+	public final SpellDictionaryIndex getIndex() {
+		if (!(fWordStore instanceof CompactWordStore))
+			return null;
+		try {
+			URL url= getURL();
+			return url != null ? createIndex(url) : null;
+		} catch (MalformedURLException e) {
+			return null;
+		}
+	}
+
+	private SpellDictionaryIndex createIndex(URL url) {
+		return new SpellDictionaryIndex(url, getEncoding(), fHashProvider);
+	}
+
+	/**
+	 * Reads and hashes all words of a word list.
+	 *
+	 * @param url
+	 *                   The URL of the word list to load
+	 * @return <code>true</code> iff the word list could be loaded, <code>false</code>
+	 *               otherwise
+	 */
+	private boolean loadWordList(final URL url) {
 		if (url != null) {
 			InputStream stream= null;
 			int line= 0;
@@ -665,12 +544,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 * @since 3.3.
 	 */
 	private void compact() {
-		Iterator<Object> iter= fHashBuckets.values().iterator();
-		while (iter.hasNext()) {
-			Object element= iter.next();
-			if (element instanceof ArrayList)
-				((ArrayList<?>)element).trimToSize();
-		}
+		fWordStore.compact();
 	}
 
 	/**
@@ -697,7 +571,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	public synchronized void unload() {
 		fLoaded= false;
 		fMustLoad= true;
-		fHashBuckets.clear();
+		fWordStore.clear();
 	}
 
 	@Override
@@ -0,0 +1,362 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling.engine;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+
+/**
+ * Word store that keeps all hashes and words in a few primitive arrays instead of one object per
+ * word.
+ * <p>
+ * The UTF-8 bytes of the phonetic hashes and of the words are appended to two byte arenas. The words
+ * of a hash are chained through an <code>int</code> array and the hashes are found through an open
+ * addressing table of hash indices. Apart from the {@link String}s passed to
+ * {@link #forEach(String, int, Consumer)} lookups don't allocate anything but the UTF-8 bytes of the
+ * looked up hash and word.
+ * </p>
+ * <p>
+ * The arrays can be written to and read from a stream as a whole, see {@link SpellDictionaryIndex}.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+public final class CompactWordStore implements IWordStore {
+
+	/** Marks the end of a word chain */
+	private static final int NONE= -1;
+
+	/** Average number of UTF-8 bytes per word that is reserved initially */
+	private static final int BYTES_PER_WORD= 8;
+
+	/** The initial capacity in words and hashes */
+	private final int fInitialSize;
+
+	/** The UTF-8 bytes of the hashes, hash <code>i</code> spans [fHashOffsets[i], fHashOffsets[i + 1]) */
+	private byte[] fHashBytes;
+	private int[] fHashOffsets;
+	/** The index of the first and of the last word of each hash */
+	private int[] fFirstWords;
+	private int[] fLastWords;
+	private int fHashCount;
+
+	/** The UTF-8 bytes of the words, word <code>i</code> spans [fWordOffsets[i], fWordOffsets[i + 1]) */
+	private byte[] fWordBytes;
+	private int[] fWordOffsets;
+	/** The index of the next word with the same hash or {@link #NONE} */
+	private int[] fNextWords;
+	private int fWordCount;
+
+	/** Open addressing table of hash index + 1, <code>0</code> marks an empty slot */
+	private int[] fTable;
+
+	/**
+	 * Creates a new word store.
+	 *
+	 * @param initialSize
+	 *                   The expected number of words
+	 */
+	public CompactWordStore(int initialSize) {
+		fInitialSize= Math.max(16, initialSize);
+		allocate();
+	}
+
+	private void allocate() {
+		fHashBytes= new byte[fInitialSize * BYTES_PER_WORD / 2];
+		fHashOffsets= new int[fInitialSize + 1];
+		fFirstWords= new int[fInitialSize];
+		fLastWords= new int[fInitialSize];
+		fHashCount= 0;
+
+		fWordBytes= new byte[fInitialSize * BYTES_PER_WORD];
+		fWordOffsets= new int[fInitialSize + 1];
+		fNextWords= new int[fInitialSize];
+		fWordCount= 0;
+
+		fTable= new int[tableSize(fInitialSize)];
+	}
+
+	private static int tableSize(int count) {
+		int size= 16;
+		while (size < count * 2)
+			size<<= 1;
+		return size;
+	}
+
+	private static int hashCode(byte[] bytes, int from, int to) {
+		int hash= 1;
+		for (int i= from; i < to; i++)
+			hash= 31 * hash + bytes[i];
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Looks up a hash.
+	 *
+	 * @param key the UTF-8 bytes of the hash
+	 * @return the index of the hash, or <code>-(slot + 1)</code> with the free table slot for the hash
+	 */
+	private int find(byte[] key) {
+		int mask= fTable.length - 1;
+		int slot= hashCode(key, 0, key.length) & mask;
+		while (true) {
+			int entry= fTable[slot];
+			if (entry == 0)
+				return -(slot + 1);
+			int index= entry - 1;
+			if (Arrays.equals(fHashBytes, fHashOffsets[index], fHashOffsets[index + 1], key, 0, key.length))
+				return index;
+			slot= (slot + 1) & mask;
+		}
+	}
+
+	private void rehash(int size) {
+		fTable= new int[size];
+		int mask= size - 1;
+		for (int index= 0; index < fHashCount; index++) {
+			int slot= hashCode(fHashBytes, fHashOffsets[index], fHashOffsets[index + 1]) & mask;
+			while (fTable[slot] != 0)
+				slot= (slot + 1) & mask;
+			fTable[slot]= index + 1;
+		}
+	}
+
+	private static int grow(int length, int required) {
+		return Math.max(required, length + (length >> 1) + 16);
+	}
+
+	@Override
+	public synchronized void add(String hash, String word) {
+		byte[] key= hash.getBytes(StandardCharsets.UTF_8);
+		int index= find(key);
+		if (index < 0 && (fHashCount + 1) * 2 > fTable.length) {
+			rehash(fTable.length * 2);
+			index= find(key);
+		}
+		if (index < 0)
+			index= addHash(key, -index - 1);
+
+		int wordIndex= addWord(word.getBytes(StandardCharsets.UTF_8));
+		if (fFirstWords[index] == NONE)
+			fFirstWords[index]= wordIndex;
+		else
+			fNextWords[fLastWords[index]]= wordIndex;
+		fLastWords[index]= wordIndex;
+	}
+
+	private int addHash(byte[] key, int slot) {
+		int index= fHashCount;
+		if (index + 1 >= fHashOffsets.length) {
+			int size= grow(fHashOffsets.length, index + 2);
+			fHashOffsets= Arrays.copyOf(fHashOffsets, size);
+			fFirstWords= Arrays.copyOf(fFirstWords, size);
+			fLastWords= Arrays.copyOf(fLastWords, size);
+		}
+		int offset= fHashOffsets[index];
+		if (offset + key.length > fHashBytes.length)
+			fHashBytes= Arrays.copyOf(fHashBytes, grow(fHashBytes.length, offset + key.length));
+		System.arraycopy(key, 0, fHashBytes, offset, key.length);
+		fHashOffsets[index + 1]= offset + key.length;
+		fFirstWords[index]= NONE;
+		fLastWords[index]= NONE;
+		fTable[slot]= index + 1;
+		fHashCount++;
+		return index;
+	}
+
+	private int addWord(byte[] word) {
+		int index= fWordCount;
+		if (index + 1 >= fWordOffsets.length) {
+			int size= grow(fWordOffsets.length, index + 2);
+			fWordOffsets= Arrays.copyOf(fWordOffsets, size);
+			fNextWords= Arrays.copyOf(fNextWords, size);
+		}
+		int offset= fWordOffsets[index];
+		if (offset + word.length > fWordBytes.length)
+			fWordBytes= Arrays.copyOf(fWordBytes, grow(fWordBytes.length, offset + word.length));
+		System.arraycopy(word, 0, fWordBytes, offset, word.length);
+		fWordOffsets[index + 1]= offset + word.length;
+		fNextWords[index]= NONE;
+		fWordCount++;
+		return index;
+	}
+
+	@Override
+	public synchronized boolean contains(String hash, String word) {
+		int index= find(hash.getBytes(StandardCharsets.UTF_8));
+		if (index < 0)
+			return false;
+		byte[] wordBytes= word.getBytes(StandardCharsets.UTF_8);
+		for (int wordIndex= fFirstWords[index]; wordIndex != NONE; wordIndex= fNextWords[wordIndex]) {
+			if (Arrays.equals(fWordBytes, fWordOffsets[wordIndex], fWordOffsets[wordIndex + 1], wordBytes, 0, wordBytes.length))
+				return true;
+		}
+		return false;
+	}
+
+	@Override
+	public synchronized void forEach(String hash, int limit, Consumer<String> consumer) {
+		int index= find(hash.getBytes(StandardCharsets.UTF_8));
+		if (index < 0)
+			return;
+		int count= 0;
+		for (int wordIndex= fFirstWords[index]; wordIndex != NONE && count < limit; wordIndex= fNextWords[wordIndex], count++) {
+			int offset= fWordOffsets[wordIndex];
+			consumer.accept(new String(fWordBytes, offset, fWordOffsets[wordIndex + 1] - offset, StandardCharsets.UTF_8));
+		}
+	}
+
+	@Override
+	public synchronized boolean isEmpty() {
+		return fWordCount == 0;
+	}
+
+	@Override
+	public synchronized void clear() {
+		allocate();
+	}
+
+	@Override
+	public synchronized void compact() {
+		fHashBytes= Arrays.copyOf(fHashBytes, fHashOffsets[fHashCount]);
+		fHashOffsets= Arrays.copyOf(fHashOffsets, fHashCount + 1);
+		fFirstWords= Arrays.copyOf(fFirstWords, fHashCount);
+		fLastWords= Arrays.copyOf(fLastWords, fHashCount);
+		fWordBytes= Arrays.copyOf(fWordBytes, fWordOffsets[fWordCount]);
+		fWordOffsets= Arrays.copyOf(fWordOffsets, fWordCount + 1);
+		fNextWords= Arrays.copyOf(fNextWords, fWordCount);
+		if (tableSize(fHashCount) < fTable.length)
+			rehash(tableSize(fHashCount));
+	}
+
+	/**
+	 * Writes the words of this store to the given stream. The store is compacted first.
+	 *
+	 * @param out the stream to write to
+	 * @throws IOException if writing fails
+	 */
+	public synchronized void write(DataOutputStream out) throws IOException {
+		compact();
+		out.writeInt(fHashCount);
+		out.writeInt(fWordCount);
+		writeBytes(out, fHashBytes);
+		writeInts(out, fHashOffsets);
+		writeInts(out, fFirstWords);
+		writeInts(out, fLastWords);
+		writeBytes(out, fWordBytes);
+		writeInts(out, fWordOffsets);
+		writeInts(out, fNextWords);
+	}
+
+	/**
+	 * Replaces the words of this store with the words read from the given stream.
+	 *
+	 * @param in the stream written by {@link #write(DataOutputStream)}
+	 * @throws IOException if reading fails or the stream is corrupt, the store is empty then
+	 */
+	public synchronized void read(DataInputStream in) throws IOException {
+		try {
+			int hashCount= in.readInt();
+			int wordCount= in.readInt();
+			fHashBytes= readBytes(in);
+			fHashOffsets= readInts(in, hashCount + 1);
+			fFirstWords= readInts(in, hashCount);
+			fLastWords= readInts(in, hashCount);
+			fWordBytes= readBytes(in);
+			fWordOffsets= readInts(in, wordCount + 1);
+			fNextWords= readInts(in, wordCount);
+			fHashCount= hashCount;
+			fWordCount= wordCount;
+			if (fHashOffsets[0] != 0 || fHashOffsets[hashCount] != fHashBytes.length || fWordOffsets[0] != 0 || fWordOffsets[wordCount] != fWordBytes.length)
+				throw new IOException("Inconsistent word store"); //$NON-NLS-1$
+			for (int index= 0; index < hashCount; index++) {
+				if (fFirstWords[index] < 0 || fFirstWords[index] >= wordCount || fLastWords[index] < 0 || fLastWords[index] >= wordCount
+						|| fHashOffsets[index] > fHashOffsets[index + 1])
+					throw new IOException("Inconsistent word store"); //$NON-NLS-1$
+			}
+			for (int index= 0; index < wordCount; index++) {
+				if (fNextWords[index] != NONE && (fNextWords[index] <= index || fNextWords[index] >= wordCount) || fWordOffsets[index] > fWordOffsets[index + 1])
+					throw new IOException("Inconsistent word store"); //$NON-NLS-1$
+			}
+			rehash(tableSize(hashCount));
+		} catch (IOException | RuntimeException e) {
+			allocate();
+			throw e instanceof IOException ? (IOException) e : new IOException(e);
+		}
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static void writeInts(DataOutputStream out, int[] ints) throws IOException {
+		ByteBuffer buffer= ByteBuffer.allocate(ints.length * 4);
+		buffer.asIntBuffer().put(ints);
+		writeBytes(out, buffer.array());
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		int length= in.readInt();
+		if (length < 0)
+			throw new IOException("Invalid length: " + length); //$NON-NLS-1$
+		byte[] bytes= new byte[length];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	private static int[] readInts(DataInputStream in, int expected) throws IOException {
+		byte[] bytes= readBytes(in);
+		if (expected < 0 || bytes.length != expected * 4)
+			throw new IOException("Invalid length: " + bytes.length); //$NON-NLS-1$
+		int[] ints= new int[expected];
+		ByteBuffer.wrap(bytes).asIntBuffer().get(ints);
+		return ints;
+	}
+
+	/**
+	 * Returns the number of words in this store.
+	 *
+	 * @return the number of words
+	 */
+	public synchronized int getWordCount() {
+		return fWordCount;
+	}
+
+	/**
+	 * Returns the number of distinct phonetic hashes in this store.
+	 *
+	 * @return the number of hashes
+	 */
+	public synchronized int getHashCount() {
+		return fHashCount;
+	}
+
+	/**
+	 * Returns the number of bytes allocated by the arrays of this store.
+	 *
+	 * @return the allocated size in bytes
+	 */
+	public synchronized long getAllocatedSize() {
+		return fHashBytes.length + fWordBytes.length
+				+ 4L * (fHashOffsets.length + fFirstWords.length + fLastWords.length + fWordOffsets.length + fNextWords.length + fTable.length);
+	}
+}
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling.engine;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+
+/**
+ * Word store that maps the phonetic hashes to the UTF-8 bytes of a single word or to a list of
+ * them.
+ */
+public class HashBucketWordStore implements IWordStore {
+
+	/**
+	 * Byte array wrapper
+	 */
+	private static class ByteArrayWrapper {
+
+		private byte[] byteArray;
+
+		public ByteArrayWrapper(byte[] byteArray) {
+			this.byteArray= byteArray;
+		}
+		@Override
+		public int hashCode() {
+			return 31 + Arrays.hashCode(byteArray);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null)
+				return false;
+			if (!(obj instanceof ByteArrayWrapper))
+				return false;
+			ByteArrayWrapper other= (ByteArrayWrapper)obj;
+			if (!Arrays.equals(byteArray, other.byteArray))
+				return false;
+			return true;
+		}
+	}
+
+	/** The bucket capacity */
+	private static final int BUCKET_CAPACITY= 4;
+
+	/** The hash load factor */
+	private static final float LOAD_FACTOR= 0.85f;
+
+	/** The mapping from phonetic hashes to word lists */
+	private final Map<ByteArrayWrapper, Object> fHashBuckets;
+
+	/**
+	 * Creates a new word store.
+	 *
+	 * @param initialSize
+	 *                   The expected number of phonetic hashes
+	 */
+	public HashBucketWordStore(int initialSize) {
+		fHashBuckets= new HashMap<>(initialSize, LOAD_FACTOR);
+	}
+
+	@Override
+	public void add(String hash, String word) {
+		ByteArrayWrapper hashBytes= new ByteArrayWrapper(hash.getBytes(StandardCharsets.UTF_8));
+		byte[] wordBytes= word.getBytes(StandardCharsets.UTF_8);
+
+		Object bucket= fHashBuckets.get(hashBytes);
+
+		if (bucket == null) {
+			fHashBuckets.put(hashBytes, wordBytes);
+		} else if (bucket instanceof ArrayList) {
+			@SuppressWarnings("unchecked")
+			ArrayList<byte[]> bucketList= (ArrayList<byte[]>)bucket;
+			bucketList.add(wordBytes);
+		} else {
+			ArrayList<Object> list= new ArrayList<>(BUCKET_CAPACITY);
+			list.add(bucket);
+			list.add(wordBytes);
+			fHashBuckets.put(hashBytes, list);
+		}
+	}
+
+	@Override
+	public boolean contains(String hash, String word) {
+		Object bucket= fHashBuckets.get(new ByteArrayWrapper(hash.getBytes(StandardCharsets.UTF_8)));
+		if (bucket == null)
+			return false;
+		byte[] wordBytes= word.getBytes(StandardCharsets.UTF_8);
+		if (bucket instanceof byte[])
+			return Arrays.equals((byte[])bucket, wordBytes);
+
+		@SuppressWarnings("unchecked")
+		ArrayList<byte[]> bucketList= (ArrayList<byte[]>)bucket;
+		for (byte[] candidate : bucketList) {
+			if (Arrays.equals(candidate, wordBytes))
+				return true;
+		}
+		return false;
+	}
+
+	@Override
+	public void forEach(String hash, int limit, Consumer<String> consumer) {
+		Object bucket= fHashBuckets.get(new ByteArrayWrapper(hash.getBytes(StandardCharsets.UTF_8)));
+		if (bucket == null || limit <= 0)
+			return;
+		if (bucket instanceof byte[]) {
+			consumer.accept(new String((byte[])bucket, StandardCharsets.UTF_8));
+			return;
+		}
+
+		@SuppressWarnings("unchecked")
+		ArrayList<byte[]> bucketList= (ArrayList<byte[]>)bucket;
+		int size= Math.min(limit, bucketList.size());
+		for (int i= 0; i < size; i++)
+			consumer.accept(new String(bucketList.get(i), StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return fHashBuckets.isEmpty();
+	}
+
+	@Override
+	public void clear() {
+		fHashBuckets.clear();
+	}
+
+	@Override
+	public void compact() {
+		for (Object element : fHashBuckets.values()) {
+			if (element instanceof ArrayList)
+				((ArrayList<?>)element).trimToSize();
+		}
+	}
+}
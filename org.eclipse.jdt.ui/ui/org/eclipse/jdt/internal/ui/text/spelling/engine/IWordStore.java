@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling.engine;
+
+import java.util.function.Consumer;
+
+
+/**
+ * Storage of the words of a spell dictionary, grouped by their phonetic hash.
+ *
+ * @see AbstractSpellDictionary#createWordStore()
+ */
+public interface IWordStore {
+
+	/**
+	 * Adds a word to the store.
+	 *
+	 * @param hash
+	 *                   The phonetic hash of the word
+	 * @param word
+	 *                   The word to add
+	 */
+	void add(String hash, String word);
+
+	/**
+	 * Tells whether the store contains the given word.
+	 *
+	 * @param hash
+	 *                   The phonetic hash of the word
+	 * @param word
+	 *                   The word to look up
+	 * @return <code>true</code> iff the word has been added with the given hash
+	 */
+	boolean contains(String hash, String word);
+
+	/**
+	 * Passes the words with the given phonetic hash to the consumer, in the order they have been
+	 * added.
+	 *
+	 * @param hash
+	 *                   The phonetic hash
+	 * @param limit
+	 *                   The maximum number of words to pass
+	 * @param consumer
+	 *                   The consumer of the words
+	 */
+	void forEach(String hash, int limit, Consumer<String> consumer);
+
+	/**
+	 * Tells whether this store is empty.
+	 *
+	 * @return <code>true</code> if no word has been added
+	 */
+	boolean isEmpty();
+
+	/**
+	 * Removes all words.
+	 */
+	void clear();
+
+	/**
+	 * Releases spare capacity after a word list has been loaded.
+	 */
+	void compact();
+}
@@ -62,4 +62,9 @@ public class LocaleSensitiveSpellDictionary extends AbstractSpellDictionary {
 	protected int getInitialSize() {
 		return 32 * 1024;
 	}
+
+	@Override
+	protected IWordStore createWordStore() {
+		return new CompactWordStore(getInitialSize());
+	}
 }
@@ -83,4 +83,9 @@ public class PersistentSpellDictionary extends AbstractSpellDictionary {
 	protected final URL getURL() {
 		return fLocation;
 	}
+
+	@Override
+	protected IWordStore createWordStore() {
+		return new CompactWordStore(getInitialSize());
+	}
 }
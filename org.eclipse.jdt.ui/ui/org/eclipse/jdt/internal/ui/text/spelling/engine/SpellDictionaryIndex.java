@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling.engine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+
+import org.eclipse.core.runtime.URIUtil;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+
+/**
+ * Binary index of a dictionary word list, i.e. the {@link CompactWordStore} built from the word
+ * list, kept in the state location of the Java UI plug-in.
+ * <p>
+ * Reading the index avoids decoding and hashing every word of the word list again. The index is
+ * only used if it has been built from the same word list with the same encoding and phonetic hash
+ * provider, and if the word list has not changed since: word lists on the local file system and in
+ * bundles are compared by their time stamp and length, other word lists by the CRC-32 checksum of
+ * their content.
+ * </p>
+ * <p>
+ * Word lists in bundles are identified by the symbolic name and version of the bundle and by their
+ * path in the bundle, since their URLs contain the bundle id and the framework instance and change
+ * from one session to the next. Other word lists are identified by their URL.
+ * </p>
+ */
+public final class SpellDictionaryIndex {
+
+	/** The directory of the index files in the state location */
+	private static final String INDEX_DIR= "spellingIndex"; //$NON-NLS-1$
+
+	/** Identifies an index file */
+	private static final int MAGIC= 0x4a444958;
+
+	/** The version of the index format */
+	private static final int VERSION= 2;
+
+	/** The suffix of the index files */
+	private static final String INDEX_SUFFIX= ".index"; //$NON-NLS-1$
+
+	/** The suffix of an index file that is being written */
+	private static final String TEMP_SUFFIX= ".tmp"; //$NON-NLS-1$
+
+	private final URL fURL;
+	private final Bundle fBundle;
+	private final String fKey;
+	private final String fEncoding;
+	private final String fHashProvider;
+
+	/**
+	 * Creates the index of a word list.
+	 *
+	 * @param url
+	 *                   The URL of the word list
+	 * @param encoding
+	 *                   The encoding used to read the word list
+	 * @param hashProvider
+	 *                   The phonetic hash provider used to hash the words
+	 */
+	public SpellDictionaryIndex(URL url, String encoding, IPhoneticHashProvider hashProvider) {
+		fURL= url;
+		fBundle= getBundle(url);
+		fKey= fBundle != null ? computeBundleKey(url, fBundle) : url.toExternalForm();
+		fEncoding= encoding;
+		fHashProvider= hashProvider.getClass().getName();
+	}
+
+	/**
+	 * Reads the index into the given store.
+	 *
+	 * @param store
+	 *                   The store to read the words into
+	 * @return <code>true</code> if the index is up to date and has been read, <code>false</code>
+	 *         if the word list has to be loaded
+	 */
+	public boolean read(CompactWordStore store) {
+		File file= getIndexFile();
+		if (file == null || !file.isFile())
+			return false;
+
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+				return false;
+			if (!fKey.equals(in.readUTF()) || !fEncoding.equals(in.readUTF()) || !fHashProvider.equals(in.readUTF()))
+				return false;
+			long timeStamp= in.readLong();
+			long length= in.readLong();
+			long checksum= in.readLong();
+			long[] stamp= computeStamp();
+			if (stamp == null || stamp[0] != timeStamp || stamp[1] != length || stamp[2] != checksum)
+				return false;
+			store.read(in);
+			return true;
+		} catch (IOException e) {
+			store.clear();
+			file.delete();
+			return false;
+		}
+	}
+
+	/**
+	 * Writes the given store as index of the word list.
+	 *
+	 * @param store
+	 *                   The store with all words of the word list
+	 */
+	public void write(CompactWordStore store) {
+		File file= getIndexFile();
+		if (file == null)
+			return;
+
+		long[] stamp= computeStamp();
+		if (stamp == null)
+			return;
+
+		File directory= file.getParentFile();
+		if (!directory.isDirectory() && !directory.mkdirs())
+			return;
+
+		File tempFile= new File(directory, file.getName() + TEMP_SUFFIX);
+		try {
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeUTF(fKey);
+				out.writeUTF(fEncoding);
+				out.writeUTF(fHashProvider);
+				out.writeLong(stamp[0]);
+				out.writeLong(stamp[1]);
+				out.writeLong(stamp[2]);
+				store.write(out);
+			}
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+			tempFile.delete();
+		}
+	}
+
+	/**
+	 * Deletes the index so that the word list is loaded again next time.
+	 */
+	public void delete() {
+		File file= getIndexFile();
+		if (file != null)
+			file.delete();
+	}
+
+	/**
+	 * Deletes the index files that do not belong to one of the given indexes, e.g. the indexes of
+	 * dictionaries that are no longer installed or of an earlier version of a bundle.
+	 *
+	 * @param indexes
+	 *                   The indexes of the current dictionaries
+	 */
+	public static void deleteUnused(Collection<SpellDictionaryIndex> indexes) {
+		File directory= getIndexDirectory();
+		if (directory == null)
+			return;
+		File[] files= directory.listFiles();
+		if (files == null)
+			return;
+
+		Set<String> used= new HashSet<>();
+		for (SpellDictionaryIndex index : indexes)
+			used.add(index.getIndexFileName());
+		for (File file : files) {
+			String name= file.getName();
+			if (name.endsWith(TEMP_SUFFIX))
+				name= name.substring(0, name.length() - TEMP_SUFFIX.length());
+			if (!used.contains(name))
+				file.delete();
+		}
+	}
+
+	private static File getIndexDirectory() {
+		try {
+			JavaPlugin plugin= JavaPlugin.getDefault();
+			if (plugin == null)
+				return null;
+			return plugin.getStateLocation().append(INDEX_DIR).toFile();
+		} catch (IllegalStateException e) {
+			// no state location
+			return null;
+		}
+	}
+
+	private File getIndexFile() {
+		File directory= getIndexDirectory();
+		if (directory == null)
+			return null;
+		return new File(directory, getIndexFileName());
+	}
+
+	private String getIndexFileName() {
+		return Integer.toHexString(fKey.hashCode()) + INDEX_SUFFIX;
+	}
+
+	/**
+	 * Returns the bundle of a <code>bundleresource</code> or <code>bundleentry</code> URL. The host
+	 * of these URLs starts with the id of the bundle.
+	 *
+	 * @param url
+	 *                   The URL of the word list
+	 * @return the bundle, or <code>null</code> if the URL does not denote a resource of an installed
+	 *         bundle
+	 */
+	private static Bundle getBundle(URL url) {
+		String protocol= url.getProtocol();
+		if (!"bundleresource".equals(protocol) && !"bundleentry".equals(protocol)) //$NON-NLS-1$ //$NON-NLS-2$
+			return null;
+		JavaPlugin plugin= JavaPlugin.getDefault();
+		if (plugin == null)
+			return null;
+		BundleContext context= plugin.getBundle().getBundleContext();
+		if (context == null)
+			return null;
+
+		String host= url.getHost();
+		int end= host.indexOf('.');
+		try {
+			return context.getBundle(Long.parseLong(end == -1 ? host : host.substring(0, end)));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private static String computeBundleKey(URL url, Bundle bundle) {
+		StringBuilder key= new StringBuilder(url.getProtocol());
+		key.append(':').append(bundle.getSymbolicName()).append('_').append(bundle.getVersion());
+		if (url.getPort() != -1)
+			key.append(':').append(url.getPort());
+		return key.append(url.getPath()).toString();
+	}
+
+	private boolean isLocalFile() {
+		return "file".equals(fURL.getProtocol()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Computes the stamp of the word list.
+	 *
+	 * @return the time stamp, length and checksum, or <code>null</code> if the word list cannot be
+	 *         read
+	 */
+	private long[] computeStamp() {
+		if (isLocalFile()) {
+			try {
+				File file= URIUtil.toFile(URIUtil.toURI(fURL));
+				if (file == null || !file.isFile())
+					return null;
+				return new long[] { file.lastModified(), file.length(), 0 };
+			} catch (URISyntaxException e) {
+				return null;
+			}
+		}
+
+		if (fBundle != null) {
+			try {
+				URLConnection connection= fURL.openConnection();
+				long[] stamp= { connection.getLastModified(), connection.getContentLengthLong(), 0 };
+				connection.getInputStream().close();
+				return stamp;
+			} catch (IOException e) {
+				return null;
+			}
+		}
+
+		CRC32 crc= new CRC32();
+		long length= 0;
+		try (InputStream in= fURL.openStream()) {
+			byte[] buffer= new byte[8192];
+			int read;
+			while ((read= in.read(buffer)) != -1) {
+				crc.update(buffer, 0, read);
+				length+= read;
+			}
+		} catch (IOException e) {
+			return null;
+		}
+		return new long[] { 0, length, crc.getValue() };
+	}
+}
@@ -29,12 +29,15 @@ import org.eclipse.jface.viewers.StyledString;
 import org.eclipse.jface.viewers.StyledString.Styler;
 
 import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaModelException;
 
+import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelCache;
 import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelComposerCore;
+import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelsCore;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.Messages;
 
@@ -101,6 +104,44 @@ public class JavaElementLabelComposer extends JavaElementLabelComposerCore {
 		}
 	}
 
+	/**
+	 * A buffer adapter for an unsynchronized {@link StringBuilder}, which can be reused for several
+	 * labels.
+	 */
+	public static class FlexibleStringBuilder extends FlexibleBuffer {
+		private final StringBuilder fStringBuilder;
+
+		public FlexibleStringBuilder(StringBuilder stringBuilder) {
+			fStringBuilder= stringBuilder;
+		}
+
+		@Override
+		public FlexibleBuffer append(char ch) {
+			fStringBuilder.append(ch);
+			return this;
+		}
+
+		@Override
+		public FlexibleBuffer append(String string) {
+			fStringBuilder.append(string);
+			return this;
+		}
+
+		@Override
+		public int length() {
+			return fStringBuilder.length();
+		}
+
+		@Override
+		public String toString() {
+			return fStringBuilder.toString();
+		}
+
+		@Override
+		public void setStyle(int offset, int length, Styler styler) {
+			// no style
+		}
+	}
 
 	public static class FlexibleStyledString extends FlexibleBuffer {
 		private final StyledString fStyledString;
@@ -185,6 +226,8 @@ public class JavaElementLabelComposer extends JavaElementLabelComposerCore {
 	private static String fgPkgNameAbbreviationPattern= ""; //$NON-NLS-1$
 	private static PackageNameAbbreviation[] fgPkgNameAbbreviation;
 
+	private static JavaElementLabelCache fgLabelCache;
+
 	/**
 	 * Creates a new java element composer based on the given buffer.
 	 *
@@ -212,6 +255,53 @@ public class JavaElementLabelComposer extends JavaElementLabelComposerCore {
 		this(new FlexibleStringBuffer(buffer));
 	}
 
+	/**
+	 * Creates a new java element composer based on the given buffer.
+	 *
+	 * @param buffer the string builder
+	 */
+	public JavaElementLabelComposer(StringBuilder buffer) {
+		this(new FlexibleStringBuilder(buffer));
+	}
+
+	/**
+	 * Returns the label of the given element. Labels of members are cached, see
+	 * {@link JavaElementLabelCache}.
+	 *
+	 * @param element the element to render
+	 * @param flags the rendering flags
+	 * @return the label of the element, not BiDi-processed
+	 */
+	public static String getElementLabel(IJavaElement element, long flags) {
+		return getLabelCache().getLabel(element, flags, JavaElementLabelComposer::composeElementLabel);
+	}
+
+	private static String composeElementLabel(IJavaElement element, long flags) {
+		StringBuilder buffer= JavaElementLabelsCore.acquireBuffer();
+		try {
+			new JavaElementLabelComposer(buffer).appendElementLabel(element, flags);
+			return buffer.toString();
+		} finally {
+			JavaElementLabelsCore.releaseBuffer(buffer);
+		}
+	}
+
+	private static synchronized JavaElementLabelCache getLabelCache() {
+		if (fgLabelCache == null)
+			fgLabelCache= new JavaElementLabelCache();
+		return fgLabelCache;
+	}
+
+	/**
+	 * Disposes the label cache if it has been created.
+	 */
+	public static synchronized void disposeLabelCache() {
+		if (fgLabelCache != null) {
+			fgLabelCache.dispose();
+			fgLabelCache= null;
+		}
+	}
+
 
 
 	@Override
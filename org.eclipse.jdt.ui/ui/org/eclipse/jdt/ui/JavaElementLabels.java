@@ -501,9 +501,7 @@ public class JavaElementLabels {
 	 * @return the label of the Java element
 	 */
 	public static String getElementLabel(IJavaElement element, long flags) {
-		StringBuffer result= new StringBuffer();
-		getElementLabel(element, flags, result);
-		return org.eclipse.jdt.internal.core.manipulation.util.Strings.markJavaElementLabelLTR(result.toString());
+		return org.eclipse.jdt.internal.core.manipulation.util.Strings.markJavaElementLabelLTR(JavaElementLabelComposer.getElementLabel(element, flags));
 	}
 
 	/**
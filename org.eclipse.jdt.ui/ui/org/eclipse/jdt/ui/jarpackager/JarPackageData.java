@@ -134,6 +134,9 @@ public class JarPackageData {
 	// Add directory entries to the jar
 	private boolean fIncludeDirectoryEntries;
 
+	// Reuse the unchanged entries of an existing jar and compress the others in parallel
+	private boolean fIncrementalExport;
+
 	// Projects for which to store refactoring information
 	private IProject[] fRefactoringProjects= {};
 
@@ -1057,6 +1060,32 @@ public class JarPackageData {
 		fIncludeDirectoryEntries = includeDirectoryEntries;
 	}
 
+	/**
+	 * Tells whether the JAR is exported incrementally. An incremental export reuses the entries
+	 * of an existing JAR file whose files did not change since the previous export and compresses
+	 * the other entries in parallel.
+	 *
+	 * @return <code>true</code> if the JAR is exported incrementally
+	 *
+	 * @since 3.33
+	 */
+	public boolean isIncrementalExport() {
+		return fIncrementalExport;
+	}
+
+	/**
+	 * Sets whether the JAR is exported incrementally.
+	 *
+	 * @param incrementalExport <code>true</code> to reuse the unchanged entries of an
+	 *            existing JAR file, <code>false</code> to always write all entries
+	 *
+	 * @since 3.33
+	 * @see #isIncrementalExport()
+	 */
+	public void setIncrementalExport(boolean incrementalExport) {
+		fIncrementalExport= incrementalExport;
+	}
+
 	/**
 	 * Returns the projects for which refactoring information should be stored.
 	 * <p>
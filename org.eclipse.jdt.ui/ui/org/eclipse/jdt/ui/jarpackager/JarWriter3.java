@@ -17,6 +17,7 @@
 package org.eclipse.jdt.ui.jarpackager;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
@@ -31,6 +32,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
 import java.util.zip.ZipEntry;
@@ -63,6 +65,8 @@ import org.eclipse.jdt.internal.corext.util.Messages;
 import org.eclipse.jdt.internal.jarpackager.JarPackagerUtilCore;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.jarpackager.JarArchiveWriter;
+import org.eclipse.jdt.internal.ui.jarpackager.JarExportTimings;
 import org.eclipse.jdt.internal.ui.jarpackager.JarPackagerMessages;
 import org.eclipse.jdt.internal.ui.jarpackager.JarPackagerUtil;
 
@@ -84,6 +88,12 @@ public class JarWriter3 {
 
 	private JarPackageData fJarPackage;
 
+	/**
+	 * Writes the archive if the JAR package is exported incrementally, <code>null</code> otherwise.
+	 * {@link #fJarOutputStream} then only receives the entries that are not added by this writer.
+	 */
+	private JarArchiveWriter fArchive;
+
 	/**
 	* Gets the fJarOutputStream of this JarWriter3
 	*
@@ -119,6 +129,25 @@ public class JarWriter3 {
 	 * 							in the status object.
 	 */
 	public JarWriter3(JarPackageData jarPackage, Shell parent) throws CoreException {
+		this(jarPackage, parent, new JarExportTimings());
+	}
+
+	/**
+	 * Note: This constructor is for internal use only. Clients should not call this constructor.
+	 *
+	 * @param jarPackage		the JAR specification
+	 * @param parent			the shell used to display question dialogs,
+	 *				 			or <code>null</code> if "false/no/cancel" is the answer
+	 * 							and no dialog should be shown
+	 * @param timings			the timings that an incremental export is recorded to
+	 * @throws	CoreException	to signal any other unusual termination.
+	 * 							This can also be used to return information
+	 * 							in the status object.
+	 *
+	 * @noreference This constructor is not intended to be referenced by clients.
+	 * @since 3.33
+	 */
+	public JarWriter3(JarPackageData jarPackage, Shell parent, JarExportTimings timings) throws CoreException {
 		Assert.isNotNull(jarPackage, "The JAR specification is null"); //$NON-NLS-1$
 		fJarPackage= jarPackage;
 		Assert.isTrue(fJarPackage.isValid(), "The JAR package specification is invalid"); //$NON-NLS-1$
@@ -126,14 +155,20 @@ public class JarWriter3 {
 			throw new OperationCanceledException("Cannot create JAR with path: " + fJarPackage.getAbsoluteJarLocation()); //$NON-NLS-1$
 
 		try {
-			if (fJarPackage.usesManifest() && fJarPackage.areGeneratedFilesExported()) {
+			if (fJarPackage.isIncrementalExport()) {
+				openArchive(timings);
+			} else if (fJarPackage.usesManifest() && fJarPackage.areGeneratedFilesExported()) {
 				Manifest manifest= fJarPackage.getManifestProvider().create(fJarPackage);
 				fJarOutputStream= new JarOutputStream(new BufferedOutputStream(new FileOutputStream(fJarPackage.getAbsoluteJarLocation().toFile())), manifest);
 			} else
 				fJarOutputStream= new JarOutputStream(new BufferedOutputStream(new FileOutputStream(fJarPackage.getAbsoluteJarLocation().toFile())));
 			String comment= jarPackage.getComment();
-			if (comment != null)
-				fJarOutputStream.setComment(comment);
+			if (comment != null) {
+				if (fArchive != null)
+					fArchive.setComment(comment);
+				else
+					fJarOutputStream.setComment(comment);
+			}
 			if (fJarPackage.isRefactoringAware()) {
 				Assert.isTrue(fJarPackage.areDirectoryEntriesIncluded());
 				final IPath metaPath= new Path(JarPackagerUtil.getMetaEntry());
@@ -141,10 +176,36 @@ public class JarWriter3 {
 				addHistory(fJarPackage, new Path(JarPackagerUtil.getRefactoringsEntry()), new NullProgressMonitor());
 			}
 		} catch (IOException exception) {
+			if (fArchive != null)
+				fArchive.abort();
 			throw JarPackagerUtil.createCoreException(exception.getLocalizedMessage(), exception);
 		}
 	}
 
+	/**
+	 * Opens the archive for an incremental export: unchanged entries of the existing JAR are reused
+	 * and the other entries are read and compressed in parallel.
+	 *
+	 * @param timings the timings to record to
+	 * @throws IOException if the archive cannot be created
+	 * @throws CoreException if the manifest cannot be created
+	 */
+	private void openArchive(JarExportTimings timings) throws IOException, CoreException {
+		fArchive= new JarArchiveWriter(fJarPackage.getAbsoluteJarLocation().toFile(), fJarPackage.isCompressed(), true, timings);
+		fJarOutputStream= fArchive.getStreamedEntriesOutputStream();
+		if (fJarPackage.usesManifest() && fJarPackage.areGeneratedFilesExported()) {
+			try {
+				Manifest manifest= fJarPackage.getManifestProvider().create(fJarPackage);
+				ByteArrayOutputStream out= new ByteArrayOutputStream();
+				manifest.write(out);
+				fArchive.addBytes(JarFile.MANIFEST_NAME, out.toByteArray(), System.currentTimeMillis());
+			} catch (CoreException e) {
+				fArchive.abort();
+				throw e;
+			}
+		}
+	}
+
 	/**
 	 * Creates the directory entries for the given path and writes it to the current archive.
 	 *
@@ -184,7 +245,7 @@ public class JarWriter3 {
 		}
 
 		for (int i= directories.size() - 1; i >= 0; --i) {
-			fJarOutputStream.putNextEntry(directories.get(i));
+			putDirectoryEntry(directories.get(i));
 		}
 	}
 
@@ -232,10 +293,17 @@ public class JarWriter3 {
 		}
 
 		for (int i= directories.size() - 1; i >= 0; --i) {
-			fJarOutputStream.putNextEntry(directories.get(i));
+			putDirectoryEntry(directories.get(i));
 		}
 	}
 
+	private void putDirectoryEntry(JarEntry entry) throws IOException {
+		if (fArchive != null)
+			fArchive.addDirectory(entry.getName(), entry.getTime());
+		else
+			fJarOutputStream.putNextEntry(entry);
+	}
+
 	/**
 	 * Creates a new JarEntry with the passed path and contents, and writes it
 	 * to the current archive.
@@ -247,6 +315,11 @@ public class JarWriter3 {
 	 * @throws	CoreException 		if the resource can-t be accessed
 	 */
 	protected void addFile(IFile resource, IPath path) throws IOException, CoreException {
+		if (fArchive != null) {
+			// read, compressed or reused in a worker thread
+			fArchive.addFile(path.toString().replace(File.separatorChar, '/'), new ResourceContent(resource));
+			return;
+		}
 		JarEntry newEntry= new JarEntry(path.toString().replace(File.separatorChar, '/'));
 		byte[] allBytes;
 		try (InputStream contents= resource.getContents(false)) {
@@ -370,7 +443,15 @@ public class JarWriter3 {
 	 *             used to return information in the status object.
 	 */
 	public void close() throws CoreException {
-		if (fJarOutputStream != null)
+		if (fArchive != null) {
+			try {
+				fArchive.close();
+			} catch (IOException ex) {
+				throw createWriteException(null, ex);
+			} finally {
+				registerInWorkspaceIfNeeded();
+			}
+		} else if (fJarOutputStream != null)
 			try {
 				fJarOutputStream.close();
 				registerInWorkspaceIfNeeded();
@@ -418,16 +499,26 @@ public class JarWriter3 {
 				addDirectories(resource, destinationPath);
 			addFile(resource, destinationPath);
 		} catch (IOException ex) {
-			// Ensure full path is visible
-			String message= null;
-			if (ex.getLocalizedMessage() != null)
-				message= Messages.format(JarPackagerMessages.JarWriter_writeProblemWithMessage, new Object[] {BasicElementLabels.getPathLabel(resource.getFullPath(), false), ex.getLocalizedMessage()});
-			else
-				message= Messages.format(JarPackagerMessages.JarWriter_writeProblem, BasicElementLabels.getPathLabel(resource.getFullPath(), false));
-			throw JarPackagerUtil.createCoreException(message, ex);
+			throw createWriteException(resource, ex);
 		}
 	}
 
+	private static CoreException createWriteException(IFile resource, IOException ex) {
+		// Entries of an incremental export are written asynchronously, report the failed one
+		if (ex instanceof JarArchiveWriter.EntryException && ((JarArchiveWriter.EntryException) ex).getContent() instanceof ResourceContent)
+			resource= ((ResourceContent) ((JarArchiveWriter.EntryException) ex).getContent()).fResource;
+		if (resource == null)
+			return JarPackagerUtil.createCoreException(ex.getLocalizedMessage(), ex);
+
+		// Ensure full path is visible
+		String message= null;
+		if (ex.getLocalizedMessage() != null)
+			message= Messages.format(JarPackagerMessages.JarWriter_writeProblemWithMessage, new Object[] {BasicElementLabels.getPathLabel(resource.getFullPath(), false), ex.getLocalizedMessage()});
+		else
+			message= Messages.format(JarPackagerMessages.JarWriter_writeProblem, BasicElementLabels.getPathLabel(resource.getFullPath(), false));
+		return JarPackagerUtil.createCoreException(message, ex);
+	}
+
 	/**
 	 * Writes the meta file to the JAR file.
 	 *
@@ -455,7 +546,57 @@ public class JarWriter3 {
 			JarPackagerUtil.setCrcAndSize(entry, allBytes);
 		}
 		entry.setTime(System.currentTimeMillis());
+		if (fArchive != null) {
+			fArchive.addBytes(entry.getName(), allBytes, entry.getTime());
+			return;
+		}
 		fJarOutputStream.putNextEntry(entry);
 		fJarOutputStream.write(allBytes);
 	}
+
+	/**
+	 * The content of a workspace file that is written by an incremental export.
+	 */
+	private static final class ResourceContent implements JarArchiveWriter.IEntryContent {
+
+		final IFile fResource;
+		private IFileInfo fInfo;
+		private boolean fInfoFetched;
+
+		ResourceContent(IFile resource) {
+			fResource= resource;
+		}
+
+		private IFileInfo getInfo() throws IOException {
+			if (!fInfoFetched) {
+				fInfoFetched= true;
+				URI location= fResource.getLocationURI();
+				if (location != null) {
+					try {
+						IFileInfo info= EFS.getStore(location).fetchInfo();
+						if (info.exists())
+							fInfo= info;
+					} catch (CoreException e) {
+						throw new IOException(e.getLocalizedMessage(), e);
+					}
+				}
+			}
+			return fInfo;
+		}
+
+		@Override
+		public long getLastModified() throws IOException {
+			IFileInfo info= getInfo();
+			return info != null ? info.getLastModified() : System.currentTimeMillis();
+		}
+
+		@Override
+		public byte[] getBytes() throws IOException {
+			try (InputStream contents= fResource.getContents(false)) {
+				return contents.readAllBytes();
+			} catch (CoreException e) {
+				throw new IOException(e.getLocalizedMessage(), e);
+			}
+		}
+	}
 }
@@ -31,7 +31,9 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.jface.preference.IPreferenceStore;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
@@ -67,6 +69,7 @@ import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.compiler.IScanner;
 import org.eclipse.jdt.core.compiler.ITerminalSymbols;
 import org.eclipse.jdt.core.compiler.InvalidInputException;
+import org.eclipse.jdt.core.dom.Comment;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
 import org.eclipse.jdt.ui.PreferenceConstants;
@@ -104,6 +107,13 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		private boolean fHasHeaderComment;
 		private LinkedHashMap<JavaProjectionAnnotation, Position> fMap= new LinkedHashMap<>();
 		private IScanner fScanner;
+		private boolean fHasScannerSource;
+		/**
+		 * The AST of the reconciler if it matches the document, used to find comments without
+		 * scanning.
+		 * @since 3.33
+		 */
+		private CompilationUnit fAST;
 
 		private FoldingStructureComputationContext(IDocument document, ProjectionAnnotationModel model, boolean allowCollapsing, IScanner scanner) {
 			Assert.isNotNull(document);
@@ -162,12 +172,28 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 			return fModel;
 		}
 
-		private IScanner getScanner() {
+		private IScanner getScanner() throws JavaModelException {
 			if (fScanner == null)
 				fScanner= ToolFactory.createScanner(true, false, false, false);
+			if (!fHasScannerSource) {
+				String source= fInput instanceof ISourceReference ? ((ISourceReference) fInput).getSource() : null;
+				setScannerSource(source != null ? source.toCharArray() : new char[0]);
+			}
 			return fScanner;
 		}
 
+		private void setScannerSource(char[] source) {
+			if (fScanner == null)
+				fScanner= ToolFactory.createScanner(true, false, false, false);
+			fScanner.setSource(source);
+			fHasScannerSource= true;
+		}
+
+		private void setAST(CompilationUnit ast) {
+			if (ast != null && ast.getStartPosition() + ast.getLength() == fDocument.getLength() && ast.getCommentList() != null)
+				fAST= ast;
+		}
+
 		/**
 		 * Adds a projection (folding) region to this context. The created annotation / position
 		 * pair will be added to the {@link ProjectionAnnotationModel} of the
@@ -365,13 +391,79 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 				fUpdatingCount++;
 				try {
-					update(createContext(false));
+					IRegion changedRegion= takeChangedRegion();
+					FoldingStructureComputationContext ctx= createContext(false);
+					Set<IJavaElement> changedElements= null;
+					CompilationUnit ast= e.getDelta().getCompilationUnitAST();
+					if (ctx != null && INCREMENTAL && e.getType() == ElementChangedEvent.POST_RECONCILE && ast != null && fInput instanceof ICompilationUnit && fInput.equals(ast.getJavaElement())) {
+						ctx.setAST(ast);
+						changedElements= computeChangedElements(delta, changedRegion);
+					}
+					update(ctx, changedElements);
 				} finally {
 					fUpdatingCount--;
 				}
 			}
 		}
 
+		/**
+		 * Returns the members and import container whose folding structure has to be recomputed
+		 * after the given delta and document changes.
+		 *
+		 * @param delta the delta of the input element
+		 * @param changedRegion the region of the document changed since the last update, can be
+		 *            <code>null</code>
+		 * @return the outermost changed elements or <code>null</code> if the whole folding
+		 *         structure has to be recomputed
+		 */
+		private Set<IJavaElement> computeChangedElements(IJavaElementDelta delta, IRegion changedRegion) {
+			if (changedRegion == null)
+				return null;
+			Set<IJavaElement> elements= new HashSet<>();
+			try {
+				IJavaElement element= ((ICompilationUnit) fInput).getElementAt(changedRegion.getOffset());
+				if (!addChangedElement(getEnclosingFoldableElement(element, changedRegion), elements) || !collectChangedElements(delta, elements))
+					return null;
+			} catch (JavaModelException x) {
+				return null;
+			}
+			elements.removeIf(element -> isContained(element.getParent(), elements));
+			return elements;
+		}
+
+		private boolean collectChangedElements(IJavaElementDelta delta, Set<IJavaElement> elements) {
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				if (child.getKind() == IJavaElementDelta.CHANGED && (child.getFlags() & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_FINE_GRAINED)) == 0) {
+					if (!collectChangedElements(child, elements))
+						return false;
+				} else if (!addChangedElement(child.getElement(), elements)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private boolean addChangedElement(IJavaElement element, Set<IJavaElement> elements) {
+			if (element instanceof IImportDeclaration)
+				element= element.getParent();
+			if (!isFoldable(element) || element instanceof IType && !isInnerType((IType) element))
+				return false;
+			elements.add(element);
+			return true;
+		}
+
+		private IJavaElement getEnclosingFoldableElement(IJavaElement element, IRegion region) throws JavaModelException {
+			while (element != null) {
+				if (isFoldable(element)) {
+					ISourceRange range= ((ISourceReference) element).getSourceRange();
+					if (SourceRange.isAvailable(range) && range.getOffset() <= region.getOffset() && region.getOffset() + region.getLength() <= range.getOffset() + range.getLength())
+						return element;
+				}
+				element= element.getParent();
+			}
+			return null;
+		}
+
 		/**
 		 * Ignore the delta if there are errors on the caret line.
 		 * <p>
@@ -727,6 +819,41 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 	private volatile int fUpdatingCount= 0;
 
+	/**
+	 * Whether reconciled changes only recompute the folding structure of the changed members. Can
+	 * be disabled with the <code>jdt.folding.incremental</code> system property.
+	 * @since 3.33
+	 */
+	private static final boolean INCREMENTAL= Boolean.parseBoolean(System.getProperty("jdt.folding.incremental", "true")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/* the region of the document changed since the last update */
+	private final Object fChangedRegionLock= new Object();
+	private int fChangedStart= -1;
+	private int fChangedEnd= -1;
+	private IDocument fTrackedDocument;
+	private final IDocumentListener fDocumentListener= new IDocumentListener() {
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			int offset= event.getOffset();
+			int newEnd= offset + (event.getText() == null ? 0 : event.getText().length());
+			synchronized (fChangedRegionLock) {
+				if (fChangedStart == -1) {
+					fChangedStart= offset;
+					fChangedEnd= newEnd;
+				} else {
+					if (fChangedEnd >= offset + event.getLength())
+						fChangedEnd+= newEnd - offset - event.getLength();
+					fChangedStart= Math.min(fChangedStart, offset);
+					fChangedEnd= Math.max(fChangedEnd, newEnd);
+				}
+			}
+		}
+	};
+
 	/**
 	 * Creates a new folding provider. It must be
 	 * {@link #install(ITextEditor, ProjectionViewer) installed} on an editor/viewer pair before it
@@ -831,6 +958,7 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 			JavaCore.removeElementChangedListener(fElementListener);
 			fElementListener= null;
 		}
+		trackDocument(null);
 	}
 
 	/*
@@ -840,12 +968,45 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 	public final void initialize() {
 		fUpdatingCount++;
 		try {
-			update(createInitialContext());
+			trackDocument(isInstalled() ? getDocument() : null);
+			takeChangedRegion();
+			update(createInitialContext(), null);
 		} finally {
 			fUpdatingCount--;
 		}
 	}
 
+	/**
+	 * Tracks the changes of the given document to find the members touched by the next reconcile.
+	 *
+	 * @param document the document or <code>null</code> to stop tracking
+	 */
+	private void trackDocument(IDocument document) {
+		if (fTrackedDocument == document)
+			return;
+		if (fTrackedDocument != null)
+			fTrackedDocument.removeDocumentListener(fDocumentListener);
+		fTrackedDocument= document;
+		if (document != null)
+			document.addDocumentListener(fDocumentListener);
+	}
+
+	/**
+	 * Returns the region of the document that has changed since the last call and resets it.
+	 *
+	 * @return the changed region or <code>null</code> if the document has not changed
+	 */
+	private IRegion takeChangedRegion() {
+		synchronized (fChangedRegionLock) {
+			if (fChangedStart == -1)
+				return null;
+			IRegion region= new Region(fChangedStart, fChangedEnd - fChangedStart);
+			fChangedStart= -1;
+			fChangedEnd= -1;
+			return region;
+		}
+	}
+
 	private FoldingStructureComputationContext createInitialContext() {
 		initializePreferences();
 		fInput= getInputElement();
@@ -887,7 +1048,15 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		fCollapseHeaderComments= store.getBoolean(PreferenceConstants.EDITOR_FOLDING_HEADERS);
 	}
 
-	private void update(FoldingStructureComputationContext ctx) {
+	/**
+	 * Updates the projection annotation model in one batch.
+	 *
+	 * @param ctx the context
+	 * @param changedElements the elements whose subtrees are recomputed, the positions of all other
+	 *            annotations have been kept up to date by the document; or <code>null</code> to
+	 *            recompute the whole structure
+	 */
+	private void update(FoldingStructureComputationContext ctx, Set<IJavaElement> changedElements) {
 		if (ctx == null)
 			return;
 
@@ -895,9 +1064,12 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		List<JavaProjectionAnnotation> deletions= new ArrayList<>();
 		List<JavaProjectionAnnotation> updates= new ArrayList<>();
 
-		computeFoldingStructure(ctx);
+		if (changedElements == null)
+			computeFoldingStructure(ctx);
+		else
+			computeFoldingStructure(changedElements, ctx);
 		Map<JavaProjectionAnnotation, Position> newStructure= ctx.fMap;
-		Map<IJavaElement, List<Tuple>> oldStructure= computeCurrentStructure(ctx);
+		Map<IJavaElement, List<Tuple>> oldStructure= computeCurrentStructure(ctx, changedElements);
 
 		Iterator<JavaProjectionAnnotation> e= newStructure.keySet().iterator();
 		while (e.hasNext()) {
@@ -965,7 +1137,8 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		Annotation[] changedArray= updates.toArray(new Annotation[updates.size()]);
 		ctx.getModel().modifyAnnotations(deletedArray, additions, changedArray);
 
-		ctx.fScanner.setSource(null);
+		if (ctx.fScanner != null)
+			ctx.fScanner.setSource(null);
 	}
 
 	private void computeFoldingStructure(FoldingStructureComputationContext ctx) {
@@ -977,12 +1150,62 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 			if (source == null)
 				return;
 
-			ctx.getScanner().setSource(source.toCharArray());
+			ctx.setScannerSource(source.toCharArray());
 			computeFoldingStructure(parent.getChildren(), ctx);
 		} catch (JavaModelException x) {
 		}
 	}
 
+	/**
+	 * Computes the folding structure of the given elements and their descendants only. The first
+	 * type of the input is never among them, so there is no header comment to compute.
+	 *
+	 * @param elements the changed elements
+	 * @param ctx the context
+	 */
+	private void computeFoldingStructure(Set<IJavaElement> elements, FoldingStructureComputationContext ctx) {
+		try {
+			IType[] types= ((ICompilationUnit) fInput).getTypes();
+			if (types.length > 0)
+				ctx.setFirstType(types[0]);
+			for (IJavaElement element : elements) {
+				if (element.exists())
+					computeFoldingStructure(new IJavaElement[] { element }, ctx);
+			}
+		} catch (JavaModelException x) {
+		}
+	}
+
+	private static boolean isFoldable(IJavaElement element) {
+		if (element == null)
+			return false;
+		switch (element.getElementType()) {
+			case IJavaElement.IMPORT_CONTAINER:
+			case IJavaElement.TYPE:
+			case IJavaElement.METHOD:
+			case IJavaElement.FIELD:
+			case IJavaElement.INITIALIZER:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Returns whether the element or one of its ancestors is in the given set.
+	 *
+	 * @param element the element, can be <code>null</code>
+	 * @param elements the set
+	 * @return <code>true</code> if the element is contained in one of the elements of the set
+	 */
+	private static boolean isContained(IJavaElement element, Set<IJavaElement> elements) {
+		for (; element != null; element= element.getParent()) {
+			if (elements.contains(element))
+				return true;
+		}
+		return false;
+	}
+
 	private void computeFoldingStructure(IJavaElement[] elements, FoldingStructureComputationContext ctx) throws JavaModelException {
 		for (IJavaElement element : elements) {
 			computeFoldingStructure(element, ctx);
@@ -1126,6 +1349,14 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 				}
 
 				final int shift= range.getOffset();
+				if (ctx.fAST != null) {
+					int start= computeLeadingComments(ctx.fAST, shift, shift + range.getLength(), regions, ctx.getDocument());
+					if (start != -1) {
+						regions.add(new Region(start, shift + range.getLength() - start));
+						return regions.toArray(new IRegion[regions.size()]);
+					}
+				}
+
 				IScanner scanner= ctx.getScanner();
 				scanner.resetTo(shift, shift + range.getLength());
 
@@ -1160,6 +1391,55 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		return new IRegion[0];
 	}
 
+	/**
+	 * Adds the regions of the block and Javadoc comments at the start of the given range, taking
+	 * the comments from the AST instead of scanning the source.
+	 *
+	 * @param ast the AST
+	 * @param offset the start of the range
+	 * @param end the end of the range
+	 * @param regions the list to add the comment regions to
+	 * @param document the document
+	 * @return the start of the code after the comments or <code>-1</code> if the AST does not
+	 *         match the document
+	 */
+	private static int computeLeadingComments(CompilationUnit ast, int offset, int end, List<IRegion> regions, IDocument document) {
+		List<Comment> comments= ast.getCommentList();
+		int low= 0;
+		int high= comments.size();
+		while (low < high) {
+			int mid= (low + high) >>> 1;
+			if (comments.get(mid).getStartPosition() < offset)
+				low= mid + 1;
+			else
+				high= mid;
+		}
+
+		List<IRegion> found= new ArrayList<>();
+		int position= offset;
+		try {
+			for (int i= low; ; i++) {
+				while (position < end && Character.isWhitespace(document.getChar(position)))
+					position++;
+				if (i == comments.size())
+					break;
+				Comment comment= comments.get(i);
+				if (comment.getStartPosition() != position)
+					break;
+				int commentEnd= position + comment.getLength();
+				if (commentEnd > end || document.getChar(position) != '/')
+					return -1;
+				if (!comment.isLineComment())
+					found.add(new Region(position, comment.getLength()));
+				position= commentEnd;
+			}
+		} catch (BadLocationException x) {
+			return -1;
+		}
+		regions.addAll(found);
+		return position;
+	}
+
 	private IRegion computeHeaderComment(FoldingStructureComputationContext ctx) throws JavaModelException {
 		// search at most up to the first type
 		ISourceRange range= ctx.getFirstType().getSourceRange();
@@ -1391,7 +1671,7 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		return null;
 	}
 
-	private Map<IJavaElement, List<Tuple>> computeCurrentStructure(FoldingStructureComputationContext ctx) {
+	private Map<IJavaElement, List<Tuple>> computeCurrentStructure(FoldingStructureComputationContext ctx, Set<IJavaElement> changedElements) {
 		Map<IJavaElement, List<Tuple>> map= new HashMap<>();
 		ProjectionAnnotationModel model= ctx.getModel();
 		Iterator<Annotation> e= model.getAnnotationIterator();
@@ -1399,6 +1679,8 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 			Object annotation= e.next();
 			if (annotation instanceof JavaProjectionAnnotation) {
 				JavaProjectionAnnotation java= (JavaProjectionAnnotation) annotation;
+				if (changedElements != null && !isContained(java.getElement(), changedElements))
+					continue;
 				Position position= model.getPosition(java);
 				Assert.isNotNull(position);
 				List<Tuple> list= map.get(java.getElement());